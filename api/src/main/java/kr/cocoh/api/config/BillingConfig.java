@@ -0,0 +1,30 @@
+package kr.cocoh.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import kr.cocoh.api.service.billing.BillingGateway;
+import kr.cocoh.api.service.billing.StubBillingGateway;
+
+@Configuration
+public class BillingConfig {
+
+    /**
+     * 개발/부하 테스트용 빌링 PG 스텁 (실제 PG 연동 대신)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "subscription.renewal.stub-gateway.enabled", havingValue = "true")
+    public BillingGateway portoneStubBillingGateway(@Value("${subscription.renewal.stub-gateway.latency-ms:50}") long latencyMs,
+                                                    @Value("${subscription.renewal.stub-gateway.failure-rate:0.02}") double failureRate) {
+        return new StubBillingGateway("portone", latencyMs, failureRate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "subscription.renewal.stub-gateway.enabled", havingValue = "true")
+    public BillingGateway tossStubBillingGateway(@Value("${subscription.renewal.stub-gateway.latency-ms:50}") long latencyMs,
+                                                 @Value("${subscription.renewal.stub-gateway.failure-rate:0.02}") double failureRate) {
+        return new StubBillingGateway("toss", latencyMs, failureRate);
+    }
+}
@@ -0,0 +1,78 @@
+package kr.cocoh.api.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String PLAN_REGION = "subscription_plan";
+    public static final String SALON_REGION = "salon";
+    public static final String LOCATION_REGION = "location";
+
+    private static final AtomicInteger CACHE_MANAGER_SEQUENCE = new AtomicInteger();
+
+    /**
+     * Hibernate 2차 캐시 영역 (노드 내 Caffeine, 영역마다 최대 개수와 TTL)
+     * 영역을 미리 만들어 두고 없는 영역은 시작 시 실패시키므로, 크기 제한 없는 캐시가 생기지 않는다.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${l2cache.subscription-plan.max-size:100}") long planMaxSize,
+                                              @Value("${l2cache.subscription-plan.ttl-seconds:3600}") long planTtlSeconds,
+                                              @Value("${l2cache.salon.max-size:20000}") long salonMaxSize,
+                                              @Value("${l2cache.salon.ttl-seconds:600}") long salonTtlSeconds,
+                                              @Value("${l2cache.location.max-size:20000}") long locationMaxSize,
+                                              @Value("${l2cache.location.ttl-seconds:600}") long locationTtlSeconds,
+                                              @Value("${l2cache.query.max-size:1000}") long queryMaxSize,
+                                              @Value("${l2cache.query.ttl-seconds:300}") long queryTtlSeconds) {
+        // 기본 CacheManager 는 JVM 에서 공유되므로 컨텍스트마다 따로 만듦
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2-" + CACHE_MANAGER_SEQUENCE.incrementAndGet()),
+                        SecondLevelCacheConfig.class.getClassLoader());
+        cacheManager.createCache(PLAN_REGION, region(planMaxSize, planTtlSeconds));
+        cacheManager.createCache(SALON_REGION, region(salonMaxSize, salonTtlSeconds));
+        cacheManager.createCache(LOCATION_REGION, region(locationMaxSize, locationTtlSeconds));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queryMaxSize, queryTtlSeconds));
+        // 테이블별 마지막 변경 시각, 쿼리 결과보다 먼저 사라지면 오래된 결과를 돌려줄 수 있으므로 만료 없음
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                region(0, 0));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // 값은 복사하지 않고 참조로 보관 (Hibernate 캐시 항목은 분해된 불변 상태)
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        return configuration;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -51,8 +52,12 @@ public class SecurityConfig {
                 // 공개 엔드포인트
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/auth/**", "/api/public/**").permitAll()
+                // 로컬 디스크 저장소 파일 (공개 객체)
+                .requestMatchers(HttpMethod.GET, "/uploads/**").permitAll()
+                .requestMatchers(HttpMethod.HEAD, "/uploads/**").permitAll()
                 // 관리자 전용 엔드포인트
                 .requestMatchers("/api/admin/**").hasAnyRole("ADMIN", "SUPERADMIN")
+                .requestMatchers("/actuator/metrics/**").hasAnyRole("ADMIN", "SUPERADMIN")
                 // 슈퍼 관리자 전용 엔드포인트
                 .requestMatchers("/api/superadmin/**").hasRole("SUPERADMIN")
                 // 나머지 요청은 인증 필요
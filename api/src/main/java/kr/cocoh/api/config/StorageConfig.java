@@ -1,6 +1,9 @@
 package kr.cocoh.api.config;
 
+import java.nio.file.Path;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,26 +13,23 @@ import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import kr.cocoh.api.service.storage.FileSystemStorageBackend;
+import kr.cocoh.api.service.storage.MultipartUploader;
+import kr.cocoh.api.service.storage.S3StorageBackend;
+
 @Configuration
 public class StorageConfig {
 
-    @Value("${ncloud.access-key}")
-    private String accessKey;
-
-    @Value("${ncloud.secret-key}")
-    private String secretKey;
-
-    @Value("${ncloud.endpoint}")
-    private String endpoint;
-
-    @Value("${ncloud.region}")
-    private String region;
-
-    @Value("${ncloud.bucket-name}")
-    private String bucketName;
-
+    /**
+     * Naver Cloud Object Storage 클라이언트 (기본)
+     */
     @Bean
-    public AmazonS3 amazonS3Client() {
+    @ConditionalOnProperty(name = "storage.backend", havingValue = "s3", matchIfMissing = true)
+    public AmazonS3 amazonS3Client(@Value("${ncloud.access-key}") String accessKey,
+                                   @Value("${ncloud.secret-key}") String secretKey,
+                                   @Value("${ncloud.endpoint}") String endpoint,
+                                   @Value("${ncloud.region}") String region) {
         BasicAWSCredentials awsCreds = new BasicAWSCredentials(accessKey, secretKey);
         
         return AmazonS3ClientBuilder.standard()
@@ -37,6 +37,39 @@ public class StorageConfig {
                 .withCredentials(new AWSStaticCredentialsProvider(awsCreds))
                 .build();
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.backend", havingValue = "s3", matchIfMissing = true)
+    public MultipartUploader multipartUploader(AmazonS3 amazonS3Client,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${storage.multipart.threshold-mb:16}") int thresholdMb,
+                                               @Value("${storage.multipart.part-size-mb:8}") int partSizeMb,
+                                               @Value("${storage.multipart.concurrency:4}") int concurrency,
+                                               @Value("${storage.multipart.buffer-count:8}") int bufferCount,
+                                               @Value("${storage.multipart.max-attempts:3}") int maxAttempts,
+                                               @Value("${storage.multipart.retry-backoff-ms:500}") long retryBackoffMs) {
+        return new MultipartUploader(amazonS3Client, meterRegistry, thresholdMb, partSizeMb,
+                concurrency, bufferCount, maxAttempts, retryBackoffMs);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.backend", havingValue = "s3", matchIfMissing = true)
+    public S3StorageBackend s3StorageBackend(AmazonS3 amazonS3Client,
+                                             MultipartUploader multipartUploader,
+                                             @Value("${ncloud.bucket-name}") String bucketName) {
+        return new S3StorageBackend(amazonS3Client, multipartUploader, bucketName);
+    }
+
+    /**
+     * 로컬 디스크 저장소 (온프레미스/엣지 배포용, LocalStorageController 가 /uploads/** 로 서빙)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "storage.backend", havingValue = "filesystem")
+    public FileSystemStorageBackend fileSystemStorageBackend(
+            @Value("${storage.filesystem.root:uploads}") String root,
+            @Value("${storage.filesystem.base-url:http://localhost:8080/uploads}") String baseUrl) {
+        return new FileSystemStorageBackend(Path.of(root), baseUrl);
+    }
     
     // 저장 경로 상수 정의
     public static final class StoragePaths {
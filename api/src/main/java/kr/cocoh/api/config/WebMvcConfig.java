@@ -29,8 +29,6 @@ public class WebMvcConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/static/**")
                 .addResourceLocations("classpath:/static/");
         
-        // 파일 업로드 디렉토리 접근 설정
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:uploads/");
+        // 파일 업로드 디렉토리(/uploads/**)는 storage.backend=filesystem 일 때 LocalStorageController 가 서빙
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package kr.cocoh.api.controller.ad;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.AdBulkResultDto;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.ad.AdBulkService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/ads")
+@RequiredArgsConstructor
+@Tag(name = "Ad Bulk", description = "광고 일괄 등록 API")
+public class AdBulkController {
+
+    private final AdBulkService adBulkService;
+
+    /**
+     * manifest part 에 {"ads": [...]} JSON 을, 나머지 part 에 매니페스트가 이름으로 참조하는 미디어 파일을 담는다.
+     */
+    @Operation(summary = "광고 일괄 등록", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<AdBulkResultDto>> createAll(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            MultipartHttpServletRequest request) {
+        MultipartFile manifest = request.getFile("manifest");
+        if (manifest == null || manifest.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, "manifest 파트가 필요합니다.", null));
+        }
+
+        try (InputStream in = manifest.getInputStream()) {
+            AdBulkResultDto result = adBulkService.createAll(in, request.getFileMap(), userDetails);
+            String message = String.format("광고 일괄 등록 완료: 성공 %d건, 실패 %d건", result.getCreated(), result.getFailed());
+            return ResponseEntity.ok(new ApiResponse<>(result.getFailed() == 0, message, result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IOException e) {
+            log.error("광고 일괄 등록 중 오류: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "광고 일괄 등록에 실패했습니다.", null));
+        }
+    }
+}
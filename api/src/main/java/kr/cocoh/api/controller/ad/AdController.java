@@ -0,0 +1,52 @@
+package kr.cocoh.api.controller.ad;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.AdDto;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.service.ad.AdQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Ad", description = "광고 조회 API")
+public class AdController {
+
+    private final AdQueryService adQueryService;
+
+    @Operation(summary = "광고 목록 조회 (관리자)", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/api/admin/ads")
+    public ResponseEntity<ApiResponse<Page<AdDto>>> getAds(
+            @Parameter(description = "살롱 ID") @RequestParam(required = false) Long salonId,
+            @Parameter(description = "페이지 (0부터)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > 100) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, "페이지 크기는 1 이상 100 이하여야 합니다.", null));
+        }
+        Page<AdDto> ads = adQueryService.getAds(salonId, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id")));
+        return ResponseEntity.ok(new ApiResponse<>(true, "광고 목록 조회 성공", ads));
+    }
+
+    @Operation(summary = "광고 상세 조회", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/api/ads/{adId}")
+    public ResponseEntity<ApiResponse<AdDto>> getAd(
+            @Parameter(description = "광고 ID") @PathVariable Long adId) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "광고 조회 성공", adQueryService.getAd(adId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
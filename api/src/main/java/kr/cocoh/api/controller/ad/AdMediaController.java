@@ -0,0 +1,93 @@
+package kr.cocoh.api.controller.ad;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.AdMediaDto;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.ad.AdMediaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/ads")
+@RequiredArgsConstructor
+@Tag(name = "Ad Media", description = "광고 미디어 API")
+public class AdMediaController {
+
+    private final AdMediaService adMediaService;
+
+    @Operation(summary = "광고 미디어 업로드", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping(value = "/{adId}/media", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<AdMediaDto>> uploadMedia(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Parameter(description = "광고 ID") @PathVariable Long adId,
+            @RequestPart("file") MultipartFile file,
+            @RequestParam AdMedia.Size size,
+            @RequestParam(required = false) Integer order,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(required = false) Boolean isPrimary) {
+        try {
+            AdMediaDto media = adMediaService.addMedia(adId, file, size, order, duration, isPrimary, userDetails);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<>(true, "미디어가 업로드되었습니다. 변환본은 잠시 후 생성됩니다.", media));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IOException e) {
+            log.error("광고 미디어 업로드 중 오류: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "미디어 업로드에 실패했습니다.", null));
+        }
+    }
+
+    @Operation(summary = "직접 업로드한 파일을 광고 미디어로 등록", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/{adId}/media/direct/{uploadId}")
+    public ResponseEntity<ApiResponse<AdMediaDto>> addDirectMedia(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Parameter(description = "광고 ID") @PathVariable Long adId,
+            @Parameter(description = "직접 업로드 ID") @PathVariable String uploadId,
+            @RequestParam AdMedia.Size size,
+            @RequestParam(required = false) Integer order,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(required = false) Boolean isPrimary) {
+        try {
+            AdMediaDto media = adMediaService.addDirectMedia(adId, uploadId, size, order, duration, isPrimary, userDetails);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<>(true, "미디어가 등록되었습니다. 변환본은 잠시 후 생성됩니다.", media));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "광고 미디어 조회 (변환본 포함)", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/{adId}/media/{mediaId}")
+    public ResponseEntity<ApiResponse<AdMediaDto>> getMedia(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Parameter(description = "광고 ID") @PathVariable Long adId,
+            @Parameter(description = "미디어 ID") @PathVariable Long mediaId) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "미디어 조회 성공", adMediaService.getMedia(adId, mediaId, userDetails)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package kr.cocoh.api.controller.ad;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.service.report.PlayEvent;
+import kr.cocoh.api.service.report.PlayReportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Data;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/public/devices")
+@RequiredArgsConstructor
+@Tag(name = "Device Plays", description = "디스플레이 광고 재생 보고 API")
+public class AdPlayController {
+
+    private final PlayReportService playReportService;
+
+    @Operation(summary = "광고 재생 보고 (디스플레이용)")
+    @PostMapping("/plays")
+    public ResponseEntity<ApiResponse<Integer>> reportPlays(
+            @RequestHeader("X-Device-Token") String deviceToken,
+            @RequestBody PlayReportRequest request) {
+        try {
+            List<PlayEvent> plays = request.getPlays() == null ? List.of() : request.getPlays().stream()
+                    .map(play -> new PlayEvent(play.getAdId(), play.getPlayedAt(), play.getDuration()))
+                    .toList();
+
+            int accepted = playReportService.recordPlays(deviceToken, plays);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse<>(true, "재생 보고가 접수되었습니다.", accepted));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    // Request DTO classes
+    @Data
+    public static class PlayReportRequest {
+        private List<PlayItem> plays;
+    }
+
+    @Data
+    public static class PlayItem {
+        private Long adId;
+        private LocalDateTime playedAt;
+        private Integer duration;
+    }
+}
@@ -0,0 +1,45 @@
+package kr.cocoh.api.controller.ad;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.dto.PlaylistDto;
+import kr.cocoh.api.service.playlist.AdPlaylistProjector;
+import kr.cocoh.api.service.playlist.AdPlaylistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Playlist", description = "디스플레이 플레이리스트 API")
+public class AdPlaylistController {
+
+    private final AdPlaylistService playlistService;
+    private final AdPlaylistProjector playlistProjector;
+
+    @Operation(summary = "현재 시간대 플레이리스트 조회 (디스플레이용)")
+    @GetMapping("/api/public/devices/playlist")
+    public ResponseEntity<ApiResponse<PlaylistDto>> getPlaylist(
+            @RequestHeader("X-Device-Token") String deviceToken) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "플레이리스트 조회 성공",
+                    playlistService.getPlaylist(deviceToken)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "플레이리스트 읽기 모델 전체 재구성 (관리자)", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/api/admin/playlists/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuild() {
+        int processed = playlistProjector.rebuildAll();
+        return ResponseEntity.ok(new ApiResponse<>(true, "플레이리스트 재구성 완료", processed));
+    }
+}
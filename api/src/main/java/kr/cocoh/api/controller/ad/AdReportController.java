@@ -0,0 +1,47 @@
+package kr.cocoh.api.controller.ad;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.dto.CampaignReportDto;
+import kr.cocoh.api.service.report.CampaignReportService;
+import kr.cocoh.api.service.report.ReportGranularity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/ads")
+@RequiredArgsConstructor
+@Tag(name = "Ad Reports", description = "광고 성과 리포트 API")
+public class AdReportController {
+
+    private final CampaignReportService campaignReportService;
+
+    @Operation(summary = "캠페인 성과 리포트 조회 (관리자용)", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/campaigns/{campaignId}/report")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<List<CampaignReportDto>>> getCampaignReport(
+            @Parameter(description = "캠페인 ID") @PathVariable Long campaignId,
+            @Parameter(description = "집계 단위 (HOUR, DAY, MONTH)") @RequestParam(defaultValue = "DAY") ReportGranularity granularity,
+            @Parameter(description = "시작 시각 (포함)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "종료 시각 (미포함)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            List<CampaignReportDto> report = campaignReportService.getCampaignReport(campaignId, granularity, from, to);
+            return ResponseEntity.ok(new ApiResponse<>(true, "캠페인 리포트 조회 성공", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package kr.cocoh.api.controller.auth;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.display.DisplayImportReader;
+import kr.cocoh.api.service.display.DisplayOnboardingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/displays")
+@RequiredArgsConstructor
+@Tag(name = "Display Onboarding", description = "디스플레이 일괄 등록 API")
+public class DisplayOnboardingController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final DisplayOnboardingService onboardingService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 요청 본문(text/csv 또는 application/x-ndjson)을 스트림으로 읽고,
+     * 결과(디바이스별 deviceId / accessToken)를 NDJSON 으로 바로 내려준다.
+     */
+    @Operation(summary = "디스플레이 일괄 등록", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping(value = "/bulk", consumes = {"text/csv", NDJSON, "application/ndjson"})
+    public void onboard(@AuthenticationPrincipal CustomUserDetails userDetails,
+                        HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        BufferedReader body = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        DisplayImportReader reader = "csv".equals(contentType.getSubtype())
+                ? DisplayImportReader.csv(body)
+                : DisplayImportReader.ndjson(body, objectMapper);
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-store");
+        try {
+            OutputStream out = response.getOutputStream();
+            onboardingService.onboard(reader, userDetails, out);
+        } catch (IllegalArgumentException e) {
+            // CSV 헤더가 잘못된 경우처럼 결과를 쓰기 전에 실패하면 400 으로 돌려줌
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.resetBuffer();
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package kr.cocoh.api.controller.auth;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.dto.DisplaySettingsDto;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.display.DisplaySettingsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Display Settings", description = "디스플레이 설정 API")
+public class DisplaySettingsController {
+
+    private final DisplaySettingsService settingsService;
+
+    @Operation(summary = "디스플레이 설정 조회", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/api/displays/{displayId}/settings")
+    public ResponseEntity<ApiResponse<DisplaySettingsDto>> getSettings(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Parameter(description = "디스플레이 ID") @PathVariable Long displayId) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "설정 조회 성공",
+                    settingsService.getSettings(displayId, userDetails)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "디스플레이 설정 일부 변경 (값이 null 이면 기본값으로 되돌림)",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @PatchMapping("/api/displays/{displayId}/settings")
+    public ResponseEntity<ApiResponse<DisplaySettingsDto>> updateSettings(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Parameter(description = "디스플레이 ID") @PathVariable Long displayId,
+            @RequestBody Map<String, Object> patch) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "설정이 변경되었습니다.",
+                    settingsService.updateSettings(displayId, patch, userDetails)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "디스플레이 설정 조회 (디스플레이용, since 이후 바뀐 키만)")
+    @GetMapping("/api/public/devices/settings")
+    public ResponseEntity<ApiResponse<DisplaySettingsDto>> getDeviceSettings(
+            @RequestHeader("X-Device-Token") String deviceToken,
+            @Parameter(description = "디바이스가 가진 설정 버전") @RequestParam(required = false) Long since) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "설정 조회 성공",
+                    settingsService.getChangesForDevice(deviceToken, since)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
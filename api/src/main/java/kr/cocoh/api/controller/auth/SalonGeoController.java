@@ -0,0 +1,55 @@
+package kr.cocoh.api.controller.auth;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.dto.NearbySalonDto;
+import kr.cocoh.api.service.geo.SalonGeoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/public/salons")
+@RequiredArgsConstructor
+@Tag(name = "Salon Search", description = "살롱 위치 검색 API")
+public class SalonGeoController {
+
+    private final SalonGeoService salonGeoService;
+
+    @Operation(summary = "반경 내 살롱 검색")
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponse<List<NearbySalonDto>>> findNearby(
+            @Parameter(description = "위도") @RequestParam double latitude,
+            @Parameter(description = "경도") @RequestParam double longitude,
+            @Parameter(description = "반경 (미터)") @RequestParam(defaultValue = "3000") double radius) {
+        try {
+            List<NearbySalonDto> salons = salonGeoService.findWithinRadius(latitude, longitude, radius);
+            return ResponseEntity.ok(new ApiResponse<>(true, "살롱 검색 성공", salons));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "가까운 살롱 k개 검색")
+    @GetMapping("/nearest")
+    public ResponseEntity<ApiResponse<List<NearbySalonDto>>> findNearest(
+            @Parameter(description = "위도") @RequestParam double latitude,
+            @Parameter(description = "경도") @RequestParam double longitude,
+            @Parameter(description = "개수") @RequestParam(defaultValue = "10") int k) {
+        try {
+            List<NearbySalonDto> salons = salonGeoService.findNearest(latitude, longitude, k);
+            return ResponseEntity.ok(new ApiResponse<>(true, "살롱 검색 성공", salons));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
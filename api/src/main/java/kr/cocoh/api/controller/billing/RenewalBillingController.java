@@ -0,0 +1,45 @@
+package kr.cocoh.api.controller.billing;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.repository.RenewalBillingRepository;
+import kr.cocoh.api.service.billing.SubscriptionRenewalRunner;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/billing")
+@RequiredArgsConstructor
+@Tag(name = "Billing", description = "구독 자동 갱신 결제 API")
+public class RenewalBillingController {
+
+    private final SubscriptionRenewalRunner renewalRunner;
+
+    @Operation(summary = "자동 갱신 결제 수동 실행 (관리자용)", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/renewal-runs")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<Void>> trigger() {
+        try {
+            renewalRunner.trigger();
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse<>(true, "자동 갱신 결제를 시작했습니다.", null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "최근 자동 갱신 결제 실행 조회 (관리자용)", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/renewal-runs/latest")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<RenewalBillingRepository.Run>> getLatestRun() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "자동 갱신 결제 조회 성공",
+                renewalRunner.getLatestRun().orElse(null)));
+    }
+}
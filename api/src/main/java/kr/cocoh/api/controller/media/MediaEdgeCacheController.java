@@ -0,0 +1,58 @@
+package kr.cocoh.api.controller.media;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.cocoh.api.service.media.MediaEdgeCache;
+import kr.cocoh.api.service.storage.LocalFile;
+import kr.cocoh.api.service.storage.LocalFileResponder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 엣지 캐시를 거친 광고 미디어 다운로드 (media.edge-cache.enabled=true 일 때만 등록)
+ * 캐시 대상이 아니거나 너무 큰 객체는 원본 URL 로 보낸다.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "media.edge-cache.enabled", havingValue = "true")
+public class MediaEdgeCacheController {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final MediaEdgeCache mediaEdgeCache;
+
+    @RequestMapping(value = MediaEdgeCache.PROXY_PATH + "**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = URLDecoder.decode(path.substring(MediaEdgeCache.PROXY_PATH.length()), StandardCharsets.UTF_8);
+
+        LocalFile file;
+        try {
+            file = mediaEdgeCache.get(key).orElse(null);
+        } catch (FileNotFoundException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        } catch (IOException e) {
+            log.error("엣지 캐시 조회 실패 - 키: {}, 오류: {}", key, e.getMessage());
+            response.sendError(HttpServletResponse.SC_BAD_GATEWAY);
+            return;
+        }
+
+        if (file == null) {
+            response.sendRedirect(mediaEdgeCache.originUrl(key));
+            return;
+        }
+        LocalFileResponder.write(request, response, file, CACHE_CONTROL);
+    }
+}
@@ -0,0 +1,44 @@
+package kr.cocoh.api.controller.payment;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.dto.PaymentGatewayStubDto;
+import kr.cocoh.api.service.payment.PaymentGatewayStub;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 로컬 PG 스텁 (payment.pg-stub.enabled=true 일 때만 등록, 운영에서는 켜지 않음)
+ * 실제 PG 시크릿으로 서명한 웹훅을 보내므로 켜져 있더라도 관리자만 호출할 수 있다.
+ */
+@RestController
+@RequestMapping("/api/admin/pg-stub")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payment.pg-stub.enabled", havingValue = "true")
+@Tag(name = "PG Stub", description = "로컬 웹훅 부하 테스트 API")
+public class PaymentGatewayStubController {
+
+    private final PaymentGatewayStub paymentGatewayStub;
+
+    @Operation(summary = "서명한 웹훅 일괄 발송", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/webhooks")
+    public ResponseEntity<ApiResponse<PaymentGatewayStubDto.Result>> send(@RequestBody PaymentGatewayStubDto.Request request) {
+        try {
+            PaymentGatewayStubDto.Result result = paymentGatewayStub.send(request);
+            return ResponseEntity.ok(new ApiResponse<>(true, "웹훅을 발송했습니다.", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, "발송이 중단되었습니다.", null));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package kr.cocoh.api.controller.payment;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.service.payment.PaymentWebhookService;
+import kr.cocoh.api.service.payment.WebhookSignatureException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/public/payments/webhooks")
+@RequiredArgsConstructor
+@Tag(name = "Payment Webhook", description = "PG 웹훅 수신 API")
+public class PaymentWebhookController {
+
+    private final PaymentWebhookService paymentWebhookService;
+
+    /**
+     * PG 웹훅 수신 (provider: portone, toss)
+     * 저장만 하고 바로 응답하며, 이미 받은 이벤트도 200 으로 응답해 PG 재전송을 멈춘다.
+     */
+    @Operation(summary = "PG 웹훅 수신")
+    @PostMapping("/{provider}")
+    public ResponseEntity<ApiResponse<Void>> receive(@PathVariable String provider,
+                                                     @RequestHeader HttpHeaders headers,
+                                                     @RequestBody String body) {
+        Map<String, String> normalized = headers.toSingleValueMap().entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().toLowerCase(Locale.ROOT), Map.Entry::getValue,
+                        (first, second) -> first));
+        try {
+            boolean accepted = paymentWebhookService.receive(provider, normalized, body);
+            return ResponseEntity.ok(new ApiResponse<>(true, accepted ? "웹훅을 수신했습니다." : "이미 수신한 웹훅입니다.", null));
+        } catch (WebhookSignatureException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package kr.cocoh.api.controller.payment;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.dto.RefundDto;
+import kr.cocoh.api.service.payment.RefundService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "Refund", description = "환불 API")
+public class RefundController {
+
+    private final RefundService refundService;
+
+    @Operation(summary = "환불 요청 (관리자용, 같은 Idempotency-Key 재시도는 처음 결과 반환)",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/payments/{paymentId}/refunds")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<RefundDto.Refund>> request(
+            @Parameter(description = "결제 ID") @PathVariable Long paymentId,
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestBody RefundDto.Request request) {
+        try {
+            RefundDto.Refund refund = refundService.request(paymentId, request.getAmount(), request.getReason(),
+                    idempotencyKey);
+            return ResponseEntity.ok(new ApiResponse<>(true, "환불이 접수되었습니다.", refund));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "환불 완료 처리 (관리자용)", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/refunds/{refundId}/complete")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<RefundDto.Refund>> complete(
+            @Parameter(description = "환불 ID") @PathVariable Long refundId,
+            @Parameter(description = "관리자 메모") @RequestParam(required = false) String memo) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "환불이 완료되었습니다.", refundService.complete(refundId, memo)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "환불 거절 (관리자용, 예약 금액 반납)", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/refunds/{refundId}/reject")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<RefundDto.Refund>> reject(
+            @Parameter(description = "환불 ID") @PathVariable Long refundId,
+            @Parameter(description = "관리자 메모") @RequestParam(required = false) String memo) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "환불이 거절되었습니다.", refundService.reject(refundId, memo)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
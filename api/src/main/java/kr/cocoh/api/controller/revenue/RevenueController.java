@@ -0,0 +1,61 @@
+package kr.cocoh.api.controller.revenue;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.dto.RevenueDailyDto;
+import kr.cocoh.api.service.revenue.RevenueRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/revenue")
+@RequiredArgsConstructor
+@Tag(name = "Revenue", description = "매출 집계 API")
+public class RevenueController {
+
+    private final RevenueRollupService revenueRollupService;
+
+    @Operation(summary = "일별 매출/환불 집계 조회 (관리자용)", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/daily")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<List<RevenueDailyDto>>> getDaily(
+            @Parameter(description = "시작일 (포함)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "종료일 (미포함)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "매출 집계 조회 성공", revenueRollupService.getDaily(from, to)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 기간 집계를 원본에서 다시 만듦 (최초 백필 또는 데이터 보정 후)
+     */
+    @Operation(summary = "매출 집계 재생성 (관리자용)", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> rebuild(
+            @Parameter(description = "시작일 (포함)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "종료일 (미포함)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            int days = revenueRollupService.rebuild(from, to);
+            return ResponseEntity.ok(new ApiResponse<>(true, "매출 집계를 다시 만들었습니다.", days));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
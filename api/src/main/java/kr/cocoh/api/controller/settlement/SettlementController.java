@@ -0,0 +1,86 @@
+package kr.cocoh.api.controller.settlement;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.dto.SettlementDto;
+import kr.cocoh.api.service.settlement.SettlementReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/settlements")
+@RequiredArgsConstructor
+@Tag(name = "Settlement", description = "PG 정산 대사 API")
+public class SettlementController {
+
+    private final SettlementReconciliationService reconciliationService;
+
+    @Operation(summary = "정산 파일 업로드 및 대사 시작 (관리자용)", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping(value = "/runs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<Long>> upload(
+            @RequestPart("file") MultipartFile file,
+            @Parameter(description = "PG사 (payments.pg_provider 값)") @RequestParam String pgProvider,
+            @Parameter(description = "정산일") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate settlementDate) {
+        try {
+            long runId = reconciliationService.submit(pgProvider, settlementDate, file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse<>(true, "정산 대사를 시작했습니다.", runId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IOException e) {
+            log.error("정산 파일 저장 중 오류: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "정산 파일 저장에 실패했습니다.", null));
+        }
+    }
+
+    @Operation(summary = "정산 대사 실행 조회 (관리자용)", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/runs/{runId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<SettlementDto.Run>> getRun(
+            @Parameter(description = "대사 실행 ID") @PathVariable Long runId) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "정산 대사 조회 성공", reconciliationService.getRun(runId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "정산 불일치 목록 (관리자용)", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/runs/{runId}/discrepancies")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERADMIN')")
+    public ResponseEntity<ApiResponse<List<SettlementDto.Discrepancy>>> getDiscrepancies(
+            @Parameter(description = "대사 실행 ID") @PathVariable Long runId,
+            @Parameter(description = "이 ID 다음부터") @RequestParam(defaultValue = "0") long afterId,
+            @Parameter(description = "최대 건수 (1000 이하)") @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "정산 불일치 조회 성공",
+                    reconciliationService.getDiscrepancies(runId, afterId, limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package kr.cocoh.api.controller.storage;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.cocoh.api.dto.ApiResponse;
+import kr.cocoh.api.dto.DirectUploadDto;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.storage.DirectUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Direct Upload", description = "버킷 직접 업로드 API")
+public class DirectUploadController {
+
+    private final DirectUploadService directUploadService;
+
+    /**
+     * 업로드 슬롯 발급 (method: put 이면 presigned PUT URL, post 이면 POST 정책 폼 필드)
+     */
+    @Operation(summary = "직접 업로드 슬롯 발급", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping
+    public ResponseEntity<ApiResponse<DirectUploadDto.Slot>> createSlot(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestBody DirectUploadDto.Request request) {
+        try {
+            DirectUploadDto.Slot slot = directUploadService.createSlot(userDetails.getId(), request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<>(true, "업로드 슬롯이 발급되었습니다.", slot));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            log.error("업로드 슬롯 발급 실패: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 업로드 완료 처리 (업로드된 객체의 크기/형식 확인 후 등록)
+     */
+    @Operation(summary = "직접 업로드 완료", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/{uploadId}/finalize")
+    public ResponseEntity<ApiResponse<DirectUploadDto.Result>> finalizeUpload(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable String uploadId) {
+        try {
+            DirectUploadDto.Result result = directUploadService.finalizeUpload(userDetails.getId(), uploadId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "업로드가 완료되었습니다.", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package kr.cocoh.api.controller.storage;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.cocoh.api.service.storage.FileSystemStorageBackend;
+import kr.cocoh.api.service.storage.LocalFile;
+import kr.cocoh.api.service.storage.LocalFileResponder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 로컬 디스크 저장소 파일 서빙 (storage.backend=filesystem 일 때만 등록)
+ * Range, 조건부 요청, sendfile 전송은 LocalFileResponder 가 처리한다.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.backend", havingValue = "filesystem")
+public class LocalStorageController {
+
+    private static final String PATH_PREFIX = "/uploads/";
+    // 객체 키는 내용 주소이거나 한 번만 쓰는 업로드 ID 라 내용이 바뀌지 않음
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final FileSystemStorageBackend fileSystemStorageBackend;
+
+    @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = URLDecoder.decode(path.substring(PATH_PREFIX.length()), StandardCharsets.UTF_8);
+        LocalFile file = fileSystemStorageBackend.resolve(key).orElse(null);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        LocalFileResponder.write(request, response, file, CACHE_CONTROL);
+    }
+}
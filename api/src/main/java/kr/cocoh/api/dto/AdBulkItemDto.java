@@ -0,0 +1,70 @@
+package kr.cocoh.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.model.ad.AdLocation;
+import kr.cocoh.api.model.ad.AdMedia;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 광고 일괄 등록 매니페스트의 광고 한 건
+ * 매니페스트는 {"ads": [AdBulkItemDto, ...]} 형태이며, 미디어 파일은 part 이름으로 참조한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdBulkItemDto {
+    private String ref;
+    private String title;
+    private Ad.Type type;
+    private Long salonId;
+    private Boolean isActive;
+    private Campaign campaign;
+    private List<Media> media;
+    private List<LocalTime> schedules;
+    private List<Location> locations;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Campaign {
+        private BigDecimal budget;
+        private BigDecimal dailyBudget;
+        private LocalDateTime startDate;
+        private LocalDateTime endDate;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Media {
+        private String part;
+        private AdMedia.Size size;
+        private Integer order;
+        private Integer duration;
+        private Boolean isPrimary;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Location {
+        private AdLocation.TargetType targetType;
+        private String city;
+        private String district;
+        private BigDecimal latitude;
+        private BigDecimal longitude;
+        private Integer radiusMeters;
+    }
+}
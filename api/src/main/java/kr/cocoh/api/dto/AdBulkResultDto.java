@@ -0,0 +1,32 @@
+package kr.cocoh.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdBulkResultDto {
+    private int total;
+    private int created;
+    private int failed;
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private int index;
+        private String ref;
+        private boolean success;
+        private Long adId;
+        private List<Long> mediaIds;
+        private String message;
+    }
+}
@@ -0,0 +1,60 @@
+package kr.cocoh.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 광고 DTO (목록 조회에서는 media/schedules/locations 를 채우지 않음)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdDto {
+    private Long id;
+    private String title;
+    private String type;
+    private Long salonId;
+    private String salonName;
+    private String salonCity;
+    private String salonDistrict;
+    private Boolean isActive;
+    private Campaign campaign;
+    private List<AdMediaDto> media;
+    private List<LocalTime> schedules;
+    private List<Location> locations;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Campaign {
+        private Long id;
+        private BigDecimal budget;
+        private BigDecimal dailyBudget;
+        private LocalDateTime startDate;
+        private LocalDateTime endDate;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Location {
+        private String targetType;
+        private String city;
+        private String district;
+        private BigDecimal latitude;
+        private BigDecimal longitude;
+        private Integer radiusMeters;
+    }
+}
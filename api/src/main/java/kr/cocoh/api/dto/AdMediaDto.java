@@ -0,0 +1,27 @@
+package kr.cocoh.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdMediaDto {
+    private Long id;
+    private Long adId;
+    private String url;
+    private String type;
+    private String size;
+    private Integer order;
+    private Integer duration;
+    private Boolean isPrimary;
+    private String renditionStatus;
+    private List<AdMediaRenditionDto> renditions;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package kr.cocoh.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdMediaRenditionDto {
+    private String variant;
+    private String url;
+    private String contentType;
+    private Integer width;
+    private Integer height;
+    private Long byteSize;
+}
@@ -0,0 +1,22 @@
+package kr.cocoh.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignReportDto {
+    private LocalDateTime bucket;
+    private String city;
+    private String district;
+    private long impressions;
+    private long playSeconds;
+    private BigDecimal spend;
+}
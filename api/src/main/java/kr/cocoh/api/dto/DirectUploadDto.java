@@ -0,0 +1,69 @@
+package kr.cocoh.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 직접 업로드(presigned) 요청/응답
+ */
+public class DirectUploadDto {
+
+    public enum Method {
+        put, post
+    }
+
+    /**
+     * 업로드 슬롯 요청
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        private String folder;
+        private String contentType;
+        private Long size;
+        private Method method;
+    }
+
+    /**
+     * 업로드 슬롯
+     * put: url 로 headers 를 그대로 담아 PUT 한다.
+     * post: url 로 fields 를 먼저, 파일을 마지막 file 필드로 담아 multipart/form-data POST 한다.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Slot {
+        private String uploadId;
+        private Method method;
+        private String url;
+        private Map<String, String> headers;
+        private Map<String, String> fields;
+        private LocalDateTime expiresAt;
+    }
+
+    /**
+     * finalize 결과
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private String uploadId;
+        private String folder;
+        private String url;
+        private String contentType;
+        private Long size;
+    }
+}
@@ -0,0 +1,28 @@
+package kr.cocoh.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 디스플레이 일괄 등록 결과 한 줄 (프로비저닝 번들 NDJSON 의 한 행)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DisplayProvisionDto {
+    private Long line;
+    private Boolean success;
+    private Long displayId;
+    private Long salonId;
+    private String name;
+    private String deviceId;
+    private String accessToken;
+    private String status;
+    private String message;
+}
@@ -0,0 +1,23 @@
+package kr.cocoh.api.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 디스플레이 설정
+ * full 이 false 면 settings 에는 요청한 버전 이후 바뀐 키만 들어 있다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisplaySettingsDto {
+    private Long displayId;
+    private Long version;
+    private Boolean full;
+    private Map<String, Object> settings;
+}
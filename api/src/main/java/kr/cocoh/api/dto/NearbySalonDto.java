@@ -0,0 +1,20 @@
+package kr.cocoh.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbySalonDto {
+    private Long salonId;
+    private String name;
+    private String city;
+    private String district;
+    private Double latitude;
+    private Double longitude;
+    private Long distanceMeters;
+}
@@ -0,0 +1,55 @@
+package kr.cocoh.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 로컬 PG 스텁 요청/응답 (웹훅 부하 테스트용)
+ */
+public class PaymentGatewayStubDto {
+
+    public enum Event {
+        paid, failed, cancelled
+    }
+
+    /**
+     * 웹훅 발송 요청
+     * merchantUids 가 없으면 prefix-1 ~ prefix-count 로, prefix 도 없으면 운영과 같은 시간순 주문 번호 count 개를 만든다.
+     * duplicates 만큼 같은 웹훅을 다시 보내 PG 재전송을 흉내 낸다.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        private String provider;
+        private Event event;
+        private List<String> merchantUids;
+        private String prefix;
+        private Integer count;
+        private Integer amount;
+        private Integer duplicates;
+        private Integer concurrency;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private int sent;
+        private int acknowledged;
+        private int rejected;
+        private int errors;
+        private int retries;
+        private long elapsedMs;
+        private double requestsPerSecond;
+        private long p50Ms;
+        private long p99Ms;
+        private long maxMs;
+    }
+}
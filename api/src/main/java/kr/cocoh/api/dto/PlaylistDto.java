@@ -0,0 +1,23 @@
+package kr.cocoh.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import kr.cocoh.api.service.playlist.PlaylistAd;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistDto {
+    private Long displayId;
+    private String city;
+    private String district;
+    private Integer slotHour;
+    private LocalDateTime generatedAt;
+    private List<PlaylistAd> ads;
+}
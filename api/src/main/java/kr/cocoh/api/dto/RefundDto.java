@@ -0,0 +1,41 @@
+package kr.cocoh.api.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 환불 요청/응답 (status: pending, completed, rejected)
+ */
+public class RefundDto {
+
+    /**
+     * 환불 요청 (같은 결제에 같은 Idempotency-Key 로 다시 보내면 처음 환불을 그대로 돌려줌)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        private Integer amount;
+        private String reason;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Refund {
+        private Long id;
+        private Long paymentId;
+        private Integer amount;
+        private String reason;
+        private String status;
+        private LocalDateTime refundDate;
+        private String adminMemo;
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,27 @@
+package kr.cocoh.api.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일별 매출 집계 한 행 (일자, 요금제, PG, 통화별)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueDailyDto {
+    private LocalDate day;
+    private Long planId;
+    private String pgProvider;
+    private String currency;
+    private int paymentsCount;
+    private long grossAmount;
+    private int refundsCount;
+    private long refundAmount;
+    private long netAmount;
+}
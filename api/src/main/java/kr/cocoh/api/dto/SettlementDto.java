@@ -0,0 +1,52 @@
+package kr.cocoh.api.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PG 정산 대사 응답
+ */
+public class SettlementDto {
+
+    /**
+     * 대사 실행 (status: running, completed, failed)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Run {
+        private Long id;
+        private String pgProvider;
+        private LocalDate settlementDate;
+        private String fileName;
+        private String status;
+        private long fileRows;
+        private long dbRows;
+        private long matched;
+        private long discrepancies;
+        private String error;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Discrepancy {
+        private Long id;
+        private String merchantUid;
+        private String type;
+        private Integer fileAmount;
+        private Integer dbAmount;
+        private String fileStatus;
+        private String dbStatus;
+        private String detail;
+    }
+}
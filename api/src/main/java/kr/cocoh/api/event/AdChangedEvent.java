@@ -0,0 +1,13 @@
+package kr.cocoh.api.event;
+
+import java.util.List;
+
+/**
+ * 광고 또는 광고에 딸린 미디어/스케줄/지역/캠페인 변경 이벤트 (쓰기 트랜잭션 안에서 발행)
+ */
+public record AdChangedEvent(List<Long> adIds) {
+
+    public static AdChangedEvent of(Long adId) {
+        return new AdChangedEvent(List.of(adId));
+    }
+}
@@ -0,0 +1,7 @@
+package kr.cocoh.api.event;
+
+/**
+ * 광고 미디어 원본 업로드 완료 이벤트
+ */
+public record AdMediaUploadedEvent(Long adMediaId) {
+}
@@ -0,0 +1,10 @@
+package kr.cocoh.api.event;
+
+/**
+ * 변경 피드 이벤트 (아웃박스 행을 폴링한 노드 안에서 발행)
+ * 구독자는 aggregateType 으로 걸러서 로컬 캐시를 비우거나 다시 읽는다.
+ * @param local 이 노드에서 기록한 이벤트인지 여부
+ */
+public record ChangeFeedEvent(long id, String aggregateType, String aggregateId, String eventType,
+                              String payload, boolean local) {
+}
@@ -0,0 +1,12 @@
+package kr.cocoh.api.event;
+
+import java.util.List;
+
+/**
+ * 새로 승인되었거나 위치가 바뀐 살롱 (살롱 위치 인덱스를 다시 적재할 때 발행)
+ */
+public record SalonLocationsChangedEvent(List<Located> salons) {
+
+    public record Located(Long salonId, String city, String district, double latitude, double longitude) {
+    }
+}
@@ -0,0 +1,12 @@
+package kr.cocoh.api.event;
+
+import java.util.List;
+
+/**
+ * 구독 만료 이벤트 (만료 처리 트랜잭션 안에서 발행)
+ */
+public record SubscriptionExpiredEvent(List<Expired> subscriptions) {
+
+    public record Expired(Long subscriptionId, Long userId, Long planId) {
+    }
+}
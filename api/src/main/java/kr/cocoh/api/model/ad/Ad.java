@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 
 import kr.cocoh.api.model.auth.Salon;
@@ -18,7 +19,35 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "ads")
+@NamedEntityGraphs({
+    // 목록: 살롱(+위치)과 캠페인만 조인, 컬렉션은 읽지 않음
+    @NamedEntityGraph(name = Ad.GRAPH_LIST,
+            attributeNodes = {
+                @NamedAttributeNode(value = "salon", subgraph = "salon"),
+                @NamedAttributeNode("campaign")
+            },
+            subgraphs = @NamedSubgraph(name = "salon", attributeNodes = @NamedAttributeNode("location"))),
+    // 상세: 목록 + 미디어 조인, 스케줄/지역은 배치 페치
+    @NamedEntityGraph(name = Ad.GRAPH_DETAIL,
+            attributeNodes = {
+                @NamedAttributeNode(value = "salon", subgraph = "salon"),
+                @NamedAttributeNode("campaign"),
+                @NamedAttributeNode("media")
+            },
+            subgraphs = @NamedSubgraph(name = "salon", attributeNodes = @NamedAttributeNode("location"))),
+    // 플레이리스트 구성: 캠페인 + 미디어 조인, 스케줄/지역은 배치 페치
+    @NamedEntityGraph(name = Ad.GRAPH_PLAYLIST,
+            attributeNodes = {
+                @NamedAttributeNode("campaign"),
+                @NamedAttributeNode("media")
+            })
+})
 public class Ad {
+
+    // 한 그래프에서 List 컬렉션(bag)은 하나만 조인할 수 있으므로 나머지는 @BatchSize 로 모아서 읽는다
+    public static final String GRAPH_LIST = "Ad.list";
+    public static final String GRAPH_DETAIL = "Ad.detail";
+    public static final String GRAPH_PLAYLIST = "Ad.playlist";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,12 +67,15 @@ public class Ad {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive;
     
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "ad", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<AdMedia> media;
     
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "ad", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<AdSchedule> schedules;
     
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "ad", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<AdLocation> locations;
     
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.*;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -33,6 +34,15 @@ public class AdLocation {
     @Column(length = 100)
     private String district;
     
+    @Column(precision = 10, scale = 8)
+    private BigDecimal latitude;
+    
+    @Column(precision = 11, scale = 8)
+    private BigDecimal longitude;
+    
+    @Column(name = "radius_meters")
+    private Integer radiusMeters;
+    
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
@@ -41,13 +51,14 @@ public class AdLocation {
     
     // Enum for target type
     public enum TargetType {
-        nationwide, administrative
+        nationwide, administrative, radius
     }
     
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        validate(); // 검증 메서드 호출
     }
     
     @PreUpdate
@@ -57,9 +68,9 @@ public class AdLocation {
     }
     
     // Validation methods
-    protected void validate() {
+    public void validate() {
         if (this.targetType == TargetType.nationwide) {
-            if (this.city != null || this.district != null) {
+            if (this.city != null || this.district != null || this.radiusMeters != null) {
                 throw new IllegalStateException("Nationwide targeting cannot have other location fields");
             }
         }
@@ -69,5 +80,14 @@ public class AdLocation {
                 throw new IllegalStateException("City is required for administrative targeting");
             }
         }
+        
+        if (this.targetType == TargetType.radius) {
+            if (this.latitude == null || this.longitude == null || this.radiusMeters == null || this.radiusMeters <= 0) {
+                throw new IllegalStateException("Latitude, longitude and a positive radius are required for radius targeting");
+            }
+            if (this.city != null || this.district != null) {
+                throw new IllegalStateException("Radius targeting cannot have administrative location fields");
+            }
+        }
     }
 }
\ No newline at end of file
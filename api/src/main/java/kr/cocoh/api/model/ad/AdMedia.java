@@ -5,7 +5,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Entity
@@ -43,6 +45,17 @@ public class AdMedia {
     @Column(nullable = false)
     private Size size;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rendition_status", nullable = false, length = 20)
+    private RenditionStatus renditionStatus;
+    
+    @Column(name = "rendition_attempts", nullable = false)
+    private Integer renditionAttempts;
+    
+    @BatchSize(size = 100)
+    @OneToMany(mappedBy = "adMedia", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<AdMediaRendition> renditions;
+    
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
@@ -59,6 +72,11 @@ public class AdMedia {
         min, max
     }
     
+    // Enum for rendition status
+    public enum RenditionStatus {
+        pending, processing, ready, failed, skipped
+    }
+    
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -72,6 +90,12 @@ public class AdMedia {
         if (this.isPrimary == null) {
             this.isPrimary = false;
         }
+        if (this.renditionStatus == null) {
+            this.renditionStatus = RenditionStatus.pending;
+        }
+        if (this.renditionAttempts == null) {
+            this.renditionAttempts = 0;
+        }
     }
     
     @PreUpdate
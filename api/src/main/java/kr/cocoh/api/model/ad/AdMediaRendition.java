@@ -0,0 +1,57 @@
+package kr.cocoh.api.model.ad;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ad_media_renditions")
+public class AdMediaRendition {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ad_media_id", nullable = false)
+    private AdMedia adMedia;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Variant variant;
+    
+    @Column(nullable = false, length = 255)
+    private String url;
+    
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+    
+    @Column(nullable = false)
+    private Integer width;
+    
+    @Column(nullable = false)
+    private Integer height;
+    
+    @Column(name = "byte_size", nullable = false)
+    private Long byteSize;
+    
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Enum for variant (min/max 는 AdMedia.Size 와 같은 이름)
+    public enum Variant {
+        min, max, poster
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
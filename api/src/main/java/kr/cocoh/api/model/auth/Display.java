@@ -6,8 +6,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 import org.hibernate.annotations.JdbcTypeCode;
@@ -46,9 +44,9 @@ public class Display {
     @JoinColumn(name = "salon_id", nullable = false)
     private Salon salon;
     
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(columnDefinition = "json")
-    private Map<String, Object> settings;
+    // 설정 JSON 은 엔티티 로드마다 파싱하지 않도록 매핑하지 않고 DisplaySettingsService 로 읽고 쓴다
+    @Column(name = "settings_version", insertable = false, updatable = false)
+    private Long settingsVersion;
     
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -71,9 +69,6 @@ public class Display {
         if (this.status == null) {
             this.status = Status.active;
         }
-        if (this.settings == null) {
-            this.settings = new HashMap<>();
-        }
     }
     
     @PreUpdate
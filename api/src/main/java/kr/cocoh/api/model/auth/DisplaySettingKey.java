@@ -0,0 +1,104 @@
+package kr.cocoh.api.model.auth;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 디스플레이 설정 스키마 (키, 기본값, 값 검증/정규화)
+ */
+public enum DisplaySettingKey {
+    VOLUME("volume", 50, intRange(0, 100)),
+    BRIGHTNESS("brightness", 80, intRange(0, 100)),
+    ORIENTATION("orientation", "landscape", oneOf("landscape", "portrait")),
+    SCREEN_ON_TIME("screenOnTime", "08:00", time()),
+    SCREEN_OFF_TIME("screenOffTime", "23:00", time()),
+    PLAYLIST_REFRESH_SECONDS("playlistRefreshSeconds", 300, intRange(30, 86400)),
+    PING_INTERVAL_SECONDS("pingIntervalSeconds", 60, intRange(10, 3600)),
+    SHOW_CLOCK("showClock", true, bool()),
+    SHOW_WEATHER("showWeather", false, bool()),
+    MUTE_VIDEO("muteVideo", false, bool());
+
+    private final String key;
+    private final Object defaultValue;
+    private final Function<Object, Object> normalizer;
+
+    DisplaySettingKey(String key, Object defaultValue, Function<Object, Object> normalizer) {
+        this.key = key;
+        this.defaultValue = defaultValue;
+        this.normalizer = normalizer;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Object getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * 값 검증 및 정규화
+     * @throws IllegalArgumentException 스키마에 맞지 않는 값
+     */
+    public Object normalize(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException(key + " 값이 비어 있습니다.");
+        }
+        return normalizer.apply(value);
+    }
+
+    public static DisplaySettingKey fromKey(String key) {
+        for (DisplaySettingKey setting : values()) {
+            if (setting.key.equals(key)) {
+                return setting;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 설정 키입니다: " + key);
+    }
+
+    private static Function<Object, Object> intRange(int min, int max) {
+        return value -> {
+            if (!(value instanceof Number number) || number.doubleValue() != Math.rint(number.doubleValue())
+                    || number.longValue() < min || number.longValue() > max) {
+                throw new IllegalArgumentException("값은 " + min + " 이상 " + max + " 이하의 정수여야 합니다: " + value);
+            }
+            return number.intValue();
+        };
+    }
+
+    private static Function<Object, Object> bool() {
+        return value -> {
+            if (!(value instanceof Boolean)) {
+                throw new IllegalArgumentException("값은 true 또는 false 여야 합니다: " + value);
+            }
+            return value;
+        };
+    }
+
+    private static Function<Object, Object> oneOf(String... allowed) {
+        Set<String> options = Set.of(allowed);
+        return value -> {
+            if (!(value instanceof String text) || !options.contains(text)) {
+                throw new IllegalArgumentException("값은 " + String.join(", ", allowed) + " 중 하나여야 합니다: " + value);
+            }
+            return text;
+        };
+    }
+
+    // HH:mm
+    private static Function<Object, Object> time() {
+        return value -> {
+            try {
+                if (value instanceof String text && text.length() == 5) {
+                    LocalTime.parse(text);
+                    return text;
+                }
+            } catch (DateTimeParseException e) {
+                // 아래에서 처리
+            }
+            throw new IllegalArgumentException("값은 HH:mm 형식이어야 합니다: " + value);
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package kr.cocoh.api.model.auth;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 디스플레이 설정 스냅샷 (불변)
+ * 저장된 JSON 에 없거나 스키마에 맞지 않는 값은 기본값으로 채운다.
+ */
+public final class DisplaySettings {
+
+    private final long version;
+    private final Map<DisplaySettingKey, Object> values;
+
+    private DisplaySettings(long version, Map<DisplaySettingKey, Object> values) {
+        this.version = version;
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    public static DisplaySettings of(long version, Map<String, Object> stored) {
+        Map<DisplaySettingKey, Object> values = new EnumMap<>(DisplaySettingKey.class);
+        for (DisplaySettingKey key : DisplaySettingKey.values()) {
+            Object value = stored != null ? stored.get(key.getKey()) : null;
+            try {
+                values.put(key, value != null ? key.normalize(value) : key.getDefaultValue());
+            } catch (IllegalArgumentException e) {
+                values.put(key, key.getDefaultValue());
+            }
+        }
+        return new DisplaySettings(version, values);
+    }
+
+    public static DisplaySettings defaults() {
+        return of(0, Map.of());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Object get(DisplaySettingKey key) {
+        return values.get(key);
+    }
+
+    public int getInt(DisplaySettingKey key) {
+        return (Integer) values.get(key);
+    }
+
+    public boolean getBoolean(DisplaySettingKey key) {
+        return (Boolean) values.get(key);
+    }
+
+    public String getString(DisplaySettingKey key) {
+        return (String) values.get(key);
+    }
+
+    /**
+     * 전체 설정 (JSON 키 → 값)
+     */
+    public Map<String, Object> toMap() {
+        return subset(values.keySet());
+    }
+
+    /**
+     * 일부 설정 (JSON 키 → 값)
+     */
+    public Map<String, Object> subset(Collection<DisplaySettingKey> keys) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (DisplaySettingKey key : DisplaySettingKey.values()) {
+            if (keys.contains(key)) {
+                result.put(key.getKey(), values.get(key));
+            }
+        }
+        return result;
+    }
+}
@@ -12,8 +12,17 @@ import jakarta.validation.constraints.Min;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import kr.cocoh.api.config.SecondLevelCacheConfig;
+import kr.cocoh.api.service.cache.SecondLevelCacheListener;
+
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.LOCATION_REGION)
+@EntityListeners(SecondLevelCacheListener.class)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,6 +1,8 @@
 package kr.cocoh.api.model.auth;
 
+import kr.cocoh.api.config.SecondLevelCacheConfig;
 import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.service.cache.SecondLevelCacheListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,8 +11,14 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.SALON_REGION)
+@EntityListeners(SecondLevelCacheListener.class)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
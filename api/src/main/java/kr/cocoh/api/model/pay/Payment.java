@@ -32,6 +32,10 @@ public class Payment {
     @Column(nullable = false)
     private Integer amount;
     
+    // 환불 예약 합계 (RefundService 의 조건부 UPDATE 로만 바뀜, 엔티티 저장이 덮어쓰지 않게 읽기 전용)
+    @Column(name = "refunded_amount", insertable = false, updatable = false)
+    private Integer refundedAmount;
+    
     @Column(nullable = false, length = 3)
     private String currency;
     
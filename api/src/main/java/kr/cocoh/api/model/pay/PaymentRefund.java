@@ -23,6 +23,9 @@ public class PaymentRefund {
     @JoinColumn(name = "payment_id", nullable = false)
     private Payment payment;
     
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+    
     @Column(nullable = false)
     private Integer amount;
     
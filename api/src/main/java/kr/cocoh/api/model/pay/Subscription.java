@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,6 +16,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "subscriptions")
+@DynamicUpdate // 갱신 결제가 SQL 로 늘린 end_date 를 다른 변경 저장이 덮어쓰지 않게 바뀐 컬럼만 UPDATE
 public class Subscription {
     
     @Id
@@ -42,6 +44,16 @@ public class Subscription {
     @Column(name = "auto_renewal", nullable = false)
     private Boolean autoRenewal;
     
+    @Column(name = "billing_key", length = 200)
+    private String billingKey;
+    
+    @Column(name = "billing_pg_provider", length = 50)
+    private String billingPgProvider;
+    
+    // 갱신 결제 실행이 조건부 UPDATE 로만 바꿈 (엔티티 저장이 덮어쓰지 않게 읽기 전용)
+    @Column(name = "renewal_attempts", insertable = false, updatable = false)
+    private Integer renewalAttempts;
+    
     @OneToMany(mappedBy = "subscription")
     private List<Payment> payments;
     
@@ -9,11 +9,19 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import kr.cocoh.api.config.SecondLevelCacheConfig;
+import kr.cocoh.api.service.cache.SecondLevelCacheListener;
+
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PLAN_REGION)
+@EntityListeners(SecondLevelCacheListener.class)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,70 @@
+package kr.cocoh.api.model.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 직접 업로드 슬롯
+ * 클라이언트가 presigned URL 로 버킷에 바로 올린 뒤 finalize 를 호출하면 finalized 가 되고,
+ * 광고 미디어 등록처럼 업로드를 쓰는 쪽이 한 번 쓰면 consumed 가 된다.
+ * 기한 안에 finalize 되지 않은 슬롯의 객체는 삭제 대기열로 넘어간다.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "storage_uploads")
+public class StorageUpload {
+
+    @Id
+    @Column(length = 36, columnDefinition = "CHAR(36)")
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String folder;
+
+    @Column(name = "object_key", nullable = false, unique = true, length = 255)
+    private String objectKey;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "declared_size", nullable = false)
+    private Long declaredSize;
+
+    @Column(name = "byte_size")
+    private Long byteSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "finalized_at")
+    private LocalDateTime finalizedAt;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        if (this.status == null) {
+            this.status = Status.pending;
+        }
+    }
+
+    public enum Status {
+        pending, finalized, consumed
+    }
+}
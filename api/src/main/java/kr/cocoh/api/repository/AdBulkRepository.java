@@ -0,0 +1,200 @@
+package kr.cocoh.api.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.dto.AdBulkItemDto;
+import kr.cocoh.api.service.ad.AdBulkDraft;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 광고 일괄 등록 저장 (JDBC 배치)
+ * 광고 한 건마다 미디어/스케줄/지역 행이 수십 개씩 딸려 오는데, IDENTITY 키 엔티티는
+ * Hibernate 배치 삽입이 꺼지므로 청크 단위로 테이블별 배치 INSERT 를 직접 실행한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AdBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 살롱 소유자 조회
+     * @return 살롱 ID → 소유자 ID (없는 살롱은 빠짐)
+     */
+    public Map<Long, Long> findSalonOwners(Collection<Long> salonIds) {
+        Map<Long, Long> owners = new HashMap<>();
+        if (salonIds.isEmpty()) {
+            return owners;
+        }
+        String placeholders = salonIds.stream().map(id -> "?").collect(Collectors.joining(","));
+        jdbcTemplate.query("SELECT id, owner_id FROM salons WHERE id IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> owners.put(rs.getLong("id"), rs.getLong("owner_id")),
+                salonIds.toArray());
+        return owners;
+    }
+
+    /**
+     * 사용자가 소유한 살롱들의 광고 수 (요금제 한도 확인용)
+     */
+    public int countOwnedAds(Long ownerId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ads a JOIN salons s ON s.id = a.salon_id " +
+                "WHERE s.owner_id = ?", Integer.class, ownerId);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * 광고 청크 저장 (호출한 쪽 트랜잭션 안에서 실행)
+     * @return 초안 순서대로 저장된 광고 ID 와 미디어 ID
+     */
+    public List<InsertedAd> insertAll(List<AdBulkDraft> drafts) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> adIds = insertAds(drafts, now);
+
+        List<Object[]> campaigns = new ArrayList<>();
+        List<MediaRow> mediaRows = new ArrayList<>();
+        List<Object[]> schedules = new ArrayList<>();
+        List<Object[]> locations = new ArrayList<>();
+        for (int i = 0; i < drafts.size(); i++) {
+            AdBulkDraft draft = drafts.get(i);
+            Long adId = adIds.get(i);
+            AdBulkItemDto.Campaign campaign = draft.item().getCampaign();
+            if (campaign != null) {
+                campaigns.add(new Object[]{adId, campaign.getBudget(), campaign.getDailyBudget(),
+                        Timestamp.valueOf(campaign.getStartDate()), Timestamp.valueOf(campaign.getEndDate()), now});
+            }
+            for (AdBulkDraft.UploadedMedia media : draft.media()) {
+                mediaRows.add(new MediaRow(i, adId, media));
+            }
+            if (draft.item().getSchedules() != null) {
+                for (LocalTime time : draft.item().getSchedules()) {
+                    schedules.add(new Object[]{adId, Time.valueOf(time), now, now});
+                }
+            }
+            if (draft.item().getLocations() != null) {
+                for (AdBulkItemDto.Location location : draft.item().getLocations()) {
+                    locations.add(new Object[]{adId, location.getTargetType().name(), location.getCity(),
+                            location.getDistrict(), location.getLatitude(), location.getLongitude(),
+                            location.getRadiusMeters(), now, now});
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO ad_campaigns (ad_id, budget, daily_budget, start_date, end_date, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", campaigns,
+                new int[]{Types.BIGINT, Types.DECIMAL, Types.DECIMAL, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP});
+        jdbcTemplate.batchUpdate("INSERT INTO ad_schedules (ad_id, time, created_at, updated_at) VALUES (?, ?, ?, ?)",
+                schedules, new int[]{Types.BIGINT, Types.TIME, Types.TIMESTAMP, Types.TIMESTAMP});
+        jdbcTemplate.batchUpdate("INSERT INTO ad_locations (ad_id, target_type, city, district, latitude, longitude, " +
+                "radius_meters, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", locations,
+                new int[]{Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DECIMAL, Types.DECIMAL,
+                        Types.INTEGER, Types.TIMESTAMP, Types.TIMESTAMP});
+        List<Long> mediaIds = insertMedia(mediaRows, now);
+
+        List<InsertedAd> inserted = new ArrayList<>(drafts.size());
+        for (Long adId : adIds) {
+            inserted.add(new InsertedAd(adId, new ArrayList<>()));
+        }
+        for (int i = 0; i < mediaRows.size(); i++) {
+            inserted.get(mediaRows.get(i).draftIndex()).mediaIds().add(mediaIds.get(i));
+        }
+        return inserted;
+    }
+
+    private List<Long> insertAds(List<AdBulkDraft> drafts, Timestamp now) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement("INSERT INTO ads (title, type, salon_id, is_active, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        AdBulkItemDto item = drafts.get(i).item();
+                        ps.setString(1, item.getTitle());
+                        ps.setString(2, item.getType().name());
+                        ps.setObject(3, item.getSalonId(), Types.BIGINT);
+                        ps.setBoolean(4, item.getIsActive() == null || item.getIsActive());
+                        ps.setTimestamp(5, now);
+                        ps.setTimestamp(6, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return drafts.size();
+                    }
+                },
+                keyHolder);
+        return generatedIds(keyHolder, drafts.size());
+    }
+
+    private List<Long> insertMedia(List<MediaRow> rows, Timestamp now) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement("INSERT INTO ad_medias (ad_id, url, type, `order`, duration, is_primary, size, " +
+                        "rendition_status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 'pending', ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        MediaRow row = rows.get(i);
+                        AdBulkItemDto.Media spec = row.media().spec();
+                        ps.setLong(1, row.adId());
+                        ps.setString(2, row.media().url());
+                        ps.setString(3, row.media().type().name());
+                        ps.setInt(4, spec.getOrder() != null ? spec.getOrder() : 0);
+                        ps.setInt(5, spec.getDuration() != null ? spec.getDuration() : 30);
+                        ps.setBoolean(6, Boolean.TRUE.equals(spec.getIsPrimary()));
+                        ps.setString(7, spec.getSize().name());
+                        ps.setTimestamp(8, now);
+                        ps.setTimestamp(9, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+        return generatedIds(keyHolder, rows.size());
+    }
+
+    private List<Long> generatedIds(KeyHolder keyHolder, int expected) {
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != expected) {
+            throw new IllegalStateException("생성된 키 개수가 일치하지 않습니다: " + keys.size() + " / " + expected);
+        }
+        List<Long> ids = new ArrayList<>(expected);
+        for (Map<String, Object> key : keys) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    public record InsertedAd(Long adId, List<Long> mediaIds) {
+    }
+
+    private record MediaRow(int draftIndex, Long adId, AdBulkDraft.UploadedMedia media) {
+    }
+}
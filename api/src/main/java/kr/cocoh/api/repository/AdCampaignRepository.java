@@ -0,0 +1,24 @@
+package kr.cocoh.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.model.ad.AdCampaign;
+
+@Repository
+public interface AdCampaignRepository extends JpaRepository<AdCampaign, Long> {
+
+    Optional<AdCampaign> findByAdId(Long adId);
+
+    /**
+     * 광고 ID별 캠페인 ID 조회 ([adId, campaignId])
+     */
+    @Query("SELECT c.ad.id, c.id FROM AdCampaign c WHERE c.ad.id IN :adIds")
+    List<Object[]> findCampaignIdsByAdIds(@Param("adIds") Collection<Long> adIds);
+}
@@ -0,0 +1,14 @@
+package kr.cocoh.api.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.model.ad.AdMediaRendition;
+
+@Repository
+public interface AdMediaRenditionRepository extends JpaRepository<AdMediaRendition, Long> {
+
+    List<AdMediaRendition> findByAdMediaId(Long adMediaId);
+}
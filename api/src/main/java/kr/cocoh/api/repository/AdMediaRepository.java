@@ -0,0 +1,61 @@
+package kr.cocoh.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.model.ad.AdMedia.RenditionStatus;
+
+@Repository
+public interface AdMediaRepository extends JpaRepository<AdMedia, Long> {
+
+    /**
+     * 변환 상태 전이 (조건부 UPDATE 로 여러 노드 중 한 곳만 선점)
+     * @return 변경된 행 수 (0 이면 이미 다른 상태)
+     */
+    @Modifying
+    @Query("UPDATE AdMedia m SET m.renditionStatus = :to, m.updatedAt = :now WHERE m.id = :id AND m.renditionStatus = :from")
+    int transitionRenditionStatus(@Param("id") Long id,
+                                  @Param("from") RenditionStatus from,
+                                  @Param("to") RenditionStatus to,
+                                  @Param("now") LocalDateTime now);
+
+    /**
+     * 변환 작업 선점 (from 상태인 행만 to 로 바꾸고 시도 횟수 증가)
+     * @return 변경된 행 수 (0 이면 다른 노드가 먼저 가져감)
+     */
+    @Modifying
+    @Query("UPDATE AdMedia m SET m.renditionStatus = :to, m.renditionAttempts = m.renditionAttempts + 1, " +
+            "m.updatedAt = :now WHERE m.id = :id AND m.renditionStatus = :from")
+    int claimRendition(@Param("id") Long id,
+                       @Param("from") RenditionStatus from,
+                       @Param("to") RenditionStatus to,
+                       @Param("now") LocalDateTime now);
+
+    @Query("SELECT m.id FROM AdMedia m WHERE m.renditionStatus = :status AND m.updatedAt < :before ORDER BY m.updatedAt")
+    List<Long> findIdsByRenditionStatusBefore(@Param("status") RenditionStatus status,
+                                              @Param("before") LocalDateTime before,
+                                              Pageable pageable);
+
+    /**
+     * 오래된 변환 상태 일괄 전이 (처리 중 노드가 죽어 멈춘 작업 복구용)
+     * 시도 횟수가 minAttempts 이상, maxAttempts 미만인 행만 바꾼다.
+     */
+    @Modifying
+    @Query("UPDATE AdMedia m SET m.renditionStatus = :to, m.updatedAt = :now " +
+            "WHERE m.renditionStatus = :from AND m.updatedAt < :before " +
+            "AND m.renditionAttempts >= :minAttempts AND m.renditionAttempts < :maxAttempts")
+    int transitionStaleRenditionStatus(@Param("from") RenditionStatus from,
+                                       @Param("to") RenditionStatus to,
+                                       @Param("before") LocalDateTime before,
+                                       @Param("minAttempts") int minAttempts,
+                                       @Param("maxAttempts") int maxAttempts,
+                                       @Param("now") LocalDateTime now);
+}
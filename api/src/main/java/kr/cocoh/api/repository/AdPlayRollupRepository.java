@@ -0,0 +1,167 @@
+package kr.cocoh.api.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.dto.CampaignReportDto;
+import kr.cocoh.api.service.report.ReportGranularity;
+import kr.cocoh.api.service.report.RollupRow;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 광고 재생 집계 테이블 접근 (JDBC)
+ * 집계 테이블은 upsert 와 INSERT ... SELECT 압축이 대부분이라 JPA 엔티티 대신 JdbcTemplate 을 사용한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AdPlayRollupRepository {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int DELETE_CHUNK_SIZE = 10000;
+    private static final BigDecimal MILLE = BigDecimal.valueOf(1000);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 압축 완료 시점 조회
+     * @param lockMode null 이면 잠금 없이, 아니면 "FOR UPDATE" / "LOCK IN SHARE MODE"
+     */
+    public Map<ReportGranularity, LocalDateTime> findWatermarks(String lockMode) {
+        String sql = "SELECT granularity, compacted_until FROM report_rollup_state" +
+                (lockMode != null ? " " + lockMode : "");
+        Map<ReportGranularity, LocalDateTime> watermarks = new EnumMap<>(ReportGranularity.class);
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            Timestamp compactedUntil = rs.getTimestamp("compacted_until");
+            watermarks.put(ReportGranularity.valueOf(rs.getString("granularity")),
+                    compactedUntil != null ? compactedUntil.toLocalDateTime() : null);
+        });
+        return watermarks;
+    }
+
+    public void updateWatermark(ReportGranularity granularity, LocalDateTime compactedUntil) {
+        jdbcTemplate.update("UPDATE report_rollup_state SET compacted_until = ? WHERE granularity = ?",
+                Timestamp.valueOf(compactedUntil), granularity.name());
+    }
+
+    public Optional<LocalDateTime> findEarliestBucket(ReportGranularity granularity) {
+        Timestamp earliest = jdbcTemplate.queryForObject(
+                "SELECT MIN(bucket_start) FROM " + granularity.getTableName(), Timestamp.class);
+        return Optional.ofNullable(earliest).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * 시간별 집계 값을 지정한 단위의 테이블에 누적 (배치 upsert)
+     */
+    public void upsert(ReportGranularity granularity, List<RollupRow> rows, BigDecimal costPerMille) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO " + granularity.getTableName() +
+                " (bucket_start, ad_id, campaign_id, city, district, impressions, play_seconds, spend)" +
+                " VALUES (?, ?, ?, ?, ?, ?, ?, ?)" +
+                " ON DUPLICATE KEY UPDATE impressions = impressions + VALUES(impressions)," +
+                " play_seconds = play_seconds + VALUES(play_seconds), spend = spend + VALUES(spend)";
+
+        jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(granularity.truncate(row.key().bucketStart())));
+            ps.setLong(2, row.key().adId());
+            ps.setLong(3, row.key().campaignId());
+            ps.setString(4, row.key().city());
+            ps.setString(5, row.key().district());
+            ps.setLong(6, row.impressions());
+            ps.setLong(7, row.playSeconds());
+            ps.setBigDecimal(8, costPerMille.multiply(BigDecimal.valueOf(row.impressions()))
+                    .divide(MILLE, 2, RoundingMode.HALF_UP));
+        });
+    }
+
+    /**
+     * 하위 단위 집계를 상위 단위 테이블로 압축
+     * @return 반영된 행 수
+     */
+    public int compact(ReportGranularity source, ReportGranularity target, LocalDateTime from, LocalDateTime until) {
+        String bucket = target.bucketExpression("bucket_start");
+        String sql = "INSERT INTO " + target.getTableName() +
+                " (bucket_start, ad_id, campaign_id, city, district, impressions, play_seconds, spend)" +
+                " SELECT * FROM (" +
+                "   SELECT " + bucket + " AS agg_bucket, ad_id AS agg_ad_id, MAX(campaign_id) AS agg_campaign_id," +
+                "     city AS agg_city, district AS agg_district, SUM(impressions) AS agg_impressions," +
+                "     SUM(play_seconds) AS agg_play_seconds, SUM(spend) AS agg_spend" +
+                "   FROM " + source.getTableName() +
+                "   WHERE bucket_start >= ? AND bucket_start < ?" +
+                "   GROUP BY " + bucket + ", ad_id, city, district" +
+                " ) AS agg" +
+                " ON DUPLICATE KEY UPDATE impressions = impressions + agg_impressions," +
+                " play_seconds = play_seconds + agg_play_seconds, spend = spend + agg_spend";
+        return jdbcTemplate.update(sql, Timestamp.valueOf(from), Timestamp.valueOf(until));
+    }
+
+    /**
+     * 보존 기간이 지난 집계 행을 청크 단위로 삭제
+     */
+    public int deleteBefore(ReportGranularity granularity, LocalDateTime before) {
+        String sql = "DELETE FROM " + granularity.getTableName() + " WHERE bucket_start < ? LIMIT " + DELETE_CHUNK_SIZE;
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, Timestamp.valueOf(before));
+            total += deleted;
+        } while (deleted == DELETE_CHUNK_SIZE);
+        return total;
+    }
+
+    /**
+     * 캠페인 리포트 조회
+     * 구간별로 읽을 집계 테이블을 나눈 뒤 UNION ALL 로 합쳐 요청 단위로 다시 묶는다.
+     * @param segments 테이블별 조회 구간 (from 포함, to 미포함)
+     */
+    public List<CampaignReportDto> findCampaignReport(long campaignId, ReportGranularity granularity,
+                                                      List<Segment> segments) {
+        StringBuilder union = new StringBuilder();
+        Object[] params = new Object[segments.size() * 3];
+        int index = 0;
+        for (Segment segment : segments) {
+            if (union.length() > 0) {
+                union.append(" UNION ALL ");
+            }
+            union.append("SELECT bucket_start, city, district, impressions, play_seconds, spend FROM ")
+                    .append(segment.granularity().getTableName())
+                    .append(" WHERE campaign_id = ? AND bucket_start >= ? AND bucket_start < ?");
+            params[index++] = campaignId;
+            params[index++] = Timestamp.valueOf(segment.from());
+            params[index++] = Timestamp.valueOf(segment.to());
+        }
+
+        String bucket = granularity.bucketExpression("u.bucket_start");
+        String sql = "SELECT " + bucket + " AS bucket, u.city, u.district, SUM(u.impressions) AS impressions," +
+                " SUM(u.play_seconds) AS play_seconds, SUM(u.spend) AS spend" +
+                " FROM (" + union + ") u" +
+                " GROUP BY " + bucket + ", u.city, u.district" +
+                " ORDER BY bucket, u.city, u.district";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> CampaignReportDto.builder()
+                .bucket(rs.getTimestamp("bucket").toLocalDateTime())
+                .city(rs.getString("city"))
+                .district(rs.getString("district"))
+                .impressions(rs.getLong("impressions"))
+                .playSeconds(rs.getLong("play_seconds"))
+                .spend(rs.getBigDecimal("spend"))
+                .build(), params);
+    }
+
+    /**
+     * 리포트 조회 구간
+     */
+    public record Segment(ReportGranularity granularity, LocalDateTime from, LocalDateTime to) {
+    }
+}
@@ -0,0 +1,93 @@
+package kr.cocoh.api.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 플레이리스트 읽기 모델 접근 (JDBC)
+ */
+@Repository
+@RequiredArgsConstructor
+public class AdPlaylistRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 같은 광고를 동시에 다시 만드는 트랜잭션끼리 직렬화
+     */
+    public void lockAds(Collection<Long> adIds) {
+        jdbcTemplate.queryForList("SELECT id FROM ads WHERE id IN (" + placeholders(adIds) + ") ORDER BY id FOR UPDATE",
+                Long.class, adIds.toArray());
+    }
+
+    public int deleteByAdIds(Collection<Long> adIds) {
+        return jdbcTemplate.update("DELETE FROM ad_playlist_entries WHERE ad_id IN (" + placeholders(adIds) + ")",
+                adIds.toArray());
+    }
+
+    public void insertAll(List<EntryRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (EntryRow row : rows) {
+            args.add(new Object[]{row.city(), row.district(), row.slotHour(), row.adId(),
+                    row.startsAt() != null ? Timestamp.valueOf(row.startsAt()) : null,
+                    row.endsAt() != null ? Timestamp.valueOf(row.endsAt()) : null,
+                    row.payload()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ad_playlist_entries " +
+                "(city, district, slot_hour, ad_id, starts_at, ends_at, payload) VALUES (?, ?, ?, ?, ?, ?, ?)", args);
+    }
+
+    /**
+     * 디스플레이 지역/시간대의 노출 가능한 광고 (구/군, 시 단위, 전국 키를 한 번에 조회)
+     * @return 광고별 payload JSON (같은 광고가 여러 키에 걸치면 중복될 수 있음)
+     */
+    public List<String> findPayloads(String city, String district, int slotHour, LocalDateTime now) {
+        Timestamp at = Timestamp.valueOf(now);
+        return jdbcTemplate.queryForList(
+                "SELECT payload FROM ad_playlist_entries " +
+                "WHERE slot_hour = ? AND (city, district) IN ((?, ?), (?, ''), ('', '')) " +
+                "AND (starts_at IS NULL OR starts_at <= ?) AND (ends_at IS NULL OR ends_at > ?) " +
+                "ORDER BY ad_id",
+                String.class, slotHour, city, district, city, at, at);
+    }
+
+    /**
+     * 전체 재구성용 광고 ID (키셋 페이지)
+     */
+    public List<Long> findAdIdsAfter(long lastId, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM ads WHERE id > ? ORDER BY id LIMIT ?",
+                Long.class, lastId, limit);
+    }
+
+    /**
+     * 반경 타게팅 조건 전체 (살롱 위치가 바뀌었을 때 다시 만들 광고를 찾는 용도)
+     */
+    public List<RadiusTarget> findRadiusTargets() {
+        return jdbcTemplate.query("SELECT ad_id, latitude, longitude, radius_meters FROM ad_locations " +
+                        "WHERE target_type = 'radius'",
+                (rs, rowNum) -> new RadiusTarget(rs.getLong(1), rs.getDouble(2), rs.getDouble(3), rs.getInt(4)));
+    }
+
+    private String placeholders(Collection<?> values) {
+        return values.stream().map(value -> "?").collect(Collectors.joining(","));
+    }
+
+    public record EntryRow(String city, String district, int slotHour, Long adId,
+                           LocalDateTime startsAt, LocalDateTime endsAt, String payload) {
+    }
+
+    public record RadiusTarget(Long adId, double latitude, double longitude, int meters) {
+    }
+}
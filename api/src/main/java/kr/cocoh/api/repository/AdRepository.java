@@ -0,0 +1,51 @@
+package kr.cocoh.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.model.ad.Ad;
+
+@Repository
+public interface AdRepository extends JpaRepository<Ad, Long> {
+
+    @Query("SELECT a.id FROM Ad a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 광고 목록 (살롱, 캠페인 포함)
+     */
+    @EntityGraph(Ad.GRAPH_LIST)
+    @Query(value = "SELECT a FROM Ad a", countQuery = "SELECT COUNT(a) FROM Ad a")
+    Page<Ad> findPage(Pageable pageable);
+
+    /**
+     * 살롱별 광고 목록 (살롱, 캠페인 포함)
+     */
+    @EntityGraph(Ad.GRAPH_LIST)
+    @Query(value = "SELECT a FROM Ad a WHERE a.salon.id = :salonId",
+            countQuery = "SELECT COUNT(a) FROM Ad a WHERE a.salon.id = :salonId")
+    Page<Ad> findPageBySalonId(@Param("salonId") Long salonId, Pageable pageable);
+
+    /**
+     * 광고 상세 (살롱, 캠페인, 미디어 포함)
+     */
+    @EntityGraph(Ad.GRAPH_DETAIL)
+    @Query("SELECT a FROM Ad a WHERE a.id = :id")
+    Optional<Ad> findDetailById(@Param("id") Long id);
+
+    /**
+     * 플레이리스트 구성용 광고 (캠페인, 미디어 포함)
+     */
+    @EntityGraph(Ad.GRAPH_PLAYLIST)
+    @Query("SELECT DISTINCT a FROM Ad a WHERE a.id IN :ids")
+    List<Ad> findForPlaylistByIdIn(@Param("ids") Collection<Long> ids);
+}
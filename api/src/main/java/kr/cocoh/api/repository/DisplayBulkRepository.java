@@ -0,0 +1,103 @@
+package kr.cocoh.api.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 디스플레이 일괄 등록 (JDBC 배치, 집합 단위 중복 확인)
+ */
+@Repository
+@RequiredArgsConstructor
+public class DisplayBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Set<String> findExistingDeviceIds(Collection<String> deviceIds) {
+        return findExisting("device_id", deviceIds);
+    }
+
+    public Set<String> findExistingAccessTokens(Collection<String> accessTokens) {
+        return findExisting("access_token", accessTokens);
+    }
+
+    /**
+     * 사용자가 소유한 살롱들의 디스플레이 수 (요금제 한도 확인용)
+     */
+    public int countOwnedDisplays(Long ownerId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM displays d JOIN salons s ON s.id = d.salon_id " +
+                "WHERE s.owner_id = ?", Integer.class, ownerId);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * 디스플레이 배치 저장 (설정은 비워 두어 스키마 기본값을 사용)
+     * @return 입력 순서대로 생성된 ID
+     */
+    public List<Long> insertAll(List<NewDisplay> displays) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement("INSERT INTO displays (device_id, name, access_token, status, salon_id, " +
+                        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NewDisplay display = displays.get(i);
+                        ps.setString(1, display.deviceId());
+                        ps.setString(2, display.name());
+                        ps.setString(3, display.accessToken());
+                        ps.setString(4, display.status());
+                        ps.setLong(5, display.salonId());
+                        ps.setTimestamp(6, now);
+                        ps.setTimestamp(7, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return displays.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != displays.size()) {
+            throw new IllegalStateException("생성된 키 개수가 일치하지 않습니다: " + keys.size() + " / " + displays.size());
+        }
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private Set<String> findExisting(String column, Collection<String> values) {
+        if (values.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = values.stream().map(value -> "?").collect(Collectors.joining(","));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT " + column + " FROM displays WHERE " + column + " IN (" + placeholders + ")",
+                String.class, values.toArray()));
+    }
+
+    public record NewDisplay(String deviceId, String name, String accessToken, String status, Long salonId) {
+    }
+}
@@ -0,0 +1,19 @@
+package kr.cocoh.api.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.model.auth.Display;
+
+@Repository
+public interface DisplayRepository extends JpaRepository<Display, Long> {
+
+    Optional<Display> findByAccessToken(String accessToken);
+
+    @Query("SELECT d FROM Display d JOIN FETCH d.salon s LEFT JOIN FETCH s.location WHERE d.accessToken = :accessToken")
+    Optional<Display> findWithLocationByAccessToken(@Param("accessToken") String accessToken);
+}
@@ -0,0 +1,63 @@
+package kr.cocoh.api.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 디스플레이 설정 JSON 접근 (JDBC)
+ * 설정 변경은 전체 JSON 을 다시 쓰지 않고 JSON_MERGE_PATCH 로 바뀐 키만 병합한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DisplaySettingsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<StoredSettings> findSettings(Long displayId) {
+        return jdbcTemplate.query("SELECT settings_version, settings FROM displays WHERE id = ?",
+                (rs, rowNum) -> new StoredSettings(rs.getLong("settings_version"), rs.getString("settings")),
+                displayId).stream().findFirst();
+    }
+
+    /**
+     * 설정 병합 및 버전 증가 (값이 null 인 키는 삭제되어 기본값으로 돌아감)
+     * @param patchJson RFC 7396 merge patch
+     * @return 갱신된 행 수
+     */
+    public int merge(Long displayId, String patchJson) {
+        return jdbcTemplate.update("UPDATE displays " +
+                "SET settings = JSON_MERGE_PATCH(COALESCE(settings, JSON_OBJECT()), CAST(? AS JSON)), " +
+                "settings_version = settings_version + 1, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE id = ?", patchJson, displayId);
+    }
+
+    public void insertChange(Long displayId, long version, String changedKeysJson) {
+        jdbcTemplate.update("INSERT INTO display_settings_changes (display_id, version, changed_keys) VALUES (?, ?, ?)",
+                displayId, version, changedKeysJson);
+    }
+
+    /**
+     * (fromVersion, toVersion] 구간의 변경 키 목록
+     * @return 버전 순서대로 변경 키 JSON 배열
+     */
+    public List<String> findChangedKeys(Long displayId, long fromVersion, long toVersion) {
+        return jdbcTemplate.queryForList("SELECT changed_keys FROM display_settings_changes " +
+                "WHERE display_id = ? AND version > ? AND version <= ? ORDER BY version",
+                String.class, displayId, fromVersion, toVersion);
+    }
+
+    public int deleteChangesBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update("DELETE FROM display_settings_changes WHERE created_at < ? LIMIT ?",
+                Timestamp.valueOf(cutoff), limit);
+    }
+
+    public record StoredSettings(long version, String json) {
+    }
+}
@@ -0,0 +1,75 @@
+package kr.cocoh.api.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ID 생성기 노드 번호 리스 접근 (JDBC)
+ * 만료 판단은 DB 시계로 하고, 발급 시각 하한(last_timestamp)은 앱 시계 기준 epoch ms 로 남긴다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdNodeLeaseRepository {
+
+    // 내 것이거나, 반납되었거나, 만료된 번호
+    private static final String CLAIMABLE = "(owner = ? OR owner = '' OR expires_at <= CURRENT_TIMESTAMP(3))";
+    private static final int CLAIM_ATTEMPTS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param floorTimestamp 이 노드 번호로 발급을 시작할 수 있는 가장 이른 시각 (epoch ms)
+     */
+    public record Claim(int nodeId, long floorTimestamp) {
+    }
+
+    /**
+     * 노드 번호 하나를 잡음 (이미 내 것이 있으면 그것, 아니면 반납되었거나 만료된 것 중 가장 오래된 것)
+     * 반납 없이 만료된 번호는 이전 노드가 만료 직전까지 발급했을 수 있으므로 하한을 ttl 만큼 뒤로 민다.
+     * 후보를 고른 뒤 같은 조건의 조건부 UPDATE 로 잡으므로, 두 노드가 같은 후보를 고르면 한쪽만 성공하고 다른 쪽은 다시 고른다.
+     */
+    public Optional<Claim> claim(String owner, long ttlSeconds) {
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            List<Integer> candidates = jdbcTemplate.queryForList("SELECT node_id FROM id_generator_nodes " +
+                    "WHERE " + CLAIMABLE + " ORDER BY CASE WHEN owner = ? THEN 0 ELSE 1 END, expires_at LIMIT 1",
+                    Integer.class, owner, owner);
+            if (candidates.isEmpty()) {
+                return Optional.empty();
+            }
+            int updated = jdbcTemplate.update("UPDATE id_generator_nodes " +
+                    "SET last_timestamp = CASE WHEN owner = '' OR owner = ? THEN last_timestamp ELSE last_timestamp + ? END, " +
+                    "owner = ?, expires_at = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3)) " +
+                    "WHERE node_id = ? AND " + CLAIMABLE,
+                    owner, ttlSeconds * 1000, owner, ttlSeconds, candidates.get(0), owner);
+            if (updated == 1) {
+                return jdbcTemplate.query("SELECT node_id, last_timestamp FROM id_generator_nodes WHERE node_id = ?",
+                        (rs, rowNum) -> new Claim(rs.getInt("node_id"), rs.getLong("last_timestamp")), candidates.get(0))
+                        .stream().findFirst();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 리스 연장과 발급 시각 기록 (다른 노드가 가져갔으면 false)
+     */
+    public boolean renew(int nodeId, String owner, long ttlSeconds, long lastTimestamp) {
+        return jdbcTemplate.update("UPDATE id_generator_nodes SET expires_at = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3)), " +
+                "last_timestamp = GREATEST(last_timestamp, ?) WHERE node_id = ? AND owner = ?",
+                ttlSeconds, lastTimestamp, nodeId, owner) == 1;
+    }
+
+    /**
+     * 노드 번호 반납 (마지막 발급 시각을 남겨 다음 노드가 바로 이어서 쓸 수 있게)
+     */
+    public void release(int nodeId, String owner, long lastTimestamp) {
+        jdbcTemplate.update("UPDATE id_generator_nodes SET owner = '', expires_at = CURRENT_TIMESTAMP(3), " +
+                "last_timestamp = GREATEST(last_timestamp, ?) WHERE node_id = ? AND owner = ?",
+                lastTimestamp, nodeId, owner);
+    }
+}
@@ -0,0 +1,59 @@
+package kr.cocoh.api.repository;
+
+import java.util.List;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+import kr.cocoh.api.model.auth.Location;
+import kr.cocoh.api.model.auth.Salon;
+
+@Repository
+public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    /**
+     * 지리 인덱스 적재용 ([salonId, salonName, city, district, latitude, longitude])
+     * 쿼리 캐시 사용 (살롱/위치가 바뀌지 않았으면 주기적 재적재가 DB 를 읽지 않음)
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT s.id, s.name, l.city, l.district, l.latitude, l.longitude " +
+            "FROM Location l JOIN l.salon s WHERE s.status = :status")
+    List<Object[]> findGeoEntriesBySalonStatus(@Param("status") Salon.Status status);
+
+    /**
+     * 반경 내 살롱 검색 (SPATIAL 인덱스로 경계 사각형을 먼저 거른 뒤 구면 거리 계산)
+     * ([salonId, salonName, city, district, latitude, longitude, distance])
+     */
+    @Query(value = "SELECT s.id, s.name, l.city, l.district, l.latitude, l.longitude, " +
+            "ST_Distance_Sphere(l.coordinates, ST_SRID(POINT(:longitude, :latitude), 4326)) AS distance " +
+            "FROM locations l JOIN salons s ON s.id = l.salon_id " +
+            "WHERE MBRContains(ST_GeomFromText(:boundingBox, 4326, 'axis-order=long-lat'), l.coordinates) " +
+            "AND s.status = 'approved' " +
+            "HAVING distance <= :radiusMeters " +
+            "ORDER BY distance", nativeQuery = true)
+    List<Object[]> findApprovedWithinRadius(@Param("latitude") double latitude,
+                                            @Param("longitude") double longitude,
+                                            @Param("boundingBox") String boundingBox,
+                                            @Param("radiusMeters") double radiusMeters);
+
+    /**
+     * 가까운 살롱 k개 (위치 인덱스가 아직 적재되지 않았을 때만 사용, 결과 형식은 findApprovedWithinRadius 와 같음)
+     */
+    @Query(value = "SELECT s.id, s.name, l.city, l.district, l.latitude, l.longitude, " +
+            "ST_Distance_Sphere(l.coordinates, ST_SRID(POINT(:longitude, :latitude), 4326)) AS distance " +
+            "FROM locations l JOIN salons s ON s.id = l.salon_id " +
+            "WHERE MBRContains(ST_GeomFromText(:boundingBox, 4326, 'axis-order=long-lat'), l.coordinates) " +
+            "AND s.status = 'approved' " +
+            "HAVING distance <= :radiusMeters " +
+            "ORDER BY distance LIMIT :k", nativeQuery = true)
+    List<Object[]> findApprovedNearest(@Param("latitude") double latitude,
+                                       @Param("longitude") double longitude,
+                                       @Param("boundingBox") String boundingBox,
+                                       @Param("radiusMeters") double radiusMeters,
+                                       @Param("k") int k);
+}
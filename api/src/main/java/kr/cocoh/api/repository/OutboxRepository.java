@@ -0,0 +1,92 @@
+package kr.cocoh.api.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.event.ChangeFeedEvent;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 아웃박스 / 변경 피드 접근 (JDBC)
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(String aggregateType, String aggregateId, String eventType, String payload, String originNode) {
+        jdbcTemplate.update("INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, origin_node) " +
+                "VALUES (?, ?, ?, ?, ?)", aggregateType, aggregateId, eventType, payload, originNode);
+    }
+
+    public long findMaxId() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM outbox_events", Long.class);
+        return max != null ? max : 0;
+    }
+
+    /**
+     * cursor 이후 이벤트 (ID 순)
+     */
+    public List<ChangeFeedEvent> findAfter(long cursor, int limit, String nodeId) {
+        return jdbcTemplate.query("SELECT id, aggregate_type, aggregate_id, event_type, payload, origin_node " +
+                        "FROM outbox_events WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> toEvent(rs, nodeId), cursor, limit);
+    }
+
+    public List<ChangeFeedEvent> findByIds(Collection<Long> ids, String nodeId) {
+        String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(","));
+        Object[] args = ids.toArray();
+        return jdbcTemplate.query("SELECT id, aggregate_type, aggregate_id, event_type, payload, origin_node " +
+                        "FROM outbox_events WHERE id IN (" + placeholders + ") ORDER BY id",
+                (rs, rowNum) -> toEvent(rs, nodeId), args);
+    }
+
+    public void saveConsumerPosition(String nodeId, long lastEventId) {
+        jdbcTemplate.update("INSERT INTO outbox_consumers (node_id, last_event_id, heartbeat_at) " +
+                "VALUES (?, ?, CURRENT_TIMESTAMP) " +
+                "ON DUPLICATE KEY UPDATE last_event_id = VALUES(last_event_id), heartbeat_at = VALUES(heartbeat_at)",
+                nodeId, lastEventId);
+    }
+
+    public void deleteConsumer(String nodeId) {
+        jdbcTemplate.update("DELETE FROM outbox_consumers WHERE node_id = ?", nodeId);
+    }
+
+    public int deleteStaleConsumers(LocalDateTime heartbeatBefore) {
+        return jdbcTemplate.update("DELETE FROM outbox_consumers WHERE heartbeat_at < ?", Timestamp.valueOf(heartbeatBefore));
+    }
+
+    /**
+     * 살아 있는 노드가 모두 읽은 위치 (노드가 없으면 null)
+     */
+    public Long findMinConsumedId() {
+        return jdbcTemplate.queryForObject("SELECT MIN(last_event_id) FROM outbox_consumers", Long.class);
+    }
+
+    /**
+     * 압축: 모든 노드가 읽은 행, 또는 보존 기간이 지난 행 삭제
+     */
+    public int deleteConsumed(long consumedUpTo, LocalDateTime createdBefore, int limit) {
+        return jdbcTemplate.update("DELETE FROM outbox_events WHERE id <= ? OR created_at < ? ORDER BY id LIMIT ?",
+                consumedUpTo, Timestamp.valueOf(createdBefore), limit);
+    }
+
+    private ChangeFeedEvent toEvent(ResultSet rs, String nodeId) throws SQLException {
+        return new ChangeFeedEvent(
+                rs.getLong("id"),
+                rs.getString("aggregate_type"),
+                rs.getString("aggregate_id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                nodeId.equals(rs.getString("origin_node")));
+    }
+}
@@ -0,0 +1,10 @@
+package kr.cocoh.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.model.pay.PaymentRefund;
+
+@Repository
+public interface PaymentRefundRepository extends JpaRepository<PaymentRefund, Long> {
+}
@@ -0,0 +1,22 @@
+package kr.cocoh.api.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import kr.cocoh.api.model.pay.Payment;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    Optional<Payment> findByMerchantUid(String merchantUid);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p LEFT JOIN FETCH p.subscription WHERE p.merchantUid = :merchantUid")
+    Optional<Payment> findByMerchantUidForUpdate(@Param("merchantUid") String merchantUid);
+}
@@ -0,0 +1,105 @@
+package kr.cocoh.api.repository;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+import kr.cocoh.api.service.payment.PaymentWebhook;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PG 웹훅 수신함 접근 (JDBC)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentWebhookRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param payload 수신한 웹훅 본문 (PG 결제 조회에 쓸 결제 키를 꺼낼 때 사용)
+     */
+    public record InboxEvent(long id, String provider, String merchantUid, String eventType,
+                             PaymentStatus targetStatus, Integer amount, String receiptUrl, String payload,
+                             int attempts) {
+    }
+
+    /**
+     * 수신 이벤트 저장 (이미 받은 이벤트면 무시)
+     * @return 새로 저장했으면 true, 중복이면 false
+     */
+    public boolean insert(String provider, PaymentWebhook webhook, String payload) {
+        return jdbcTemplate.update("INSERT IGNORE INTO payment_webhook_events " +
+                        "(provider, merchant_uid, event_type, target_status, amount, receipt_url, payload) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                provider, webhook.merchantUid(), webhook.eventType(),
+                webhook.targetStatus() != null ? webhook.targetStatus().name() : null,
+                webhook.amount(), webhook.receiptUrl(), payload) == 1;
+    }
+
+    /**
+     * 처리할 차례가 된 이벤트를 가져가고 processing 으로 표시 (트랜잭션 안에서 호출)
+     * 처리 중인 노드가 죽으면 processingTimeoutSeconds 뒤에 다시 가져갈 수 있다.
+     */
+    public List<InboxEvent> claimDue(int limit, long processingTimeoutSeconds) {
+        List<InboxEvent> due = jdbcTemplate.query("SELECT id, provider, merchant_uid, event_type, target_status, " +
+                        "amount, receipt_url, payload, attempts FROM payment_webhook_events " +
+                        "WHERE status IN ('pending', 'processing') AND next_attempt_at <= NOW(3) " +
+                        "ORDER BY next_attempt_at, id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> new InboxEvent(rs.getLong("id"), rs.getString("provider"),
+                        rs.getString("merchant_uid"), rs.getString("event_type"),
+                        rs.getString("target_status") != null ? PaymentStatus.valueOf(rs.getString("target_status")) : null,
+                        (Integer) rs.getObject("amount"), rs.getString("receipt_url"), rs.getString("payload"),
+                        rs.getInt("attempts")),
+                limit);
+        if (due.isEmpty()) {
+            return due;
+        }
+        String placeholders = String.join(",", Collections.nCopies(due.size(), "?"));
+        Object[] args = new Object[due.size() + 1];
+        args[0] = processingTimeoutSeconds;
+        for (int i = 0; i < due.size(); i++) {
+            args[i + 1] = due.get(i).id();
+        }
+        jdbcTemplate.update("UPDATE payment_webhook_events SET status = 'processing', attempts = attempts + 1, " +
+                "next_attempt_at = NOW(3) + INTERVAL ? SECOND WHERE id IN (" + placeholders + ")", args);
+        return due;
+    }
+
+    public void markProcessed(long id) {
+        jdbcTemplate.update("UPDATE payment_webhook_events SET status = 'processed', processed_at = NOW(3), " +
+                "last_error = NULL WHERE id = ?", id);
+    }
+
+    /**
+     * 다시 시도하도록 예약
+     */
+    public void markRetry(long id, String error, long backoffSeconds) {
+        jdbcTemplate.update("UPDATE payment_webhook_events SET status = 'pending', last_error = ?, " +
+                "next_attempt_at = NOW(3) + INTERVAL ? SECOND WHERE id = ?", truncate(error), backoffSeconds, id);
+    }
+
+    /**
+     * 더 이상 시도하지 않음 (운영자 확인 필요)
+     */
+    public void markFailed(long id, String error) {
+        jdbcTemplate.update("UPDATE payment_webhook_events SET status = 'failed', last_error = ?, " +
+                "processed_at = NOW(3) WHERE id = ?", truncate(error), id);
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payment_webhook_events " +
+                "WHERE status IN ('pending', 'processing')", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -0,0 +1,131 @@
+package kr.cocoh.api.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.model.pay.PaymentRefund.RefundStatus;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 환불 예약 원장 접근 (JDBC)
+ * 결제 행을 미리 잠그지 않고, 금액과 상태 조건을 건 한 문장 UPDATE 의 반영 행 수로 성공 여부를 판단한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RefundLedgerRepository {
+
+    private static final String REFUND_COLUMNS =
+            "id, payment_id, idempotency_key, amount, reason, status, refund_date, admin_memo, created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record PaymentBalance(long paymentId, int amount, int refundedAmount, String paymentStatus) {
+    }
+
+    public record RefundRow(long id, long paymentId, String idempotencyKey, int amount, String reason,
+                            RefundStatus status, LocalDateTime refundDate, String adminMemo,
+                            LocalDateTime createdAt) {
+    }
+
+    /**
+     * 환불 가능 금액 안에서만 예약 (결제 완료 상태이고 예약 합계 + 금액이 결제 금액 이하일 때)
+     * @return 예약 여부
+     */
+    public boolean reserve(long paymentId, int amount) {
+        return jdbcTemplate.update("UPDATE payments SET refunded_amount = refunded_amount + ? " +
+                "WHERE id = ? AND payment_status = 'completed' AND refunded_amount + ? <= amount",
+                amount, paymentId, amount) == 1;
+    }
+
+    /**
+     * 예약 반납 (거절된 환불)
+     */
+    public boolean release(long paymentId, int amount) {
+        return jdbcTemplate.update("UPDATE payments SET refunded_amount = refunded_amount - ? " +
+                "WHERE id = ? AND refunded_amount >= ?", amount, paymentId, amount) == 1;
+    }
+
+    /**
+     * 남은 금액을 모두 예약 (PG 전체 취소, 결제 행을 이미 잠근 트랜잭션에서 호출)
+     * @return 새로 예약된 금액 (읽은 뒤 다른 예약이 끼어들어 갱신되지 않았으면 0)
+     */
+    public int reserveRemaining(long paymentId) {
+        Integer remaining = jdbcTemplate.queryForObject(
+                "SELECT amount - refunded_amount FROM payments WHERE id = ?", Integer.class, paymentId);
+        if (remaining == null || remaining <= 0) {
+            return 0;
+        }
+        int updated = jdbcTemplate.update("UPDATE payments SET refunded_amount = refunded_amount + ? " +
+                "WHERE id = ? AND refunded_amount + ? <= amount", remaining, paymentId, remaining);
+        return updated == 1 ? remaining : 0;
+    }
+
+    /**
+     * 대기 환불 추가 (같은 결제, 같은 요청 키면 DuplicateKeyException)
+     */
+    public long insertPending(long paymentId, String idempotencyKey, int amount, String reason) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO payment_refunds " +
+                    "(payment_id, idempotency_key, amount, reason, status, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, 'pending', NOW(), NOW())", Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, paymentId);
+            ps.setString(2, idempotencyKey);
+            ps.setInt(3, amount);
+            ps.setString(4, reason);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    /**
+     * 대기 환불만 다음 상태로 (이미 처리된 환불이면 false)
+     */
+    public boolean transition(long refundId, RefundStatus to, String adminMemo) {
+        return jdbcTemplate.update("UPDATE payment_refunds SET status = ?, " +
+                "refund_date = CASE WHEN ? = 'completed' THEN NOW() ELSE refund_date END, " +
+                "admin_memo = COALESCE(?, admin_memo), updated_at = NOW() " +
+                "WHERE id = ? AND status = 'pending'", to.name(), to.name(), adminMemo, refundId) == 1;
+    }
+
+    public Optional<PaymentBalance> findBalance(long paymentId) {
+        return jdbcTemplate.query("SELECT id, amount, refunded_amount, payment_status FROM payments WHERE id = ?",
+                (rs, rowNum) -> new PaymentBalance(rs.getLong("id"), rs.getInt("amount"),
+                        rs.getInt("refunded_amount"), rs.getString("payment_status")),
+                paymentId).stream().findFirst();
+    }
+
+    public Optional<RefundRow> findById(long refundId) {
+        return jdbcTemplate.query("SELECT " + REFUND_COLUMNS + " FROM payment_refunds WHERE id = ?",
+                RefundLedgerRepository::mapRefund, refundId).stream().findFirst();
+    }
+
+    public Optional<RefundRow> findByIdempotencyKey(long paymentId, String idempotencyKey) {
+        return jdbcTemplate.query("SELECT " + REFUND_COLUMNS + " FROM payment_refunds " +
+                        "WHERE payment_id = ? AND idempotency_key = ?",
+                RefundLedgerRepository::mapRefund, paymentId, idempotencyKey).stream().findFirst();
+    }
+
+    public List<RefundRow> findByPayment(long paymentId) {
+        return jdbcTemplate.query("SELECT " + REFUND_COLUMNS + " FROM payment_refunds WHERE payment_id = ? ORDER BY id",
+                RefundLedgerRepository::mapRefund, paymentId);
+    }
+
+    private static RefundRow mapRefund(ResultSet rs, int rowNum) throws SQLException {
+        return new RefundRow(rs.getLong("id"), rs.getLong("payment_id"), rs.getString("idempotency_key"),
+                rs.getInt("amount"), rs.getString("reason"), RefundStatus.valueOf(rs.getString("status")),
+                rs.getTimestamp("refund_date") != null ? rs.getTimestamp("refund_date").toLocalDateTime() : null,
+                rs.getString("admin_memo"),
+                rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toLocalDateTime() : null);
+    }
+}
@@ -0,0 +1,241 @@
+package kr.cocoh.api.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 자동 갱신 결제 실행/파티션 체크포인트와 대상 구독 접근 (JDBC)
+ */
+@Repository
+@RequiredArgsConstructor
+public class RenewalBillingRepository {
+
+    private static final String DUE_CONDITION = "s.status = 'active' AND s.auto_renewal = TRUE " +
+            "AND s.billing_key IS NOT NULL AND s.billing_pg_provider IS NOT NULL AND s.end_date <= ? AND s.renewal_attempts < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Run(long id, LocalDateTime cutoff, String status, int partitions, int charged, int failed,
+                      LocalDateTime startedAt, LocalDateTime finishedAt) {
+    }
+
+    public record Partition(long runId, int partitionNo, long startId, long endId, long cursorId) {
+    }
+
+    public record DueRenewal(long subscriptionId, long userId, long planId, String planName, int price,
+                             int durationMonths, LocalDateTime endDate, String billingKey, String pgProvider,
+                             int attempts) {
+    }
+
+    /**
+     * @param merchantUid 빌링 결과를 남길 주문 번호
+     * @param success 결제 성공 여부
+     */
+    public record ChargedRenewal(DueRenewal renewal, String merchantUid, boolean success, String receiptUrl) {
+    }
+
+    public Optional<Run> findRunning() {
+        return jdbcTemplate.query("SELECT * FROM renewal_billing_runs WHERE status = 'running' ORDER BY id LIMIT 1",
+                (rs, rowNum) -> mapRun(rs), new Object[0]).stream().findFirst();
+    }
+
+    public Optional<Run> findLatest() {
+        return jdbcTemplate.query("SELECT * FROM renewal_billing_runs ORDER BY id DESC LIMIT 1",
+                (rs, rowNum) -> mapRun(rs), new Object[0]).stream().findFirst();
+    }
+
+    public Optional<Run> findRun(long runId) {
+        return jdbcTemplate.query("SELECT * FROM renewal_billing_runs WHERE id = ?",
+                (rs, rowNum) -> mapRun(rs), runId).stream().findFirst();
+    }
+
+    /**
+     * 대상 구독의 ID 범위 (없으면 empty, idx_subscriptions_status_end_date 사용)
+     */
+    public Optional<long[]> findDueIdRange(LocalDateTime cutoff, int maxAttempts) {
+        return jdbcTemplate.query("SELECT MIN(s.id) AS min_id, MAX(s.id) AS max_id FROM subscriptions s WHERE " + DUE_CONDITION,
+                        (rs, rowNum) -> rs.getObject("min_id") == null ? null
+                                : new long[] {rs.getLong("min_id"), rs.getLong("max_id")},
+                        Timestamp.valueOf(cutoff), maxAttempts)
+                .stream().filter(range -> range != null).findFirst();
+    }
+
+    /**
+     * 실행과 파티션 생성 (파티션 i 는 [bounds[i], bounds[i + 1]) 구간, 트랜잭션 안에서 호출)
+     */
+    public long createRun(LocalDateTime cutoff, long[] bounds) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int partitions = bounds.length - 1;
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO renewal_billing_runs (cutoff, partitions) VALUES (?, ?)", new String[] {"id"});
+            ps.setTimestamp(1, Timestamp.valueOf(cutoff));
+            ps.setInt(2, partitions);
+            return ps;
+        }, keyHolder);
+        long runId = keyHolder.getKey().longValue();
+
+        jdbcTemplate.batchUpdate("INSERT INTO renewal_billing_partitions " +
+                        "(run_id, partition_no, start_id, end_id, cursor_id) VALUES (?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, runId);
+                        ps.setInt(2, i);
+                        ps.setLong(3, bounds[i]);
+                        ps.setLong(4, bounds[i + 1]);
+                        ps.setLong(5, bounds[i] - 1);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return partitions;
+                    }
+                });
+        return runId;
+    }
+
+    public List<Partition> findPendingPartitions(long runId) {
+        return jdbcTemplate.query("SELECT run_id, partition_no, start_id, end_id, cursor_id " +
+                        "FROM renewal_billing_partitions WHERE run_id = ? AND status = 'pending' ORDER BY partition_no",
+                (rs, rowNum) -> new Partition(rs.getLong("run_id"), rs.getInt("partition_no"), rs.getLong("start_id"),
+                        rs.getLong("end_id"), rs.getLong("cursor_id")),
+                runId);
+    }
+
+    /**
+     * 파티션에서 커서 다음의 대상 구독 (ID 순)
+     */
+    public List<DueRenewal> findDue(LocalDateTime cutoff, int maxAttempts, long afterId, long endId, int limit) {
+        return jdbcTemplate.query("SELECT s.id, s.user_id, s.plan_id, s.end_date, s.billing_key, s.billing_pg_provider, " +
+                        "s.renewal_attempts, p.name, p.price, p.duration_months " +
+                        "FROM subscriptions s JOIN subscription_plans p ON p.id = s.plan_id " +
+                        "WHERE s.id > ? AND s.id < ? AND " + DUE_CONDITION + " ORDER BY s.id LIMIT ?",
+                (rs, rowNum) -> new DueRenewal(rs.getLong("id"), rs.getLong("user_id"), rs.getLong("plan_id"),
+                        rs.getString("name"), rs.getInt("price"), rs.getInt("duration_months"),
+                        rs.getTimestamp("end_date").toLocalDateTime(), rs.getString("billing_key"),
+                        rs.getString("billing_pg_provider"), rs.getInt("renewal_attempts")),
+                afterId, endId, Timestamp.valueOf(cutoff), maxAttempts, limit);
+    }
+
+    /**
+     * 결제 결과를 payments 에 한 번에 기록 (트랜잭션 안에서 호출)
+     * @return 입력 순서대로 만들어진 결제 ID
+     */
+    public List<Long> insertPayments(List<ChargedRenewal> charged, LocalDateTime paidAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement("INSERT INTO payments " +
+                        "(user_id, subscription_id, amount, currency, payment_method, payment_status, payment_date, " +
+                        "merchant_uid, pg_provider, receipt_url) VALUES (?, ?, ?, 'KRW', 'billing_key', ?, ?, ?, ?, ?)",
+                        new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ChargedRenewal row = charged.get(i);
+                        ps.setLong(1, row.renewal().userId());
+                        ps.setLong(2, row.renewal().subscriptionId());
+                        ps.setInt(3, row.renewal().price());
+                        ps.setString(4, row.success() ? "completed" : "failed");
+                        ps.setTimestamp(5, row.success() ? Timestamp.valueOf(paidAt) : null);
+                        ps.setString(6, row.merchantUid());
+                        ps.setString(7, row.renewal().pgProvider());
+                        ps.setString(8, row.receiptUrl());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return charged.size();
+                    }
+                },
+                keyHolder);
+        List<Long> ids = new ArrayList<>(charged.size());
+        for (var keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * 결제된 구독의 종료일을 요금제 기간만큼 늘림 (읽은 뒤 종료일이 바뀐 구독은 건너뜀)
+     * @return 반영한 구독 수
+     */
+    public int extend(List<DueRenewal> renewed) {
+        int[][] counts = jdbcTemplate.batchUpdate("UPDATE subscriptions SET end_date = TIMESTAMPADD(MONTH, ?, end_date), " +
+                        "renewal_attempts = 0, updated_at = NOW() WHERE id = ? AND end_date = ?",
+                renewed, renewed.size(), (ps, renewal) -> {
+                    ps.setInt(1, renewal.durationMonths());
+                    ps.setLong(2, renewal.subscriptionId());
+                    ps.setTimestamp(3, Timestamp.valueOf(renewal.endDate()));
+                });
+        int extended = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                extended += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return extended;
+    }
+
+    public void incrementAttempts(List<DueRenewal> failed) {
+        jdbcTemplate.batchUpdate("UPDATE subscriptions SET renewal_attempts = renewal_attempts + 1, updated_at = NOW() " +
+                        "WHERE id = ?",
+                failed, failed.size(), (ps, renewal) -> ps.setLong(1, renewal.subscriptionId()));
+    }
+
+    /**
+     * 파티션 체크포인트 (결과 기록과 같은 트랜잭션에서 호출)
+     */
+    public void checkpoint(long runId, int partitionNo, long cursorId, int charged, int failed) {
+        jdbcTemplate.update("UPDATE renewal_billing_partitions SET cursor_id = ?, charged = charged + ?, " +
+                "failed = failed + ? WHERE run_id = ? AND partition_no = ?", cursorId, charged, failed, runId, partitionNo);
+    }
+
+    public void completePartition(long runId, int partitionNo) {
+        jdbcTemplate.update("UPDATE renewal_billing_partitions SET status = 'completed' " +
+                "WHERE run_id = ? AND partition_no = ?", runId, partitionNo);
+    }
+
+    /**
+     * 기록에 계속 실패하는 구독을 다음 실행 대상에서 빼 둠 (시도 횟수를 상한까지 올림, 수동 확인 후 되돌림)
+     */
+    public void block(long subscriptionId, int maxAttempts) {
+        jdbcTemplate.update("UPDATE subscriptions SET renewal_attempts = GREATEST(renewal_attempts, ?), updated_at = NOW() " +
+                "WHERE id = ?", maxAttempts, subscriptionId);
+    }
+
+    /**
+     * 모든 파티션이 끝났으면 실행을 완료하고 합계를 남김
+     * @return 완료 여부
+     */
+    public boolean completeRunIfDone(long runId) {
+        return jdbcTemplate.update("UPDATE renewal_billing_runs SET " +
+                "charged = (SELECT COALESCE(SUM(charged), 0) FROM renewal_billing_partitions WHERE run_id = ?), " +
+                "failed = (SELECT COALESCE(SUM(failed), 0) FROM renewal_billing_partitions WHERE run_id = ?), " +
+                "status = 'completed', finished_at = CURRENT_TIMESTAMP(3) " +
+                "WHERE id = ? AND status = 'running' AND NOT EXISTS " +
+                "(SELECT 1 FROM renewal_billing_partitions WHERE run_id = ? AND status = 'pending')",
+                runId, runId, runId, runId) == 1;
+    }
+
+    private static Run mapRun(ResultSet rs) throws SQLException {
+        return new Run(rs.getLong("id"), rs.getTimestamp("cutoff").toLocalDateTime(), rs.getString("status"),
+                rs.getInt("partitions"), rs.getInt("charged"), rs.getInt("failed"),
+                rs.getTimestamp("started_at").toLocalDateTime(),
+                rs.getTimestamp("finished_at") != null ? rs.getTimestamp("finished_at").toLocalDateTime() : null);
+    }
+}
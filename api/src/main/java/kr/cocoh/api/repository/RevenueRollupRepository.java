@@ -0,0 +1,155 @@
+package kr.cocoh.api.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 일별 매출/환불 집계 접근 (JDBC)
+ */
+@Repository
+@RequiredArgsConstructor
+public class RevenueRollupRepository {
+
+    private static final String ENTRY_UPSERT = "ON DUPLICATE KEY UPDATE day = VALUES(day), plan_id = VALUES(plan_id), " +
+            "pg_provider = VALUES(pg_provider), currency = VALUES(currency), amount = VALUES(amount)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public enum Source {
+        payment, refund
+    }
+
+    public record RollupKey(LocalDate day, long planId, String pgProvider, String currency) {
+    }
+
+    public record RollupRow(RollupKey key, int paymentsCount, long grossAmount, int refundsCount, long refundAmount) {
+
+        public long netAmount() {
+            return grossAmount - refundAmount;
+        }
+    }
+
+    /**
+     * 결제/환불 한 건을 집계에 더함 (이미 더한 건이면 무시)
+     * @return 새로 더했으면 true
+     */
+    public boolean record(Source source, long sourceId, LocalDate day, long planId, String pgProvider,
+                          String currency, int amount) {
+        int inserted = jdbcTemplate.update("INSERT IGNORE INTO revenue_rollup_entries " +
+                        "(source, source_id, day, plan_id, pg_provider, currency, amount) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                source.name(), sourceId, Date.valueOf(day), planId, pgProvider, currency, amount);
+        if (inserted == 0) {
+            return false;
+        }
+        boolean payment = source == Source.payment;
+        jdbcTemplate.update("INSERT INTO revenue_daily_rollups " +
+                        "(day, plan_id, pg_provider, currency, payments_count, gross_amount, refunds_count, refund_amount) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+                        "ON DUPLICATE KEY UPDATE payments_count = payments_count + VALUES(payments_count), " +
+                        "gross_amount = gross_amount + VALUES(gross_amount), " +
+                        "refunds_count = refunds_count + VALUES(refunds_count), " +
+                        "refund_amount = refund_amount + VALUES(refund_amount)",
+                Date.valueOf(day), planId, pgProvider, currency,
+                payment ? 1 : 0, payment ? amount : 0, payment ? 0 : 1, payment ? 0 : amount);
+        return true;
+    }
+
+    /**
+     * 원본(payments, payment_refunds)에서 하루치 기록과 집계를 다시 만듦 (트랜잭션 안에서 호출)
+     */
+    public void rebuildDay(LocalDate day) {
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        Date date = Date.valueOf(day);
+
+        jdbcTemplate.update("DELETE FROM revenue_rollup_entries WHERE day = ?", date);
+        // 다른 날로 기록된 건은 이 날로 옮김 (옮겨 간 날의 집계는 그날을 재검증할 때 다시 만들어짐)
+        jdbcTemplate.update("INSERT INTO revenue_rollup_entries " +
+                "(source, source_id, day, plan_id, pg_provider, currency, amount) " +
+                "SELECT 'payment', p.id, DATE(p.payment_date), COALESCE(s.plan_id, 0), p.pg_provider, p.currency, p.amount " +
+                "FROM payments p LEFT JOIN subscriptions s ON s.id = p.subscription_id " +
+                "WHERE p.payment_status IN ('completed', 'refunded') AND p.payment_date >= ? AND p.payment_date < ? " +
+                ENTRY_UPSERT, from, to);
+        jdbcTemplate.update("INSERT INTO revenue_rollup_entries " +
+                "(source, source_id, day, plan_id, pg_provider, currency, amount) " +
+                "SELECT 'refund', r.id, DATE(r.refund_date), COALESCE(s.plan_id, 0), p.pg_provider, p.currency, r.amount " +
+                "FROM payment_refunds r JOIN payments p ON p.id = r.payment_id " +
+                "LEFT JOIN subscriptions s ON s.id = p.subscription_id " +
+                "WHERE r.status = 'completed' AND r.refund_date >= ? AND r.refund_date < ? " +
+                ENTRY_UPSERT, from, to);
+
+        jdbcTemplate.update("DELETE FROM revenue_daily_rollups WHERE day = ?", date);
+        jdbcTemplate.update("INSERT INTO revenue_daily_rollups " +
+                "(day, plan_id, pg_provider, currency, payments_count, gross_amount, refunds_count, refund_amount) " +
+                "SELECT day, plan_id, pg_provider, currency, " +
+                "SUM(CASE WHEN source = 'payment' THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN source = 'payment' THEN amount ELSE 0 END), " +
+                "SUM(CASE WHEN source = 'refund' THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN source = 'refund' THEN amount ELSE 0 END) " +
+                "FROM revenue_rollup_entries WHERE day = ? GROUP BY day, plan_id, pg_provider, currency", date);
+    }
+
+    /**
+     * 원본에서 바로 계산한 하루치 집계 (재검증용)
+     */
+    public Map<RollupKey, RollupRow> aggregateSource(LocalDate day) {
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        Map<RollupKey, RollupRow> rows = new HashMap<>();
+
+        jdbcTemplate.query("SELECT COALESCE(s.plan_id, 0) AS plan_id, p.pg_provider, p.currency, " +
+                        "COUNT(*) AS cnt, SUM(p.amount) AS total " +
+                        "FROM payments p LEFT JOIN subscriptions s ON s.id = p.subscription_id " +
+                        "WHERE p.payment_status IN ('completed', 'refunded') AND p.payment_date >= ? AND p.payment_date < ? " +
+                        "GROUP BY COALESCE(s.plan_id, 0), p.pg_provider, p.currency",
+                rs -> {
+                    RollupKey key = new RollupKey(day, rs.getLong("plan_id"), rs.getString("pg_provider"), rs.getString("currency"));
+                    rows.put(key, new RollupRow(key, rs.getInt("cnt"), rs.getLong("total"), 0, 0));
+                }, from, to);
+        jdbcTemplate.query("SELECT COALESCE(s.plan_id, 0) AS plan_id, p.pg_provider, p.currency, " +
+                        "COUNT(*) AS cnt, SUM(r.amount) AS total " +
+                        "FROM payment_refunds r JOIN payments p ON p.id = r.payment_id " +
+                        "LEFT JOIN subscriptions s ON s.id = p.subscription_id " +
+                        "WHERE r.status = 'completed' AND r.refund_date >= ? AND r.refund_date < ? " +
+                        "GROUP BY COALESCE(s.plan_id, 0), p.pg_provider, p.currency",
+                rs -> {
+                    RollupKey key = new RollupKey(day, rs.getLong("plan_id"), rs.getString("pg_provider"), rs.getString("currency"));
+                    RollupRow payments = rows.get(key);
+                    rows.put(key, new RollupRow(key, payments != null ? payments.paymentsCount() : 0,
+                            payments != null ? payments.grossAmount() : 0, rs.getInt("cnt"), rs.getLong("total")));
+                }, from, to);
+        return rows;
+    }
+
+    /**
+     * 기간 집계 조회 (from 포함, to 미포함, 일자순)
+     */
+    public List<RollupRow> findRange(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT day, plan_id, pg_provider, currency, payments_count, gross_amount, " +
+                        "refunds_count, refund_amount FROM revenue_daily_rollups " +
+                        "WHERE day >= ? AND day < ? ORDER BY day, plan_id, pg_provider, currency",
+                (rs, rowNum) -> new RollupRow(
+                        new RollupKey(rs.getDate("day").toLocalDate(), rs.getLong("plan_id"),
+                                rs.getString("pg_provider"), rs.getString("currency")),
+                        rs.getInt("payments_count"), rs.getLong("gross_amount"),
+                        rs.getInt("refunds_count"), rs.getLong("refund_amount")),
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public Map<RollupKey, RollupRow> findDay(LocalDate day) {
+        Map<RollupKey, RollupRow> rows = new HashMap<>();
+        for (RollupRow row : findRange(day, day.plusDays(1))) {
+            rows.put(row.key(), row);
+        }
+        return rows;
+    }
+}
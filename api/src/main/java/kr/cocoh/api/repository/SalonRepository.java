@@ -0,0 +1,21 @@
+package kr.cocoh.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.model.auth.Salon;
+
+@Repository
+public interface SalonRepository extends JpaRepository<Salon, Long> {
+
+    /**
+     * 살롱별 소유자 ([salonId, ownerId])
+     */
+    @Query("SELECT s.id, s.owner.id FROM Salon s WHERE s.id IN :ids")
+    List<Object[]> findOwnerIdsByIdIn(@Param("ids") Collection<Long> ids);
+}
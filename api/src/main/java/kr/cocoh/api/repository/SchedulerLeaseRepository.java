@@ -0,0 +1,34 @@
+package kr.cocoh.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 스케줄 작업 리스 접근 (JDBC)
+ * 만료 판단은 DB 시계로 하므로 노드 간 시계 차이의 영향을 받지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SchedulerLeaseRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 리스 획득 또는 연장 (비어 있거나 만료되었거나 이미 내 것일 때만)
+     * @return 획득 여부
+     */
+    public boolean tryAcquire(String name, String owner, long ttlSeconds) {
+        jdbcTemplate.update("INSERT IGNORE INTO scheduler_leases (name, owner, expires_at) VALUES (?, '', NOW(3))", name);
+        return jdbcTemplate.update("UPDATE scheduler_leases SET owner = ?, expires_at = TIMESTAMPADD(SECOND, ?, NOW(3)) " +
+                "WHERE name = ? AND (owner = ? OR expires_at <= NOW(3))", owner, ttlSeconds, name, owner) == 1;
+    }
+
+    /**
+     * 리스 반납 (내 것일 때만, 다음 노드가 바로 잡을 수 있게 만료 처리)
+     */
+    public void release(String name, String owner) {
+        jdbcTemplate.update("UPDATE scheduler_leases SET expires_at = NOW(3) WHERE name = ? AND owner = ?", name, owner);
+    }
+}
@@ -0,0 +1,160 @@
+package kr.cocoh.api.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.dto.SettlementDto;
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+import kr.cocoh.api.service.settlement.SettlementDiscrepancy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PG 정산 대사 실행/불일치 접근 (JDBC)
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @FunctionalInterface
+    public interface PaymentRowHandler {
+        void handle(String merchantUid, int amount, PaymentStatus status);
+    }
+
+    public long createRun(String pgProvider, LocalDate settlementDate, String fileName) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO settlement_runs " +
+                    "(pg_provider, settlement_date, file_name) VALUES (?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, pgProvider);
+            ps.setDate(2, Date.valueOf(settlementDate));
+            ps.setString(3, fileName);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    public void finishRun(long runId, String status, long fileRows, long dbRows, long matched, long discrepancies,
+                          String error) {
+        jdbcTemplate.update("UPDATE settlement_runs SET status = ?, file_rows = ?, db_rows = ?, matched = ?, " +
+                        "discrepancies = ?, error = ?, finished_at = NOW(3) WHERE id = ?",
+                status, fileRows, dbRows, matched, discrepancies,
+                error != null && error.length() > 500 ? error.substring(0, 500) : error, runId);
+    }
+
+    public void insertDiscrepancies(long runId, List<SettlementDiscrepancy> discrepancies) {
+        jdbcTemplate.batchUpdate("INSERT INTO settlement_discrepancies " +
+                        "(run_id, merchant_uid, type, file_amount, db_amount, file_status, db_status, detail) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                discrepancies, discrepancies.size(), (ps, discrepancy) -> {
+                    ps.setLong(1, runId);
+                    ps.setString(2, truncate(discrepancy.merchantUid(), 100));
+                    ps.setString(3, discrepancy.type().name());
+                    ps.setObject(4, discrepancy.fileAmount());
+                    ps.setObject(5, discrepancy.dbAmount());
+                    ps.setString(6, discrepancy.fileStatus());
+                    ps.setString(7, discrepancy.dbStatus());
+                    ps.setString(8, truncate(discrepancy.detail(), 255));
+                });
+    }
+
+    /**
+     * 기간 안의 결제를 주문 번호 순으로 스트리밍 (트랜잭션 밖에서 호출)
+     * MySQL 드라이버는 fetchSize 가 Integer.MIN_VALUE 일 때만 행을 모두 받아 두지 않고 한 줄씩 넘긴다.
+     * 정렬은 utf8mb4_bin(코드 포인트 순)으로 해 자바 쪽 비교와 맞춘다.
+     */
+    public void streamPayments(String pgProvider, LocalDate from, LocalDate to, PaymentRowHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT merchant_uid, amount, payment_status " +
+                            "FROM payments WHERE pg_provider = ? AND payment_date >= ? AND payment_date < ? " +
+                            "ORDER BY merchant_uid COLLATE utf8mb4_bin",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setString(1, pgProvider);
+            ps.setTimestamp(2, Timestamp.valueOf(from.atStartOfDay()));
+            ps.setTimestamp(3, Timestamp.valueOf(to.atStartOfDay()));
+            return ps;
+        }, rs -> {
+            handler.handle(rs.getString(1), rs.getInt(2), PaymentStatus.valueOf(rs.getString(3)));
+        });
+    }
+
+    /**
+     * 파일에만 있던 주문 중 다른 날 결제된 것을 원본과 다시 비교
+     * 상태와 금액이 맞으면 불일치에서 지우고, 아니면 status_mismatch/amount_mismatch 로 바꾼다.
+     * @return 다른 날 결제와 일치해 지운 건수
+     */
+    public int resolveOutOfWindow(long runId) {
+        jdbcTemplate.update("UPDATE settlement_discrepancies d JOIN payments p ON p.merchant_uid = d.merchant_uid " +
+                "SET d.type = CASE " +
+                "WHEN NOT ((d.file_status = 'paid' AND p.payment_status IN ('completed', 'refunded')) " +
+                "OR (d.file_status = 'cancelled' AND p.payment_status = 'refunded')) THEN 'status_mismatch' " +
+                "WHEN p.amount <> d.file_amount THEN 'amount_mismatch' ELSE d.type END, " +
+                "d.db_amount = p.amount, d.db_status = p.payment_status " +
+                "WHERE d.run_id = ? AND d.type = 'missing_payment'", runId);
+        return jdbcTemplate.update("DELETE FROM settlement_discrepancies " +
+                "WHERE run_id = ? AND type = 'missing_payment' AND db_status IS NOT NULL", runId);
+    }
+
+    public long countDiscrepancies(long runId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM settlement_discrepancies WHERE run_id = ?",
+                Long.class, runId);
+        return count != null ? count : 0;
+    }
+
+    public Optional<SettlementDto.Run> findRun(long runId) {
+        return jdbcTemplate.query("SELECT id, pg_provider, settlement_date, file_name, status, file_rows, db_rows, " +
+                        "matched, discrepancies, error, started_at, finished_at FROM settlement_runs WHERE id = ?",
+                (rs, rowNum) -> SettlementDto.Run.builder()
+                        .id(rs.getLong("id"))
+                        .pgProvider(rs.getString("pg_provider"))
+                        .settlementDate(rs.getDate("settlement_date").toLocalDate())
+                        .fileName(rs.getString("file_name"))
+                        .status(rs.getString("status"))
+                        .fileRows(rs.getLong("file_rows"))
+                        .dbRows(rs.getLong("db_rows"))
+                        .matched(rs.getLong("matched"))
+                        .discrepancies(rs.getLong("discrepancies"))
+                        .error(rs.getString("error"))
+                        .startedAt(rs.getTimestamp("started_at").toLocalDateTime())
+                        .finishedAt(rs.getTimestamp("finished_at") != null
+                                ? rs.getTimestamp("finished_at").toLocalDateTime() : null)
+                        .build(),
+                runId).stream().findFirst();
+    }
+
+    /**
+     * 불일치 목록 (ID 키셋 페이지)
+     */
+    public List<SettlementDto.Discrepancy> findDiscrepancies(long runId, long afterId, int limit) {
+        return jdbcTemplate.query("SELECT id, merchant_uid, type, file_amount, db_amount, file_status, db_status, detail " +
+                        "FROM settlement_discrepancies WHERE run_id = ? AND id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> SettlementDto.Discrepancy.builder()
+                        .id(rs.getLong("id"))
+                        .merchantUid(rs.getString("merchant_uid"))
+                        .type(rs.getString("type"))
+                        .fileAmount((Integer) rs.getObject("file_amount"))
+                        .dbAmount((Integer) rs.getObject("db_amount"))
+                        .fileStatus(rs.getString("file_status"))
+                        .dbStatus(rs.getString("db_status"))
+                        .detail(rs.getString("detail"))
+                        .build(),
+                runId, afterId, limit);
+    }
+
+    private static String truncate(String value, int length) {
+        return value != null && value.length() > length ? value.substring(0, length) : value;
+    }
+}
@@ -0,0 +1,125 @@
+package kr.cocoh.api.repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 저장소 객체 삭제 대기열 접근 (JDBC)
+ */
+@Repository
+@RequiredArgsConstructor
+public class StorageDeletionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record PendingDeletion(long id, String objectKey, int attempts, boolean referenced) {
+    }
+
+    /**
+     * 삭제 예약 (이미 예약된 키면 그대로 둠)
+     */
+    public void enqueue(String objectKey, long delaySeconds) {
+        jdbcTemplate.update("INSERT INTO storage_deletions (object_key, next_attempt_at) " +
+                "VALUES (?, NOW(3) + INTERVAL ? SECOND) " +
+                "ON DUPLICATE KEY UPDATE object_key = object_key", objectKey, delaySeconds);
+    }
+
+    public void enqueueAll(List<String> objectKeys, long delaySeconds) {
+        jdbcTemplate.batchUpdate("INSERT INTO storage_deletions (object_key, next_attempt_at) " +
+                        "VALUES (?, NOW(3) + INTERVAL ? SECOND) " +
+                        "ON DUPLICATE KEY UPDATE object_key = object_key",
+                objectKeys, objectKeys.size(), (ps, key) -> {
+                    ps.setString(1, key);
+                    ps.setLong(2, delaySeconds);
+                });
+    }
+
+    /**
+     * 예약 취소 (같은 키가 다시 참조될 때)
+     * 워커가 이 키를 처리 중이면 행 잠금 때문에 삭제가 끝날 때까지 기다린다.
+     */
+    public int cancel(String objectKey) {
+        return jdbcTemplate.update("DELETE FROM storage_deletions WHERE object_key = ?", objectKey);
+    }
+
+    /**
+     * 처리할 차례가 된 예약을 잠금 (다른 노드가 잡은 행은 건너뜀, 트랜잭션 안에서 호출)
+     * referenced 는 그 사이 내용 주소 객체로 다시 참조되어 지우면 안 되는 키
+     */
+    public List<PendingDeletion> lockDue(int limit) {
+        return jdbcTemplate.query("SELECT d.id, d.object_key, d.attempts, " +
+                        "EXISTS (SELECT 1 FROM storage_objects o WHERE o.object_key = d.object_key) AS referenced " +
+                        "FROM storage_deletions d WHERE d.next_attempt_at <= NOW(3) " +
+                        "ORDER BY d.next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> new PendingDeletion(rs.getLong("id"), rs.getString("object_key"),
+                        rs.getInt("attempts"), rs.getBoolean("referenced")),
+                limit);
+    }
+
+    public void deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(","));
+        jdbcTemplate.update("DELETE FROM storage_deletions WHERE id IN (" + placeholders + ")", ids.toArray());
+    }
+
+    /**
+     * 실패 기록 후 지수 백오프로 다음 시도 시각을 미룸
+     */
+    public void markFailed(long id, String error, long backoffSeconds) {
+        jdbcTemplate.update("UPDATE storage_deletions SET attempts = attempts + 1, last_error = ?, " +
+                        "next_attempt_at = NOW(3) + INTERVAL ? SECOND WHERE id = ?",
+                error != null && error.length() > 500 ? error.substring(0, 500) : error, backoffSeconds, id);
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM storage_deletions", Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * 주어진 키 중 참조 중이거나 이미 삭제 예약된 키 (대사용)
+     * 내용 주소 객체 행, 직접 업로드 슬롯, URL 을 직접 저장하는 테이블(광고 미디어, 변환본, 프로필 이미지)을 함께 본다.
+     * @param urlByKey 객체 키별 공개 URL
+     */
+    public Set<String> findKnownKeys(Map<String, String> urlByKey) {
+        Set<String> known = new HashSet<>();
+        if (urlByKey.isEmpty()) {
+            return known;
+        }
+        String placeholders = urlByKey.keySet().stream().map(key -> "?").collect(Collectors.joining(","));
+        Object[] keys = urlByKey.keySet().toArray();
+        Object[] urls = urlByKey.values().toArray();
+
+        known.addAll(jdbcTemplate.queryForList("SELECT object_key FROM storage_objects " +
+                "WHERE object_key IN (" + placeholders + ")", String.class, keys));
+        known.addAll(jdbcTemplate.queryForList("SELECT object_key FROM storage_deletions " +
+                "WHERE object_key IN (" + placeholders + ")", String.class, keys));
+        known.addAll(jdbcTemplate.queryForList("SELECT object_key FROM storage_uploads " +
+                "WHERE object_key IN (" + placeholders + ")", String.class, keys));
+
+        Set<String> referencedUrls = new HashSet<>();
+        referencedUrls.addAll(jdbcTemplate.queryForList("SELECT url FROM ad_medias " +
+                "WHERE url IN (" + placeholders + ")", String.class, urls));
+        referencedUrls.addAll(jdbcTemplate.queryForList("SELECT url FROM ad_media_renditions " +
+                "WHERE url IN (" + placeholders + ")", String.class, urls));
+        referencedUrls.addAll(jdbcTemplate.queryForList("SELECT profile_image FROM users " +
+                "WHERE profile_image IN (" + placeholders + ")", String.class, urls));
+        urlByKey.forEach((key, url) -> {
+            if (referencedUrls.contains(url)) {
+                known.add(key);
+            }
+        });
+        return known;
+    }
+}
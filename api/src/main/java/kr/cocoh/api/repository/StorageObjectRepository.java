@@ -0,0 +1,37 @@
+package kr.cocoh.api.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import kr.cocoh.api.model.storage.StorageObject;
+
+@Repository
+public interface StorageObjectRepository extends JpaRepository<StorageObject, Long> {
+
+    Optional<StorageObject> findByObjectKey(String objectKey);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM StorageObject o WHERE o.objectKey = :objectKey")
+    Optional<StorageObject> findByObjectKeyForUpdate(@Param("objectKey") String objectKey);
+
+    /**
+     * 참조 추가 (없으면 생성, 있으면 ref_count + 1)
+     * @return 1 이면 새로 생성, 2 이면 기존 객체 참조 증가
+     */
+    @Modifying
+    @Query(value = "INSERT INTO storage_objects (content_hash, object_key, url, content_type, byte_size, ref_count) " +
+            "VALUES (:contentHash, :objectKey, :url, :contentType, :byteSize, 1) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    int upsertReference(@Param("contentHash") String contentHash,
+                        @Param("objectKey") String objectKey,
+                        @Param("url") String url,
+                        @Param("contentType") String contentType,
+                        @Param("byteSize") long byteSize);
+}
@@ -0,0 +1,42 @@
+package kr.cocoh.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import kr.cocoh.api.model.storage.StorageUpload;
+
+@Repository
+public interface StorageUploadRepository extends JpaRepository<StorageUpload, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM StorageUpload u WHERE u.id = :id")
+    Optional<StorageUpload> findByIdForUpdate(@Param("id") String id);
+
+    /**
+     * 상태가 from 일 때만 to 로 바꿈
+     * @return 바꿨으면 1, 다른 상태였으면 0
+     */
+    @Modifying
+    @Query("UPDATE StorageUpload u SET u.status = :to WHERE u.id = :id AND u.status = :from")
+    int transitionStatus(@Param("id") String id,
+                         @Param("from") StorageUpload.Status from,
+                         @Param("to") StorageUpload.Status to);
+
+    /**
+     * 기한이 지난 미완료 슬롯 (오래된 순)
+     */
+    @Query("SELECT u FROM StorageUpload u WHERE u.status = :status AND u.expiresAt < :before ORDER BY u.expiresAt")
+    List<StorageUpload> findExpired(@Param("status") StorageUpload.Status status,
+                                    @Param("before") LocalDateTime before,
+                                    Pageable pageable);
+}
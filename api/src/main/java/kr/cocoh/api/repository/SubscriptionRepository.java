@@ -0,0 +1,26 @@
+package kr.cocoh.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import kr.cocoh.api.model.pay.Subscription;
+
+@Repository
+public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
+
+    /**
+     * 사용자의 유효한 구독 (가장 비싼 요금제, 같으면 늦게 끝나는 순)
+     */
+    @Query("SELECT s FROM Subscription s JOIN FETCH s.plan p " +
+            "WHERE s.user.id = :userId AND s.status = 'active' AND s.endDate > :now " +
+            "ORDER BY p.price DESC, s.endDate DESC")
+    List<Subscription> findEffective(@Param("userId") Long userId,
+                                     @Param("now") LocalDateTime now,
+                                     Pageable pageable);
+}
@@ -0,0 +1,54 @@
+package kr.cocoh.api.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 구독 상태 전환 스윕 접근 (JDBC)
+ * idx_subscriptions_status_end_date 를 (end_date, id) 키셋으로 훑는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SubscriptionSweepRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record DueSubscription(long id, long userId, long planId, LocalDateTime endDate) {
+    }
+
+    /**
+     * 커서 뒤의 만료 대상 구독을 잠금 (다른 트랜잭션이 잡은 행은 건너뜀, 트랜잭션 안에서 호출)
+     * 자동 갱신 구독은 갱신 결제가 끝날 수 있도록 renewalCutoff 이전에 끝난 것만 대상이다.
+     */
+    public List<DueSubscription> lockDue(LocalDateTime cutoff, LocalDateTime renewalCutoff,
+                                         LocalDateTime afterEndDate, long afterId, int limit) {
+        Timestamp after = Timestamp.valueOf(afterEndDate);
+        return jdbcTemplate.query("SELECT id, user_id, plan_id, end_date FROM subscriptions " +
+                        "WHERE status = 'active' AND end_date <= ? " +
+                        "AND (end_date > ? OR (end_date = ? AND id > ?)) " +
+                        "AND (auto_renewal = FALSE OR end_date <= ?) " +
+                        "ORDER BY end_date, id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> new DueSubscription(rs.getLong("id"), rs.getLong("user_id"), rs.getLong("plan_id"),
+                        rs.getTimestamp("end_date").toLocalDateTime()),
+                Timestamp.valueOf(cutoff), after, after, afterId, Timestamp.valueOf(renewalCutoff), limit);
+    }
+
+    /**
+     * 잠근 구독을 한 번에 만료 처리
+     */
+    public int expire(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.update("UPDATE subscriptions SET status = 'expired', updated_at = NOW() " +
+                "WHERE status = 'active' AND id IN (" + placeholders + ")", ids.toArray());
+    }
+}
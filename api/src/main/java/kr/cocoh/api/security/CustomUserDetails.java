@@ -28,6 +28,13 @@ public class CustomUserDetails implements UserDetails {
         return authorities;
     }
 
+    // 관리자 권한(ADMIN, SUPERADMIN) 여부
+    public boolean isAdmin() {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority) || "ROLE_SUPERADMIN".equals(authority));
+    }
+
     @Override
     public String getPassword() {
         return password;
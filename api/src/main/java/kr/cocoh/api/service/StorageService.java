@@ -1,126 +1,365 @@
 package kr.cocoh.api.service;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.DeleteObjectRequest;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.annotation.PreDestroy;
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.service.storage.BatchUploadResult;
+import kr.cocoh.api.service.storage.ContentObjectRegistry;
+import kr.cocoh.api.service.storage.StorageBackend;
+
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.URL;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class StorageService {
 
-    private final AmazonS3 amazonS3Client;
+    private final StorageBackend storageBackend;
     private final Environment environment;
+    private final ContentObjectRegistry contentObjectRegistry;
+    private final StorageDeletionRepository storageDeletionRepository;
+
+    private final ThreadPoolExecutor batchExecutor;
 
-    @Value("${ncloud.bucket-name}")
-    private String bucketName;
+    @Value("${storage.batch.timeout-seconds:120}")
+    private long batchTimeoutSeconds;
+
+    public StorageService(StorageBackend storageBackend,
+                          Environment environment,
+                          ContentObjectRegistry contentObjectRegistry,
+                          StorageDeletionRepository storageDeletionRepository,
+                          @Value("${storage.batch.concurrency:4}") int batchConcurrency,
+                          @Value("${storage.batch.queue-capacity:64}") int batchQueueCapacity) {
+        this.storageBackend = storageBackend;
+        this.environment = environment;
+        this.contentObjectRegistry = contentObjectRegistry;
+        this.storageDeletionRepository = storageDeletionRepository;
+
+        // 큐가 차면 제출을 거절하고 그 파일은 실패로 남긴다 (요청 스레드가 제한 시간 없이 직접 올리지 않음)
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.batchExecutor = new ThreadPoolExecutor(batchConcurrency, batchConcurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(batchQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "storage-batch-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
 
     /**
      * 파일 업로드 함수
+     * 파일은 SHA-256 내용 주소 키({상위 폴더}/{해시 앞 2자리}/{해시})에 저장되어, 같은 내용은 한 번만 올라간다.
+     * 중복 제거 범위는 상위 폴더 단위라 하위 폴더는 받지 않는다.
+     * 저장소 전송이 끝날 때까지 걸리므로 트랜잭션 밖에서 부른다.
      * @param file 업로드할 파일
      * @param folder 상위 폴더 경로
-     * @param subFolders 하위 폴더들 (가변 인자)
      * @return 업로드된 파일 URL
      * @throws IOException 파일 처리 중 오류 발생 시
      */
-    public String uploadFile(MultipartFile file, String folder, String... subFolders) throws IOException {
-        // 개발 환경에 따라 기본 경로 설정
-        String baseFolder = environment.getActiveProfiles().length > 0 && 
-                            "production".equals(environment.getActiveProfiles()[0]) ? "" : "test";
-        
-        // 하위 폴더 경로 생성
-        StringBuilder subFolderPath = new StringBuilder();
-        for (String subFolder : subFolders) {
-            if (subFolder != null && !subFolder.isEmpty()) {
-                subFolderPath.append(subFolder).append("/");
-            }
+    public String uploadFile(MultipartFile file, String folder) throws IOException {
+        // 업로드 파일은 로컬 임시 파일이므로 전송 전에 스트리밍으로 해시 계산
+        String contentHash;
+        try (InputStream in = file.getInputStream()) {
+            contentHash = sha256(in);
         }
-        
-        // 최종 폴더 경로 생성
-        String folderPath = baseFolder.isEmpty() ? 
-                folder + "/" + subFolderPath : 
-                baseFolder + "/" + folder + "/" + subFolderPath;
-        
-        // 파일명 생성 (UUID-원본파일명)
-        String originalFileName = file.getOriginalFilename();
-        String fileName = folderPath + UUID.randomUUID() + "-" + 
-                         (originalFileName != null ? originalFileName : "unknown");
-        
-        // 메타데이터 설정
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentType(file.getContentType());
-        metadata.setContentLength(file.getSize());
-        
-        // S3에 업로드
+        return storeContent(contentHash, file.getContentType(), file.getSize(), folder, file::getInputStream);
+    }
+
+    /**
+     * 메모리에 있는 데이터 업로드 함수 (서버에서 생성한 파일용)
+     * @param data 업로드할 데이터
+     * @param contentType 콘텐츠 타입
+     * @param folder 상위 폴더 경로
+     * @return 업로드된 파일 URL
+     * @throws IOException 파일 처리 중 오류 발생 시
+     */
+    public String uploadBytes(byte[] data, String contentType, String folder) throws IOException {
+        return storeContent(sha256(new ByteArrayInputStream(data)), contentType, data.length, folder,
+                () -> new ByteArrayInputStream(data));
+    }
+
+    /**
+     * 파일 다운로드 함수
+     * @param fileUrl 다운로드할 파일 URL
+     * @return 파일 스트림 (호출한 쪽에서 닫아야 함)
+     * @throws IOException 파일 처리 중 오류 발생 시
+     */
+    public InputStream download(String fileUrl) throws IOException {
         try {
-            amazonS3Client.putObject(new PutObjectRequest(
-                    bucketName, fileName, file.getInputStream(), metadata)
-                    .withCannedAcl(CannedAccessControlList.PublicRead));
-            
-            // 파일 URL 반환
-            URL url = amazonS3Client.getUrl(bucketName, fileName);
-            return url.toString();
+            return storageBackend.open(storageBackend.keyFromUrl(fileUrl));
         } catch (Exception e) {
-            log.error("파일 업로드 중 오류 발생: {}", e.getMessage());
-            throw new IOException("파일 업로드 실패: " + e.getMessage());
+            log.error("파일 다운로드 중 오류 발생: {}", e.getMessage());
+            throw new IOException("파일 다운로드 실패: " + e.getMessage());
         }
     }
 
     /**
-     * 여러 파일 업로드 함수
-     * @param files 업로드할 파일 목록
+     * 여러 파일 업로드 함수 (전부 아니면 전무)
+     * 파일들을 동시에 올리고, 하나라도 실패하거나 제한 시간을 넘기면 이미 올라간 파일을 지운 뒤 예외를 던진다.
+     * @param files 업로드할 파일 목록 (빈 파일은 건너뜀)
      * @param folder 상위 폴더 경로
-     * @param subFolders 하위 폴더들 (가변 인자)
-     * @return 업로드된 파일 URL 목록
-     * @throws IOException 파일 처리 중 오류 발생 시
+     * @return 업로드된 파일 URL 목록 (빈 파일을 제외한 요청 순서)
+     * @throws IOException 업로드에 실패한 파일이 있는 경우
      */
-    public List<String> uploadMultipleFiles(List<MultipartFile> files, String folder, String... subFolders) throws IOException {
-        List<String> urls = new ArrayList<>();
-        
-        for (MultipartFile file : files) {
-            if (!file.isEmpty()) {
-                String url = uploadFile(file, folder, subFolders);
-                urls.add(url);
+    public List<String> uploadMultipleFiles(List<MultipartFile> files, String folder) throws IOException {
+        BatchUploadResult result = uploadFiles(files, true, folder);
+        if (!result.isComplete()) {
+            String reason = result.items().stream()
+                    .filter(item -> item.status() == BatchUploadResult.Status.failed
+                            || item.status() == BatchUploadResult.Status.timed_out)
+                    .map(item -> item.filename() + ": " + item.message())
+                    .findFirst()
+                    .orElse("알 수 없는 오류");
+            throw new IOException("파일 업로드 실패: " + reason);
+        }
+        return result.urls();
+    }
+
+    /**
+     * 여러 파일 동시 업로드 함수
+     * 동시 업로드 수는 storage.batch.concurrency, 전체 제한 시간은 storage.batch.timeout-seconds 로 정한다.
+     * 제한 시간이 지나서 끝난 업로드는 결과에 timed_out 으로 남고, 늦게 올라간 객체는 스스로 지운다.
+     * 업로드 대기열(storage.batch.queue-capacity)이 가득 차 제출하지 못한 파일은 failed 로 남는다.
+     * @param files 업로드할 파일 목록 (빈 파일은 skipped)
+     * @param atomic true 면 하나라도 실패할 때 이미 올라간 파일을 모두 지움
+     * @param folder 상위 폴더 경로
+     * @return 파일별 업로드 결과
+     */
+    public BatchUploadResult uploadFiles(List<MultipartFile> files, boolean atomic, String folder) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(batchTimeoutSeconds);
+        BatchState state = new BatchState(files.size());
+
+        List<Future<?>> futures = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            int index = i;
+            if (file.isEmpty()) {
+                state.items[index] = item(index, file, BatchUploadResult.Status.skipped, null, "빈 파일");
+                futures.add(null);
+                continue;
+            }
+            // 실패한 뒤 아직 시작하지 않은 업로드는 건너뜀
+            try {
+                futures.add(batchExecutor.submit(() -> {
+                    if (atomic && state.failed) {
+                        return;
+                    }
+                    try {
+                        String url = uploadFile(file, folder);
+                        if (!state.complete(index, item(index, file, BatchUploadResult.Status.uploaded, url, null))) {
+                            // 이미 결과가 확정된 배치이므로 늦게 올라간 객체는 보상 삭제
+                            deleteFile(url);
+                        }
+                    } catch (Exception e) {
+                        log.error("파일 업로드 실패 - 파일: {}, 원인: {}", file.getOriginalFilename(), e.getMessage());
+                        state.complete(index, item(index, file, BatchUploadResult.Status.failed, null, e.getMessage()));
+                        state.failed = true;
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                log.warn("업로드 대기열이 가득 차 파일을 올리지 못함 - 파일: {}", file.getOriginalFilename());
+                state.complete(index, item(index, file, BatchUploadResult.Status.failed, null,
+                        "업로드 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."));
+                state.failed = true;
+                futures.add(null);
             }
         }
-        
-        return urls;
+
+        for (Future<?> future : futures) {
+            if (future == null) {
+                continue;
+            }
+            // 실패 후에도 이미 시작된 업로드는 끝까지 기다려 롤백 대상에 포함시킴 (대기 중이던 작업은 바로 끝남)
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // 작업 안에서 예외를 모두 결과로 남기므로 여기로 오지 않음
+                log.error("파일 업로드 작업 오류: {}", e.getMessage());
+            }
+        }
+
+        // 결과 확정 (이후에 끝나는 업로드는 결과에 반영되지 않고 스스로 지워짐)
+        BatchUploadResult.Item[] items = state.close();
+        futures.forEach(future -> {
+            if (future != null) {
+                future.cancel(false);
+            }
+        });
+        for (int i = 0; i < items.length; i++) {
+            if (items[i] == null) {
+                items[i] = item(i, files.get(i), BatchUploadResult.Status.timed_out, null,
+                        atomic && state.failed ? "다른 파일 업로드 실패로 취소됨" : "업로드 제한 시간 초과");
+            }
+        }
+
+        boolean rolledBack = false;
+        if (atomic && Arrays.stream(items).anyMatch(item -> item.status() == BatchUploadResult.Status.failed
+                || item.status() == BatchUploadResult.Status.timed_out)) {
+            for (int i = 0; i < items.length; i++) {
+                if (items[i].url() != null) {
+                    deleteFile(items[i].url());
+                    items[i] = item(i, files.get(i), BatchUploadResult.Status.rolled_back, null, "롤백으로 삭제됨");
+                }
+            }
+            rolledBack = true;
+        }
+        return new BatchUploadResult(List.of(items), rolledBack);
     }
 
     /**
      * 파일 삭제 함수
+     * 저장소 객체는 삭제 대기열에 넣고 백그라운드 워커가 일괄 삭제한다.
+     * 여기서는 저장소를 호출하지 않으며, 대기열 행은 호출한 쪽 트랜잭션과 함께 커밋/롤백된다.
      * @param fileUrl 삭제할 파일 URL
      */
     public void deleteFile(String fileUrl) {
         try {
-            // URL에서 키 추출
-            URL url = new URL(fileUrl);
-            String key = url.getPath().substring(1); // 첫 번째 '/' 제거
-            
-            if (key.isEmpty()) {
-                throw new IllegalArgumentException("Invalid file URL: Unable to extract key");
-            }
+            String key = storageBackend.keyFromUrl(fileUrl);
             
             log.debug("Deleting file with key: {}", key);
             
-            // S3에서 파일 삭제
-            amazonS3Client.deleteObject(new DeleteObjectRequest(bucketName, key));
+            // 내용 주소 기반 객체는 마지막 참조가 해제될 때만 삭제 (참조 행 삭제와 같은 트랜잭션에서 예약)
+            if (contentObjectRegistry.release(key, this::enqueueDeletion)) {
+                return;
+            }
+            
+            enqueueDeletion(key);
         } catch (Exception e) {
-            log.error("파일 삭제 중 오류 발생: {}", e.getMessage());
+            log.error("파일 삭제 예약 중 오류 발생: {}", e.getMessage());
         }
     }
+
+    /**
+     * 이 환경에서 쓰는 폴더의 객체 키 접두사 (대사 작업용)
+     */
+    public String resolveFolderPath(String folder) {
+        return buildFolderPath(folder);
+    }
+
+    private String storeContent(String contentHash, String contentType, long size, String folder,
+                                ContentSource source) throws IOException {
+        String key = buildFolderPath(folder) + contentHash.substring(0, 2) + "/" + contentHash;
+
+        // 이미 있는 내용이면 전송 없이 참조만 추가
+        boolean uploaded = false;
+        if (!contentObjectRegistry.exists(key)) {
+            putObject(key, source, contentType, size);
+            uploaded = true;
+        }
+
+        String url = storageBackend.url(key);
+        boolean created = contentObjectRegistry.acquire(contentHash, key, url, contentType, size);
+        // 확인 직후 마지막 참조가 해제되어 객체가 삭제된 경우,
+        // 또는 올린 직후 삭제 대기열 워커가 같은 키를 지운 경우 다시 올림
+        if (created && (!uploaded || !storageBackend.exists(key))) {
+            putObject(key, source, contentType, size);
+        }
+        return url;
+    }
+
+    private void putObject(String key, ContentSource source, String contentType, long size) throws IOException {
+        try (InputStream inputStream = source.open()) {
+            storageBackend.put(key, inputStream, size, contentType);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        batchExecutor.shutdown();
+        if (!batchExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            batchExecutor.shutdownNow();
+        }
+    }
+
+    private BatchUploadResult.Item item(int index, MultipartFile file, BatchUploadResult.Status status,
+                                        String url, String message) {
+        return new BatchUploadResult.Item(index, file.getOriginalFilename(), status, url, message);
+    }
+
+    private void enqueueDeletion(String key) {
+        storageDeletionRepository.enqueue(key, 0);
+    }
+
+    private String sha256(InputStream in) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private String buildFolderPath(String folder) {
+        // 개발 환경에 따라 기본 경로 설정
+        String baseFolder = environment.getActiveProfiles().length > 0 && 
+                            "production".equals(environment.getActiveProfiles()[0]) ? "" : "test";
+        
+        // 최종 폴더 경로 생성
+        return baseFolder.isEmpty() ? 
+                folder + "/" : 
+                baseFolder + "/" + folder + "/";
+    }
+
+    /**
+     * 여러 파일 업로드 진행 상태
+     * 결과를 확정(close)한 뒤에 끝난 업로드는 complete 가 false 를 돌려주므로 호출한 쪽이 객체를 지운다.
+     */
+    private static final class BatchState {
+        private final BatchUploadResult.Item[] items;
+        private volatile boolean failed;
+        private boolean closed;
+
+        private BatchState(int size) {
+            this.items = new BatchUploadResult.Item[size];
+        }
+
+        private synchronized boolean complete(int index, BatchUploadResult.Item item) {
+            if (closed) {
+                return false;
+            }
+            items[index] = item;
+            return true;
+        }
+
+        private synchronized BatchUploadResult.Item[] close() {
+            closed = true;
+            return items.clone();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ContentSource {
+        InputStream open() throws IOException;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package kr.cocoh.api.service.ad;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.security.CustomUserDetails;
+
+/**
+ * 광고 수정 권한 확인
+ * 관리자는 모든 광고, 살롱 광고는 살롱 소유자만 수정할 수 있다. 스폰서 광고는 관리자 전용.
+ */
+@Component
+public class AdAccessChecker {
+
+    public void checkWritable(Ad ad, CustomUserDetails user) {
+        if (user.isAdmin()) {
+            return;
+        }
+        if (ad.getSalon() == null || !ad.getSalon().getOwner().getId().equals(user.getId())) {
+            throw new AccessDeniedException("광고에 대한 권한이 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package kr.cocoh.api.service.ad;
+
+import java.util.List;
+
+import kr.cocoh.api.dto.AdBulkItemDto;
+import kr.cocoh.api.model.ad.AdMedia;
+
+/**
+ * 검증과 미디어 업로드를 마치고 저장을 기다리는 일괄 등록 광고 한 건
+ */
+public record AdBulkDraft(int index, AdBulkItemDto item, List<UploadedMedia> media) {
+
+    public record UploadedMedia(AdBulkItemDto.Media spec, AdMedia.MediaType type, String url) {
+    }
+}
@@ -0,0 +1,468 @@
+package kr.cocoh.api.service.ad;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import kr.cocoh.api.config.StorageConfig.StoragePaths;
+import kr.cocoh.api.dto.AdBulkItemDto;
+import kr.cocoh.api.dto.AdBulkResultDto;
+import kr.cocoh.api.event.AdChangedEvent;
+import kr.cocoh.api.event.AdMediaUploadedEvent;
+import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.model.ad.AdLocation;
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.repository.AdBulkRepository;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.StorageService;
+import kr.cocoh.api.service.subscription.EntitlementService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 광고 일괄 등록
+ * 매니페스트(JSON)를 한 건씩 읽으면서 검증이 끝난 광고의 미디어는 바로 업로드 풀에 넘기고,
+ * 청크가 차면 업로드 완료를 기다렸다가 청크 단위 트랜잭션에서 JDBC 배치로 저장한다.
+ * 실패한 광고는 건너뛰고 결과 보고서에 사유를 남기며, 올려 둔 미디어는 정리한다.
+ * 관리자가 아니면 요금제의 광고 수 한도를 넘는 광고는 등록하지 않는다.
+ */
+@Slf4j
+@Service
+public class AdBulkService {
+
+    private final AdBulkRepository adBulkRepository;
+    private final StorageService storageService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntitlementService entitlementService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor uploadExecutor;
+
+    @Value("${ad.bulk.chunk-size:50}")
+    private int chunkSize;
+
+    @Value("${ad.bulk.max-ads:500}")
+    private int maxAds;
+
+    @Value("${ad.bulk.max-media-per-ad:20}")
+    private int maxMediaPerAd;
+
+    @Value("${ad.bulk.upload-timeout-seconds:300}")
+    private long uploadTimeoutSeconds;
+
+    public AdBulkService(AdBulkRepository adBulkRepository,
+                         StorageService storageService,
+                         ObjectMapper objectMapper,
+                         ApplicationEventPublisher eventPublisher,
+                         EntitlementService entitlementService,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${ad.bulk.upload-workers:4}") int uploadWorkers,
+                         @Value("${ad.bulk.upload-queue-capacity:32}") int uploadQueueCapacity) {
+        this.adBulkRepository = adBulkRepository;
+        this.storageService = storageService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.entitlementService = entitlementService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // 큐가 차면 요청 스레드가 직접 업로드하므로 매니페스트 읽기도 그만큼 늦춰진다
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.uploadExecutor = new ThreadPoolExecutor(uploadWorkers, uploadWorkers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(uploadQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ad-bulk-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 광고 일괄 등록
+     * @param manifest {"ads": [...]} 형식의 매니페스트 스트림
+     * @param parts 매니페스트에서 이름으로 참조하는 미디어 파일들
+     * @return 광고별 처리 결과
+     * @throws IOException 매니페스트를 읽지 못한 경우
+     */
+    public AdBulkResultDto createAll(InputStream manifest, Map<String, MultipartFile> parts,
+                                     CustomUserDetails user) throws IOException {
+        List<AdBulkResultDto.Item> results = new ArrayList<>();
+        List<PendingAd> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(manifest)) {
+            moveToAdsArray(parser);
+
+            int index = 0;
+            while (true) {
+                JsonToken token;
+                AdBulkItemDto item;
+                try {
+                    token = parser.nextToken();
+                    if (token == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    item = objectMapper.readValue(parser, AdBulkItemDto.class);
+                } catch (JsonProcessingException e) {
+                    // 이미 읽은 광고는 처리하고, 이후 항목은 읽을 수 없으므로 여기서 멈춤
+                    results.add(failure(index, null, "매니페스트 형식이 올바르지 않아 이후 항목을 처리하지 못했습니다: "
+                            + e.getOriginalMessage()));
+                    break;
+                }
+                if (index >= maxAds) {
+                    results.add(failure(index, item.getRef(), "한 번에 등록할 수 있는 광고는 최대 " + maxAds + "건입니다."));
+                    break;
+                }
+
+                try {
+                    List<AdMedia.MediaType> mediaTypes = validate(item, parts, user);
+                    chunk.add(new PendingAd(index, item, mediaTypes, submitUploads(item, parts)));
+                } catch (IllegalArgumentException e) {
+                    results.add(failure(index, item.getRef(), e.getMessage()));
+                }
+                index++;
+
+                if (chunk.size() >= chunkSize) {
+                    results.addAll(persistChunk(chunk, user));
+                    chunk.clear();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // 요청이 실패로 끝나므로 저장하지 않은 청크의 업로드는 끝나는 대로 정리
+            chunk.forEach(pending -> discardUploads(pending.uploads()));
+            throw e;
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(persistChunk(chunk, user));
+        }
+
+        results.sort(Comparator.comparingInt(AdBulkResultDto.Item::getIndex));
+        int created = (int) results.stream().filter(AdBulkResultDto.Item::isSuccess).count();
+        log.info("광고 일괄 등록 완료: 성공 {}건, 실패 {}건", created, results.size() - created);
+        return AdBulkResultDto.builder()
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .items(results)
+                .build();
+    }
+
+    private void moveToAdsArray(JsonParser parser) throws IOException {
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("매니페스트는 JSON 객체여야 합니다.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("ads".equals(field) && value == JsonToken.START_ARRAY) {
+                    return;
+                }
+                parser.skipChildren();
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("매니페스트 형식이 올바르지 않습니다: " + e.getOriginalMessage());
+        }
+        throw new IllegalArgumentException("매니페스트에 ads 배열이 없습니다.");
+    }
+
+    /**
+     * 광고 한 건 검증 (DB 조회가 필요한 살롱 권한은 청크 저장 시 한 번에 확인)
+     * @return 미디어별 타입
+     */
+    private List<AdMedia.MediaType> validate(AdBulkItemDto item, Map<String, MultipartFile> parts,
+                                             CustomUserDetails user) {
+        if (item.getTitle() == null || item.getTitle().isBlank() || item.getTitle().length() > 100) {
+            throw new IllegalArgumentException("제목은 1자 이상 100자 이하여야 합니다.");
+        }
+        if (item.getType() == null) {
+            throw new IllegalArgumentException("광고 유형이 필요합니다.");
+        }
+        if (item.getType() == Ad.Type.salon && item.getSalonId() == null) {
+            throw new IllegalArgumentException("살롱 광고에는 살롱 ID 가 필요합니다.");
+        }
+        if (item.getType() == Ad.Type.sponsor && !user.isAdmin()) {
+            throw new IllegalArgumentException("스폰서 광고는 관리자만 등록할 수 있습니다.");
+        }
+
+        AdBulkItemDto.Campaign campaign = item.getCampaign();
+        if (campaign != null) {
+            if (campaign.getBudget() == null || campaign.getBudget().signum() <= 0) {
+                throw new IllegalArgumentException("캠페인 예산은 0 보다 커야 합니다.");
+            }
+            BigDecimal dailyBudget = campaign.getDailyBudget();
+            if (dailyBudget != null && (dailyBudget.signum() <= 0 || dailyBudget.compareTo(campaign.getBudget()) > 0)) {
+                throw new IllegalArgumentException("일 예산은 0 보다 크고 전체 예산 이하여야 합니다.");
+            }
+            if (campaign.getStartDate() == null || campaign.getEndDate() == null
+                    || !campaign.getStartDate().isBefore(campaign.getEndDate())) {
+                throw new IllegalArgumentException("캠페인 기간이 올바르지 않습니다.");
+            }
+        }
+
+        List<AdBulkItemDto.Media> media = item.getMedia();
+        if (media == null || media.isEmpty() || media.size() > maxMediaPerAd) {
+            throw new IllegalArgumentException("미디어는 1개 이상 " + maxMediaPerAd + "개 이하여야 합니다.");
+        }
+        List<AdMedia.MediaType> mediaTypes = new ArrayList<>(media.size());
+        int primaryCount = 0;
+        for (AdBulkItemDto.Media spec : media) {
+            MultipartFile file = spec.getPart() != null ? parts.get(spec.getPart()) : null;
+            if (file == null || file.isEmpty()) {
+                throw new IllegalArgumentException("미디어 파일을 찾을 수 없습니다: " + spec.getPart());
+            }
+            if (spec.getSize() == null) {
+                throw new IllegalArgumentException("미디어 크기(min/max)가 필요합니다: " + spec.getPart());
+            }
+            if (spec.getDuration() != null && spec.getDuration() <= 0) {
+                throw new IllegalArgumentException("재생 시간은 0 보다 커야 합니다: " + spec.getPart());
+            }
+            if (Boolean.TRUE.equals(spec.getIsPrimary())) {
+                primaryCount++;
+            }
+            mediaTypes.add(AdMediaService.resolveMediaType(file.getContentType()));
+        }
+        if (primaryCount > 1) {
+            throw new IllegalArgumentException("대표 미디어는 하나만 지정할 수 있습니다.");
+        }
+
+        if (item.getSchedules() != null) {
+            Set<LocalTime> seen = new HashSet<>();
+            for (LocalTime time : item.getSchedules()) {
+                if (time == null || !seen.add(time)) {
+                    throw new IllegalArgumentException("스케줄 시간이 비어 있거나 중복되었습니다.");
+                }
+            }
+        }
+
+        if (item.getLocations() != null) {
+            for (AdBulkItemDto.Location location : item.getLocations()) {
+                if (location == null || location.getTargetType() == null) {
+                    throw new IllegalArgumentException("지역 타게팅 유형이 필요합니다.");
+                }
+                try {
+                    AdLocation.builder()
+                            .targetType(location.getTargetType())
+                            .city(location.getCity())
+                            .district(location.getDistrict())
+                            .latitude(location.getLatitude())
+                            .longitude(location.getLongitude())
+                            .radiusMeters(location.getRadiusMeters())
+                            .build()
+                            .validate();
+                } catch (IllegalStateException e) {
+                    throw new IllegalArgumentException("지역 타게팅 설정이 올바르지 않습니다: " + e.getMessage());
+                }
+            }
+        }
+        return mediaTypes;
+    }
+
+    private List<CompletableFuture<String>> submitUploads(AdBulkItemDto item, Map<String, MultipartFile> parts) {
+        List<CompletableFuture<String>> uploads = new ArrayList<>(item.getMedia().size());
+        for (AdBulkItemDto.Media spec : item.getMedia()) {
+            MultipartFile file = parts.get(spec.getPart());
+            uploads.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return storageService.uploadFile(file, StoragePaths.ADS);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, uploadExecutor));
+        }
+        return uploads;
+    }
+
+    /**
+     * 청크 저장
+     * 살롱 권한 확인과 업로드 대기를 마친 광고를 한 트랜잭션에서 배치로 저장하고,
+     * 트랜잭션이 실패하면 원인이 된 광고만 걸러내도록 한 건씩 다시 저장한다.
+     */
+    private List<AdBulkResultDto.Item> persistChunk(List<PendingAd> chunk, CustomUserDetails user) {
+        List<AdBulkResultDto.Item> results = new ArrayList<>();
+        Set<Long> salonIds = new HashSet<>();
+        for (PendingAd pending : chunk) {
+            if (pending.item().getSalonId() != null) {
+                salonIds.add(pending.item().getSalonId());
+            }
+        }
+        Map<Long, Long> salonOwners = adBulkRepository.findSalonOwners(salonIds);
+        // 요금제 한도는 앞 청크까지 저장된 광고를 다시 세어 확인 (동시 요청끼리는 조금 넘칠 수 있음)
+        long remainingAds = Long.MAX_VALUE;
+        int maxAdsAllowed = Integer.MAX_VALUE;
+        if (!user.isAdmin()) {
+            maxAdsAllowed = entitlementService.get(user.getId()).maxAds(System.currentTimeMillis());
+            remainingAds = (long) maxAdsAllowed - adBulkRepository.countOwnedAds(user.getId());
+        }
+
+        List<AdBulkDraft> drafts = new ArrayList<>(chunk.size());
+        for (PendingAd pending : chunk) {
+            List<String> urls = awaitUploads(pending);
+            try {
+                if (urls == null) {
+                    throw new IllegalArgumentException("미디어 업로드에 실패했습니다.");
+                }
+                Long salonId = pending.item().getSalonId();
+                if (salonId != null) {
+                    Long ownerId = salonOwners.get(salonId);
+                    if (ownerId == null) {
+                        throw new IllegalArgumentException("살롱을 찾을 수 없습니다.");
+                    }
+                    if (!user.isAdmin() && !ownerId.equals(user.getId())) {
+                        throw new IllegalArgumentException("광고에 대한 권한이 없습니다.");
+                    }
+                }
+                if (remainingAds <= 0) {
+                    throw new IllegalArgumentException("요금제의 광고 등록 한도(" + maxAdsAllowed + "개)를 넘었습니다.");
+                }
+                drafts.add(toDraft(pending, urls));
+                remainingAds--;
+            } catch (IllegalArgumentException e) {
+                releaseUploads(urls);
+                results.add(failure(pending.index(), pending.item().getRef(), e.getMessage()));
+            }
+        }
+        if (drafts.isEmpty()) {
+            return results;
+        }
+
+        try {
+            results.addAll(insert(drafts));
+        } catch (RuntimeException e) {
+            log.warn("광고 일괄 저장 청크 실패, 건별로 다시 저장: {}", e.getMessage());
+            for (AdBulkDraft draft : drafts) {
+                try {
+                    results.addAll(insert(List.of(draft)));
+                } catch (RuntimeException itemError) {
+                    log.error("광고 일괄 저장 실패 (index={}): {}", draft.index(), itemError.getMessage());
+                    releaseUploads(draft.media().stream().map(AdBulkDraft.UploadedMedia::url).toList());
+                    results.add(failure(draft.index(), draft.item().getRef(), "광고 저장에 실패했습니다."));
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<AdBulkResultDto.Item> insert(List<AdBulkDraft> drafts) {
+        List<AdBulkRepository.InsertedAd> inserted = transactionTemplate.execute(status -> {
+            List<AdBulkRepository.InsertedAd> rows = adBulkRepository.insertAll(drafts);
+            // 변환본 생성은 커밋 이후 시작
+            rows.forEach(row -> row.mediaIds().forEach(id -> eventPublisher.publishEvent(new AdMediaUploadedEvent(id))));
+            eventPublisher.publishEvent(new AdChangedEvent(rows.stream().map(AdBulkRepository.InsertedAd::adId).toList()));
+            return rows;
+        });
+
+        List<AdBulkResultDto.Item> results = new ArrayList<>(drafts.size());
+        for (int i = 0; i < drafts.size(); i++) {
+            AdBulkDraft draft = drafts.get(i);
+            results.add(AdBulkResultDto.Item.builder()
+                    .index(draft.index())
+                    .ref(draft.item().getRef())
+                    .success(true)
+                    .adId(inserted.get(i).adId())
+                    .mediaIds(inserted.get(i).mediaIds())
+                    .build());
+        }
+        return results;
+    }
+
+    /**
+     * 광고 한 건의 업로드 완료 대기
+     * @return 업로드된 URL 목록, 하나라도 실패하면 나머지 업로드는 끝나는 대로 정리하고 null
+     */
+    private List<String> awaitUploads(PendingAd pending) {
+        List<String> urls = new ArrayList<>(pending.uploads().size());
+        try {
+            for (CompletableFuture<String> upload : pending.uploads()) {
+                urls.add(upload.get(uploadTimeoutSeconds, TimeUnit.SECONDS));
+            }
+            return urls;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("광고 일괄 등록 미디어 업로드 실패 (index={}): {}", pending.index(), e.getMessage());
+        }
+        discardUploads(pending.uploads());
+        return null;
+    }
+
+    // 이미 끝난 업로드는 바로, 시간 초과 등으로 아직 진행 중인 업로드는 끝난 뒤 참조를 되돌림
+    private void discardUploads(List<CompletableFuture<String>> uploads) {
+        for (CompletableFuture<String> upload : uploads) {
+            upload.whenComplete((url, error) -> {
+                if (url != null) {
+                    releaseUploads(List.of(url));
+                }
+            });
+        }
+    }
+
+    private void releaseUploads(List<String> urls) {
+        if (urls == null) {
+            return;
+        }
+        for (String url : urls) {
+            try {
+                storageService.deleteFile(url);
+            } catch (RuntimeException e) {
+                log.error("업로드 정리 실패: {} ({})", url, e.getMessage());
+            }
+        }
+    }
+
+    private AdBulkDraft toDraft(PendingAd pending, List<String> urls) {
+        List<AdBulkItemDto.Media> specs = pending.item().getMedia();
+        List<AdBulkDraft.UploadedMedia> media = new ArrayList<>(specs.size());
+        for (int i = 0; i < specs.size(); i++) {
+            media.add(new AdBulkDraft.UploadedMedia(specs.get(i), pending.mediaTypes().get(i), urls.get(i)));
+        }
+        return new AdBulkDraft(pending.index(), pending.item(), media);
+    }
+
+    private AdBulkResultDto.Item failure(int index, String ref, String message) {
+        return AdBulkResultDto.Item.builder()
+                .index(index)
+                .ref(ref)
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        uploadExecutor.shutdown();
+        if (!uploadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            uploadExecutor.shutdownNow();
+        }
+    }
+
+    private record PendingAd(int index, AdBulkItemDto item, List<AdMedia.MediaType> mediaTypes,
+                             List<CompletableFuture<String>> uploads) {
+    }
+}
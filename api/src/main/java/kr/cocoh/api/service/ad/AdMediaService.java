@@ -0,0 +1,181 @@
+package kr.cocoh.api.service.ad;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import kr.cocoh.api.config.StorageConfig.StoragePaths;
+import kr.cocoh.api.dto.AdMediaDto;
+import kr.cocoh.api.dto.AdMediaRenditionDto;
+import kr.cocoh.api.dto.DirectUploadDto;
+import kr.cocoh.api.event.AdChangedEvent;
+import kr.cocoh.api.event.AdMediaUploadedEvent;
+import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.model.ad.AdMediaRendition;
+import kr.cocoh.api.repository.AdMediaRenditionRepository;
+import kr.cocoh.api.repository.AdMediaRepository;
+import kr.cocoh.api.repository.AdRepository;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.StorageService;
+import kr.cocoh.api.service.storage.DirectUploadService;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class AdMediaService {
+
+    private final AdRepository adRepository;
+    private final AdMediaRepository adMediaRepository;
+    private final AdMediaRenditionRepository renditionRepository;
+    private final StorageService storageService;
+    private final DirectUploadService directUploadService;
+    private final AdAccessChecker adAccessChecker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+
+    public AdMediaService(AdRepository adRepository,
+                          AdMediaRepository adMediaRepository,
+                          AdMediaRenditionRepository renditionRepository,
+                          StorageService storageService,
+                          DirectUploadService directUploadService,
+                          AdAccessChecker adAccessChecker,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager) {
+        this.adRepository = adRepository;
+        this.adMediaRepository = adMediaRepository;
+        this.renditionRepository = renditionRepository;
+        this.storageService = storageService;
+        this.directUploadService = directUploadService;
+        this.adAccessChecker = adAccessChecker;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 광고 미디어 업로드
+     * 원본만 저장하고 바로 반환하며, 변환본은 커밋 이후 백그라운드에서 생성된다.
+     * 업로드는 트랜잭션 밖에서 하고, 행 저장에만 짧은 트랜잭션을 연다.
+     */
+    public AdMediaDto addMedia(Long adId, MultipartFile file, AdMedia.Size size, Integer order,
+                               Integer duration, Boolean isPrimary, CustomUserDetails user) throws IOException {
+        readOnlyTemplate.executeWithoutResult(status -> {
+            Ad ad = adRepository.findById(adId)
+                    .orElseThrow(() -> new IllegalArgumentException("광고를 찾을 수 없습니다."));
+            adAccessChecker.checkWritable(ad, user);
+        });
+
+        AdMedia.MediaType type = resolveMediaType(file.getContentType());
+        String url = storageService.uploadFile(file, StoragePaths.ADS);
+
+        try {
+            return saveMedia(adId, url, type, size, order, duration, isPrimary, null);
+        } catch (RuntimeException e) {
+            // 행 저장이 롤백되면 올린 원본을 정리 (롤백이 끝난 뒤라 커밋과 겹치지 않음)
+            storageService.deleteFile(url);
+            throw e;
+        }
+    }
+
+    /**
+     * 직접 업로드(presigned)로 버킷에 올린 파일을 광고 미디어로 등록
+     * 업로드를 finalize(HEAD 로 크기/형식 확인)한 뒤 행을 저장한다. finalize 는 멱등이라 재시도해도 된다.
+     * 업로드는 행 저장과 같은 트랜잭션에서 사용 처리되므로 한 업로드를 두 미디어에 붙일 수 없다.
+     * 객체는 업로드 슬롯이 참조하고 있으므로 행 저장이 실패해도 지우지 않는다.
+     */
+    public AdMediaDto addDirectMedia(Long adId, String uploadId, AdMedia.Size size, Integer order,
+                                     Integer duration, Boolean isPrimary, CustomUserDetails user) {
+        readOnlyTemplate.executeWithoutResult(status -> {
+            Ad ad = adRepository.findById(adId)
+                    .orElseThrow(() -> new IllegalArgumentException("광고를 찾을 수 없습니다."));
+            adAccessChecker.checkWritable(ad, user);
+        });
+
+        DirectUploadDto.Result upload = directUploadService.finalizeUpload(user.getId(), uploadId);
+        if (!StoragePaths.ADS.equals(upload.getFolder())) {
+            throw new IllegalArgumentException("광고 폴더로 올린 파일만 광고 미디어로 등록할 수 있습니다.");
+        }
+        AdMedia.MediaType type = resolveMediaType(upload.getContentType());
+        return saveMedia(adId, upload.getUrl(), type, size, order, duration, isPrimary, uploadId);
+    }
+
+    /**
+     * @param uploadId 직접 업로드로 올린 파일이면 같은 트랜잭션에서 사용 처리할 업로드 (아니면 null)
+     */
+    private AdMediaDto saveMedia(Long adId, String url, AdMedia.MediaType type, AdMedia.Size size, Integer order,
+                                 Integer duration, Boolean isPrimary, String uploadId) {
+        return transactionTemplate.execute(status -> {
+            if (uploadId != null) {
+                directUploadService.consume(uploadId);
+            }
+            AdMedia media = adMediaRepository.save(AdMedia.builder()
+                    .ad(adRepository.getReferenceById(adId))
+                    .url(url)
+                    .type(type)
+                    .size(size)
+                    .order(order)
+                    .duration(duration)
+                    .isPrimary(isPrimary)
+                    .build());
+            eventPublisher.publishEvent(new AdMediaUploadedEvent(media.getId()));
+            eventPublisher.publishEvent(AdChangedEvent.of(adId));
+            return convertToDto(media, List.of());
+        });
+    }
+
+    /**
+     * 광고 미디어 조회 (변환본 포함, 광고 소유자 또는 관리자만)
+     */
+    @Transactional(readOnly = true)
+    public AdMediaDto getMedia(Long adId, Long mediaId, CustomUserDetails user) {
+        AdMedia media = adMediaRepository.findById(mediaId)
+                .filter(m -> m.getAd().getId().equals(adId))
+                .orElseThrow(() -> new IllegalArgumentException("미디어를 찾을 수 없습니다."));
+        adAccessChecker.checkWritable(media.getAd(), user);
+        return convertToDto(media, renditionRepository.findByAdMediaId(mediaId));
+    }
+
+    static AdMedia.MediaType resolveMediaType(String contentType) {
+        if (contentType != null && contentType.startsWith("image/")) {
+            return AdMedia.MediaType.image;
+        }
+        if (contentType != null && contentType.startsWith("video/")) {
+            return AdMedia.MediaType.video;
+        }
+        throw new IllegalArgumentException("이미지 또는 동영상 파일만 업로드할 수 있습니다.");
+    }
+
+    private AdMediaDto convertToDto(AdMedia media, List<AdMediaRendition> renditions) {
+        return AdMediaDto.builder()
+                .id(media.getId())
+                .adId(media.getAd().getId())
+                .url(media.getUrl())
+                .type(media.getType().name())
+                .size(media.getSize().name())
+                .order(media.getOrder())
+                .duration(media.getDuration())
+                .isPrimary(media.getIsPrimary())
+                .renditionStatus(media.getRenditionStatus().name())
+                .renditions(renditions.stream()
+                        .map(rendition -> AdMediaRenditionDto.builder()
+                                .variant(rendition.getVariant().name())
+                                .url(rendition.getUrl())
+                                .contentType(rendition.getContentType())
+                                .width(rendition.getWidth())
+                                .height(rendition.getHeight())
+                                .byteSize(rendition.getByteSize())
+                                .build())
+                        .toList())
+                .createdAt(media.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package kr.cocoh.api.service.ad;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import kr.cocoh.api.dto.AdDto;
+import kr.cocoh.api.dto.AdMediaDto;
+import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.model.ad.AdCampaign;
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.model.ad.AdSchedule;
+import kr.cocoh.api.model.auth.Location;
+import kr.cocoh.api.model.auth.Salon;
+import kr.cocoh.api.repository.AdRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 광고 조회
+ * 용도별 엔티티 그래프(목록/상세/플레이리스트)로 필요한 연관만 한 번에 읽고,
+ * 그래프에 넣지 못한 컬렉션은 @BatchSize 로 광고 여러 건을 묶어 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdQueryService {
+
+    private final AdRepository adRepository;
+
+    /**
+     * 광고 목록 조회
+     * @param salonId null 이면 전체
+     */
+    @Transactional(readOnly = true)
+    public Page<AdDto> getAds(Long salonId, Pageable pageable) {
+        Page<Ad> ads = salonId != null
+                ? adRepository.findPageBySalonId(salonId, pageable)
+                : adRepository.findPage(pageable);
+        return ads.map(ad -> convertToDto(ad, false));
+    }
+
+    /**
+     * 광고 상세 조회 (미디어, 스케줄, 지역 포함)
+     */
+    @Transactional(readOnly = true)
+    public AdDto getAd(Long adId) {
+        Ad ad = adRepository.findDetailById(adId)
+                .orElseThrow(() -> new IllegalArgumentException("광고를 찾을 수 없습니다."));
+        return convertToDto(ad, true);
+    }
+
+    /**
+     * 플레이리스트 구성용 광고 로드
+     * 미디어는 조인으로, 스케줄과 지역은 배치 페치로 읽으므로 광고 수와 상관없이 쿼리 수가 일정하다.
+     * 반환된 엔티티의 컬렉션은 호출한 쪽 트랜잭션 안에서만 사용해야 한다.
+     */
+    @Transactional(readOnly = true)
+    public List<Ad> loadForPlaylist(Collection<Long> adIds) {
+        if (adIds.isEmpty()) {
+            return List.of();
+        }
+        return adRepository.findForPlaylistByIdIn(adIds);
+    }
+
+    private AdDto convertToDto(Ad ad, boolean withDetails) {
+        Salon salon = ad.getSalon();
+        Location location = salon != null ? salon.getLocation() : null;
+        AdCampaign campaign = ad.getCampaign();
+
+        AdDto.AdDtoBuilder builder = AdDto.builder()
+                .id(ad.getId())
+                .title(ad.getTitle())
+                .type(ad.getType().name())
+                .salonId(salon != null ? salon.getId() : null)
+                .salonName(salon != null ? salon.getName() : null)
+                .salonCity(location != null ? location.getCity() : null)
+                .salonDistrict(location != null ? location.getDistrict() : null)
+                .isActive(ad.getIsActive())
+                .campaign(campaign == null ? null : AdDto.Campaign.builder()
+                        .id(campaign.getId())
+                        .budget(campaign.getBudget())
+                        .dailyBudget(campaign.getDailyBudget())
+                        .startDate(campaign.getStartDate())
+                        .endDate(campaign.getEndDate())
+                        .build())
+                .createdAt(ad.getCreatedAt())
+                .updatedAt(ad.getUpdatedAt());
+
+        if (withDetails) {
+            builder.media(ad.getMedia().stream()
+                            .sorted(Comparator.comparing(AdMedia::getOrder))
+                            .map(media -> AdMediaDto.builder()
+                                    .id(media.getId())
+                                    .adId(ad.getId())
+                                    .url(media.getUrl())
+                                    .type(media.getType().name())
+                                    .size(media.getSize().name())
+                                    .order(media.getOrder())
+                                    .duration(media.getDuration())
+                                    .isPrimary(media.getIsPrimary())
+                                    .renditionStatus(media.getRenditionStatus().name())
+                                    .createdAt(media.getCreatedAt())
+                                    .build())
+                            .toList())
+                    .schedules(ad.getSchedules().stream()
+                            .map(AdSchedule::getTime)
+                            .sorted()
+                            .toList())
+                    .locations(ad.getLocations().stream()
+                            .map(target -> AdDto.Location.builder()
+                                    .targetType(target.getTargetType().name())
+                                    .city(target.getCity())
+                                    .district(target.getDistrict())
+                                    .latitude(target.getLatitude())
+                                    .longitude(target.getLongitude())
+                                    .radiusMeters(target.getRadiusMeters())
+                                    .build())
+                            .toList());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,32 @@
+package kr.cocoh.api.service.billing;
+
+/**
+ * 빌링키 결제 PG
+ * 같은 merchantUid 로 다시 요청하면 새로 결제하지 않고 처음 결과를 돌려줘야 한다 (실행이 중간에 죽었다 이어질 때 이중 결제 방지).
+ */
+public interface BillingGateway {
+
+    /**
+     * payments.pg_provider 값
+     */
+    String provider();
+
+    ChargeResult charge(ChargeRequest request);
+
+    record ChargeRequest(String merchantUid, String billingKey, int amount, String currency, String orderName) {
+    }
+
+    /**
+     * @param failureReason 실패 사유 (성공이면 null)
+     */
+    record ChargeResult(boolean success, String receiptUrl, String failureReason) {
+
+        public static ChargeResult paid(String receiptUrl) {
+            return new ChargeResult(true, receiptUrl, null);
+        }
+
+        public static ChargeResult failed(String failureReason) {
+            return new ChargeResult(false, null, failureReason);
+        }
+    }
+}
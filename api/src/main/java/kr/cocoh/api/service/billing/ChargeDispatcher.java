@@ -0,0 +1,79 @@
+package kr.cocoh.api.service.billing;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import kr.cocoh.api.service.billing.BillingGateway.ChargeRequest;
+import kr.cocoh.api.service.billing.BillingGateway.ChargeResult;
+
+/**
+ * PG 별 동시 요청 상한을 지키며 빌링 결제를 보냄
+ * PG 마다 상한 크기의 스레드 풀을 따로 두어, 한 PG 가 느려져도 다른 PG 요청이 밀리지 않는다.
+ * 큐는 실행기가 한 번에 넘기는 청크만큼만 차므로 따로 제한하지 않는다.
+ */
+public class ChargeDispatcher implements AutoCloseable {
+
+    private final Map<String, BillingGateway> gateways = new HashMap<>();
+    private final Map<String, ThreadPoolExecutor> executors = new HashMap<>();
+
+    public ChargeDispatcher(List<BillingGateway> gateways, int maxConcurrencyPerPg) {
+        for (BillingGateway gateway : gateways) {
+            String provider = gateway.provider();
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrencyPerPg, maxConcurrencyPerPg,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "billing-" + provider + "-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            this.gateways.put(provider, gateway);
+            this.executors.put(provider, executor);
+        }
+    }
+
+    public boolean supports(String provider) {
+        return gateways.containsKey(provider);
+    }
+
+    /**
+     * 결제 요청 (PG 호출 중 예외는 실패 결과로 바꿈, 지원하지 않는 PG 는 바로 실패)
+     */
+    public CompletableFuture<ChargeResult> charge(String provider, ChargeRequest request) {
+        BillingGateway gateway = gateways.get(provider);
+        if (gateway == null) {
+            return CompletableFuture.completedFuture(ChargeResult.failed("지원하지 않는 PG 입니다: " + provider));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return gateway.charge(request);
+            } catch (Exception e) {
+                return ChargeResult.failed("PG 요청 실패: " + e.getMessage());
+            }
+        }, executors.get(provider));
+    }
+
+    @Override
+    public void close() {
+        for (ThreadPoolExecutor executor : executors.values()) {
+            executor.shutdown();
+        }
+        for (ThreadPoolExecutor executor : executors.values()) {
+            try {
+                if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
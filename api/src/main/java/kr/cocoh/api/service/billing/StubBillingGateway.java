@@ -0,0 +1,78 @@
+package kr.cocoh.api.service.billing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 부하/장애 테스트용 빌링 PG 스텁
+ * 지연과 실패율을 흉내 내고, 같은 merchantUid 는 처음 결과를 그대로 돌려준다.
+ * 동시에 처리 중인 요청 수의 최고치를 남겨 PG 별 동시 요청 상한이 지켜지는지 확인할 수 있다.
+ */
+public class StubBillingGateway implements BillingGateway {
+
+    private final String provider;
+    private final long latencyMillis;
+    private final double failureRate;
+    private final Map<String, ChargeResult> results = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger charges = new AtomicInteger();
+
+    public StubBillingGateway(String provider, long latencyMillis, double failureRate) {
+        this.provider = provider;
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public String provider() {
+        return provider;
+    }
+
+    @Override
+    public ChargeResult charge(ChargeRequest request) {
+        ChargeResult previous = results.get(request.merchantUid());
+        if (previous != null) {
+            return previous;
+        }
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            ChargeResult result = ThreadLocalRandom.current().nextDouble() < failureRate
+                    ? ChargeResult.failed("잔액 부족 (스텁)")
+                    : ChargeResult.paid("https://stub.pg/receipts/" + request.merchantUid());
+            ChargeResult raced = results.putIfAbsent(request.merchantUid(), result);
+            if (raced == null) {
+                charges.incrementAndGet();
+                return result;
+            }
+            return raced;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ChargeResult.failed("중단됨");
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * 실제로 결제(또는 실패 처리)한 서로 다른 주문 수
+     */
+    public int charges() {
+        return charges.get();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public boolean charged(String merchantUid) {
+        ChargeResult result = results.get(merchantUid);
+        return result != null && result.success();
+    }
+}
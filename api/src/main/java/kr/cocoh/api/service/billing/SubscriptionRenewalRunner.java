@@ -0,0 +1,391 @@
+package kr.cocoh.api.service.billing;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import kr.cocoh.api.repository.RenewalBillingRepository;
+import kr.cocoh.api.repository.RenewalBillingRepository.ChargedRenewal;
+import kr.cocoh.api.repository.RenewalBillingRepository.DueRenewal;
+import kr.cocoh.api.repository.RenewalBillingRepository.Partition;
+import kr.cocoh.api.repository.RenewalBillingRepository.Run;
+import kr.cocoh.api.service.billing.BillingGateway.ChargeRequest;
+import kr.cocoh.api.service.billing.BillingGateway.ChargeResult;
+import kr.cocoh.api.service.outbox.OutboxPublisher;
+import kr.cocoh.api.service.payment.PaymentWebhookWorker;
+import kr.cocoh.api.service.revenue.RevenueRollupService;
+import kr.cocoh.api.service.scheduling.SchedulerLease;
+import kr.cocoh.api.service.subscription.SubscriptionExpirySweeper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 구독 자동 갱신 결제 실행
+ * 종료가 가까운 자동 갱신 구독의 ID 범위를 파티션으로 나눠 여러 스레드가 나란히 결제하고,
+ * 청크마다 결제 기록, 구독 연장, 파티션 커서를 한 트랜잭션으로 남긴다.
+ * 실행 중 노드가 죽으면 다음 실행이 running 상태의 실행을 커서부터 이어서 처리한다.
+ * 주문 번호는 (구독, 종료일, 시도 횟수)로 정해져 있어, 커밋 전에 죽은 청크를 다시 보내도 PG 가 처음 결과를 돌려준다.
+ */
+@Slf4j
+@Service
+public class SubscriptionRenewalRunner {
+
+    public static final String RENEWED = "renewed";
+
+    private static final String LEASE_NAME = "subscription-renewal";
+    private static final String CURRENCY = "KRW";
+    private static final DateTimeFormatter UID_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final RenewalBillingRepository renewalBillingRepository;
+    private final RevenueRollupService revenueRollupService;
+    private final OutboxPublisher outboxPublisher;
+    private final SchedulerLease schedulerLease;
+    private final TransactionTemplate transactionTemplate;
+    private final ChargeDispatcher chargeDispatcher;
+    private final ThreadPoolExecutor partitionExecutor;
+    private final ThreadPoolExecutor triggerExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean shuttingDown;
+    private final Counter chargedCounter;
+    private final Counter failedCounter;
+
+    @Value("${subscription.renewal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${subscription.renewal.lead-hours:24}")
+    private int leadHours;
+
+    @Value("${subscription.renewal.partitions:16}")
+    private int partitions;
+
+    @Value("${subscription.renewal.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${subscription.renewal.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${subscription.renewal.lease-seconds:300}")
+    private long leaseSeconds;
+
+    public SubscriptionRenewalRunner(RenewalBillingRepository renewalBillingRepository,
+                                     RevenueRollupService revenueRollupService,
+                                     OutboxPublisher outboxPublisher,
+                                     SchedulerLease schedulerLease,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectProvider<BillingGateway> billingGateways,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${subscription.renewal.parallelism:4}") int parallelism,
+                                     @Value("${subscription.renewal.max-concurrency-per-pg:20}") int maxConcurrencyPerPg) {
+        this.renewalBillingRepository = renewalBillingRepository;
+        this.revenueRollupService = revenueRollupService;
+        this.outboxPublisher = outboxPublisher;
+        this.schedulerLease = schedulerLease;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chargeDispatcher = new ChargeDispatcher(billingGateways.orderedStream().toList(), maxConcurrencyPerPg);
+        AtomicInteger threadNumber = new AtomicInteger();
+        // 파티션 작업은 실행 하나가 한 번에 넘기는 만큼만 쌓임
+        this.partitionExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "renewal-partition-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.partitionExecutor.allowCoreThreadTimeOut(true);
+        // 관리자 수동 실행은 하나만 (실행 중이면 거절)
+        this.triggerExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "renewal-trigger");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.chargedCounter = Counter.builder("subscription.renewal.charges")
+                .description("자동 갱신 결제 결과")
+                .tag("result", "paid")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("subscription.renewal.charges")
+                .description("자동 갱신 결제 결과")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 정해진 시각에 백그라운드로 실행 (스케줄러 스레드는 다른 작업과 공유하므로 바로 돌려줌)
+     */
+    @Scheduled(cron = "${subscription.renewal.cron:0 0 4 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            trigger();
+        } catch (IllegalStateException e) {
+            log.info("자동 갱신 결제 건너뜀: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 중단된 실행이 있으면 이어서, 없으면 새로 실행하고 끝날 때까지 기다림
+     * @return 실행 결과 (대상 구독이 없으면 empty)
+     */
+    public Optional<Run> run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이 노드에서 자동 갱신 결제가 이미 실행 중입니다.");
+        }
+        try {
+            if (!schedulerLease.acquire(LEASE_NAME, leaseSeconds)) {
+                throw new IllegalStateException("다른 노드에서 자동 갱신 결제가 실행 중입니다.");
+            }
+            try {
+                return execute();
+            } finally {
+                schedulerLease.release(LEASE_NAME);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 백그라운드 실행 (관리자 수동 실행과 스케줄 공용, 진행 상황은 최근 실행 조회로 확인)
+     */
+    public void trigger() {
+        if (running.get()) {
+            throw new IllegalStateException("이 노드에서 자동 갱신 결제가 이미 실행 중입니다.");
+        }
+        try {
+            triggerExecutor.execute(() -> {
+                try {
+                    run();
+                } catch (IllegalStateException e) {
+                    log.info("자동 갱신 결제 건너뜀: {}", e.getMessage());
+                } catch (Exception e) {
+                    log.error("자동 갱신 결제 실행 중 오류 발생: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("이 노드에서 자동 갱신 결제가 이미 실행 중입니다.");
+        }
+    }
+
+    public Optional<Run> getLatestRun() {
+        return renewalBillingRepository.findLatest();
+    }
+
+    /**
+     * [minId, maxId] 를 최대 partitions 개의 같은 폭 구간으로 나눈 경계 (마지막 경계는 maxId + 1)
+     */
+    static long[] partitionBounds(long minId, long maxId, int partitions) {
+        long span = maxId - minId + 1;
+        int count = (int) Math.max(1, Math.min(partitions, span));
+        long[] bounds = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            bounds[i] = minId + span * i / count;
+        }
+        bounds[count] = maxId + 1;
+        return bounds;
+    }
+
+    static String merchantUid(DueRenewal renewal) {
+        return "rnw_" + renewal.subscriptionId() + "_" + renewal.endDate().format(UID_DATE) + "_" + renewal.attempts();
+    }
+
+    private Optional<Run> execute() {
+        Run run = renewalBillingRepository.findRunning().orElse(null);
+        if (run == null) {
+            LocalDateTime cutoff = LocalDateTime.now().plusHours(leadHours);
+            Optional<long[]> range = renewalBillingRepository.findDueIdRange(cutoff, maxAttempts);
+            if (range.isEmpty()) {
+                log.info("자동 갱신 결제 대상 구독이 없습니다 - 기준: {}", cutoff);
+                return Optional.empty();
+            }
+            long[] bounds = partitionBounds(range.get()[0], range.get()[1], partitions);
+            Long runId = transactionTemplate.execute(status -> renewalBillingRepository.createRun(cutoff, bounds));
+            run = renewalBillingRepository.findRun(runId).orElseThrow();
+            log.info("자동 갱신 결제 시작 - run: {}, 기준: {}, 파티션: {}개", run.id(), cutoff, bounds.length - 1);
+        } else {
+            log.info("중단된 자동 갱신 결제를 이어서 실행 - run: {}, 기준: {}", run.id(), run.cutoff());
+        }
+
+        Run target = run;
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Partition partition : renewalBillingRepository.findPendingPartitions(run.id())) {
+            futures.add(partitionExecutor.submit(() -> processPartition(target, partition, stop)));
+        }
+        awaitPartitions(futures, stop);
+
+        if (renewalBillingRepository.completeRunIfDone(run.id())) {
+            Run finished = renewalBillingRepository.findRun(run.id()).orElseThrow();
+            log.info("자동 갱신 결제 완료 - run: {}, 성공: {}건, 실패: {}건", finished.id(), finished.charged(), finished.failed());
+            return Optional.of(finished);
+        }
+        log.warn("자동 갱신 결제가 끝나지 않은 파티션을 남기고 멈췄습니다 - run: {} (다음 실행에서 이어서 처리)", run.id());
+        return renewalBillingRepository.findRun(run.id());
+    }
+
+    // 파티션이 끝나기를 기다리며 리스를 연장, 리스를 잃으면 다른 노드와 겹치지 않도록 청크 경계에서 멈춤
+    private void awaitPartitions(List<Future<?>> futures, AtomicBoolean stop) {
+        long renewEveryMillis = Math.max(1000, leaseSeconds * 1000 / 3);
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get(renewEveryMillis, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    if (!stop.get() && !schedulerLease.renew(LEASE_NAME, leaseSeconds)) {
+                        log.warn("자동 갱신 결제 리스를 잃어 실행을 멈춥니다.");
+                        stop.set(true);
+                    }
+                } catch (ExecutionException e) {
+                    log.error("자동 갱신 결제 파티션 처리 실패: {}", e.getCause().getMessage());
+                    break;
+                } catch (InterruptedException e) {
+                    stop.set(true);
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void processPartition(Run run, Partition partition, AtomicBoolean stop) {
+        long cursor = partition.cursorId();
+        while (!stop.get() && !shuttingDown) {
+            List<DueRenewal> due = renewalBillingRepository.findDue(run.cutoff(), maxAttempts, cursor,
+                    partition.endId(), chunkSize);
+            if (due.isEmpty()) {
+                renewalBillingRepository.completePartition(run.id(), partition.partitionNo());
+                return;
+            }
+            List<ChargedRenewal> charged = charge(due);
+            cursor = due.get(due.size() - 1).subscriptionId();
+            record(run.id(), partition.partitionNo(), cursor, charged);
+        }
+    }
+
+    // 청크 전체를 PG 별 동시 요청 상한 안에서 한꺼번에 보내고 모두 끝날 때까지 기다림
+    private List<ChargedRenewal> charge(List<DueRenewal> due) {
+        List<CompletableFuture<ChargeResult>> futures = new ArrayList<>(due.size());
+        for (DueRenewal renewal : due) {
+            futures.add(chargeDispatcher.charge(renewal.pgProvider(), new ChargeRequest(merchantUid(renewal),
+                    renewal.billingKey(), renewal.price(), CURRENCY, renewal.planName() + " 정기 결제")));
+        }
+        List<ChargedRenewal> charged = new ArrayList<>(due.size());
+        for (int i = 0; i < due.size(); i++) {
+            DueRenewal renewal = due.get(i);
+            ChargeResult result = futures.get(i).join();
+            if (!result.success()) {
+                log.warn("자동 갱신 결제 실패 - 구독: {}, PG: {}, 사유: {}", renewal.subscriptionId(),
+                        renewal.pgProvider(), result.failureReason());
+            }
+            charged.add(new ChargedRenewal(renewal, merchantUid(renewal), result.success(), result.receiptUrl()));
+        }
+        return charged;
+    }
+
+    // 청크 기록, 일시적이지 않은 DB 오류면 한 건씩 다시 기록해 실패하는 구독만 걸러 냄
+    // (청크째 롤백만 반복하면 이어서 실행할 때마다 같은 파티션이 같은 이유로 멈춤)
+    private void record(long runId, int partitionNo, long cursorId, List<ChargedRenewal> charged) {
+        try {
+            recordChunk(runId, partitionNo, cursorId, charged);
+        } catch (TransientDataAccessException e) {
+            throw e;
+        } catch (DataAccessException e) {
+            log.warn("자동 갱신 결제 청크 기록 실패, 한 건씩 다시 기록 - run: {}, 파티션: {}: {}", runId, partitionNo, e.getMessage());
+            for (ChargedRenewal row : charged) {
+                long subscriptionId = row.renewal().subscriptionId();
+                try {
+                    recordChunk(runId, partitionNo, subscriptionId, List.of(row));
+                } catch (TransientDataAccessException retry) {
+                    throw retry;
+                } catch (DataAccessException rowError) {
+                    log.error("자동 갱신 결제 기록 실패, 구독을 갱신 대상에서 제외 (수동 확인 필요) - 구독: {}, 주문 번호: {}, PG 결제 성공: {}: {}",
+                            subscriptionId, row.merchantUid(), row.success(), rowError.getMessage());
+                    transactionTemplate.executeWithoutResult(status -> {
+                        renewalBillingRepository.block(subscriptionId, maxAttempts);
+                        renewalBillingRepository.checkpoint(runId, partitionNo, subscriptionId, 0, 1);
+                    });
+                    failedCounter.increment();
+                }
+            }
+        }
+    }
+
+    // 결제 기록, 구독 연장/시도 횟수, 매출 집계, 이벤트와 커서를 한 트랜잭션으로
+    private void recordChunk(long runId, int partitionNo, long cursorId, List<ChargedRenewal> charged) {
+        LocalDateTime paidAt = LocalDateTime.now();
+        int[] counts = transactionTemplate.execute(status -> {
+            List<Long> paymentIds = renewalBillingRepository.insertPayments(charged, paidAt);
+            List<DueRenewal> succeeded = new ArrayList<>();
+            List<DueRenewal> failed = new ArrayList<>();
+            for (int i = 0; i < charged.size(); i++) {
+                ChargedRenewal row = charged.get(i);
+                DueRenewal renewal = row.renewal();
+                long paymentId = paymentIds.get(i);
+                if (row.success()) {
+                    succeeded.add(renewal);
+                    revenueRollupService.recordPayment(paymentId, paidAt, renewal.planId(), renewal.pgProvider(),
+                            CURRENCY, renewal.price());
+                    outboxPublisher.publish(PaymentWebhookWorker.PAYMENT_AGGREGATE_TYPE, paymentId,
+                            PaymentWebhookWorker.STATUS_CHANGED, "{\"status\":\"completed\"}");
+                    outboxPublisher.publish(SubscriptionExpirySweeper.AGGREGATE_TYPE, renewal.subscriptionId(), RENEWED,
+                            "{\"userId\":" + renewal.userId() + "}");
+                } else {
+                    failed.add(renewal);
+                }
+            }
+            if (!succeeded.isEmpty()) {
+                int extended = renewalBillingRepository.extend(succeeded);
+                if (extended < succeeded.size()) {
+                    log.warn("결제 후 종료일이 바뀌어 연장하지 않은 구독이 있습니다 - {}건 (확인 필요)", succeeded.size() - extended);
+                }
+            }
+            if (!failed.isEmpty()) {
+                renewalBillingRepository.incrementAttempts(failed);
+            }
+            renewalBillingRepository.checkpoint(runId, partitionNo, cursorId, succeeded.size(), failed.size());
+            return new int[] {succeeded.size(), failed.size()};
+        });
+        chargedCounter.increment(counts[0]);
+        failedCounter.increment(counts[1]);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 진행 중인 청크까지만 기록하고 멈춤 (나머지는 다음 실행이 이어서)
+        shuttingDown = true;
+        triggerExecutor.shutdown();
+        partitionExecutor.shutdown();
+        if (!partitionExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            partitionExecutor.shutdownNow();
+        }
+        chargeDispatcher.close();
+    }
+}
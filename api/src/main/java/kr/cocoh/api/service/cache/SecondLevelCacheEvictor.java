@@ -0,0 +1,52 @@
+package kr.cocoh.api.service.cache;
+
+import java.util.Map;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+import kr.cocoh.api.event.ChangeFeedEvent;
+import kr.cocoh.api.model.auth.Location;
+import kr.cocoh.api.model.auth.Salon;
+import kr.cocoh.api.model.pay.SubscriptionPlan;
+import kr.cocoh.api.service.subscription.EntitlementService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다른 노드에서 바뀐 2차 캐시 엔티티를 이 노드 캐시에서 제거
+ * 쿼리 캐시는 이 노드의 테이블 변경 시각만 알기 때문에, 다른 노드 변경이 오면 쿼리 결과 영역도 비운다.
+ * 애플리케이션을 거치지 않은 DB 변경은 영역 TTL 이 지나야 반영된다.
+ */
+@Slf4j
+@Component
+public class SecondLevelCacheEvictor {
+
+    private static final Map<String, Class<?>> ENTITY_TYPES = Map.of(
+            EntitlementService.PLAN_AGGREGATE_TYPE, SubscriptionPlan.class,
+            SecondLevelCacheListener.SALON_AGGREGATE_TYPE, Salon.class,
+            SecondLevelCacheListener.LOCATION_AGGREGATE_TYPE, Location.class);
+
+    private final Cache cache;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @EventListener(condition = "!#event.local")
+    public void onChanged(ChangeFeedEvent event) {
+        Class<?> entityType = ENTITY_TYPES.get(event.aggregateType());
+        if (entityType == null) {
+            return;
+        }
+        try {
+            cache.evictEntityData(entityType, Long.valueOf(event.aggregateId()));
+        } catch (NumberFormatException e) {
+            log.warn("2차 캐시 제거 대상 ID 해석 실패: {}/{}", event.aggregateType(), event.aggregateId());
+            cache.evictEntityData(entityType);
+        }
+        cache.evictDefaultQueryRegion();
+    }
+}
@@ -0,0 +1,58 @@
+package kr.cocoh.api.service.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import kr.cocoh.api.model.auth.Location;
+import kr.cocoh.api.model.auth.Salon;
+import kr.cocoh.api.model.pay.SubscriptionPlan;
+import kr.cocoh.api.service.outbox.OutboxPublisher;
+import kr.cocoh.api.service.subscription.EntitlementService;
+
+/**
+ * 2차 캐시 엔티티 변경을 아웃박스에 기록 (엔티티 리스너, 변경을 flush 하는 트랜잭션 안에서 실행)
+ * 이 노드의 캐시는 Hibernate 가 커밋 때 맞추고, 다른 노드는 변경 피드로 받아 SecondLevelCacheEvictor 가 비운다.
+ * 엔티티 매니저 팩토리를 만들 때 생성되므로 아웃박스 쪽 빈은 처음 쓸 때 가져온다 (JPA 슬라이스 테스트처럼 없으면 건너뜀).
+ */
+public class SecondLevelCacheListener {
+
+    public static final String SALON_AGGREGATE_TYPE = "salon";
+    public static final String LOCATION_AGGREGATE_TYPE = "location";
+
+    private final ObjectProvider<OutboxPublisher> outboxPublisher;
+
+    public SecondLevelCacheListener(ObjectProvider<OutboxPublisher> outboxPublisher) {
+        this.outboxPublisher = outboxPublisher;
+    }
+
+    @PostPersist
+    public void onCreated(Object entity) {
+        publish(entity, "created");
+    }
+
+    @PostUpdate
+    public void onUpdated(Object entity) {
+        publish(entity, "updated");
+    }
+
+    @PostRemove
+    public void onDeleted(Object entity) {
+        publish(entity, "deleted");
+    }
+
+    private void publish(Object entity, String eventType) {
+        OutboxPublisher publisher = outboxPublisher.getIfAvailable();
+        if (publisher == null) {
+            return;
+        }
+        if (entity instanceof SubscriptionPlan plan) {
+            publisher.publish(EntitlementService.PLAN_AGGREGATE_TYPE, plan.getId(), eventType);
+        } else if (entity instanceof Salon salon) {
+            publisher.publish(SALON_AGGREGATE_TYPE, salon.getId(), eventType);
+        } else if (entity instanceof Location location) {
+            publisher.publish(LOCATION_AGGREGATE_TYPE, location.getId(), eventType);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package kr.cocoh.api.service.display;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 디스플레이 액세스 토큰 생성 (256비트 난수, URL-safe Base64)
+ * 여러 개를 만들 때는 난수를 한 번에 뽑아 나눠 쓴다.
+ */
+@Component
+public class DisplayAccessTokenGenerator {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+    public List<String> generate(int count) {
+        byte[] bytes = new byte[count * TOKEN_BYTES];
+        random.nextBytes(bytes);
+
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(encoder.encodeToString(Arrays.copyOfRange(bytes, i * TOKEN_BYTES, (i + 1) * TOKEN_BYTES)));
+        }
+        Arrays.fill(bytes, (byte) 0);
+        return tokens;
+    }
+}
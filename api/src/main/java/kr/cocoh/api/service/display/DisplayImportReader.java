@@ -0,0 +1,171 @@
+package kr.cocoh.api.service.display;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 디스플레이 일괄 등록 입력을 한 줄씩 읽는 리더 (CSV / NDJSON)
+ * CSV 는 첫 줄이 헤더(salonId,name[,deviceId][,status])이며, 따옴표로 감싼 필드 안의 쉼표를 허용한다.
+ */
+public abstract class DisplayImportReader {
+
+    protected final BufferedReader reader;
+    protected long line;
+
+    protected DisplayImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    public static DisplayImportReader csv(BufferedReader reader) {
+        return new Csv(reader);
+    }
+
+    public static DisplayImportReader ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new Ndjson(reader, objectMapper);
+    }
+
+    /**
+     * 다음 줄 (입력이 끝나면 null, 빈 줄과 헤더는 건너뜀)
+     */
+    public DisplayImportRow next() throws IOException {
+        while (true) {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            DisplayImportRow row = parse(text);
+            if (row != null) {
+                return row;
+            }
+        }
+    }
+
+    /**
+     * @return 해석한 줄, 데이터가 아닌 줄(헤더)이면 null
+     */
+    protected abstract DisplayImportRow parse(String text);
+
+    protected DisplayImportRow toRow(String salonId, String name, String deviceId, String status) {
+        Long parsedSalonId;
+        try {
+            parsedSalonId = Long.valueOf(salonId.trim());
+        } catch (NullPointerException | NumberFormatException e) {
+            return DisplayImportRow.invalid(line, "salonId 가 올바르지 않습니다.");
+        }
+        return new DisplayImportRow(line, parsedSalonId, trimToNull(name), trimToNull(deviceId),
+                trimToNull(status), null);
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static class Csv extends DisplayImportReader {
+
+        private Map<String, Integer> columns;
+
+        Csv(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        protected DisplayImportRow parse(String text) {
+            List<String> fields = split(text);
+            if (fields == null) {
+                if (columns == null) {
+                    throw new IllegalArgumentException("CSV 헤더를 해석할 수 없습니다.");
+                }
+                return DisplayImportRow.invalid(line, "따옴표가 닫히지 않았습니다.");
+            }
+            if (columns == null) {
+                columns = new HashMap<>();
+                for (int i = 0; i < fields.size(); i++) {
+                    columns.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+                if (!columns.containsKey("salonid") || !columns.containsKey("name")) {
+                    throw new IllegalArgumentException("CSV 헤더에 salonId, name 컬럼이 필요합니다.");
+                }
+                return null;
+            }
+            return toRow(field(fields, "salonid"), field(fields, "name"), field(fields, "deviceid"), field(fields, "status"));
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            return index != null && index < fields.size() ? fields.get(index) : null;
+        }
+
+        // RFC 4180 (한 줄 안의 필드만)
+        private static List<String> split(String text) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+
+    private static class Ndjson extends DisplayImportReader {
+
+        private final ObjectMapper objectMapper;
+
+        Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected DisplayImportRow parse(String text) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (IOException e) {
+                return DisplayImportRow.invalid(line, "JSON 형식이 올바르지 않습니다.");
+            }
+            if (node == null || !node.isObject()) {
+                return DisplayImportRow.invalid(line, "JSON 객체가 아닙니다.");
+            }
+            return toRow(text(node, "salonId"), text(node, "name"), text(node, "deviceId"), text(node, "status"));
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+}
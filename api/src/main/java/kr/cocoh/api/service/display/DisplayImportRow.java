@@ -0,0 +1,12 @@
+package kr.cocoh.api.service.display;
+
+/**
+ * 디스플레이 일괄 등록 입력 한 줄
+ * @param error 줄을 해석하지 못한 경우 사유 (나머지 필드는 비어 있을 수 있음)
+ */
+public record DisplayImportRow(long line, Long salonId, String name, String deviceId, String status, String error) {
+
+    static DisplayImportRow invalid(long line, String error) {
+        return new DisplayImportRow(line, null, null, null, null, error);
+    }
+}
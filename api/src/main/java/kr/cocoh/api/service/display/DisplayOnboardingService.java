@@ -0,0 +1,284 @@
+package kr.cocoh.api.service.display;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import kr.cocoh.api.dto.DisplayProvisionDto;
+import kr.cocoh.api.model.auth.Display;
+import kr.cocoh.api.repository.DisplayBulkRepository;
+import kr.cocoh.api.repository.DisplayBulkRepository.NewDisplay;
+import kr.cocoh.api.repository.SalonRepository;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.subscription.EntitlementService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 디스플레이 일괄 등록
+ * 입력을 한 줄씩 읽어 청크 단위로 검증(살롱 권한, deviceId/토큰 중복은 집합 쿼리 한 번씩)하고
+ * JDBC 배치로 저장한 뒤, 결과를 NDJSON 프로비저닝 번들로 바로 흘려보낸다.
+ * 관리자가 아니면 요금제의 디스플레이 수 한도를 넘는 줄은 등록하지 않는다.
+ */
+@Slf4j
+@Service
+public class DisplayOnboardingService {
+
+    private final DisplayBulkRepository displayBulkRepository;
+    private final SalonRepository salonRepository;
+    private final DisplayAccessTokenGenerator tokenGenerator;
+    private final ObjectMapper objectMapper;
+    private final EntitlementService entitlementService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${display.onboarding.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${display.onboarding.max-rows:10000}")
+    private int maxRows;
+
+    public DisplayOnboardingService(DisplayBulkRepository displayBulkRepository,
+                                    SalonRepository salonRepository,
+                                    DisplayAccessTokenGenerator tokenGenerator,
+                                    ObjectMapper objectMapper,
+                                    EntitlementService entitlementService,
+                                    PlatformTransactionManager transactionManager) {
+        this.displayBulkRepository = displayBulkRepository;
+        this.salonRepository = salonRepository;
+        this.tokenGenerator = tokenGenerator;
+        this.objectMapper = objectMapper;
+        this.entitlementService = entitlementService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 일괄 등록
+     * @param reader 입력 리더 (CSV / NDJSON)
+     * @param out 결과 NDJSON 스트림 (마지막 줄은 {"summary": ...})
+     */
+    public void onboard(DisplayImportReader reader, CustomUserDetails user, OutputStream out) throws IOException {
+        Set<String> seenDeviceIds = new HashSet<>();
+        List<DisplayImportRow> chunk = new ArrayList<>(chunkSize);
+        int total = 0;
+        int created = 0;
+
+        DisplayImportRow row;
+        while ((row = reader.next()) != null) {
+            if (total >= maxRows) {
+                write(out, failure(row.line(), "한 번에 등록할 수 있는 디스플레이는 최대 " + maxRows + "대입니다."));
+                total++;
+                break;
+            }
+            total++;
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                created += processChunk(chunk, user, seenDeviceIds, out);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += processChunk(chunk, user, seenDeviceIds, out);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("total", total);
+        summary.put("created", created);
+        summary.put("failed", total - created);
+        write(out, Map.of("summary", summary));
+        out.flush();
+        log.info("디스플레이 일괄 등록 완료: 성공 {}대, 실패 {}대", created, total - created);
+    }
+
+    private int processChunk(List<DisplayImportRow> rows, CustomUserDetails user, Set<String> seenDeviceIds,
+                             OutputStream out) throws IOException {
+        Map<Long, DisplayProvisionDto> results = new LinkedHashMap<>();
+        List<Pending> pending = new ArrayList<>(rows.size());
+
+        for (DisplayImportRow row : rows) {
+            results.put(row.line(), null);
+            try {
+                pending.add(validate(row, seenDeviceIds));
+            } catch (IllegalArgumentException e) {
+                results.put(row.line(), failure(row.line(), e.getMessage()));
+            }
+        }
+
+        // 살롱 권한과 deviceId 중복을 청크 전체에 대해 한 번씩 확인
+        Set<Long> salonIds = new HashSet<>();
+        Set<String> deviceIds = new HashSet<>();
+        for (Pending item : pending) {
+            salonIds.add(item.row().salonId());
+            deviceIds.add(item.deviceId());
+        }
+        Map<Long, Long> salonOwners = new HashMap<>();
+        if (!salonIds.isEmpty()) {
+            for (Object[] owner : salonRepository.findOwnerIdsByIdIn(salonIds)) {
+                salonOwners.put((Long) owner[0], (Long) owner[1]);
+            }
+        }
+        Set<String> existingDeviceIds = displayBulkRepository.findExistingDeviceIds(deviceIds);
+        // 요금제 한도는 앞 청크까지 저장된 디스플레이를 다시 세어 확인 (동시 요청끼리는 조금 넘칠 수 있음)
+        long remainingDisplays = Long.MAX_VALUE;
+        int maxDisplays = Integer.MAX_VALUE;
+        if (!user.isAdmin() && !pending.isEmpty()) {
+            maxDisplays = entitlementService.get(user.getId()).maxDisplays(System.currentTimeMillis());
+            remainingDisplays = (long) maxDisplays - displayBulkRepository.countOwnedDisplays(user.getId());
+        }
+
+        List<Pending> accepted = new ArrayList<>(pending.size());
+        for (Pending item : pending) {
+            Long ownerId = salonOwners.get(item.row().salonId());
+            String error = ownerId == null ? "살롱을 찾을 수 없습니다."
+                    : !user.isAdmin() && !ownerId.equals(user.getId()) ? "살롱에 대한 권한이 없습니다."
+                    : existingDeviceIds.contains(item.deviceId()) ? "이미 등록된 deviceId 입니다."
+                    : remainingDisplays <= 0 ? "요금제의 디스플레이 등록 한도(" + maxDisplays + "대)를 넘었습니다."
+                    : null;
+            if (error != null) {
+                results.put(item.row().line(), failure(item.row().line(), error));
+            } else {
+                accepted.add(item);
+                remainingDisplays--;
+            }
+        }
+
+        List<NewDisplay> displays = assignTokens(accepted);
+        int created = 0;
+        if (!displays.isEmpty()) {
+            created = insert(accepted, displays, results);
+        }
+
+        for (DisplayProvisionDto result : results.values()) {
+            write(out, result);
+        }
+        out.flush();
+        return created;
+    }
+
+    private Pending validate(DisplayImportRow row, Set<String> seenDeviceIds) {
+        if (row.error() != null) {
+            throw new IllegalArgumentException(row.error());
+        }
+        if (row.name() == null || row.name().length() > 100) {
+            throw new IllegalArgumentException("이름은 1자 이상 100자 이하여야 합니다.");
+        }
+        Display.Status status = Display.Status.active;
+        if (row.status() != null) {
+            try {
+                status = Display.Status.valueOf(row.status());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("상태는 active, inactive, maintenance 중 하나여야 합니다.");
+            }
+        }
+
+        String deviceId;
+        if (row.deviceId() != null) {
+            try {
+                deviceId = UUID.fromString(row.deviceId()).toString();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("deviceId 가 UUID 형식이 아닙니다.");
+            }
+        } else {
+            deviceId = UUID.randomUUID().toString();
+        }
+        if (!seenDeviceIds.add(deviceId)) {
+            throw new IllegalArgumentException("업로드 안에서 중복된 deviceId 입니다.");
+        }
+        return new Pending(row, deviceId, status);
+    }
+
+    /**
+     * 토큰 일괄 생성 (기존 토큰과 겹치면 겹친 것만 다시 생성)
+     */
+    private List<NewDisplay> assignTokens(List<Pending> accepted) {
+        List<String> tokens = new ArrayList<>(tokenGenerator.generate(accepted.size()));
+        Set<String> existing = displayBulkRepository.findExistingAccessTokens(tokens);
+        while (!existing.isEmpty()) {
+            for (int i = 0; i < tokens.size(); i++) {
+                if (existing.contains(tokens.get(i))) {
+                    tokens.set(i, tokenGenerator.generate(1).get(0));
+                }
+            }
+            existing = displayBulkRepository.findExistingAccessTokens(tokens);
+        }
+
+        List<NewDisplay> displays = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Pending item = accepted.get(i);
+            displays.add(new NewDisplay(item.deviceId(), item.row().name(), tokens.get(i), item.status().name(),
+                    item.row().salonId()));
+        }
+        return displays;
+    }
+
+    /**
+     * 청크 저장 (실패하면 원인이 된 행만 걸러내도록 한 건씩 다시 저장)
+     */
+    private int insert(List<Pending> accepted, List<NewDisplay> displays, Map<Long, DisplayProvisionDto> results) {
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> displayBulkRepository.insertAll(displays));
+            for (int i = 0; i < displays.size(); i++) {
+                results.put(accepted.get(i).row().line(), success(accepted.get(i).row(), displays.get(i), ids.get(i)));
+            }
+            return displays.size();
+        } catch (RuntimeException e) {
+            log.warn("디스플레이 일괄 저장 청크 실패, 건별로 다시 저장: {}", e.getMessage());
+        }
+
+        int created = 0;
+        for (int i = 0; i < displays.size(); i++) {
+            DisplayImportRow row = accepted.get(i).row();
+            NewDisplay display = displays.get(i);
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> displayBulkRepository.insertAll(List.of(display)));
+                results.put(row.line(), success(row, display, ids.get(0)));
+                created++;
+            } catch (RuntimeException e) {
+                results.put(row.line(), failure(row.line(), "디스플레이 저장에 실패했습니다."));
+            }
+        }
+        return created;
+    }
+
+    private DisplayProvisionDto success(DisplayImportRow row, NewDisplay display, Long displayId) {
+        return DisplayProvisionDto.builder()
+                .line(row.line())
+                .success(true)
+                .displayId(displayId)
+                .salonId(display.salonId())
+                .name(display.name())
+                .deviceId(display.deviceId())
+                .accessToken(display.accessToken())
+                .status(display.status())
+                .build();
+    }
+
+    private DisplayProvisionDto failure(long line, String message) {
+        return DisplayProvisionDto.builder()
+                .line(line)
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    private void write(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsString(value).getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+    }
+
+    private record Pending(DisplayImportRow row, String deviceId, Display.Status status) {
+    }
+}
@@ -0,0 +1,255 @@
+package kr.cocoh.api.service.display;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import kr.cocoh.api.dto.DisplaySettingsDto;
+import kr.cocoh.api.event.ChangeFeedEvent;
+import kr.cocoh.api.model.auth.Display;
+import kr.cocoh.api.model.auth.DisplaySettingKey;
+import kr.cocoh.api.model.auth.DisplaySettings;
+import kr.cocoh.api.repository.DisplayRepository;
+import kr.cocoh.api.repository.DisplaySettingsRepository;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.outbox.OutboxPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 디스플레이 설정 관리
+ * 파싱한 불변 스냅샷을 디스플레이별로 캐시하고(다른 노드의 변경은 변경 피드로 제거, TTL 은 안전망),
+ * 변경은 SQL 수준의 JSON 병합과 버전별 변경 키 기록으로 처리해 디바이스에는 바뀐 키만 내려준다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DisplaySettingsService {
+
+    public static final String AGGREGATE_TYPE = "display";
+    public static final String SETTINGS_UPDATED = "settings-updated";
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<String>> KEY_LIST_TYPE = new TypeReference<>() {};
+
+    private final DisplayRepository displayRepository;
+    private final DisplaySettingsRepository settingsRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxPublisher outboxPublisher;
+    private final Map<Long, CachedSettings> cache = new ConcurrentHashMap<>();
+
+    @Value("${display.settings.cache-ttl-ms:60000}")
+    private long cacheTtlMs;
+
+    @Value("${display.settings.cache-max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${display.settings.change-retention-days:30}")
+    private int changeRetentionDays;
+
+    /**
+     * 설정 조회 (관리 화면용)
+     */
+    @Transactional(readOnly = true)
+    public DisplaySettingsDto getSettings(Long displayId, CustomUserDetails user) {
+        checkWritable(displayId, user);
+        DisplaySettings settings = getSnapshot(displayId);
+        return toDto(displayId, settings, true, settings.toMap());
+    }
+
+    /**
+     * 설정 일부 변경 (JSON merge patch, 값이 null 이면 기본값으로 되돌림)
+     */
+    @Transactional
+    public DisplaySettingsDto updateSettings(Long displayId, Map<String, Object> patch, CustomUserDetails user) {
+        checkWritable(displayId, user);
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("변경할 설정이 없습니다.");
+        }
+
+        Map<String, Object> normalized = new LinkedHashMap<>();
+        Set<DisplaySettingKey> changedKeys = EnumSet.noneOf(DisplaySettingKey.class);
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            DisplaySettingKey key = DisplaySettingKey.fromKey(entry.getKey());
+            normalized.put(key.getKey(), entry.getValue() != null ? key.normalize(entry.getValue()) : null);
+            changedKeys.add(key);
+        }
+
+        if (settingsRepository.merge(displayId, toJson(normalized)) == 0) {
+            throw new IllegalArgumentException("디스플레이를 찾을 수 없습니다.");
+        }
+        // UPDATE 로 행 잠금을 잡은 상태라 버전 읽기와 변경 기록 사이에 다른 변경이 끼어들지 않음
+        DisplaySettings updated = load(displayId);
+        settingsRepository.insertChange(displayId, updated.getVersion(),
+                toJson(changedKeys.stream().map(DisplaySettingKey::getKey).toList()));
+
+        outboxPublisher.publish(AGGREGATE_TYPE, displayId, SETTINGS_UPDATED);
+        evictAfterCommit(displayId);
+        log.info("디스플레이 설정 변경: displayId={}, version={}, keys={}", displayId, updated.getVersion(), changedKeys);
+        return toDto(displayId, updated, false, updated.subset(changedKeys));
+    }
+
+    /**
+     * 디바이스 설정 조회
+     * @param sinceVersion 디바이스가 가진 버전 (null 이거나 변경 기록이 정리된 뒤면 전체를 내려줌)
+     */
+    @Transactional(readOnly = true)
+    public DisplaySettingsDto getChangesForDevice(String accessToken, Long sinceVersion) {
+        Display display = displayRepository.findByAccessToken(accessToken)
+                .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 디스플레이 토큰입니다."));
+        DisplaySettings settings = getSnapshot(display.getId());
+
+        if (sinceVersion == null || sinceVersion < 0 || sinceVersion > settings.getVersion()) {
+            return toDto(display.getId(), settings, true, settings.toMap());
+        }
+        if (sinceVersion == settings.getVersion()) {
+            return toDto(display.getId(), settings, false, Map.of());
+        }
+
+        // 스냅샷 버전까지의 변경만 모아서 스냅샷 값과 어긋나지 않게 함
+        List<String> changes = settingsRepository.findChangedKeys(display.getId(), sinceVersion, settings.getVersion());
+        if (changes.size() != settings.getVersion() - sinceVersion) {
+            return toDto(display.getId(), settings, true, settings.toMap());
+        }
+        Set<DisplaySettingKey> changedKeys = EnumSet.noneOf(DisplaySettingKey.class);
+        for (String change : changes) {
+            for (String key : fromJson(change, KEY_LIST_TYPE)) {
+                try {
+                    changedKeys.add(DisplaySettingKey.fromKey(key));
+                } catch (IllegalArgumentException e) {
+                    // 스키마에서 빠진 키는 무시
+                }
+            }
+        }
+        return toDto(display.getId(), settings, false, settings.subset(changedKeys));
+    }
+
+    /**
+     * 캐시된 설정 스냅샷
+     */
+    public DisplaySettings getSnapshot(Long displayId) {
+        long now = System.currentTimeMillis();
+        CachedSettings cached = cache.get(displayId);
+        if (cached != null && now - cached.loadedAt() < cacheTtlMs) {
+            return cached.settings();
+        }
+
+        DisplaySettings settings = load(displayId);
+        if (cache.size() >= cacheMaxEntries && !cache.containsKey(displayId)) {
+            evictOne();
+        }
+        cache.put(displayId, new CachedSettings(settings, now));
+        return settings;
+    }
+
+    /**
+     * 다른 노드에서 바뀐 설정의 캐시 제거
+     */
+    @EventListener(condition = "#event.aggregateType == 'display' && !#event.local")
+    public void onChangeFeed(ChangeFeedEvent event) {
+        cache.remove(Long.valueOf(event.aggregateId()));
+    }
+
+    /**
+     * 오래된 변경 기록 정리 (기록이 없는 구간을 요청한 디바이스는 전체 설정을 받음)
+     */
+    @Scheduled(cron = "${display.settings.change-cleanup-cron:0 30 4 * * *}")
+    public void purgeChanges() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(changeRetentionDays);
+        int deleted;
+        int total = 0;
+        do {
+            deleted = settingsRepository.deleteChangesBefore(cutoff, 10000);
+            total += deleted;
+        } while (deleted > 0);
+        if (total > 0) {
+            log.info("디스플레이 설정 변경 기록 정리: {}건", total);
+        }
+    }
+
+    private DisplaySettings load(Long displayId) {
+        DisplaySettingsRepository.StoredSettings stored = settingsRepository.findSettings(displayId)
+                .orElseThrow(() -> new IllegalArgumentException("디스플레이를 찾을 수 없습니다."));
+        Map<String, Object> values = stored.json() != null ? fromJson(stored.json(), MAP_TYPE) : Map.of();
+        return DisplaySettings.of(stored.version(), values);
+    }
+
+    // 가득 찼을 때 한 항목만 내보냄 (전체를 비우면 모든 디바이스의 다음 폴링이 한꺼번에 DB 로 감)
+    private void evictOne() {
+        Iterator<Long> keys = cache.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private void checkWritable(Long displayId, CustomUserDetails user) {
+        if (user.isAdmin()) {
+            return;
+        }
+        Display display = displayRepository.findById(displayId)
+                .orElseThrow(() -> new IllegalArgumentException("디스플레이를 찾을 수 없습니다."));
+        if (!display.getSalon().getOwner().getId().equals(user.getId())) {
+            throw new AccessDeniedException("디스플레이에 대한 권한이 없습니다.");
+        }
+    }
+
+    private void evictAfterCommit(Long displayId) {
+        cache.remove(displayId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.remove(displayId);
+                }
+            });
+        }
+    }
+
+    private DisplaySettingsDto toDto(Long displayId, DisplaySettings settings, boolean full, Map<String, Object> values) {
+        return DisplaySettingsDto.builder()
+                .displayId(displayId)
+                .version(settings.getVersion())
+                .full(full)
+                .settings(values)
+                .build();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("설정 직렬화 실패", e);
+        }
+    }
+
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("설정 JSON 해석 실패", e);
+        }
+    }
+
+    private record CachedSettings(DisplaySettings settings, long loadedAt) {
+    }
+}
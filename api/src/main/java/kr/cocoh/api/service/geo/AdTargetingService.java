@@ -0,0 +1,49 @@
+package kr.cocoh.api.service.geo;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import kr.cocoh.api.model.ad.AdLocation;
+import kr.cocoh.api.model.auth.Location;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 광고 지역 타게팅 판정
+ */
+@Service
+@RequiredArgsConstructor
+public class AdTargetingService {
+
+    private final SalonGeoService salonGeoService;
+
+    /**
+     * 살롱 위치가 광고 타게팅 조건에 해당하는지 확인
+     */
+    public boolean matches(AdLocation target, Location location) {
+        return switch (target.getTargetType()) {
+            case nationwide -> true;
+            case administrative -> location != null
+                    && target.getCity().equals(location.getCity())
+                    && (target.getDistrict() == null || target.getDistrict().equals(location.getDistrict()));
+            case radius -> location != null
+                    && GeoMath.distanceMeters(
+                            target.getLatitude().doubleValue(), target.getLongitude().doubleValue(),
+                            location.getLatitude().doubleValue(), location.getLongitude().doubleValue())
+                    <= target.getRadiusMeters();
+        };
+    }
+
+    /**
+     * 반경 타게팅에 해당하는 살롱 ID 목록 (가까운 순)
+     */
+    public List<Long> findTargetedSalonIds(AdLocation target) {
+        if (target.getTargetType() != AdLocation.TargetType.radius) {
+            throw new IllegalArgumentException("반경 타게팅만 지원합니다.");
+        }
+        return salonGeoService.findWithinRadius(target.getLatitude().doubleValue(),
+                        target.getLongitude().doubleValue(), target.getRadiusMeters()).stream()
+                .map(salon -> salon.getSalonId())
+                .toList();
+    }
+}
@@ -0,0 +1,33 @@
+package kr.cocoh.api.service.geo;
+
+/**
+ * 위경도 거리 계산
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    public static final double METERS_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_METERS / 180.0;
+
+    private GeoMath() {
+        // 인스턴스화 방지
+    }
+
+    /**
+     * 두 지점 사이의 대권 거리 (haversine, 미터)
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * 해당 위도에서 경도 1도의 길이 (미터)
+     */
+    public static double metersPerDegreeLon(double latitude) {
+        return METERS_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+    }
+}
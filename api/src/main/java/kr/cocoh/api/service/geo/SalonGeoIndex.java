@@ -0,0 +1,160 @@
+package kr.cocoh.api.service.geo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 살롱 위치의 메모리 격자 인덱스 (불변)
+ * 위경도를 고정 크기 셀(geohash 같은 고정 정밀도 격자)로 나눠, 반경/최근접 검색에서 주변 셀만 확인한다.
+ * 변경이 생기면 새 인덱스를 만들어 통째로 교체한다.
+ */
+public class SalonGeoIndex {
+
+    private final double cellDegrees;
+    private final Map<Long, Entry[]> cells;
+    private final int size;
+
+    private SalonGeoIndex(double cellDegrees, Map<Long, Entry[]> cells, int size) {
+        this.cellDegrees = cellDegrees;
+        this.cells = cells;
+        this.size = size;
+    }
+
+    /**
+     * 인덱스 생성
+     * @param cellDegrees 셀 한 변의 크기 (도 단위, 0.01 ≈ 위도 방향 1.1km)
+     */
+    public static SalonGeoIndex build(Collection<Entry> entries, double cellDegrees) {
+        Map<Long, List<Entry>> grouped = new HashMap<>();
+        for (Entry entry : entries) {
+            long cell = cellKey(latIndex(entry.latitude(), cellDegrees), lonIndex(entry.longitude(), cellDegrees));
+            grouped.computeIfAbsent(cell, k -> new ArrayList<>()).add(entry);
+        }
+
+        Map<Long, Entry[]> cells = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((cell, list) -> cells.put(cell, list.toArray(new Entry[0])));
+        return new SalonGeoIndex(cellDegrees, cells, entries.size());
+    }
+
+    public static SalonGeoIndex empty() {
+        return new SalonGeoIndex(0.01, Map.of(), 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 반경 검색 (가까운 순)
+     */
+    public List<Match> withinRadius(double latitude, double longitude, double radiusMeters) {
+        double latSpan = radiusMeters / GeoMath.METERS_PER_DEGREE_LAT;
+        double maxAbsLat = Math.min(90, Math.abs(latitude) + latSpan);
+        double lonSpan = Math.min(180, radiusMeters / GeoMath.metersPerDegreeLon(maxAbsLat));
+
+        int minLat = latIndex(latitude - latSpan, cellDegrees);
+        int maxLat = latIndex(latitude + latSpan, cellDegrees);
+        int minLon = lonIndex(longitude - lonSpan, cellDegrees);
+        int maxLon = lonIndex(longitude + lonSpan, cellDegrees);
+
+        List<Match> matches = new ArrayList<>();
+        for (int latIdx = minLat; latIdx <= maxLat; latIdx++) {
+            for (int lonIdx = minLon; lonIdx <= maxLon; lonIdx++) {
+                Entry[] entries = cells.get(cellKey(latIdx, lonIdx));
+                if (entries == null) {
+                    continue;
+                }
+                for (Entry entry : entries) {
+                    double distance = GeoMath.distanceMeters(latitude, longitude, entry.latitude(), entry.longitude());
+                    if (distance <= radiusMeters) {
+                        matches.add(new Match(entry, distance));
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::distanceMeters));
+        return matches;
+    }
+
+    /**
+     * 최근접 k개 검색
+     * 중심 셀부터 고리 모양으로 넓혀가며, 아직 보지 않은 셀이 현재 k번째보다 가까울 수 없을 때 멈춘다.
+     * @param maxRadiusMeters 검색을 멈출 최대 거리
+     */
+    public List<Match> nearest(double latitude, double longitude, int k, double maxRadiusMeters) {
+        if (k <= 0 || size == 0) {
+            return List.of();
+        }
+
+        int centerLat = latIndex(latitude, cellDegrees);
+        int centerLon = lonIndex(longitude, cellDegrees);
+        double maxAbsLat = Math.min(90, Math.abs(latitude) + maxRadiusMeters / GeoMath.METERS_PER_DEGREE_LAT);
+        // 고리 하나가 보장하는 최소 거리 (경도 방향 셀이 가장 좁은 위도 기준)
+        double ringMeters = cellDegrees * Math.min(GeoMath.METERS_PER_DEGREE_LAT, GeoMath.metersPerDegreeLon(maxAbsLat));
+        int maxRing = (int) Math.ceil(maxRadiusMeters / ringMeters) + 1;
+
+        // 거리 내림차순 힙 (가장 먼 후보가 맨 위)
+        PriorityQueue<Match> best = new PriorityQueue<>(Comparator.comparingDouble(Match::distanceMeters).reversed());
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int latIdx = centerLat - ring; latIdx <= centerLat + ring; latIdx++) {
+                boolean edgeRow = latIdx == centerLat - ring || latIdx == centerLat + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int lonIdx = centerLon - ring; lonIdx <= centerLon + ring; lonIdx += step) {
+                    Entry[] entries = cells.get(cellKey(latIdx, lonIdx));
+                    if (entries == null) {
+                        continue;
+                    }
+                    for (Entry entry : entries) {
+                        double distance = GeoMath.distanceMeters(latitude, longitude, entry.latitude(), entry.longitude());
+                        if (distance > maxRadiusMeters) {
+                            continue;
+                        }
+                        if (best.size() < k) {
+                            best.add(new Match(entry, distance));
+                        } else if (distance < best.peek().distanceMeters()) {
+                            best.poll();
+                            best.add(new Match(entry, distance));
+                        }
+                    }
+                }
+            }
+            // 다음 고리의 점은 최소 ring * ringMeters 이상 떨어져 있음
+            if (best.size() == k && best.peek().distanceMeters() <= ring * ringMeters) {
+                break;
+            }
+        }
+
+        List<Match> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Match::distanceMeters));
+        return result;
+    }
+
+    private static int latIndex(double latitude, double cellDegrees) {
+        return (int) Math.floor((latitude + 90.0) / cellDegrees);
+    }
+
+    private static int lonIndex(double longitude, double cellDegrees) {
+        return (int) Math.floor((longitude + 180.0) / cellDegrees);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    /**
+     * 인덱스 항목
+     */
+    public record Entry(long salonId, String name, String city, String district, double latitude, double longitude) {
+    }
+
+    /**
+     * 검색 결과
+     */
+    public record Match(Entry entry, double distanceMeters) {
+    }
+}
@@ -0,0 +1,193 @@
+package kr.cocoh.api.service.geo;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import kr.cocoh.api.dto.NearbySalonDto;
+import kr.cocoh.api.event.SalonLocationsChangedEvent;
+import kr.cocoh.api.model.auth.Salon;
+import kr.cocoh.api.repository.LocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 살롱 위치 검색
+ * 승인된 살롱 위치를 메모리 격자 인덱스로 들고 있다가 반경/최근접 검색에 사용하고,
+ * 인덱스가 아직 적재되지 않았으면 SPATIAL 인덱스를 쓰는 DB 쿼리로 대신한다.
+ * 재적재 때 새로 들어왔거나 위치가 바뀐 살롱은 SalonLocationsChangedEvent 로 알린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalonGeoService {
+
+    private final LocationRepository locationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${geo.index.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    @Value("${geo.max-radius-meters:50000}")
+    private double maxRadiusMeters;
+
+    private volatile SalonGeoIndex index;
+    private volatile Map<Long, SalonGeoIndex.Entry> entriesById;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * 인덱스 재적재 (새 인덱스를 만든 뒤 교체하므로 검색은 멈추지 않음)
+     */
+    @Scheduled(fixedDelayString = "${geo.index.refresh-interval-ms:300000}", initialDelayString = "${geo.index.refresh-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        try {
+            List<SalonGeoIndex.Entry> entries = new ArrayList<>();
+            Map<Long, SalonGeoIndex.Entry> byId = new HashMap<>();
+            for (Object[] row : locationRepository.findGeoEntriesBySalonStatus(Salon.Status.approved)) {
+                SalonGeoIndex.Entry entry = toEntry(row);
+                entries.add(entry);
+                byId.put(entry.salonId(), entry);
+            }
+            Map<Long, SalonGeoIndex.Entry> previous = entriesById;
+            this.index = SalonGeoIndex.build(entries, cellDegrees);
+            this.entriesById = byId;
+            log.info("살롱 위치 인덱스 적재 완료: {}개", entries.size());
+            // 첫 적재는 비교할 대상이 없으므로 알리지 않음
+            if (previous != null) {
+                publishLocated(previous, entries);
+            }
+        } catch (Exception e) {
+            log.error("살롱 위치 인덱스 적재 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 반경 내 살롱 검색 (가까운 순)
+     */
+    @Transactional(readOnly = true)
+    public List<NearbySalonDto> findWithinRadius(double latitude, double longitude, double radiusMeters) {
+        validate(latitude, longitude, radiusMeters);
+
+        SalonGeoIndex current = index;
+        if (current != null) {
+            return current.withinRadius(latitude, longitude, radiusMeters).stream()
+                    .map(this::convertToDto)
+                    .toList();
+        }
+
+        return toMatches(locationRepository.findApprovedWithinRadius(latitude, longitude,
+                boundingBox(latitude, longitude, radiusMeters), radiusMeters));
+    }
+
+    /**
+     * 가까운 살롱 k개 검색
+     */
+    @Transactional(readOnly = true)
+    public List<NearbySalonDto> findNearest(double latitude, double longitude, int k) {
+        validate(latitude, longitude, maxRadiusMeters);
+        if (k <= 0 || k > 100) {
+            throw new IllegalArgumentException("k 는 1 이상 100 이하여야 합니다.");
+        }
+
+        SalonGeoIndex current = index;
+        if (current != null) {
+            return current.nearest(latitude, longitude, k, maxRadiusMeters).stream()
+                    .map(this::convertToDto)
+                    .toList();
+        }
+
+        // 적재 전에는 빈 결과 대신 DB 에서 찾음
+        return toMatches(locationRepository.findApprovedNearest(latitude, longitude,
+                boundingBox(latitude, longitude, maxRadiusMeters), maxRadiusMeters, k));
+    }
+
+    private void publishLocated(Map<Long, SalonGeoIndex.Entry> previous, List<SalonGeoIndex.Entry> entries) {
+        List<SalonLocationsChangedEvent.Located> located = entries.stream()
+                .filter(entry -> !samePlace(previous.get(entry.salonId()), entry))
+                .map(entry -> new SalonLocationsChangedEvent.Located(entry.salonId(), entry.city(), entry.district(),
+                        entry.latitude(), entry.longitude()))
+                .toList();
+        if (!located.isEmpty()) {
+            eventPublisher.publishEvent(new SalonLocationsChangedEvent(located));
+        }
+    }
+
+    private boolean samePlace(SalonGeoIndex.Entry before, SalonGeoIndex.Entry after) {
+        return before != null
+                && Objects.equals(before.city(), after.city())
+                && Objects.equals(before.district(), after.district())
+                && before.latitude() == after.latitude()
+                && before.longitude() == after.longitude();
+    }
+
+    private void validate(double latitude, double longitude, double radiusMeters) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("좌표가 올바르지 않습니다.");
+        }
+        if (radiusMeters <= 0 || radiusMeters > maxRadiusMeters) {
+            throw new IllegalArgumentException("반경은 0 보다 크고 " + (long) maxRadiusMeters + "m 이하여야 합니다.");
+        }
+    }
+
+    // MBRContains 용 경계 사각형 (경도-위도 순서 WKT)
+    private String boundingBox(double latitude, double longitude, double radiusMeters) {
+        double latSpan = radiusMeters / GeoMath.METERS_PER_DEGREE_LAT;
+        double lonSpan = radiusMeters / GeoMath.metersPerDegreeLon(Math.min(89.9, Math.abs(latitude) + latSpan));
+        double minLat = Math.max(-90, latitude - latSpan);
+        double maxLat = Math.min(90, latitude + latSpan);
+        double minLon = Math.max(-180, longitude - lonSpan);
+        double maxLon = Math.min(180, longitude + lonSpan);
+        return String.format(Locale.ROOT, "POLYGON((%f %f, %f %f, %f %f, %f %f, %f %f))",
+                minLon, minLat, maxLon, minLat, maxLon, maxLat, minLon, maxLat, minLon, minLat);
+    }
+
+    // DB 검색 결과 ([salonId, salonName, city, district, latitude, longitude, distance])
+    private List<NearbySalonDto> toMatches(List<Object[]> rows) {
+        List<NearbySalonDto> result = new ArrayList<>();
+        for (Object[] row : rows) {
+            SalonGeoIndex.Entry entry = toEntry(row);
+            result.add(convertToDto(new SalonGeoIndex.Match(entry, ((Number) row[6]).doubleValue())));
+        }
+        return result;
+    }
+
+    private SalonGeoIndex.Entry toEntry(Object[] row) {
+        return new SalonGeoIndex.Entry(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                ((BigDecimal) row[4]).doubleValue(),
+                ((BigDecimal) row[5]).doubleValue());
+    }
+
+    private NearbySalonDto convertToDto(SalonGeoIndex.Match match) {
+        SalonGeoIndex.Entry entry = match.entry();
+        return NearbySalonDto.builder()
+                .salonId(entry.salonId())
+                .name(entry.name())
+                .city(entry.city())
+                .district(entry.district())
+                .latitude(entry.latitude())
+                .longitude(entry.longitude())
+                .distanceMeters(Math.round(match.distanceMeters()))
+                .build();
+    }
+}
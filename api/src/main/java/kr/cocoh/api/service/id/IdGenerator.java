@@ -0,0 +1,156 @@
+package kr.cocoh.api.service.id;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import kr.cocoh.api.repository.IdNodeLeaseRepository;
+import kr.cocoh.api.service.outbox.OutboxNode;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 노드 번호를 DB 리스로 받아 쓰는 시간순 ID 생성기
+ * 주문 번호(merchant_uid)와 JPA ID(@TimeOrderedId) 모두 여기서 발급한다.
+ * 발급은 락 없이 CAS 로만 하고, 리스 확인은 volatile 읽기 한 번이다.
+ * 리스를 제때 연장하지 못하면(리스 만료 전 안전 여유 포함) 다른 노드가 같은 번호를 잡을 수 있으므로 발급을 멈추고,
+ * 다음 호출에서 번호를 다시 잡는다.
+ * 연장은 공용 스케줄러 스레드가 다른 작업에 묶여도 밀리지 않도록 전용 데몬 스레드에서 한다.
+ */
+@Slf4j
+@Component
+public class IdGenerator {
+
+    private static volatile IdGenerator current;
+
+    private final IdNodeLeaseRepository leaseRepository;
+    private final String owner;
+    private final String merchantUidPrefix;
+    private final long leaseTtlSeconds;
+    private final long maxAheadMillis;
+    private final long maxBackwardMillis;
+
+    private volatile TimeOrderedIds ids;
+    private volatile long validUntilNanos;
+    private final ScheduledThreadPoolExecutor renewer;
+
+    public IdGenerator(IdNodeLeaseRepository leaseRepository,
+                       OutboxNode outboxNode,
+                       @Value("${id-generator.merchant-uid-prefix:ord_}") String merchantUidPrefix,
+                       @Value("${id-generator.lease-ttl-seconds:60}") long leaseTtlSeconds,
+                       @Value("${id-generator.max-ahead-ms:1000}") long maxAheadMillis,
+                       @Value("${id-generator.max-backward-ms:5000}") long maxBackwardMillis,
+                       @Value("${id-generator.renew-interval-ms:20000}") long renewIntervalMillis) {
+        this.leaseRepository = leaseRepository;
+        this.owner = outboxNode.getId();
+        this.merchantUidPrefix = merchantUidPrefix;
+        this.leaseTtlSeconds = leaseTtlSeconds;
+        this.maxAheadMillis = maxAheadMillis;
+        this.maxBackwardMillis = maxBackwardMillis;
+        this.renewer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "id-lease-renew");
+            thread.setDaemon(true);
+            return thread;
+        });
+        renewer.scheduleWithFixedDelay(this::renew, renewIntervalMillis, renewIntervalMillis, TimeUnit.MILLISECONDS);
+        current = this;
+    }
+
+    /**
+     * Hibernate 가 직접 만드는 ID 생성기(TimeOrderedIdentifierGenerator)용
+     */
+    public static IdGenerator current() {
+        IdGenerator generator = current;
+        if (generator == null) {
+            throw new IllegalStateException("ID 생성기가 아직 준비되지 않았습니다.");
+        }
+        return generator;
+    }
+
+    public long nextId() {
+        return active().nextId();
+    }
+
+    /**
+     * 새 주문 번호 (접두사 + 시간순 13자, 문자열 순서가 발급 순서와 같아 인덱스 끝에만 쌓인다)
+     */
+    public String nextMerchantUid() {
+        return merchantUidPrefix + active().nextString();
+    }
+
+    void renew() {
+        TimeOrderedIds held = ids;
+        if (held == null) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            if (leaseRepository.renew(held.nodeId(), owner, leaseTtlSeconds, held.lastTimestamp())) {
+                validUntilNanos = started + leaseWindowNanos();
+            } else {
+                log.warn("ID 노드 번호 리스를 잃었습니다 - 노드 번호: {}", held.nodeId());
+                synchronized (this) {
+                    if (ids == held) {
+                        ids = null;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("ID 노드 번호 리스 연장 실패 - 노드 번호: {}, 오류: {}", held.nodeId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        renewer.shutdownNow();
+        TimeOrderedIds held = ids;
+        if (held == null) {
+            return;
+        }
+        ids = null;
+        try {
+            leaseRepository.release(held.nodeId(), owner, held.lastTimestamp());
+        } catch (Exception e) {
+            log.warn("ID 노드 번호 반납 실패 - 노드 번호: {}, 오류: {}", held.nodeId(), e.getMessage());
+        }
+    }
+
+    private TimeOrderedIds active() {
+        TimeOrderedIds held = ids;
+        if (held != null && System.nanoTime() - validUntilNanos < 0) {
+            return held;
+        }
+        return claim();
+    }
+
+    private synchronized TimeOrderedIds claim() {
+        TimeOrderedIds held = ids;
+        if (held != null && System.nanoTime() - validUntilNanos < 0) {
+            return held;
+        }
+
+        long started = System.nanoTime();
+        IdNodeLeaseRepository.Claim claim = leaseRepository.claim(owner, leaseTtlSeconds)
+                .orElseThrow(() -> new IllegalStateException("사용 가능한 ID 노드 번호가 없습니다."));
+        // 이전 보유 노드가 미리 당겨 쓴 시각까지 건너뜀, 같은 번호를 다시 잡았으면 내 마지막 시각도 이어받음
+        long floor = claim.floorTimestamp() + maxAheadMillis;
+        if (held != null && held.nodeId() == claim.nodeId()) {
+            floor = Math.max(floor, held.lastTimestamp());
+        }
+        TimeOrderedIds claimed = new TimeOrderedIds(claim.nodeId(), floor, System::currentTimeMillis,
+                maxAheadMillis, maxBackwardMillis);
+        validUntilNanos = started + leaseWindowNanos();
+        ids = claimed;
+        if (held == null || held.nodeId() != claim.nodeId()) {
+            log.info("ID 노드 번호 획득 - 노드 번호: {}, 소유자: {}", claim.nodeId(), owner);
+        }
+        return claimed;
+    }
+
+    // 리스 만료보다 먼저 발급을 멈추도록 ttl 의 2/3 만 유효로 봄
+    private long leaseWindowNanos() {
+        return TimeUnit.SECONDS.toNanos(leaseTtlSeconds) * 2 / 3;
+    }
+}
@@ -0,0 +1,18 @@
+package kr.cocoh.api.service.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * 엔티티 ID 를 IdGenerator 의 시간순 64비트 값으로 채움 (@Id 필드에 @GeneratedValue 대신 사용)
+ * 컬럼은 AUTO_INCREMENT 없는 BIGINT 여야 하며, INSERT 전에 ID 가 정해지므로 배치 INSERT 가 가능하다.
+ */
+@IdGeneratorType(TimeOrderedIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedId {
+}
@@ -0,0 +1,15 @@
+package kr.cocoh.api.service.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * @TimeOrderedId 의 Hibernate 생성기 (Hibernate 가 직접 만들므로 스프링 빈은 IdGenerator.current() 로 찾음)
+ */
+public class TimeOrderedIdentifierGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return IdGenerator.current().nextId();
+    }
+}
@@ -0,0 +1,123 @@
+package kr.cocoh.api.service.media;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * 이미지 디코딩/리사이즈/JPEG 재인코딩
+ * 큰 원본은 디코딩 단계에서 서브샘플링해서 필요한 해상도까지만 메모리에 올린다.
+ */
+public class ImageRenditionEncoder {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+
+    private final float quality;
+
+    public ImageRenditionEncoder(float quality) {
+        this.quality = quality;
+    }
+
+    /**
+     * 이미지 디코딩
+     * @param in 원본 스트림
+     * @param maxEdge 이후 생성할 가장 큰 변환본의 긴 변 길이 (서브샘플링 기준)
+     */
+    public BufferedImage decode(InputStream in, int maxEdge) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) {
+                throw new IOException("이미지 스트림을 열 수 없습니다.");
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식입니다.");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+
+                // 최종 크기의 2배 이상은 디코딩하지 않음 (축소 품질 유지용 여유분)
+                int subsampling = Math.max(1, longEdge / (maxEdge * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 긴 변 기준으로 축소 후 JPEG 인코딩 (확대는 하지 않음)
+     */
+    public EncodedImage encode(BufferedImage source, int maxEdge) throws IOException {
+        BufferedImage resized = resize(source, maxEdge);
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(resized, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new EncodedImage(out.toByteArray(), resized.getWidth(), resized.getHeight(), CONTENT_TYPE);
+    }
+
+    private BufferedImage resize(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        // 한 번에 크게 줄이면 bilinear 보간에서 계단 현상이 생기므로 절반씩 줄임
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        // 알파 채널 제거를 위해 최종 단계는 항상 RGB 로 다시 그림
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 인코딩 결과
+     */
+    public record EncodedImage(byte[] data, int width, int height, String contentType) {
+    }
+}
@@ -0,0 +1,359 @@
+package kr.cocoh.api.service.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kr.cocoh.api.config.StorageConfig.StoragePaths;
+import kr.cocoh.api.service.StorageService;
+import kr.cocoh.api.service.storage.LocalFile;
+import kr.cocoh.api.service.storage.StorageBackend;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 광고 미디어 엣지 캐시 (media.edge-cache.enabled=true 일 때만 등록)
+ * 디스플레이가 받는 광고 미디어를 로컬 디스크에 크기 예산 안에서 LRU 로 보관해, 지역 API 노드가 CDN 처럼 동작하게 한다.
+ * 같은 객체에 대한 동시 미스는 한 번만 내려받고(single-flight), 나머지는 그 결과를 기다린다.
+ * 내쫓긴 파일은 전송 중일 수 있으므로 evict-grace-seconds 뒤에 지운다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "media.edge-cache.enabled", havingValue = "true")
+public class MediaEdgeCache {
+
+    public static final String PROXY_PATH = "/api/public/media/";
+
+    private static final String DATA_SUFFIX = ".bin";
+    private static final String META_SUFFIX = ".meta";
+    private static final String TEMP_DIR = ".tmp";
+    private static final int MAX_OVERSIZED_KEYS = 10_000;
+
+    private final StorageBackend storageBackend;
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxObjectBytes;
+    private final long fillTimeoutSeconds;
+    private final long evictGraceMillis;
+    private final String cacheablePrefix;
+    private final String publicBaseUrl;
+
+    // 접근 순서 LinkedHashMap (가장 오래 안 쓴 항목이 맨 앞), this 로 동기화
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private final ArrayDeque<Evicted> evicted = new ArrayDeque<>();
+    // 캐시하기에 너무 큰 키 (키가 내용 해시라 크기가 바뀌지 않음, 다시 원본을 열지 않게 기억)
+    private final LinkedHashMap<String, Boolean> oversized = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_OVERSIZED_KEYS;
+        }
+    };
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> inflight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter evictions;
+    private final Counter evictedBytes;
+    private final Timer fillTimer;
+
+    private record Entry(String key, Path file, long size, String contentType, Instant lastModified) {
+    }
+
+    private record Evicted(String key, Path file, Path metadata, long deleteAt) {
+    }
+
+    public MediaEdgeCache(StorageBackend storageBackend,
+                          StorageService storageService,
+                          MeterRegistry meterRegistry,
+                          @Value("${media.edge-cache.dir:media-cache}") String directory,
+                          @Value("${media.edge-cache.max-size-mb:10240}") long maxSizeMb,
+                          @Value("${media.edge-cache.max-object-percent:10}") int maxObjectPercent,
+                          @Value("${media.edge-cache.fill-timeout-seconds:120}") long fillTimeoutSeconds,
+                          @Value("${media.edge-cache.evict-grace-seconds:300}") long evictGraceSeconds,
+                          @Value("${media.edge-cache.public-base-url:}") String publicBaseUrl) throws IOException {
+        this.storageBackend = storageBackend;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+        this.maxObjectBytes = maxBytes * Math.max(1, Math.min(maxObjectPercent, 100)) / 100;
+        this.fillTimeoutSeconds = fillTimeoutSeconds;
+        this.evictGraceMillis = evictGraceSeconds * 1000;
+        // 광고 미디어 폴더만 캐시 (임의 객체를 끌어오는 프록시로 쓰이지 않게)
+        this.cacheablePrefix = storageService.resolveFolderPath(StoragePaths.ADS);
+        this.publicBaseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+
+        this.hits = Counter.builder("media.edge_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("media.edge_cache.requests").tag("result", "miss").register(meterRegistry);
+        this.coalesced = Counter.builder("media.edge_cache.fills.coalesced")
+                .description("진행 중인 채우기를 기다린 미스 수")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("media.edge_cache.evictions").register(meterRegistry);
+        this.evictedBytes = Counter.builder("media.edge_cache.evicted.bytes").baseUnit("bytes").register(meterRegistry);
+        this.fillTimer = Timer.builder("media.edge_cache.fill.duration").register(meterRegistry);
+        Gauge.builder("media.edge_cache.size.bytes", this, cache -> cache.sizeBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("media.edge_cache.entries", this, cache -> cache.entryCount()).register(meterRegistry);
+
+        Files.createDirectories(this.directory.resolve(TEMP_DIR));
+        load();
+    }
+
+    /**
+     * 캐시된 파일 (없으면 원본에서 채움)
+     * @return 캐시 대상이 아니거나 너무 큰 객체면 빈 값 (호출한 쪽이 원본으로 보냄)
+     * @throws IOException 원본에 객체가 없거나 채우기에 실패한 경우
+     */
+    public Optional<LocalFile> get(String key) throws IOException {
+        if (!isCacheable(key)) {
+            return Optional.empty();
+        }
+
+        Entry entry;
+        synchronized (this) {
+            if (oversized.containsKey(key)) {
+                return Optional.empty();
+            }
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            hits.increment();
+            return Optional.of(toLocalFile(entry));
+        }
+
+        misses.increment();
+        CompletableFuture<Entry> fill = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inflight.putIfAbsent(key, fill);
+        if (existing != null) {
+            coalesced.increment();
+            entry = await(existing);
+        } else {
+            try {
+                // 확인한 뒤 끝난 채우기가 있으면 다시 내려받지 않음
+                synchronized (this) {
+                    entry = entries.get(key);
+                }
+                if (entry == null) {
+                    entry = fill(key);
+                }
+                fill.complete(entry);
+            } catch (IOException | RuntimeException e) {
+                fill.completeExceptionally(e);
+                throw e;
+            } finally {
+                inflight.remove(key, fill);
+            }
+        }
+        return Optional.ofNullable(entry).map(this::toLocalFile);
+    }
+
+    /**
+     * 원본 URL 을 이 노드의 프록시 URL 로 바꿈 (public-base-url 이 없거나 캐시 대상이 아니면 그대로)
+     */
+    public String proxyUrl(String originUrl) {
+        if (originUrl == null || publicBaseUrl.isEmpty()) {
+            return originUrl;
+        }
+        try {
+            String key = storageBackend.keyFromUrl(originUrl);
+            return isCacheable(key) ? publicBaseUrl + PROXY_PATH + key : originUrl;
+        } catch (IllegalArgumentException e) {
+            return originUrl;
+        }
+    }
+
+    public String originUrl(String key) {
+        return storageBackend.url(key);
+    }
+
+    /**
+     * 내쫓긴 파일 삭제 (전송이 끝났을 시간이 지난 것만)
+     */
+    @Scheduled(fixedDelayString = "${media.edge-cache.sweep-interval-ms:30000}")
+    public synchronized void sweepEvicted() {
+        // 다시 채우기는 같은 파일 이름을 쓰고 파일 교체와 색인을 이 잠금 안에서 하므로, 확인과 삭제도 잠금 안에서
+        long now = System.currentTimeMillis();
+        while (!evicted.isEmpty() && evicted.peekFirst().deleteAt() <= now) {
+            Evicted file = evicted.pollFirst();
+            if (entries.containsKey(file.key())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(file.file());
+                Files.deleteIfExists(file.metadata());
+            } catch (IOException e) {
+                log.warn("엣지 캐시 파일 삭제 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    synchronized long sizeBytes() {
+        return totalBytes;
+    }
+
+    synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private boolean isCacheable(String key) {
+        return key != null && key.startsWith(cacheablePrefix) && !key.contains("..");
+    }
+
+    private Entry await(CompletableFuture<Entry> fill) throws IOException {
+        try {
+            return fill.get(fillTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("엣지 캐시 채우기 대기 중 중단되었습니다.", e);
+        } catch (TimeoutException e) {
+            throw new IOException("엣지 캐시 채우기 대기 시간 초과", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("엣지 캐시 채우기 실패: " + cause.getMessage(), cause);
+        }
+    }
+
+    // 원본을 임시 파일로 내려받은 뒤 옮기고 색인에 넣음 (너무 큰 객체는 null)
+    private Entry fill(String key) throws IOException {
+        long startedAt = System.nanoTime();
+        String name = hash(key);
+        Path temp = Files.createTempFile(directory.resolve(TEMP_DIR), name, ".part");
+        try (StorageBackend.ObjectContent content = storageBackend.get(key)) {
+            if (content.size() > maxObjectBytes) {
+                synchronized (this) {
+                    oversized.put(key, Boolean.TRUE);
+                }
+                return null;
+            }
+            long size = Files.copy(content.content(), temp, StandardCopyOption.REPLACE_EXISTING);
+            String contentType = content.contentType() != null ? content.contentType() : "application/octet-stream";
+
+            Path file = directory.resolve(name + DATA_SUFFIX);
+            Entry entry;
+            synchronized (this) {
+                writeMetadata(directory.resolve(name + META_SUFFIX), key, contentType);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                entry = new Entry(key, file, size, contentType, Files.getLastModifiedTime(file).toInstant());
+                add(entry);
+            }
+            fillTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            log.debug("엣지 캐시 채움 - 키: {}, 크기: {} bytes", key, size);
+            return entry;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private synchronized void add(Entry entry) {
+        Entry previous = entries.put(entry.key(), entry);
+        if (previous != null) {
+            totalBytes -= previous.size();
+        }
+        totalBytes += entry.size();
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Entry victim = eldest.next().getValue();
+            if (victim == entry) {
+                continue;
+            }
+            eldest.remove();
+            totalBytes -= victim.size();
+            String name = victim.file().getFileName().toString();
+            evicted.addLast(new Evicted(victim.key(), victim.file(),
+                    directory.resolve(name.substring(0, name.length() - DATA_SUFFIX.length()) + META_SUFFIX),
+                    System.currentTimeMillis() + evictGraceMillis));
+            evictions.increment();
+            evictedBytes.increment(victim.size());
+        }
+    }
+
+    // 재시작 시 디스크에 남은 항목으로 색인 복원 (수정 시각 순으로 LRU 근사)
+    private void load() throws IOException {
+        List<Entry> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path metadata : files.filter(path -> path.getFileName().toString().endsWith(META_SUFFIX)).toList()) {
+                String name = metadata.getFileName().toString();
+                Path file = directory.resolve(name.substring(0, name.length() - META_SUFFIX.length()) + DATA_SUFFIX);
+                try {
+                    if (!Files.exists(file)) {
+                        Files.deleteIfExists(metadata);
+                        continue;
+                    }
+                    Properties properties = new Properties();
+                    try (InputStream in = Files.newInputStream(metadata)) {
+                        properties.load(in);
+                    }
+                    FileTime modified = Files.getLastModifiedTime(file);
+                    loaded.add(new Entry(properties.getProperty("key"), file, Files.size(file),
+                            properties.getProperty("contentType"), modified.toInstant()));
+                } catch (IOException | UncheckedIOException e) {
+                    log.warn("엣지 캐시 항목 복원 실패: {}", e.getMessage());
+                }
+            }
+        }
+        loaded.sort(Comparator.comparing(Entry::lastModified));
+        loaded.forEach(this::add);
+        log.info("엣지 캐시 시작 - 항목: {}건, 크기: {} bytes, 예산: {} bytes", entryCount(), sizeBytes(), maxBytes);
+    }
+
+    private void writeMetadata(Path path, String key, String contentType) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("key", key);
+        properties.setProperty("contentType", contentType);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            properties.store(out, null);
+        }
+    }
+
+    private LocalFile toLocalFile(Entry entry) {
+        return new LocalFile(entry.file(), entry.size(), entry.lastModified(), entry.contentType(),
+                LocalFile.etagOf(entry.size(), entry.lastModified()));
+    }
+
+    private String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package kr.cocoh.api.service.media;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import kr.cocoh.api.config.StorageConfig.StoragePaths;
+import kr.cocoh.api.event.AdChangedEvent;
+import kr.cocoh.api.event.AdMediaUploadedEvent;
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.model.ad.AdMedia.RenditionStatus;
+import kr.cocoh.api.model.ad.AdMediaRendition;
+import kr.cocoh.api.repository.AdMediaRenditionRepository;
+import kr.cocoh.api.repository.AdMediaRepository;
+import kr.cocoh.api.service.StorageService;
+import kr.cocoh.api.service.media.ImageRenditionEncoder.EncodedImage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 광고 미디어 변환 파이프라인
+ * 업로드 요청은 원본 저장 후 바로 응답하고, 크기별 변환본과 동영상 포스터는
+ * 크기가 제한된 작업 풀에서 생성해 StorageService 로 저장한 뒤 AdMedia 에 기록한다.
+ * 큐가 가득 차거나 노드가 죽어 처리되지 못한 작업은 주기적인 스윕에서 다시 잡는다.
+ */
+@Slf4j
+@Service
+public class MediaRenditionService {
+
+    private final AdMediaRepository adMediaRepository;
+    private final AdMediaRenditionRepository renditionRepository;
+    private final StorageService storageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageRenditionEncoder imageEncoder;
+    private final VideoPosterExtractor posterExtractor;
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${media.rendition.min-edge:720}")
+    private int minEdge;
+
+    @Value("${media.rendition.max-edge:1920}")
+    private int maxEdge;
+
+    @Value("${media.rendition.stale-minutes:30}")
+    private int staleMinutes;
+
+    @Value("${media.rendition.max-attempts:3}")
+    private int maxAttempts;
+
+    public MediaRenditionService(AdMediaRepository adMediaRepository,
+                                 AdMediaRenditionRepository renditionRepository,
+                                 StorageService storageService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${media.rendition.workers:2}") int workers,
+                                 @Value("${media.rendition.queue-capacity:100}") int queueCapacity,
+                                 @Value("${media.rendition.jpeg-quality:0.85}") float jpegQuality,
+                                 @Value("${media.rendition.ffmpeg-path:}") String ffmpegPath,
+                                 @Value("${media.rendition.poster-offset-seconds:1}") int posterOffsetSeconds) {
+        this.adMediaRepository = adMediaRepository;
+        this.renditionRepository = renditionRepository;
+        this.storageService = storageService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.imageEncoder = new ImageRenditionEncoder(jpegQuality);
+        this.posterExtractor = new VideoPosterExtractor(ffmpegPath, posterOffsetSeconds, 60);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-rendition-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 업로드 트랜잭션 커밋 후 변환 작업 등록
+     */
+    @TransactionalEventListener
+    public void onMediaUploaded(AdMediaUploadedEvent event) {
+        enqueue(event.adMediaId());
+    }
+
+    /**
+     * 변환 작업 등록 (큐가 가득 차면 스윕에서 다시 시도)
+     */
+    public void enqueue(Long adMediaId) {
+        if (!inFlight.add(adMediaId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(adMediaId);
+                } finally {
+                    inFlight.remove(adMediaId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(adMediaId);
+            log.warn("미디어 변환 큐가 가득 찼습니다. 다음 스윕에서 처리합니다: adMediaId={}", adMediaId);
+        }
+    }
+
+    /**
+     * 대기 중인 변환 작업을 다시 등록하고, 멈춘 작업을 복구
+     */
+    @Scheduled(fixedDelayString = "${media.rendition.sweep-interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusMinutes(staleMinutes);
+        // 처리 도중 노드를 죽이는 항목이 복구와 재시도를 끝없이 반복하지 않도록, 시도 횟수를 다 쓴 행은 실패로 닫음
+        Integer abandoned = transactionTemplate.execute(status -> adMediaRepository.transitionStaleRenditionStatus(
+                RenditionStatus.processing, RenditionStatus.failed, staleBefore, maxAttempts, Integer.MAX_VALUE, now));
+        if (abandoned != null && abandoned > 0) {
+            log.error("재시도 횟수를 넘긴 미디어 변환 작업을 실패 처리: {}건", abandoned);
+        }
+        Integer reset = transactionTemplate.execute(status -> adMediaRepository.transitionStaleRenditionStatus(
+                RenditionStatus.processing, RenditionStatus.pending, staleBefore, 0, maxAttempts, now));
+        if (reset != null && reset > 0) {
+            log.warn("멈춘 미디어 변환 작업 복구: {}건", reset);
+        }
+
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        // 방금 업로드된 항목은 이벤트로 처리되므로 잠시 기다린 항목만 가져옴
+        List<Long> pendingIds = adMediaRepository.findIdsByRenditionStatusBefore(
+                RenditionStatus.pending, now.minusMinutes(1), PageRequest.of(0, capacity));
+        pendingIds.forEach(this::enqueue);
+    }
+
+    void process(Long adMediaId) {
+        // 조건부 UPDATE 로 선점 (다른 노드가 먼저 가져갔으면 0)
+        Integer claimed = transactionTemplate.execute(status -> adMediaRepository.claimRendition(
+                adMediaId, RenditionStatus.pending, RenditionStatus.processing, LocalDateTime.now()));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+
+        // 기록 전에 실패하면 이미 올린 변환본을 지움
+        List<String> storedUrls = new ArrayList<>();
+        boolean saved = false;
+        try {
+            AdMedia media = adMediaRepository.findById(adMediaId).orElse(null);
+            if (media == null) {
+                return;
+            }
+
+            List<RenditionOutput> outputs = media.getType() == AdMedia.MediaType.image
+                    ? renderImage(media, storedUrls)
+                    : renderVideoPoster(media, storedUrls);
+            List<String> replacedUrls = saveRenditions(adMediaId, media.getAd().getId(), outputs);
+            saved = true;
+            replacedUrls.forEach(storageService::deleteFile);
+            log.info("미디어 변환 완료: adMediaId={}, 변환본 {}개", adMediaId, outputs.size());
+        } catch (Exception e) {
+            log.error("미디어 변환 중 오류 발생: adMediaId={}, {}", adMediaId, e.getMessage());
+        } finally {
+            // 예외뿐 아니라 Error (디코딩 중 메모리 부족 등) 로 끝나도 processing 에 남기지 않음
+            if (!saved) {
+                storedUrls.forEach(storageService::deleteFile);
+                transactionTemplate.executeWithoutResult(status -> adMediaRepository.transitionRenditionStatus(
+                        adMediaId, RenditionStatus.processing, RenditionStatus.failed, LocalDateTime.now()));
+            }
+        }
+    }
+
+    private List<RenditionOutput> renderImage(AdMedia media, List<String> storedUrls) throws Exception {
+        BufferedImage source;
+        try (InputStream in = storageService.download(media.getUrl())) {
+            source = imageEncoder.decode(in, maxEdge);
+        }
+
+        List<RenditionOutput> outputs = new ArrayList<>();
+        outputs.add(store(AdMediaRendition.Variant.max, imageEncoder.encode(source, maxEdge), storedUrls));
+        outputs.add(store(AdMediaRendition.Variant.min, imageEncoder.encode(source, minEdge), storedUrls));
+        return outputs;
+    }
+
+    private List<RenditionOutput> renderVideoPoster(AdMedia media, List<String> storedUrls) throws Exception {
+        Optional<byte[]> frame = posterExtractor.extract(media.getUrl());
+        if (frame.isEmpty()) {
+            return List.of();
+        }
+
+        BufferedImage source = imageEncoder.decode(new ByteArrayInputStream(frame.get()), maxEdge);
+        return List.of(store(AdMediaRendition.Variant.poster, imageEncoder.encode(source, maxEdge), storedUrls));
+    }
+
+    private RenditionOutput store(AdMediaRendition.Variant variant, EncodedImage image,
+                                  List<String> storedUrls) throws Exception {
+        String url = storageService.uploadBytes(image.data(), image.contentType(), StoragePaths.ADS);
+        storedUrls.add(url);
+        return new RenditionOutput(variant, url, image);
+    }
+
+    /**
+     * 변환본 기록 및 상태 전이
+     * @return 교체되어 더 이상 쓰지 않는 이전 변환본 URL
+     */
+    private List<String> saveRenditions(Long adMediaId, Long adId, List<RenditionOutput> outputs) {
+        return transactionTemplate.execute(status -> {
+            AdMedia media = adMediaRepository.getReferenceById(adMediaId);
+            List<AdMediaRendition> existing = renditionRepository.findByAdMediaId(adMediaId);
+            List<String> replacedUrls = existing.stream().map(AdMediaRendition::getUrl).toList();
+            renditionRepository.deleteAll(existing);
+            renditionRepository.flush();
+
+            for (RenditionOutput output : outputs) {
+                renditionRepository.save(AdMediaRendition.builder()
+                        .adMedia(media)
+                        .variant(output.variant())
+                        .url(output.url())
+                        .contentType(output.image().contentType())
+                        .width(output.image().width())
+                        .height(output.image().height())
+                        .byteSize((long) output.image().data().length)
+                        .build());
+            }
+
+            RenditionStatus result = outputs.isEmpty() ? RenditionStatus.skipped : RenditionStatus.ready;
+            adMediaRepository.transitionRenditionStatus(adMediaId, RenditionStatus.processing, result, LocalDateTime.now());
+            eventPublisher.publishEvent(AdChangedEvent.of(adId));
+            return replacedUrls;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private record RenditionOutput(AdMediaRendition.Variant variant, String url, EncodedImage image) {
+    }
+}
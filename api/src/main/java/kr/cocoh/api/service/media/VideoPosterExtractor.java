@@ -0,0 +1,71 @@
+package kr.cocoh.api.service.media;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 동영상 포스터 프레임 추출 (ffmpeg 프로세스 사용)
+ * JDK 에는 동영상 디코더가 없으므로 ffmpeg 경로가 설정되지 않은 환경에서는 추출을 건너뛴다.
+ */
+@Slf4j
+public class VideoPosterExtractor {
+
+    private final String ffmpegPath;
+    private final int offsetSeconds;
+    private final long timeoutSeconds;
+
+    public VideoPosterExtractor(String ffmpegPath, int offsetSeconds, long timeoutSeconds) {
+        this.ffmpegPath = ffmpegPath;
+        this.offsetSeconds = offsetSeconds;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    public boolean isAvailable() {
+        return ffmpegPath != null && !ffmpegPath.isBlank();
+    }
+
+    /**
+     * 동영상 URL 에서 프레임 1장을 PNG 로 추출
+     * ffmpeg 가 URL 을 직접 읽으므로 전체 파일을 서버로 내려받지 않는다.
+     */
+    public Optional<byte[]> extract(String videoUrl) throws IOException {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+
+        Process process = new ProcessBuilder(List.of(
+                ffmpegPath, "-v", "error",
+                "-rw_timeout", String.valueOf(TimeUnit.SECONDS.toMicros(timeoutSeconds)),
+                "-ss", String.valueOf(offsetSeconds),
+                "-i", videoUrl,
+                "-frames:v", "1",
+                "-f", "image2pipe", "-vcodec", "png", "-"))
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream stdout = process.getInputStream()) {
+            stdout.transferTo(out);
+            if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("포스터 추출 시간 초과");
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IOException("포스터 추출 중단", e);
+        }
+
+        if (process.exitValue() != 0 || out.size() == 0) {
+            log.warn("포스터 추출 실패: exit={}, url={}", process.exitValue(), videoUrl);
+            return Optional.empty();
+        }
+        return Optional.of(out.toByteArray());
+    }
+}
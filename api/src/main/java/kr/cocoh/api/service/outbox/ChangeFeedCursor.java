@@ -0,0 +1,90 @@
+package kr.cocoh.api.service.outbox;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import kr.cocoh.api.event.ChangeFeedEvent;
+
+/**
+ * 변경 피드 읽기 위치
+ * AUTO_INCREMENT ID 는 커밋 순서가 아니라 INSERT 순서로 매겨지므로, 읽는 시점에 아직 커밋되지 않은
+ * 트랜잭션의 ID 가 빈 구멍(gap)으로 보일 수 있다. 구멍은 유예 시간 동안 따로 다시 조회하고,
+ * 그 안에 나타나지 않으면 롤백된 것으로 보고 버린다.
+ */
+class ChangeFeedCursor {
+
+    private final long gapGraceMillis;
+    private final int maxGapSpan;
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private long highWater;
+
+    ChangeFeedCursor(long start, long gapGraceMillis, int maxGapSpan) {
+        this.highWater = start;
+        this.gapGraceMillis = gapGraceMillis;
+        this.maxGapSpan = maxGapSpan;
+    }
+
+    /**
+     * 지금까지 본 가장 큰 ID
+     */
+    long highWater() {
+        return highWater;
+    }
+
+    /**
+     * 다시 조회해야 할 구멍 ID
+     */
+    Set<Long> pendingGaps() {
+        return Set.copyOf(gaps.keySet());
+    }
+
+    /**
+     * 이 위치 이하의 이벤트는 모두 처리했거나 버려짐 (압축 기준)
+     */
+    long consumedPosition() {
+        return gaps.isEmpty() ? highWater : gaps.firstKey() - 1;
+    }
+
+    /**
+     * 폴링 결과 반영
+     * @param fresh highWater 이후 이벤트
+     * @param filled 구멍이었다가 나타난 이벤트
+     * @return 구독자에게 넘길 이벤트 (ID 순)
+     */
+    List<ChangeFeedEvent> accept(List<ChangeFeedEvent> fresh, List<ChangeFeedEvent> filled, long nowMillis) {
+        List<ChangeFeedEvent> accepted = new ArrayList<>(fresh.size() + filled.size());
+        for (ChangeFeedEvent event : filled) {
+            if (gaps.remove(event.id()) != null) {
+                accepted.add(event);
+            }
+        }
+
+        for (ChangeFeedEvent event : fresh) {
+            if (event.id() <= highWater) {
+                continue;
+            }
+            // 한 번에 너무 큰 구멍은 (AUTO_INCREMENT 점프 등) 앞쪽 일부만 기다림
+            long gapEnd = Math.min(event.id(), highWater + 1 + maxGapSpan);
+            for (long id = highWater + 1; id < gapEnd; id++) {
+                gaps.put(id, nowMillis);
+            }
+            highWater = event.id();
+            accepted.add(event);
+        }
+
+        Set<Long> expired = new TreeSet<>();
+        gaps.forEach((id, seenAt) -> {
+            if (nowMillis - seenAt >= gapGraceMillis) {
+                expired.add(id);
+            }
+        });
+        expired.forEach(gaps::remove);
+
+        accepted.sort(Comparator.comparingLong(ChangeFeedEvent::id));
+        return accepted;
+    }
+}
@@ -0,0 +1,146 @@
+package kr.cocoh.api.service.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import kr.cocoh.api.event.ChangeFeedEvent;
+import kr.cocoh.api.repository.OutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 변경 피드 폴러 (노드마다 실행)
+ * 아웃박스를 ID 순서로 읽어 ChangeFeedEvent 로 발행하고, 모든 노드가 읽은 행은 주기적으로 압축한다.
+ * 캐시는 시작할 때 비어 있으므로 시작 시점 이후 이벤트만 읽는다.
+ */
+@Slf4j
+@Service
+public class ChangeFeedPoller {
+
+    private static final int MAX_BATCHES_PER_POLL = 10;
+    private static final int DELETE_CHUNK_SIZE = 5000;
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxNode outboxNode;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.gap-grace-ms:30000}")
+    private long gapGraceMs;
+
+    @Value("${outbox.max-gap-span:1000}")
+    private int maxGapSpan;
+
+    @Value("${outbox.heartbeat-interval-ms:10000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${outbox.consumer-timeout-minutes:5}")
+    private int consumerTimeoutMinutes;
+
+    @Value("${outbox.retention-hours:24}")
+    private int retentionHours;
+
+    private volatile ChangeFeedCursor cursor;
+    private long lastHeartbeat;
+
+    public ChangeFeedPoller(OutboxRepository outboxRepository, OutboxNode outboxNode,
+                            ApplicationEventPublisher eventPublisher) {
+        this.outboxRepository = outboxRepository;
+        this.outboxNode = outboxNode;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long start = outboxRepository.findMaxId();
+        outboxRepository.saveConsumerPosition(outboxNode.getId(), start);
+        this.cursor = new ChangeFeedCursor(start, gapGraceMs, maxGapSpan);
+        this.lastHeartbeat = System.currentTimeMillis();
+        log.info("변경 피드 시작: node={}, from={}", outboxNode.getId(), start);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void poll() {
+        ChangeFeedCursor current = cursor;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            for (int batch = 0; batch < MAX_BATCHES_PER_POLL; batch++) {
+                List<ChangeFeedEvent> fresh = outboxRepository.findAfter(current.highWater(), batchSize, outboxNode.getId());
+                Set<Long> gaps = current.pendingGaps();
+                List<ChangeFeedEvent> filled = gaps.isEmpty() ? List.of() : outboxRepository.findByIds(gaps, outboxNode.getId());
+
+                for (ChangeFeedEvent event : current.accept(fresh, filled, System.currentTimeMillis())) {
+                    dispatch(event);
+                }
+                if (fresh.size() < batchSize) {
+                    break;
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastHeartbeat >= heartbeatIntervalMs) {
+                outboxRepository.saveConsumerPosition(outboxNode.getId(), current.consumedPosition());
+                lastHeartbeat = now;
+            }
+        } catch (Exception e) {
+            log.error("변경 피드 폴링 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 압축: 살아 있는 모든 노드가 읽은 행과 보존 기간이 지난 행 삭제
+     */
+    @Scheduled(fixedDelayString = "${outbox.compaction-interval-ms:60000}")
+    public void compact() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            outboxRepository.deleteStaleConsumers(now.minusMinutes(consumerTimeoutMinutes));
+            Long consumedUpTo = outboxRepository.findMinConsumedId();
+            LocalDateTime createdBefore = now.minusHours(retentionHours);
+
+            int deleted;
+            int total = 0;
+            do {
+                deleted = outboxRepository.deleteConsumed(consumedUpTo != null ? consumedUpTo : 0, createdBefore,
+                        DELETE_CHUNK_SIZE);
+                total += deleted;
+            } while (deleted == DELETE_CHUNK_SIZE);
+            if (total > 0) {
+                log.debug("아웃박스 압축: {}건", total);
+            }
+        } catch (Exception e) {
+            log.error("아웃박스 압축 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch(ChangeFeedEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.error("변경 피드 구독자 오류: id={}, type={}/{}, {}", event.id(), event.aggregateType(),
+                    event.eventType(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            outboxRepository.deleteConsumer(outboxNode.getId());
+        } catch (Exception e) {
+            log.warn("변경 피드 소비자 등록 해제 실패: {}", e.getMessage());
+        }
+    }
+}
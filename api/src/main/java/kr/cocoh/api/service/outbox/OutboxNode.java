@@ -0,0 +1,34 @@
+package kr.cocoh.api.service.outbox;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 API 노드의 식별자 (설정이 없으면 호스트 이름 + 실행마다 다른 접미사)
+ */
+@Component
+public class OutboxNode {
+
+    private final String id;
+
+    public OutboxNode(@Value("${outbox.node-id:}") String configuredId) {
+        this.id = configuredId.isBlank() ? hostName() + "-" + UUID.randomUUID().toString().substring(0, 8) : configuredId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    private static String hostName() {
+        try {
+            String hostName = InetAddress.getLocalHost().getHostName();
+            return hostName.length() > 80 ? hostName.substring(0, 80) : hostName;
+        } catch (UnknownHostException e) {
+            return "node";
+        }
+    }
+}
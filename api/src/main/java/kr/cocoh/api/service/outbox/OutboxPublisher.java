@@ -0,0 +1,33 @@
+package kr.cocoh.api.service.outbox;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import kr.cocoh.api.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 아웃박스 이벤트 기록
+ * 호출한 쪽의 쓰기 트랜잭션 안에서만 기록하므로, 변경이 롤백되면 이벤트도 남지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxNode outboxNode;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String aggregateType, Object aggregateId, String eventType) {
+        publish(aggregateType, aggregateId, eventType, null);
+    }
+
+    /**
+     * @param payload JSON 문자열 (없으면 null)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String aggregateType, Object aggregateId, String eventType, String payload) {
+        outboxRepository.insert(aggregateType, String.valueOf(aggregateId), eventType, payload, outboxNode.getId());
+    }
+}
@@ -0,0 +1,225 @@
+package kr.cocoh.api.service.payment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import kr.cocoh.api.dto.PaymentGatewayStubDto;
+import kr.cocoh.api.service.id.IdGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 PG 스텁 (payment.pg-stub.enabled=true 일 때만 등록)
+ * 실제 PG 와 같은 형식으로 서명한 웹훅을 동시에 여러 개 보내, 월말 몰림과 PG 재전송을 재현한다.
+ * 응답이 5xx 이거나 연결이 실패하면 PG 처럼 백오프 후 다시 보낸다.
+ * 워커는 반영 전에 PG 결제 조회 API 로 확인하므로, 끝까지 반영되게 하려면 api.portone.base-url /
+ * api.toss-payments.base-url 을 스텁 결제를 아는 테스트 서버로 바꿔야 한다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "payment.pg-stub.enabled", havingValue = "true")
+public class PaymentGatewayStub {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int MAX_REQUESTS = 100_000;
+
+    private final PaymentWebhookService webhookService;
+    private final ObjectMapper objectMapper;
+    private final IdGenerator idGenerator;
+    private final String targetUrl;
+    private final HttpClient httpClient;
+
+    public PaymentGatewayStub(PaymentWebhookService webhookService,
+                              ObjectMapper objectMapper,
+                              IdGenerator idGenerator,
+                              @Value("${payment.pg-stub.target-url:http://localhost:8080/api/public/payments/webhooks}") String targetUrl) {
+        this.webhookService = webhookService;
+        this.objectMapper = objectMapper;
+        this.idGenerator = idGenerator;
+        this.targetUrl = targetUrl.endsWith("/") ? targetUrl.substring(0, targetUrl.length() - 1) : targetUrl;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    public PaymentGatewayStubDto.Result send(PaymentGatewayStubDto.Request request) throws InterruptedException {
+        PaymentWebhookHandler handler = webhookService.handler(request.getProvider());
+        PaymentGatewayStubDto.Event event = request.getEvent() != null ? request.getEvent() : PaymentGatewayStubDto.Event.paid;
+        List<String> merchantUids = merchantUids(request);
+        int copies = 1 + Math.max(0, request.getDuplicates() != null ? request.getDuplicates() : 0);
+        int concurrency = Math.max(1, Math.min(request.getConcurrency() != null ? request.getConcurrency() : 16, 256));
+        if ((long) merchantUids.size() * copies > MAX_REQUESTS) {
+            throw new IllegalArgumentException("한 번에 보낼 수 있는 웹훅은 최대 " + MAX_REQUESTS + "건입니다.");
+        }
+
+        List<String> bodies = new ArrayList<>();
+        for (String merchantUid : merchantUids) {
+            String body = body(handler.provider(), event, merchantUid, request.getAmount());
+            for (int copy = 0; copy < copies; copy++) {
+                bodies.add(body);
+            }
+        }
+
+        URI uri = URI.create(targetUrl + "/" + handler.provider());
+        long[] latencies = new long[bodies.size()];
+        AtomicInteger acknowledged = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger retries = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "pg-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long startedAt = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < bodies.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    long sentAt = System.nanoTime();
+                    int status = post(uri, handler, bodies.get(index), retries);
+                    latencies[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentAt);
+                    if (status >= 200 && status < 300) {
+                        acknowledged.incrementAndGet();
+                    } else if (status == 400 || status == 401) {
+                        rejected.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    errors.incrementAndGet();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        Arrays.sort(latencies);
+        return PaymentGatewayStubDto.Result.builder()
+                .sent(bodies.size())
+                .acknowledged(acknowledged.get())
+                .rejected(rejected.get())
+                .errors(errors.get())
+                .retries(retries.get())
+                .elapsedMs(elapsedMs)
+                .requestsPerSecond(bodies.size() * 1000.0 / elapsedMs)
+                .p50Ms(percentile(latencies, 0.50))
+                .p99Ms(percentile(latencies, 0.99))
+                .maxMs(latencies.length > 0 ? latencies[latencies.length - 1] : 0)
+                .build();
+    }
+
+    // 서명은 재전송마다 새로 만듦 (PortOne 은 시각이 서명에 들어감)
+    private int post(URI uri, PaymentWebhookHandler handler, String body, AtomicInteger retries) throws InterruptedException {
+        int status = -1;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+            handler.sign(body).forEach(builder::header);
+            try {
+                status = httpClient.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status < 500) {
+                    return status;
+                }
+            } catch (IOException e) {
+                log.debug("PG 스텁 전송 실패: {}", e.getMessage());
+            }
+            if (attempt < MAX_ATTEMPTS) {
+                retries.incrementAndGet();
+                Thread.sleep(200L << attempt);
+            }
+        }
+        return status;
+    }
+
+    private String body(String provider, PaymentGatewayStubDto.Event event, String merchantUid, Integer amount) {
+        String now = ZonedDateTime.now().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        Map<String, Object> root = new LinkedHashMap<>();
+        Map<String, Object> data = new LinkedHashMap<>();
+        if ("portone".equals(provider)) {
+            root.put("type", switch (event) {
+                case paid -> "Transaction.Paid";
+                case failed -> "Transaction.Failed";
+                case cancelled -> "Transaction.Cancelled";
+            });
+            root.put("timestamp", now);
+            data.put("storeId", "store-stub");
+            data.put("paymentId", merchantUid);
+            data.put("transactionId", UUID.randomUUID().toString());
+        } else {
+            root.put("eventType", "PAYMENT_STATUS_CHANGED");
+            root.put("createdAt", now);
+            data.put("paymentKey", "stub_" + UUID.randomUUID());
+            data.put("orderId", merchantUid);
+            data.put("status", switch (event) {
+                case paid -> "DONE";
+                case failed -> "ABORTED";
+                case cancelled -> "CANCELED";
+            });
+            if (amount != null) {
+                data.put("totalAmount", amount);
+            }
+        }
+        root.put("data", data);
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("스텁 웹훅 본문 생성 실패", e);
+        }
+    }
+
+    private List<String> merchantUids(PaymentGatewayStubDto.Request request) {
+        if (request.getMerchantUids() != null && !request.getMerchantUids().isEmpty()) {
+            return request.getMerchantUids();
+        }
+        int count = request.getCount() != null ? request.getCount() : 0;
+        if (count <= 0) {
+            throw new IllegalArgumentException("merchantUids 또는 count 가 필요합니다.");
+        }
+        if (request.getPrefix() == null) {
+            return IntStream.range(0, count).mapToObj(i -> idGenerator.nextMerchantUid()).toList();
+        }
+        return IntStream.rangeClosed(1, count).mapToObj(i -> request.getPrefix() + "-" + i).toList();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
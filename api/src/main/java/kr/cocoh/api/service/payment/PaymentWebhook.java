@@ -0,0 +1,13 @@
+package kr.cocoh.api.service.payment;
+
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+
+/**
+ * PG 웹훅 한 건을 해석한 결과
+ * @param eventType 중복 판별 단위 (같은 결제의 같은 eventType 은 한 번만 처리)
+ * @param targetStatus 반영할 결제 상태 (상태 변화가 없는 이벤트면 null)
+ * @param amount PG 가 알려 준 결제 금액 (없으면 null)
+ */
+public record PaymentWebhook(String merchantUid, String eventType, PaymentStatus targetStatus,
+                             Integer amount, String receiptUrl) {
+}
@@ -0,0 +1,64 @@
+package kr.cocoh.api.service.payment;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * PG 사별 웹훅 서명 확인과 본문 해석
+ */
+public interface PaymentWebhookHandler {
+
+    /**
+     * 경로와 payment_webhook_events.provider 에 쓰는 이름
+     */
+    String provider();
+
+    /**
+     * 서명 확인
+     * @param headers 소문자 헤더 이름 → 값
+     * @throws WebhookSignatureException 서명이 없거나 맞지 않을 때
+     */
+    void verify(Map<String, String> headers, String body);
+
+    /**
+     * 본문 해석
+     * @throws IllegalArgumentException 형식이 맞지 않을 때
+     */
+    PaymentWebhook parse(String body);
+
+    /**
+     * PG 결제 조회 API 로 지금 결제 상태 확인 (웹훅 본문의 상태와 금액을 그대로 반영하지 않기 위해)
+     * @param payload 수신한 웹훅 본문
+     * @throws IllegalArgumentException PG 에 해당 주문의 결제가 없을 때
+     * @throws IllegalStateException PG 호출이 실패했을 때
+     */
+    PgPayment lookup(String merchantUid, String payload);
+
+    /**
+     * 서명용 웹훅 헤더 (스텁이 같은 방식으로 서명해 보낼 때 사용)
+     */
+    Map<String, String> sign(String body);
+
+    static byte[] hmacSha256(byte[] key, String message) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HMAC 계산 실패", e);
+        }
+    }
+
+    /**
+     * 시간 차 공격을 막기 위한 고정 시간 비교
+     */
+    static boolean matches(byte[] expected, byte[] actual) {
+        return MessageDigest.isEqual(expected, actual);
+    }
+}
@@ -0,0 +1,69 @@
+package kr.cocoh.api.service.payment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import kr.cocoh.api.repository.PaymentWebhookRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PG 웹훅 수신
+ * 서명을 확인하고 수신함에 저장만 한 뒤 바로 응답한다. 상태 반영은 PaymentWebhookWorker 가 한다.
+ * PG 재전송은 (provider, merchant_uid, event_type) 고유 인덱스에서 걸러진다.
+ */
+@Slf4j
+@Service
+public class PaymentWebhookService {
+
+    private final Map<String, PaymentWebhookHandler> handlers;
+    private final PaymentWebhookRepository webhookRepository;
+    private final MeterRegistry meterRegistry;
+
+    public PaymentWebhookService(List<PaymentWebhookHandler> handlers,
+                                 PaymentWebhookRepository webhookRepository,
+                                 MeterRegistry meterRegistry) {
+        this.handlers = handlers.stream().collect(Collectors.toMap(PaymentWebhookHandler::provider, Function.identity()));
+        this.webhookRepository = webhookRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 웹훅 수신
+     * @param headers 소문자 헤더 이름 → 값
+     * @return 새로 저장했으면 true, 이미 받은 이벤트면 false
+     * @throws IllegalArgumentException 모르는 PG 이거나 본문 형식이 맞지 않을 때
+     * @throws WebhookSignatureException 서명이 맞지 않을 때
+     */
+    public boolean receive(String provider, Map<String, String> headers, String body) {
+        PaymentWebhookHandler handler = handler(provider);
+        try {
+            handler.verify(headers, body);
+        } catch (WebhookSignatureException e) {
+            count(provider, "rejected");
+            log.warn("웹훅 서명 확인 실패 - PG: {}, 사유: {}", provider, e.getMessage());
+            throw e;
+        }
+
+        PaymentWebhook webhook = handler.parse(body);
+        boolean inserted = webhookRepository.insert(provider, webhook, body);
+        count(provider, inserted ? "accepted" : "duplicate");
+        return inserted;
+    }
+
+    public PaymentWebhookHandler handler(String provider) {
+        PaymentWebhookHandler handler = handlers.get(provider);
+        if (handler == null) {
+            throw new IllegalArgumentException("지원하지 않는 PG 입니다: " + provider);
+        }
+        return handler;
+    }
+
+    private void count(String provider, String result) {
+        meterRegistry.counter("payment.webhook.received", "provider", provider, "result", result).increment();
+    }
+}
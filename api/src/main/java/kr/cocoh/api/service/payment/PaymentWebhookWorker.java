@@ -0,0 +1,253 @@
+package kr.cocoh.api.service.payment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import kr.cocoh.api.model.pay.Payment;
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+import kr.cocoh.api.model.pay.Subscription;
+import kr.cocoh.api.repository.PaymentRepository;
+import kr.cocoh.api.repository.PaymentWebhookRepository;
+import kr.cocoh.api.repository.PaymentWebhookRepository.InboxEvent;
+import kr.cocoh.api.service.outbox.OutboxPublisher;
+import kr.cocoh.api.service.revenue.RevenueRollupService;
+import kr.cocoh.api.service.subscription.SubscriptionExpirySweeper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PG 웹훅 수신함 처리 워커
+ * 차례가 된 이벤트를 processing 으로 가져가 워커 풀에서 한 건씩 별도 트랜잭션으로 결제/구독 상태에 반영한다.
+ * 같은 결제의 이벤트는 결제 행 잠금으로 직렬화되고, 상태는 pending → failed → completed → refunded 방향으로만 바뀌므로
+ * 이벤트가 늦게 또는 순서가 바뀌어 도착해도 결과가 같다.
+ * 결제 행이 아직 없으면(웹훅이 주문 저장보다 먼저 온 경우) 백오프 후 다시 시도한다.
+ * 토스페이먼츠 결제 웹훅은 서명이 없고 PortOne 웹훅은 금액을 보내지 않으므로, 상태를 바꾸는 이벤트는
+ * 반영 전에 PG 결제 조회 API 로 상태와 금액을 확인하고 다르면 거부한다. 조회는 결제 행 잠금을 잡기 전에 한다.
+ */
+@Slf4j
+@Service
+public class PaymentWebhookWorker {
+
+    public static final String PAYMENT_AGGREGATE_TYPE = "payment";
+    public static final String STATUS_CHANGED = "status-changed";
+
+    private final PaymentWebhookRepository webhookRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentWebhookService webhookService;
+    private final RefundService refundService;
+    private final OutboxPublisher outboxPublisher;
+    private final RevenueRollupService revenueRollupService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${payment.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payment.webhook.processing-timeout-seconds:60}")
+    private long processingTimeoutSeconds;
+
+    @Value("${payment.webhook.max-attempts:12}")
+    private int maxAttempts;
+
+    @Value("${payment.webhook.retry-base-seconds:5}")
+    private long retryBaseSeconds;
+
+    @Value("${payment.webhook.retry-max-seconds:3600}")
+    private long retryMaxSeconds;
+
+    public PaymentWebhookWorker(PaymentWebhookRepository webhookRepository,
+                                PaymentRepository paymentRepository,
+                                PaymentWebhookService webhookService,
+                                RefundService refundService,
+                                OutboxPublisher outboxPublisher,
+                                RevenueRollupService revenueRollupService,
+                                MeterRegistry meterRegistry,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${payment.webhook.workers:4}") int workers,
+                                @Value("${payment.webhook.queue-capacity:500}") int queueCapacity) {
+        this.webhookRepository = webhookRepository;
+        this.paymentRepository = paymentRepository;
+        this.webhookService = webhookService;
+        this.refundService = refundService;
+        this.outboxPublisher = outboxPublisher;
+        this.revenueRollupService = revenueRollupService;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "payment-webhook-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("payment.webhook.queue.size", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.webhook.poll-interval-ms:500}")
+    public void poll() {
+        try {
+            int capacity = Math.min(batchSize, executor.getQueue().remainingCapacity());
+            if (capacity <= 0) {
+                return;
+            }
+            List<InboxEvent> claimed = transactionTemplate.execute(status ->
+                    webhookRepository.claimDue(capacity, processingTimeoutSeconds));
+            if (claimed == null) {
+                return;
+            }
+            for (InboxEvent event : claimed) {
+                submit(event);
+            }
+        } catch (Exception e) {
+            log.error("웹훅 수신함 처리 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private void submit(InboxEvent event) {
+        if (!inFlight.add(event.id())) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(event);
+                } finally {
+                    inFlight.remove(event.id());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // processing 제한 시간이 지나면 다시 가져감
+            inFlight.remove(event.id());
+        }
+    }
+
+    void process(InboxEvent event) {
+        try {
+            PgPayment pgPayment = event.targetStatus() != null
+                    ? webhookService.handler(event.provider()).lookup(event.merchantUid(), event.payload())
+                    : null;
+            transactionTemplate.executeWithoutResult(status -> {
+                apply(event, pgPayment);
+                webhookRepository.markProcessed(event.id());
+            });
+            count(event, "processed");
+        } catch (IllegalArgumentException e) {
+            // 금액 불일치처럼 다시 시도해도 같은 결과인 오류
+            webhookRepository.markFailed(event.id(), e.getMessage());
+            count(event, "failed");
+            log.error("웹훅 반영 거부 - PG: {}, 주문: {}, 오류: {}", event.provider(), event.merchantUid(), e.getMessage());
+        } catch (Exception e) {
+            if (event.attempts() + 1 >= maxAttempts) {
+                webhookRepository.markFailed(event.id(), e.getMessage());
+                count(event, "failed");
+                log.error("웹훅 처리 포기 - PG: {}, 주문: {}, 이벤트: {}, 오류: {}",
+                        event.provider(), event.merchantUid(), event.eventType(), e.getMessage());
+                return;
+            }
+            long backoff = Math.min(retryBaseSeconds << Math.min(event.attempts(), 20), retryMaxSeconds);
+            webhookRepository.markRetry(event.id(), e.getMessage(), backoff);
+            count(event, "retried");
+            log.warn("웹훅 처리 실패, {}초 후 재시도 - 주문: {}, 오류: {}", backoff, event.merchantUid(), e.getMessage());
+        }
+    }
+
+    private void apply(InboxEvent event, PgPayment pgPayment) {
+        Payment payment = paymentRepository.findByMerchantUidForUpdate(event.merchantUid())
+                .orElseThrow(() -> new IllegalStateException("결제를 찾을 수 없습니다: " + event.merchantUid()));
+        PaymentStatus target = event.targetStatus();
+        if (target == null || rank(target) <= rank(payment.getPaymentStatus())) {
+            return;
+        }
+        if (target == PaymentStatus.completed && event.amount() != null && !event.amount().equals(payment.getAmount())) {
+            throw new IllegalArgumentException("결제 금액이 일치하지 않습니다 - 주문 금액: " + payment.getAmount()
+                    + ", PG 금액: " + event.amount());
+        }
+        if (pgPayment.status() != target) {
+            throw new IllegalArgumentException("PG 결제 상태가 웹훅과 다릅니다 - 웹훅: " + target
+                    + ", PG: " + pgPayment.status());
+        }
+        if (target == PaymentStatus.completed && !payment.getAmount().equals(pgPayment.amount())) {
+            throw new IllegalArgumentException("결제 금액이 일치하지 않습니다 - 주문 금액: " + payment.getAmount()
+                    + ", PG 금액: " + pgPayment.amount());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        payment.setPaymentStatus(target);
+        // 본문은 서명이 없을 수 있으므로 영수증 주소도 PG 조회 결과를 씀
+        if (pgPayment.receiptUrl() != null) {
+            payment.setReceiptUrl(pgPayment.receiptUrl());
+        }
+        // 결제 완료 웹훅보다 취소 웹훅이 먼저 반영되어도 결제는 된 것이므로 매출에 넣음
+        if ((target == PaymentStatus.completed || target == PaymentStatus.refunded) && payment.getPaymentDate() == null) {
+            payment.setPaymentDate(now);
+            revenueRollupService.recordPayment(payment);
+        }
+        if (target == PaymentStatus.refunded) {
+            refundService.settleFullCancel(payment, now);
+        }
+        outboxPublisher.publish(PAYMENT_AGGREGATE_TYPE, payment.getId(), STATUS_CHANGED,
+                "{\"status\":\"" + target.name() + "\"}");
+
+        Subscription subscription = payment.getSubscription();
+        if (subscription == null) {
+            return;
+        }
+        if (target == PaymentStatus.completed && subscription.getStatus() == Subscription.Status.expired
+                && subscription.getEndDate().isAfter(now)) {
+            subscription.setStatus(Subscription.Status.active);
+            outboxPublisher.publish(SubscriptionExpirySweeper.AGGREGATE_TYPE, subscription.getId(), "activated",
+                    userPayload(payment));
+        } else if (target == PaymentStatus.refunded && subscription.getStatus() == Subscription.Status.active) {
+            subscription.setStatus(Subscription.Status.cancelled);
+            subscription.setAutoRenewal(false);
+            outboxPublisher.publish(SubscriptionExpirySweeper.AGGREGATE_TYPE, subscription.getId(), "cancelled",
+                    userPayload(payment));
+        }
+    }
+
+    private static String userPayload(Payment payment) {
+        return "{\"userId\":" + payment.getUser().getId() + "}";
+    }
+
+    // 상태는 이 순서로만 앞으로 감 (실패한 결제는 다시 결제될 수 있음)
+    private static int rank(PaymentStatus status) {
+        return switch (status) {
+            case pending -> 0;
+            case failed -> 1;
+            case completed -> 2;
+            case refunded -> 3;
+        };
+    }
+
+    private void count(InboxEvent event, String result) {
+        meterRegistry.counter("payment.webhook.processed", "provider", event.provider(), "result", result).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package kr.cocoh.api.service.payment;
+
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+
+/**
+ * PG 결제 조회 API 가 알려 준 지금 결제 상태
+ * @param status 반영할 결제 상태 (대기 중처럼 반영할 상태가 아니면 null)
+ * @param amount PG 에서 결제된 금액
+ */
+public record PgPayment(String merchantUid, PaymentStatus status, Integer amount, String receiptUrl) {
+}
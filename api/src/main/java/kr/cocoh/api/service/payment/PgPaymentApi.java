@@ -0,0 +1,64 @@
+package kr.cocoh.api.service.payment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * PG 결제 조회 API 호출
+ * 404 는 다시 물어도 같으므로 IllegalArgumentException, 그 밖의 실패는 다시 시도하도록 IllegalStateException 으로 알린다.
+ */
+final class PgPaymentApi {
+
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+
+    PgPaymentApi(ObjectMapper objectMapper, String baseUrl) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    JsonNode get(String path, String authorization) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException("PG 결제 조회 실패: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("PG 결제 조회가 중단되었습니다.", e);
+        }
+
+        if (response.statusCode() == 404) {
+            throw new IllegalArgumentException("PG 에 결제가 없습니다: " + path);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("PG 결제 조회 실패 - 응답 코드: " + response.statusCode());
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("PG 결제 조회 응답이 JSON 형식이 아닙니다.");
+        }
+    }
+
+    static String encode(String pathSegment) {
+        return URLEncoder.encode(pathSegment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
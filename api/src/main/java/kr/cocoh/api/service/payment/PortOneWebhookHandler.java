@@ -0,0 +1,164 @@
+package kr.cocoh.api.service.payment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+
+/**
+ * PortOne V2 웹훅 (Standard Webhooks 서명)
+ * 서명 대상은 "{webhook-id}.{webhook-timestamp}.{본문}" 이고, webhook-signature 에 "v1,{base64}" 가 공백으로 이어진다.
+ * data.paymentId 가 가맹점 주문 번호(merchantUid)이다.
+ * 본문에 금액이 없으므로 반영 전에 결제 단건 조회 API(GET /payments/{paymentId})로 상태와 금액을 확인한다.
+ */
+@Component
+public class PortOneWebhookHandler implements PaymentWebhookHandler {
+
+    private static final String SECRET_PREFIX = "whsec_";
+
+    private final ObjectMapper objectMapper;
+    private final byte[] secret;
+    private final String apiSecret;
+    private final PgPaymentApi paymentApi;
+    private final long toleranceSeconds;
+
+    public PortOneWebhookHandler(ObjectMapper objectMapper,
+                                 @Value("${api.portone.webhook-secret:}") String secret,
+                                 @Value("${api.portone.secret:}") String apiSecret,
+                                 @Value("${api.portone.base-url:https://api.portone.io}") String apiBaseUrl,
+                                 @Value("${payment.webhook.timestamp-tolerance-seconds:300}") long toleranceSeconds) {
+        this.objectMapper = objectMapper;
+        this.secret = decodeSecret(secret);
+        this.apiSecret = apiSecret;
+        this.paymentApi = new PgPaymentApi(objectMapper, apiBaseUrl);
+        this.toleranceSeconds = toleranceSeconds;
+    }
+
+    @Override
+    public String provider() {
+        return "portone";
+    }
+
+    @Override
+    public void verify(Map<String, String> headers, String body) {
+        if (secret.length == 0) {
+            throw new WebhookSignatureException("PortOne 웹훅 시크릿이 설정되지 않았습니다.");
+        }
+        String id = headers.get("webhook-id");
+        String timestamp = headers.get("webhook-timestamp");
+        String signatures = headers.get("webhook-signature");
+        if (id == null || timestamp == null || signatures == null) {
+            throw new WebhookSignatureException("웹훅 서명 헤더가 없습니다.");
+        }
+
+        long sentAt;
+        try {
+            sentAt = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            throw new WebhookSignatureException("웹훅 시각 형식이 올바르지 않습니다.");
+        }
+        if (Math.abs(Instant.now().getEpochSecond() - sentAt) > toleranceSeconds) {
+            throw new WebhookSignatureException("웹훅 시각이 허용 범위를 벗어났습니다.");
+        }
+
+        byte[] expected = PaymentWebhookHandler.hmacSha256(secret, id + "." + timestamp + "." + body);
+        for (String signature : signatures.split(" ")) {
+            int comma = signature.indexOf(',');
+            if (comma < 0 || !"v1".equals(signature.substring(0, comma))) {
+                continue;
+            }
+            try {
+                if (PaymentWebhookHandler.matches(expected, Base64.getDecoder().decode(signature.substring(comma + 1)))) {
+                    return;
+                }
+            } catch (IllegalArgumentException ignored) {
+                // 형식이 잘못된 서명은 건너뜀
+            }
+        }
+        throw new WebhookSignatureException("웹훅 서명이 일치하지 않습니다.");
+    }
+
+    @Override
+    public PaymentWebhook parse(String body) {
+        JsonNode root = readTree(body);
+        String type = root.path("type").asText(null);
+        String paymentId = root.path("data").path("paymentId").asText(null);
+        if (type == null || paymentId == null || paymentId.isBlank()) {
+            throw new IllegalArgumentException("PortOne 웹훅에 type 또는 paymentId 가 없습니다.");
+        }
+        return new PaymentWebhook(paymentId, type, targetStatus(type), null, null);
+    }
+
+    @Override
+    public PgPayment lookup(String merchantUid, String payload) {
+        if (apiSecret == null || apiSecret.isBlank()) {
+            throw new IllegalStateException("PortOne API 시크릿이 설정되지 않았습니다.");
+        }
+        JsonNode payment = paymentApi.get("/payments/" + PgPaymentApi.encode(merchantUid), "PortOne " + apiSecret);
+        JsonNode total = payment.path("amount").path("total");
+        return new PgPayment(payment.path("id").asText(merchantUid), paymentStatus(payment.path("status").asText("")),
+                total.isNumber() ? total.asInt() : null, payment.path("receiptUrl").asText(null));
+    }
+
+    @Override
+    public Map<String, String> sign(String body) {
+        String id = "msg_" + UUID.randomUUID();
+        String timestamp = String.valueOf(Instant.now().getEpochSecond());
+        String signature = Base64.getEncoder().encodeToString(
+                PaymentWebhookHandler.hmacSha256(secret, id + "." + timestamp + "." + body));
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("webhook-id", id);
+        headers.put("webhook-timestamp", timestamp);
+        headers.put("webhook-signature", "v1," + signature);
+        return headers;
+    }
+
+    private PaymentStatus targetStatus(String type) {
+        return switch (type) {
+            case "Transaction.Paid" -> PaymentStatus.completed;
+            case "Transaction.Failed" -> PaymentStatus.failed;
+            case "Transaction.Cancelled" -> PaymentStatus.refunded;
+            // Ready, VirtualAccountIssued, PartialCancelled, PayPending, CancelPending 는 기록만 함
+            default -> null;
+        };
+    }
+
+    private PaymentStatus paymentStatus(String status) {
+        return switch (status) {
+            // 부분 취소된 결제도 결제는 된 것 (부분 환불은 RefundService 가 기록함)
+            case "PAID", "PARTIAL_CANCELLED" -> PaymentStatus.completed;
+            case "FAILED" -> PaymentStatus.failed;
+            case "CANCELLED" -> PaymentStatus.refunded;
+            default -> null;
+        };
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("웹훅 본문이 JSON 형식이 아닙니다.");
+        }
+    }
+
+    private static byte[] decodeSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            return new byte[0];
+        }
+        if (secret.startsWith(SECRET_PREFIX)) {
+            return Base64.getDecoder().decode(secret.substring(SECRET_PREFIX.length()));
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,218 @@
+package kr.cocoh.api.service.payment;
+
+import java.time.LocalDateTime;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import kr.cocoh.api.dto.RefundDto;
+import kr.cocoh.api.model.pay.Payment;
+import kr.cocoh.api.model.pay.PaymentRefund;
+import kr.cocoh.api.model.pay.PaymentRefund.RefundStatus;
+import kr.cocoh.api.repository.PaymentRefundRepository;
+import kr.cocoh.api.repository.RefundLedgerRepository;
+import kr.cocoh.api.repository.RefundLedgerRepository.RefundRow;
+import kr.cocoh.api.service.revenue.RevenueRollupService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 환불 엔진
+ * 요청 시 payments.refunded_amount 를 조건부 UPDATE 한 문장으로 예약하므로 결제 행을 SELECT ... FOR UPDATE 로 잡지 않고,
+ * 같은 결제에 동시에 들어온 환불도 합계가 결제 금액을 넘지 않는다.
+ * 예약은 대기(pending) 환불로 남고, 완료하면 매출 집계에 반영하고, 거절하면 예약을 돌려준다.
+ * 모든 상태 변경은 "pending 일 때만" 조건부라 재시도해도 한 번만 반영된다.
+ * 결제 상태(refunded)는 PG 취소 웹훅이 바꾸며, 전체 취소 시 남은 대기 환불과 잔액을 여기서 정리한다.
+ */
+@Slf4j
+@Service
+public class RefundService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final RefundLedgerRepository ledgerRepository;
+    private final PaymentRefundRepository paymentRefundRepository;
+    private final RevenueRollupService revenueRollupService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    public RefundService(RefundLedgerRepository ledgerRepository,
+                         PaymentRefundRepository paymentRefundRepository,
+                         RevenueRollupService revenueRollupService,
+                         MeterRegistry meterRegistry,
+                         PlatformTransactionManager transactionManager) {
+        this.ledgerRepository = ledgerRepository;
+        this.paymentRefundRepository = paymentRefundRepository;
+        this.revenueRollupService = revenueRollupService;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 환불 요청 (금액 예약 + 대기 환불 생성)
+     * 예약 UPDATE 를 먼저 해 결제 행의 배타 잠금을 처음부터 잡으므로, 환불 INSERT 의 외래 키 공유 잠금과 교착되지 않는다.
+     */
+    public RefundDto.Refund request(Long paymentId, Integer amount, String reason, String idempotencyKey) {
+        if (paymentId == null || amount == null || amount <= 0) {
+            throw new IllegalArgumentException("환불 금액은 0보다 커야 합니다.");
+        }
+        if (reason == null || reason.isBlank()) {
+            throw new IllegalArgumentException("환불 사유는 필수입니다.");
+        }
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 1 ~ " + MAX_KEY_LENGTH + "자여야 합니다.");
+        }
+
+        // 재시도는 드물므로 키를 먼저 조회하지 않고, 예약/INSERT 가 실패했을 때만 기존 환불을 찾음
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long refundId = transactionTemplate.execute(status -> {
+                    if (!ledgerRepository.reserve(paymentId, amount)) {
+                        throw notRefundable(paymentId, amount);
+                    }
+                    return ledgerRepository.insertPending(paymentId, idempotencyKey, amount, reason);
+                });
+                count("reserved");
+                log.info("환불 예약 - 결제: {}, 환불: {}, 금액: {}", paymentId, refundId, amount);
+                return RefundDto.Refund.builder()
+                        .id(refundId)
+                        .paymentId(paymentId)
+                        .amount(amount)
+                        .reason(reason)
+                        .status(RefundStatus.pending.name())
+                        .createdAt(LocalDateTime.now())
+                        .build();
+            } catch (DuplicateKeyException e) {
+                // 같은 키의 동시 요청은 먼저 커밋된 것이 이기고, 이 트랜잭션의 예약은 롤백됨
+                return replay(ledgerRepository.findByIdempotencyKey(paymentId, idempotencyKey).orElseThrow(() -> e), amount);
+            } catch (IllegalArgumentException e) {
+                RefundRow raced = ledgerRepository.findByIdempotencyKey(paymentId, idempotencyKey).orElse(null);
+                if (raced != null) {
+                    return replay(raced, amount);
+                }
+                count("rejected");
+                throw e;
+            } catch (TransientDataAccessException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new IllegalStateException("환불 요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도하세요.", e);
+                }
+                count("retried");
+            }
+        }
+    }
+
+    /**
+     * 환불 완료 (PG 환불 확인 후, 이미 완료된 환불이면 그대로 반환)
+     */
+    public RefundDto.Refund complete(Long refundId, String adminMemo) {
+        return transactionTemplate.execute(status -> {
+            if (ledgerRepository.transition(refundId, RefundStatus.completed, adminMemo)) {
+                recordCompleted(refundId);
+                count("completed");
+            }
+            RefundRow row = findRow(refundId);
+            if (row.status() == RefundStatus.rejected) {
+                throw new IllegalArgumentException("이미 거절된 환불입니다.");
+            }
+            return toDto(row);
+        });
+    }
+
+    /**
+     * 환불 거절 (예약한 금액을 돌려줌, 이미 거절된 환불이면 그대로 반환)
+     */
+    public RefundDto.Refund reject(Long refundId, String adminMemo) {
+        return transactionTemplate.execute(status -> {
+            boolean rejected = ledgerRepository.transition(refundId, RefundStatus.rejected, adminMemo);
+            RefundRow row = findRow(refundId);
+            if (rejected) {
+                if (!ledgerRepository.release(row.paymentId(), row.amount())) {
+                    log.warn("환불 예약 반납 실패 - 결제: {}, 환불: {}, 금액: {}", row.paymentId(), refundId, row.amount());
+                }
+                count("released");
+            } else if (row.status() == RefundStatus.completed) {
+                throw new IllegalArgumentException("이미 완료된 환불입니다.");
+            }
+            return toDto(row);
+        });
+    }
+
+    /**
+     * PG 전체 취소 반영 (결제 행을 잠근 웹훅 트랜잭션 안에서 호출)
+     * 대기 환불은 취소에 포함된 것으로 보고 완료하고, 예약되지 않은 잔액은 완료된 환불 한 건으로 남긴다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void settleFullCancel(Payment payment, LocalDateTime now) {
+        for (RefundRow row : ledgerRepository.findByPayment(payment.getId())) {
+            if (row.status() == RefundStatus.pending
+                    && ledgerRepository.transition(row.id(), RefundStatus.completed, "PG 전체 취소")) {
+                recordCompleted(row.id());
+            }
+        }
+
+        int remaining = ledgerRepository.reserveRemaining(payment.getId());
+        if (remaining <= 0) {
+            return;
+        }
+        PaymentRefund refund = paymentRefundRepository.save(PaymentRefund.builder()
+                .payment(payment)
+                .amount(remaining)
+                .reason("PG 결제 취소")
+                .status(RefundStatus.completed)
+                .refundDate(now)
+                .build());
+        revenueRollupService.recordRefund(refund);
+    }
+
+    private void recordCompleted(Long refundId) {
+        PaymentRefund refund = paymentRefundRepository.findById(refundId)
+                .orElseThrow(() -> new IllegalStateException("환불을 찾을 수 없습니다: " + refundId));
+        revenueRollupService.recordRefund(refund);
+    }
+
+    // 같은 키로 다시 온 요청은 처음 결과를 돌려주되, 내용이 다르면 키 재사용 오류
+    private RefundDto.Refund replay(RefundRow existing, int amount) {
+        if (existing.amount() != amount) {
+            throw new IllegalArgumentException("같은 Idempotency-Key 로 다른 금액의 환불을 요청했습니다.");
+        }
+        count("replayed");
+        return toDto(existing);
+    }
+
+    private IllegalArgumentException notRefundable(Long paymentId, int amount) {
+        return ledgerRepository.findBalance(paymentId)
+                .map(balance -> !"completed".equals(balance.paymentStatus())
+                        ? new IllegalArgumentException("환불할 수 없는 결제 상태입니다: " + balance.paymentStatus())
+                        : new IllegalArgumentException("환불 가능 금액을 넘었습니다 (남은 금액: "
+                                + (balance.amount() - balance.refundedAmount()) + "원, 요청: " + amount + "원)"))
+                .orElseGet(() -> new IllegalArgumentException("결제를 찾을 수 없습니다."));
+    }
+
+    private RefundRow findRow(Long refundId) {
+        return ledgerRepository.findById(refundId)
+                .orElseThrow(() -> new IllegalArgumentException("환불을 찾을 수 없습니다."));
+    }
+
+    private RefundDto.Refund toDto(RefundRow row) {
+        return RefundDto.Refund.builder()
+                .id(row.id())
+                .paymentId(row.paymentId())
+                .amount(row.amount())
+                .reason(row.reason())
+                .status(row.status().name())
+                .refundDate(row.refundDate())
+                .adminMemo(row.adminMemo())
+                .createdAt(row.createdAt())
+                .build();
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("payment.refund.requests", "result", result).increment();
+    }
+}
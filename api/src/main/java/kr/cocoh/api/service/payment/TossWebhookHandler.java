@@ -0,0 +1,185 @@
+package kr.cocoh.api.service.payment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+
+/**
+ * 토스페이먼츠 웹훅
+ * 토스페이먼츠는 지급대행 웹훅(payout.changed, seller.changed)에만 서명한다. 서명 대상은
+ * "{본문}:{tosspayments-webhook-transmission-time}" 이고, tosspayments-webhook-signature 에 "v1:{base64}" 가 쉼표로 이어진다.
+ * 가로챈 서명을 다시 보내지 못하도록 전송 시각이 허용 범위를 벗어나면 거부한다.
+ * 결제 상태 변경(PAYMENT_STATUS_CHANGED) 같은 서명 없는 웹훅은 그대로 받고, 워커가 결제 조회 API 로 확인한 뒤 반영한다.
+ * 결제 객체(data, 없으면 본문 자체)의 orderId 가 가맹점 주문 번호(merchantUid)이다.
+ * 반영 전에 결제 조회 API(GET /v1/payments/{paymentKey}, paymentKey 가 없으면 주문 번호로 조회)로 상태와 금액을 확인한다.
+ */
+@Component
+public class TossWebhookHandler implements PaymentWebhookHandler {
+
+    private static final Set<String> SIGNED_EVENT_TYPES = Set.of("payout.changed", "seller.changed");
+
+    private final ObjectMapper objectMapper;
+    private final byte[] secret;
+    private final String apiSecret;
+    private final PgPaymentApi paymentApi;
+    private final long toleranceSeconds;
+
+    public TossWebhookHandler(ObjectMapper objectMapper,
+                              @Value("${api.toss-payments.webhook-secret:}") String secret,
+                              @Value("${api.toss-payments.secret:}") String apiSecret,
+                              @Value("${api.toss-payments.base-url:https://api.tosspayments.com}") String apiBaseUrl,
+                              @Value("${payment.webhook.timestamp-tolerance-seconds:300}") long toleranceSeconds) {
+        this.objectMapper = objectMapper;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.apiSecret = apiSecret;
+        this.paymentApi = new PgPaymentApi(objectMapper, apiBaseUrl);
+        this.toleranceSeconds = toleranceSeconds;
+    }
+
+    @Override
+    public String provider() {
+        return "toss";
+    }
+
+    @Override
+    public void verify(Map<String, String> headers, String body) {
+        if (!SIGNED_EVENT_TYPES.contains(readTree(body).path("eventType").asText(""))) {
+            return;
+        }
+        if (secret.length == 0) {
+            throw new WebhookSignatureException("토스페이먼츠 웹훅 시크릿이 설정되지 않았습니다.");
+        }
+        String transmissionTime = headers.get("tosspayments-webhook-transmission-time");
+        String signatures = headers.get("tosspayments-webhook-signature");
+        if (transmissionTime == null || signatures == null) {
+            throw new WebhookSignatureException("웹훅 서명 헤더가 없습니다.");
+        }
+
+        Instant sentAt;
+        try {
+            sentAt = OffsetDateTime.parse(transmissionTime).toInstant();
+        } catch (DateTimeParseException e) {
+            throw new WebhookSignatureException("웹훅 시각 형식이 올바르지 않습니다.");
+        }
+        if (Math.abs(Duration.between(sentAt, Instant.now()).getSeconds()) > toleranceSeconds) {
+            throw new WebhookSignatureException("웹훅 시각이 허용 범위를 벗어났습니다.");
+        }
+
+        byte[] expected = PaymentWebhookHandler.hmacSha256(secret, body + ":" + transmissionTime);
+        for (String signature : signatures.split(",")) {
+            String trimmed = signature.trim();
+            if (!trimmed.startsWith("v1:")) {
+                continue;
+            }
+            try {
+                if (PaymentWebhookHandler.matches(expected, Base64.getDecoder().decode(trimmed.substring(3)))) {
+                    return;
+                }
+            } catch (IllegalArgumentException ignored) {
+                // 형식이 잘못된 서명은 건너뜀
+            }
+        }
+        throw new WebhookSignatureException("웹훅 서명이 일치하지 않습니다.");
+    }
+
+    @Override
+    public PaymentWebhook parse(String body) {
+        JsonNode root = readTree(body);
+        JsonNode payment = root.has("data") ? root.path("data") : root;
+        String eventType = root.path("eventType").asText("PAYMENT_STATUS_CHANGED");
+        String orderId = payment.path("orderId").asText(null);
+        String status = payment.path("status").asText(null);
+        if (orderId == null || orderId.isBlank() || status == null) {
+            throw new IllegalArgumentException("토스페이먼츠 웹훅에 orderId 또는 status 가 없습니다.");
+        }
+        Integer amount = payment.hasNonNull("totalAmount") ? payment.get("totalAmount").asInt() : null;
+        String receiptUrl = payment.path("receipt").path("url").asText(null);
+        return new PaymentWebhook(orderId, eventType + ":" + status, targetStatus(status), amount, receiptUrl);
+    }
+
+    @Override
+    public PgPayment lookup(String merchantUid, String payload) {
+        if (apiSecret == null || apiSecret.isBlank()) {
+            throw new IllegalStateException("토스페이먼츠 API 시크릿이 설정되지 않았습니다.");
+        }
+        String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((apiSecret + ":").getBytes(StandardCharsets.UTF_8));
+        String paymentKey = paymentKey(payload);
+        JsonNode payment = paymentApi.get(paymentKey != null
+                ? "/v1/payments/" + PgPaymentApi.encode(paymentKey)
+                : "/v1/payments/orders/" + PgPaymentApi.encode(merchantUid), authorization);
+
+        // 다른 주문의 paymentKey 를 끼워 넣은 본문이면 거부
+        String orderId = payment.path("orderId").asText(null);
+        if (!merchantUid.equals(orderId)) {
+            throw new IllegalArgumentException("조회한 결제의 주문 번호가 다릅니다 - 웹훅: " + merchantUid + ", PG: " + orderId);
+        }
+        JsonNode totalAmount = payment.path("totalAmount");
+        return new PgPayment(orderId, paymentStatus(payment.path("status").asText("")),
+                totalAmount.isNumber() ? totalAmount.asInt() : null, payment.path("receipt").path("url").asText(null));
+    }
+
+    /**
+     * 지급대행 웹훅과 같은 방식의 서명 헤더 (결제 웹훅에는 토스페이먼츠도 서명하지 않으므로 확인하지 않음)
+     */
+    @Override
+    public Map<String, String> sign(String body) {
+        String transmissionTime = ZonedDateTime.now().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        String signature = Base64.getEncoder().encodeToString(
+                PaymentWebhookHandler.hmacSha256(secret, body + ":" + transmissionTime));
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("tosspayments-webhook-transmission-time", transmissionTime);
+        headers.put("tosspayments-webhook-signature", "v1:" + signature);
+        return headers;
+    }
+
+    private PaymentStatus targetStatus(String status) {
+        return switch (status) {
+            case "DONE" -> PaymentStatus.completed;
+            case "ABORTED", "EXPIRED" -> PaymentStatus.failed;
+            case "CANCELED" -> PaymentStatus.refunded;
+            // READY, IN_PROGRESS, WAITING_FOR_DEPOSIT, PARTIAL_CANCELED 는 기록만 함
+            default -> null;
+        };
+    }
+
+    private PaymentStatus paymentStatus(String status) {
+        // 부분 취소된 결제도 결제는 된 것 (부분 환불은 RefundService 가 기록함)
+        return "PARTIAL_CANCELED".equals(status) ? PaymentStatus.completed : targetStatus(status);
+    }
+
+    private String paymentKey(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        JsonNode root = readTree(payload);
+        JsonNode payment = root.has("data") ? root.path("data") : root;
+        String paymentKey = payment.path("paymentKey").asText(null);
+        return paymentKey == null || paymentKey.isBlank() ? null : paymentKey;
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("웹훅 본문이 JSON 형식이 아닙니다.");
+        }
+    }
+}
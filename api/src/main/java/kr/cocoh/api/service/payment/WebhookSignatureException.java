@@ -0,0 +1,11 @@
+package kr.cocoh.api.service.payment;
+
+/**
+ * 웹훅 서명이 없거나 맞지 않을 때
+ */
+public class WebhookSignatureException extends RuntimeException {
+
+    public WebhookSignatureException(String message) {
+        super(message);
+    }
+}
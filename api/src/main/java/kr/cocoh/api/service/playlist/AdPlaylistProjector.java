@@ -0,0 +1,251 @@
+package kr.cocoh.api.service.playlist;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import kr.cocoh.api.dto.NearbySalonDto;
+import kr.cocoh.api.event.AdChangedEvent;
+import kr.cocoh.api.event.SalonLocationsChangedEvent;
+import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.model.ad.AdCampaign;
+import kr.cocoh.api.model.ad.AdLocation;
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.model.ad.AdMediaRendition;
+import kr.cocoh.api.model.ad.AdSchedule;
+import kr.cocoh.api.repository.AdPlaylistRepository;
+import kr.cocoh.api.repository.AdPlaylistRepository.EntryRow;
+import kr.cocoh.api.repository.AdPlaylistRepository.RadiusTarget;
+import kr.cocoh.api.repository.AdRepository;
+import kr.cocoh.api.service.geo.GeoMath;
+import kr.cocoh.api.service.geo.SalonGeoService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 플레이리스트 읽기 모델 갱신
+ * 광고 변경 이벤트를 쓰기 트랜잭션 안에서 받아 해당 광고의 행을 지우고 다시 만든다.
+ * 광고 한 건은 (지역 키 × 시간대) 마다 한 행이 되며, 행에는 미디어 목록까지 JSON 으로 미리 합쳐 둔다.
+ * 반경 타게팅은 반경 안 살롱들의 구/군 키에 넣고, 정확한 거리는 조회 시 디스플레이 위치로 거른다.
+ * 반경 안에 살롱이 새로 생기면 그 살롱의 구/군이 빠져 있으므로 살롱 위치 변경 이벤트로 해당 광고를 다시 만든다.
+ */
+@Slf4j
+@Service
+public class AdPlaylistProjector {
+
+    private static final String ANY = "";
+
+    private final AdRepository adRepository;
+    private final AdPlaylistRepository playlistRepository;
+    private final SalonGeoService salonGeoService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+
+    @Value("${playlist.rebuild-chunk-size:200}")
+    private int rebuildChunkSize;
+
+    public AdPlaylistProjector(AdRepository adRepository,
+                               AdPlaylistRepository playlistRepository,
+                               SalonGeoService salonGeoService,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
+        this.adRepository = adRepository;
+        this.playlistRepository = playlistRepository;
+        this.salonGeoService = salonGeoService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 위치 인덱스 재적재는 읽기 전용 트랜잭션 안에서 이벤트를 발행하므로 재투영은 새 트랜잭션에서
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 광고 변경 반영 (발행한 트랜잭션과 함께 커밋/롤백)
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAdChanged(AdChangedEvent event) {
+        project(new TreeSet<>(event.adIds()));
+    }
+
+    /**
+     * 새로 승인되었거나 위치가 바뀐 살롱을 덮는 반경 타게팅 광고 재투영
+     * 인덱스를 다시 적재한 노드마다 실행되지만 재투영은 멱등이라 결과는 같다.
+     */
+    @EventListener
+    public void onSalonLocationsChanged(SalonLocationsChangedEvent event) {
+        try {
+            Set<Long> adIds = new TreeSet<>();
+            for (RadiusTarget target : playlistRepository.findRadiusTargets()) {
+                if (event.salons().stream().anyMatch(salon -> GeoMath.distanceMeters(target.latitude(),
+                        target.longitude(), salon.latitude(), salon.longitude()) <= target.meters())) {
+                    adIds.add(target.adId());
+                }
+            }
+            if (adIds.isEmpty()) {
+                return;
+            }
+
+            List<Long> ids = List.copyOf(adIds);
+            int chunkSize = Math.max(rebuildChunkSize, 1);
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                Set<Long> chunk = new TreeSet<>(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+                newTransactionTemplate.executeWithoutResult(status -> project(chunk));
+            }
+            log.info("살롱 위치 변경으로 반경 타게팅 광고 재투영: 살롱 {}곳, 광고 {}건", event.salons().size(), ids.size());
+        } catch (Exception e) {
+            log.error("반경 타게팅 광고 재투영 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 전체 재구성
+     * 광고 ID 순서로 청크마다 별도 트랜잭션에서 다시 만들므로, 진행 중에도 디바이스는 기존 행을 계속 읽는다.
+     * 삭제된 광고의 행은 외래 키 ON DELETE CASCADE 로 이미 정리되어 있다.
+     * @return 처리한 광고 수
+     */
+    public int rebuildAll() {
+        long lastId = 0;
+        int processed = 0;
+        while (true) {
+            List<Long> adIds = playlistRepository.findAdIdsAfter(lastId, rebuildChunkSize);
+            if (adIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> project(new TreeSet<>(adIds)));
+            processed += adIds.size();
+            lastId = adIds.get(adIds.size() - 1);
+        }
+        log.info("플레이리스트 읽기 모델 재구성 완료: 광고 {}건", processed);
+        return processed;
+    }
+
+    private void project(Set<Long> adIds) {
+        if (adIds.isEmpty()) {
+            return;
+        }
+        playlistRepository.lockAds(adIds);
+        playlistRepository.deleteByAdIds(adIds);
+
+        List<EntryRow> rows = new ArrayList<>();
+        for (Ad ad : adRepository.findForPlaylistByIdIn(adIds)) {
+            rows.addAll(toRows(ad));
+        }
+        playlistRepository.insertAll(rows);
+    }
+
+    private List<EntryRow> toRows(Ad ad) {
+        AdCampaign campaign = ad.getCampaign();
+        if (!Boolean.TRUE.equals(ad.getIsActive()) || ad.getMedia().isEmpty()
+                || (campaign != null && !campaign.getEndDate().isAfter(LocalDateTime.now()))) {
+            return List.of();
+        }
+
+        List<PlaylistAd.Media> media = ad.getMedia().stream()
+                .sorted(Comparator.comparing(AdMedia::getOrder).thenComparing(AdMedia::getId))
+                .map(this::toMedia)
+                .toList();
+
+        List<EntryRow> rows = new ArrayList<>();
+        Set<Integer> slots = slotHours(ad.getSchedules());
+        for (Map.Entry<Area, Set<PlaylistAd.Radius>> target : targetAreas(ad.getLocations()).entrySet()) {
+            PlaylistAd payload = new PlaylistAd(ad.getId(), ad.getTitle(), ad.getType().name(),
+                    ad.getSalon() != null ? ad.getSalon().getId() : null,
+                    campaign != null ? campaign.getStartDate() : null,
+                    campaign != null ? campaign.getEndDate() : null,
+                    List.copyOf(target.getValue()), media);
+            String json = toJson(payload);
+            for (int slot : slots) {
+                rows.add(new EntryRow(target.getKey().city(), target.getKey().district(), slot, ad.getId(),
+                        payload.startDate(), payload.endDate(), json));
+            }
+        }
+        return rows;
+    }
+
+    // 스케줄이 없으면 하루 종일
+    private Set<Integer> slotHours(List<AdSchedule> schedules) {
+        Set<Integer> slots = new TreeSet<>();
+        for (AdSchedule schedule : schedules) {
+            slots.add(schedule.getTime().getHour());
+        }
+        if (slots.isEmpty()) {
+            for (int hour = 0; hour < 24; hour++) {
+                slots.add(hour);
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * 지역 키별 반경 조건 (빈 집합이면 조건 없이 노출)
+     */
+    private Map<Area, Set<PlaylistAd.Radius>> targetAreas(List<AdLocation> locations) {
+        Map<Area, Set<PlaylistAd.Radius>> areas = new LinkedHashMap<>();
+        Set<Area> unrestricted = new HashSet<>();
+        if (locations.isEmpty()) {
+            unrestricted.add(new Area(ANY, ANY));
+        }
+
+        for (AdLocation location : locations) {
+            switch (location.getTargetType()) {
+                case nationwide -> unrestricted.add(new Area(ANY, ANY));
+                case administrative -> unrestricted.add(new Area(location.getCity(),
+                        location.getDistrict() != null ? location.getDistrict() : ANY));
+                case radius -> {
+                    PlaylistAd.Radius radius = new PlaylistAd.Radius(location.getLatitude().doubleValue(),
+                            location.getLongitude().doubleValue(), location.getRadiusMeters());
+                    for (NearbySalonDto salon : salonGeoService.findWithinRadius(
+                            radius.latitude(), radius.longitude(), radius.meters())) {
+                        areas.computeIfAbsent(new Area(salon.getCity(), salon.getDistrict()), key -> new LinkedHashSet<>())
+                                .add(radius);
+                    }
+                }
+            }
+        }
+
+        for (Area area : unrestricted) {
+            areas.put(area, Set.of());
+        }
+        return areas;
+    }
+
+    private PlaylistAd.Media toMedia(AdMedia media) {
+        Map<String, String> renditions = new LinkedHashMap<>();
+        for (AdMediaRendition rendition : media.getRenditions()) {
+            renditions.put(rendition.getVariant().name(), rendition.getUrl());
+        }
+        return new PlaylistAd.Media(media.getId(), media.getUrl(), media.getType().name(), media.getSize().name(),
+                media.getOrder(), media.getDuration(), media.getIsPrimary(), renditions);
+    }
+
+    private String toJson(PlaylistAd payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("플레이리스트 직렬화 실패: adId=" + payload.adId(), e);
+        }
+    }
+
+    private record Area(String city, String district) {
+    }
+}
@@ -0,0 +1,110 @@
+package kr.cocoh.api.service.playlist;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import kr.cocoh.api.dto.PlaylistDto;
+import kr.cocoh.api.model.auth.Display;
+import kr.cocoh.api.model.auth.Location;
+import kr.cocoh.api.repository.AdPlaylistRepository;
+import kr.cocoh.api.repository.DisplayRepository;
+import kr.cocoh.api.service.geo.GeoMath;
+import kr.cocoh.api.service.media.MediaEdgeCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 디바이스 플레이리스트 조회 (읽기 모델에서 한 번의 인덱스 조회)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdPlaylistService {
+
+    private final DisplayRepository displayRepository;
+    private final AdPlaylistRepository playlistRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<MediaEdgeCache> mediaEdgeCache;
+
+    @Transactional(readOnly = true)
+    public PlaylistDto getPlaylist(String accessToken) {
+        Display display = displayRepository.findWithLocationByAccessToken(accessToken)
+                .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 디스플레이 토큰입니다."));
+
+        Location location = display.getSalon().getLocation();
+        String city = location != null ? location.getCity() : "";
+        String district = location != null ? location.getDistrict() : "";
+        LocalDateTime now = LocalDateTime.now();
+
+        MediaEdgeCache edgeCache = mediaEdgeCache.getIfAvailable();
+        List<PlaylistAd> ads = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (String payload : playlistRepository.findPayloads(city, district, now.getHour(), now)) {
+            PlaylistAd ad = parse(payload);
+            if (ad == null || !seen.add(ad.adId()) || !withinRadius(ad, location)) {
+                continue;
+            }
+            ads.add(edgeCache != null ? proxied(ad, edgeCache) : ad);
+        }
+
+        return PlaylistDto.builder()
+                .displayId(display.getId())
+                .city(location != null ? city : null)
+                .district(location != null ? district : null)
+                .slotHour(now.getHour())
+                .generatedAt(now)
+                .ads(ads)
+                .build();
+    }
+
+    private boolean withinRadius(PlaylistAd ad, Location location) {
+        if (ad.radii() == null || ad.radii().isEmpty()) {
+            return true;
+        }
+        if (location == null) {
+            return false;
+        }
+        double latitude = location.getLatitude().doubleValue();
+        double longitude = location.getLongitude().doubleValue();
+        return ad.radii().stream().anyMatch(radius ->
+                GeoMath.distanceMeters(radius.latitude(), radius.longitude(), latitude, longitude) <= radius.meters());
+    }
+
+    // 엣지 캐시가 켜져 있으면 미디어 URL 을 이 노드의 프록시 URL 로 바꿈
+    private PlaylistAd proxied(PlaylistAd ad, MediaEdgeCache edgeCache) {
+        if (ad.media() == null) {
+            return ad;
+        }
+        List<PlaylistAd.Media> media = ad.media().stream().map(item -> {
+            Map<String, String> renditions = new LinkedHashMap<>();
+            if (item.renditions() != null) {
+                item.renditions().forEach((variant, url) -> renditions.put(variant, edgeCache.proxyUrl(url)));
+            }
+            return new PlaylistAd.Media(item.id(), edgeCache.proxyUrl(item.url()), item.type(), item.size(),
+                    item.order(), item.duration(), item.primary(), renditions);
+        }).toList();
+        return new PlaylistAd(ad.adId(), ad.title(), ad.type(), ad.salonId(), ad.startDate(), ad.endDate(),
+                ad.radii(), media);
+    }
+
+    private PlaylistAd parse(String payload) {
+        try {
+            return objectMapper.readValue(payload, PlaylistAd.class);
+        } catch (IOException e) {
+            log.error("플레이리스트 항목 해석 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+}
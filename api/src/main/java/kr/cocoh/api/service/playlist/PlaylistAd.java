@@ -0,0 +1,38 @@
+package kr.cocoh.api.service.playlist;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 플레이리스트 읽기 모델의 광고 한 건 (ad_playlist_entries.payload 에 JSON 으로 저장)
+ * @param radii 비어 있지 않으면 이 중 한 반경 안의 디스플레이에만 노출
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record PlaylistAd(
+        Long adId,
+        String title,
+        String type,
+        Long salonId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        List<Radius> radii,
+        List<Media> media) {
+
+    public record Radius(double latitude, double longitude, int meters) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public record Media(
+            Long id,
+            String url,
+            String type,
+            String size,
+            Integer order,
+            Integer duration,
+            Boolean primary,
+            Map<String, String> renditions) {
+    }
+}
@@ -0,0 +1,95 @@
+package kr.cocoh.api.service.report;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import kr.cocoh.api.dto.CampaignReportDto;
+import kr.cocoh.api.repository.AdCampaignRepository;
+import kr.cocoh.api.repository.AdPlayRollupRepository;
+import kr.cocoh.api.repository.AdPlayRollupRepository.Segment;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 캠페인 성과 리포트 조회
+ * 원본 재생 데이터 없이 집계 테이블만 읽는다.
+ * 시간별 리포트는 시간별 집계 보존 기간 안에서만 값이 있고, 압축 뒤에 들어온 늦은 보고도 포함한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CampaignReportService {
+
+    private final AdCampaignRepository adCampaignRepository;
+    private final AdPlayRollupRepository rollupRepository;
+
+    /**
+     * 캠페인 리포트 조회 (시/도, 구/군별)
+     * @param campaignId 캠페인 ID
+     * @param granularity 집계 단위
+     * @param from 시작 시각 (포함)
+     * @param to 종료 시각 (미포함)
+     */
+    @Transactional(readOnly = true)
+    public List<CampaignReportDto> getCampaignReport(Long campaignId, ReportGranularity granularity,
+                                                     LocalDateTime from, LocalDateTime to) {
+        if (!adCampaignRepository.existsById(campaignId)) {
+            throw new IllegalArgumentException("캠페인을 찾을 수 없습니다.");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다.");
+        }
+
+        // 같은 트랜잭션(스냅샷)에서 압축 시점과 집계를 함께 읽어야 중복/누락이 없다
+        Map<ReportGranularity, LocalDateTime> watermarks = rollupRepository.findWatermarks(null);
+        List<Segment> segments = planSegments(granularity, granularity.truncate(from), to,
+                watermarks.get(ReportGranularity.DAY), watermarks.get(ReportGranularity.MONTH));
+        if (segments.isEmpty()) {
+            return List.of();
+        }
+        return rollupRepository.findCampaignReport(campaignId, granularity, segments);
+    }
+
+    /**
+     * 조회 구간을 압축 시점 기준으로 나눠 테이블별 구간을 만든다.
+     * 월별 < 월 압축 시점 <= 일별 < 일 압축 시점 <= 시간별
+     */
+    static List<Segment> planSegments(ReportGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                      LocalDateTime dayWatermark, LocalDateTime monthWatermark) {
+        LocalDateTime dayBoundary = dayWatermark != null ? dayWatermark : from;
+        LocalDateTime monthBoundary = monthWatermark != null ? monthWatermark : from;
+
+        List<Segment> segments = new ArrayList<>();
+        switch (granularity) {
+            case HOUR -> addSegment(segments, ReportGranularity.HOUR, from, to);
+            case DAY -> {
+                addSegment(segments, ReportGranularity.DAY, from, min(to, dayBoundary));
+                addSegment(segments, ReportGranularity.HOUR, max(from, dayBoundary), to);
+            }
+            case MONTH -> {
+                addSegment(segments, ReportGranularity.MONTH, from, min(to, monthBoundary));
+                addSegment(segments, ReportGranularity.DAY, max(from, monthBoundary), min(to, dayBoundary));
+                addSegment(segments, ReportGranularity.HOUR, max(from, dayBoundary), to);
+            }
+        }
+        return segments;
+    }
+
+    private static void addSegment(List<Segment> segments, ReportGranularity table,
+                                   LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(to)) {
+            segments.add(new Segment(table, from, to));
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
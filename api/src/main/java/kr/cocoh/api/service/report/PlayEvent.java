@@ -0,0 +1,9 @@
+package kr.cocoh.api.service.report;
+
+import java.time.LocalDateTime;
+
+/**
+ * 디스플레이가 보고한 광고 재생 1건
+ */
+public record PlayEvent(Long adId, LocalDateTime playedAt, Integer durationSeconds) {
+}
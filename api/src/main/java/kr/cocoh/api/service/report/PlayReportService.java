@@ -0,0 +1,158 @@
+package kr.cocoh.api.service.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import kr.cocoh.api.model.auth.Display;
+import kr.cocoh.api.model.auth.Location;
+import kr.cocoh.api.repository.AdCampaignRepository;
+import kr.cocoh.api.repository.AdPlayRollupRepository;
+import kr.cocoh.api.repository.AdRepository;
+import kr.cocoh.api.repository.DisplayRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 디스플레이 재생 보고 수집
+ * 보고된 재생은 메모리 버퍼에 시간 버킷 단위로 누적했다가 주기적으로 집계 테이블에 반영한다.
+ */
+@Slf4j
+@Service
+public class PlayReportService {
+
+    // 디스플레이 시계 오차 허용 범위
+    private static final long MAX_CLOCK_SKEW_MINUTES = 5;
+
+    private final DisplayRepository displayRepository;
+    private final AdRepository adRepository;
+    private final AdCampaignRepository adCampaignRepository;
+    private final AdPlayRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PlayRollupBuffer buffer = new PlayRollupBuffer();
+
+    @Value("${report.cost-per-mille:1000}")
+    private BigDecimal costPerMille;
+
+    public PlayReportService(DisplayRepository displayRepository,
+                             AdRepository adRepository,
+                             AdCampaignRepository adCampaignRepository,
+                             AdPlayRollupRepository rollupRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.displayRepository = displayRepository;
+        this.adRepository = adRepository;
+        this.adCampaignRepository = adCampaignRepository;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 재생 보고 수집
+     * @param accessToken 디스플레이 액세스 토큰
+     * @param plays 재생 목록
+     * @return 반영된 재생 수
+     */
+    @Transactional(readOnly = true)
+    public int recordPlays(String accessToken, List<PlayEvent> plays) {
+        Display display = displayRepository.findWithLocationByAccessToken(accessToken)
+                .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 디스플레이 토큰입니다."));
+
+        Location location = display.getSalon().getLocation();
+        String city = location != null ? location.getCity() : null;
+        String district = location != null ? location.getDistrict() : null;
+
+        Set<Long> adIds = new HashSet<>();
+        for (PlayEvent play : plays) {
+            if (play.adId() != null) {
+                adIds.add(play.adId());
+            }
+        }
+        if (adIds.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> existingAdIds = new HashSet<>(adRepository.findExistingIds(adIds));
+        Map<Long, Long> campaignIds = new HashMap<>();
+        for (Object[] row : adCampaignRepository.findCampaignIdsByAdIds(existingAdIds)) {
+            campaignIds.put((Long) row[0], (Long) row[1]);
+        }
+
+        LocalDateTime latest = LocalDateTime.now().plusMinutes(MAX_CLOCK_SKEW_MINUTES);
+        int accepted = 0;
+        for (PlayEvent play : plays) {
+            if (!existingAdIds.contains(play.adId()) || play.playedAt() == null || play.playedAt().isAfter(latest)) {
+                continue;
+            }
+            int seconds = play.durationSeconds() != null ? Math.max(play.durationSeconds(), 0) : 0;
+            buffer.record(RollupKey.of(play.adId(), campaignIds.getOrDefault(play.adId(), 0L),
+                    city, district, play.playedAt()), seconds);
+            accepted++;
+        }
+        return accepted;
+    }
+
+    /**
+     * 버퍼에 누적된 재생을 집계 테이블에 반영
+     * 이미 압축이 끝난 구간의 늦은 보고는 상위 단위 테이블에 직접 더하고, 시간별 테이블에도 더한다.
+     * 압축은 압축 시점 이후 구간만 읽으므로 시간별 테이블에 더한 늦은 보고가 다시 압축되지 않고,
+     * 일/월 리포트는 압축 시점 이전을 상위 단위 테이블에서만 읽으므로 중복 집계되지 않는다.
+     * 시간별 리포트는 시간별 보존 기간(report.hourly-retention-days) 안의 늦은 보고까지 포함한다.
+     */
+    @Scheduled(fixedDelayString = "${report.flush-interval-ms:10000}")
+    public void flush() {
+        List<RollupRow> rows = buffer.drain();
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // 압축 작업과 겹치지 않도록 공유 잠금
+                Map<ReportGranularity, LocalDateTime> watermarks =
+                        rollupRepository.findWatermarks("LOCK IN SHARE MODE");
+                LocalDateTime dayWatermark = watermarks.get(ReportGranularity.DAY);
+                LocalDateTime monthWatermark = watermarks.get(ReportGranularity.MONTH);
+
+                List<RollupRow> hourly = new ArrayList<>();
+                List<RollupRow> daily = new ArrayList<>();
+                List<RollupRow> monthly = new ArrayList<>();
+                for (RollupRow row : rows) {
+                    LocalDateTime bucket = row.key().bucketStart();
+                    hourly.add(row);
+                    if (dayWatermark == null || !bucket.isBefore(dayWatermark)) {
+                        continue;
+                    }
+                    daily.add(row);
+                    if (monthWatermark != null && bucket.isBefore(monthWatermark)) {
+                        monthly.add(row);
+                    }
+                }
+
+                rollupRepository.upsert(ReportGranularity.HOUR, hourly, costPerMille);
+                rollupRepository.upsert(ReportGranularity.DAY, daily, costPerMille);
+                rollupRepository.upsert(ReportGranularity.MONTH, monthly, costPerMille);
+            });
+            log.debug("재생 집계 반영 완료: {}건", rows.size());
+        } catch (Exception e) {
+            log.error("재생 집계 반영 중 오류 발생: {}", e.getMessage());
+            buffer.restore(rows);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
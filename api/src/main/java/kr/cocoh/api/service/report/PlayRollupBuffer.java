@@ -0,0 +1,65 @@
+package kr.cocoh.api.service.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재생 보고를 메모리에서 시간 버킷 단위로 누적하는 버퍼
+ * 재생 1건마다 DB에 쓰지 않고, 주기적으로 drain 해서 집계 테이블에 upsert 한다.
+ * 누적과 꺼내기는 같은 키의 bin lock 아래에서 일어나므로 flush 도중 들어온 재생도 유실되지 않는다.
+ */
+public class PlayRollupBuffer {
+
+    private final ConcurrentHashMap<RollupKey, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 재생 1건 누적
+     */
+    public void record(RollupKey key, int playSeconds) {
+        counters.compute(key, (k, counter) -> {
+            Counter target = counter != null ? counter : new Counter();
+            target.impressions++;
+            target.playSeconds += playSeconds;
+            return target;
+        });
+    }
+
+    /**
+     * DB 반영에 실패한 값을 버퍼에 되돌림
+     */
+    public void restore(List<RollupRow> rows) {
+        for (RollupRow row : rows) {
+            counters.compute(row.key(), (k, counter) -> {
+                Counter target = counter != null ? counter : new Counter();
+                target.impressions += row.impressions();
+                target.playSeconds += row.playSeconds();
+                return target;
+            });
+        }
+    }
+
+    /**
+     * 누적된 값을 모두 꺼내고 버퍼를 비움
+     */
+    public List<RollupRow> drain() {
+        List<RollupRow> rows = new ArrayList<>(counters.size());
+        for (RollupKey key : counters.keySet()) {
+            Counter counter = counters.remove(key);
+            if (counter != null) {
+                rows.add(new RollupRow(key, counter.impressions, counter.playSeconds));
+            }
+        }
+        return rows;
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    // compute 람다 안에서만 변경되므로 별도 동기화가 필요 없음
+    private static final class Counter {
+        private long impressions;
+        private long playSeconds;
+    }
+}
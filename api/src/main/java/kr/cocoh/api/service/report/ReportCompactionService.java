@@ -0,0 +1,113 @@
+package kr.cocoh.api.service.report;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import kr.cocoh.api.repository.AdPlayRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 재생 집계 압축
+ * 끝난 날의 시간별 집계를 일별로, 끝난 달의 일별 집계를 월별로 옮기고 보존 기간이 지난 행을 정리한다.
+ * 압축 시점(compacted_until)은 압축과 같은 트랜잭션에서 갱신되므로 여러 노드에서 실행되어도 중복 집계되지 않는다.
+ */
+@Slf4j
+@Service
+public class ReportCompactionService {
+
+    private final AdPlayRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${report.hourly-retention-days:14}")
+    private int hourlyRetentionDays;
+
+    @Value("${report.daily-retention-days:400}")
+    private int dailyRetentionDays;
+
+    public ReportCompactionService(AdPlayRollupRepository rollupRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${report.compaction-cron:0 5 * * * *}")
+    public void compact() {
+        try {
+            compactDays();
+            compactMonths();
+            purgeExpired();
+        } catch (Exception e) {
+            log.error("재생 집계 압축 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 끝난 날의 시간별 집계를 일별 집계로 압축
+     */
+    public void compactDays() {
+        LocalDateTime until = ReportGranularity.DAY.truncate(LocalDateTime.now());
+        compactInto(ReportGranularity.HOUR, ReportGranularity.DAY, until);
+    }
+
+    /**
+     * 일별 압축이 끝난 달의 일별 집계를 월별 집계로 압축
+     */
+    public void compactMonths() {
+        LocalDateTime dayWatermark = rollupRepository.findWatermarks(null).get(ReportGranularity.DAY);
+        if (dayWatermark == null) {
+            return;
+        }
+        compactInto(ReportGranularity.DAY, ReportGranularity.MONTH, ReportGranularity.MONTH.truncate(dayWatermark));
+    }
+
+    private void compactInto(ReportGranularity source, ReportGranularity target, LocalDateTime until) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<ReportGranularity, LocalDateTime> watermarks = rollupRepository.findWatermarks("FOR UPDATE");
+            LocalDateTime from = watermarks.get(target);
+            if (from == null) {
+                from = rollupRepository.findEarliestBucket(source).map(target::truncate).orElse(until);
+            }
+            if (from.isAfter(until)) {
+                return;
+            }
+
+            int rows = from.isBefore(until) ? rollupRepository.compact(source, target, from, until) : 0;
+            rollupRepository.updateWatermark(target, until);
+            log.info("재생 집계 압축 완료: {} -> {}, {} ~ {}, {}건", source, target, from, until, rows);
+        });
+    }
+
+    /**
+     * 보존 기간이 지났고 상위 단위로 압축이 끝난 집계 행 삭제
+     */
+    public void purgeExpired() {
+        Map<ReportGranularity, LocalDateTime> watermarks = rollupRepository.findWatermarks(null);
+        LocalDateTime now = LocalDateTime.now();
+
+        LocalDateTime hourlyLimit = earlier(now.minusDays(hourlyRetentionDays), watermarks.get(ReportGranularity.DAY));
+        if (hourlyLimit != null) {
+            int deleted = rollupRepository.deleteBefore(ReportGranularity.HOUR, hourlyLimit);
+            log.debug("시간별 집계 정리: {}건", deleted);
+        }
+
+        LocalDateTime dailyLimit = earlier(now.minusDays(dailyRetentionDays), watermarks.get(ReportGranularity.MONTH));
+        if (dailyLimit != null) {
+            int deleted = rollupRepository.deleteBefore(ReportGranularity.DAY, dailyLimit);
+            log.debug("일별 집계 정리: {}건", deleted);
+        }
+    }
+
+    // 압축 시점이 없으면 아직 상위 단위에 반영되지 않았으므로 삭제하지 않음
+    private LocalDateTime earlier(LocalDateTime retentionLimit, LocalDateTime watermark) {
+        if (watermark == null) {
+            return null;
+        }
+        return retentionLimit.isBefore(watermark) ? retentionLimit : watermark;
+    }
+}
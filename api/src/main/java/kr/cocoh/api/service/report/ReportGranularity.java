@@ -0,0 +1,47 @@
+package kr.cocoh.api.service.report;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 광고 재생 집계 단위
+ * 단위별로 집계 테이블과 버킷 계산식을 가진다.
+ */
+public enum ReportGranularity {
+    HOUR("ad_play_rollups_hourly"),
+    DAY("ad_play_rollups_daily"),
+    MONTH("ad_play_rollups_monthly");
+
+    private final String tableName;
+
+    ReportGranularity(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * 시각을 집계 버킷 시작 시각으로 내림
+     */
+    public LocalDateTime truncate(LocalDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * 다른 단위의 bucket_start 컬럼을 이 단위의 버킷으로 변환하는 SQL 식
+     * (테스트의 H2 MySQL 모드에서도 그대로 실행되도록 DATE_FORMAT 대신 표준 함수만 사용)
+     */
+    public String bucketExpression(String column) {
+        return switch (this) {
+            case HOUR -> column;
+            case DAY -> "CAST(DATE(" + column + ") AS DATETIME)";
+            case MONTH -> "CAST(TIMESTAMPADD(DAY, 1 - DAYOFMONTH(" + column + "), DATE(" + column + ")) AS DATETIME)";
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package kr.cocoh.api.service.report;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 시간별 집계 키 (광고, 캠페인, 시/도, 구/군, 시간 버킷)
+ * 캠페인이 없는 광고는 campaignId 0, 위치가 없는 디스플레이는 빈 문자열을 사용한다.
+ */
+public record RollupKey(long adId, long campaignId, String city, String district, long epochHour) {
+
+    public static RollupKey of(long adId, long campaignId, String city, String district, LocalDateTime playedAt) {
+        long epochHour = playedAt.toEpochSecond(ZoneOffset.UTC) / 3600;
+        return new RollupKey(adId, campaignId,
+                city != null ? city : "",
+                district != null ? district : "",
+                epochHour);
+    }
+
+    public LocalDateTime bucketStart() {
+        return LocalDateTime.ofEpochSecond(epochHour * 3600, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,7 @@
+package kr.cocoh.api.service.report;
+
+/**
+ * 버퍼에서 꺼낸 시간별 집계 값
+ */
+public record RollupRow(RollupKey key, long impressions, long playSeconds) {
+}
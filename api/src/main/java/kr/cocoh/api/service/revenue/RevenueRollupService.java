@@ -0,0 +1,221 @@
+package kr.cocoh.api.service.revenue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import kr.cocoh.api.dto.RevenueDailyDto;
+import kr.cocoh.api.model.pay.Payment;
+import kr.cocoh.api.model.pay.PaymentRefund;
+import kr.cocoh.api.repository.RevenueRollupRepository;
+import kr.cocoh.api.repository.RevenueRollupRepository.RollupKey;
+import kr.cocoh.api.repository.RevenueRollupRepository.RollupRow;
+import kr.cocoh.api.repository.RevenueRollupRepository.Source;
+import kr.cocoh.api.service.scheduling.SchedulerLease;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 일별 매출/환불 집계
+ * 결제가 완료되거나 환불이 완료되는 트랜잭션 안에서 해당 일자 행에 더한다 (revenue_rollup_entries 로 한 번만).
+ * 재검증 작업이 최근 며칠을 원본에서 다시 계산해 비교하고, 어긋난 날은 원본으로 다시 만든다.
+ * 재검증은 공유 스케줄러 스레드를 잡지 않도록 전용 스레드에서 돈다.
+ * 매출(gross)은 결제일, 환불은 환불일 기준이며 순매출은 gross - refund 이다.
+ */
+@Slf4j
+@Service
+public class RevenueRollupService {
+
+    private static final String LEASE_NAME = "revenue-rollup-verify";
+    private static final int MAX_REBUILD_DAYS = 400;
+
+    private final RevenueRollupRepository rollupRepository;
+    private final SchedulerLease schedulerLease;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor verifyExecutor;
+    private final Counter driftCounter;
+
+    @Value("${revenue.rollup.verify-days:7}")
+    private int verifyDays;
+
+    public RevenueRollupService(RevenueRollupRepository rollupRepository,
+                                SchedulerLease schedulerLease,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.rollupRepository = rollupRepository;
+        this.schedulerLease = schedulerLease;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 재검증은 한 번에 하나만 (이전 실행이 아직 돌고 있으면 이번 실행은 건너뜀)
+        this.verifyExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "revenue-rollup-verify");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.driftCounter = Counter.builder("revenue.rollup.drift")
+                .description("재검증에서 원본과 어긋나 다시 만든 일자 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 완료된 결제를 결제일 집계에 더함 (결제 상태를 바꾸는 트랜잭션 안에서 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(Payment payment) {
+        rollupRepository.record(Source.payment, payment.getId(), payment.getPaymentDate().toLocalDate(),
+                planId(payment), payment.getPgProvider(), payment.getCurrency(), payment.getAmount());
+    }
+
+    /**
+     * 엔티티 없이 JDBC 로 기록한 완료 결제를 결제일 집계에 더함 (결제를 기록하는 트랜잭션 안에서 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(long paymentId, LocalDateTime paymentDate, long planId, String pgProvider,
+                              String currency, int amount) {
+        rollupRepository.record(Source.payment, paymentId, paymentDate.toLocalDate(), planId, pgProvider, currency, amount);
+    }
+
+    /**
+     * 완료된 환불을 환불일 집계에 더함 (환불 상태를 바꾸는 트랜잭션 안에서 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRefund(PaymentRefund refund) {
+        Payment payment = refund.getPayment();
+        rollupRepository.record(Source.refund, refund.getId(), refund.getRefundDate().toLocalDate(),
+                planId(payment), payment.getPgProvider(), payment.getCurrency(), refund.getAmount());
+    }
+
+    /**
+     * 기간 집계 조회 (from 포함, to 미포함)
+     */
+    public List<RevenueDailyDto> getDaily(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return rollupRepository.findRange(from, to).stream().map(this::toDto).toList();
+    }
+
+    /**
+     * 기간을 원본에서 다시 만듦 (백필, 하루씩 별도 트랜잭션)
+     * @return 다시 만든 일 수
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        int days = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            LocalDate target = day;
+            transactionTemplate.executeWithoutResult(status -> rollupRepository.rebuildDay(target));
+            days++;
+        }
+        log.info("매출 집계 재생성 완료 - {} ~ {} ({}일)", from, to, days);
+        return days;
+    }
+
+    @Scheduled(cron = "${revenue.rollup.verify-cron:0 20 3 * * *}")
+    public void verifyRecent() {
+        try {
+            verifyExecutor.execute(this::verifyRecentWithLease);
+        } catch (RejectedExecutionException e) {
+            log.warn("이전 매출 집계 재검증이 아직 실행 중이라 이번 실행은 건너뜁니다.");
+        }
+    }
+
+    private void verifyRecentWithLease() {
+        if (!schedulerLease.acquire(LEASE_NAME, 600)) {
+            return;
+        }
+        try {
+            LocalDate today = LocalDate.now();
+            int drifted = verify(today.minusDays(verifyDays), today.plusDays(1));
+            if (drifted > 0) {
+                log.warn("매출 집계 불일치 {}일을 원본으로 다시 만들었습니다.", drifted);
+            }
+        } catch (Exception e) {
+            log.error("매출 집계 재검증 중 오류 발생: {}", e.getMessage());
+        } finally {
+            schedulerLease.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * 기간의 집계를 원본과 비교하고 어긋난 날만 다시 만듦
+     * @return 다시 만든 일 수
+     */
+    public int verify(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        int drifted = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            LocalDate target = day;
+            Boolean rebuilt = transactionTemplate.execute(status -> {
+                Map<RollupKey, RollupRow> expected = rollupRepository.aggregateSource(target);
+                Map<RollupKey, RollupRow> actual = rollupRepository.findDay(target);
+                if (expected.equals(actual)) {
+                    return false;
+                }
+                rollupRepository.rebuildDay(target);
+                return true;
+            });
+            if (Boolean.TRUE.equals(rebuilt)) {
+                drifted++;
+                driftCounter.increment();
+                log.warn("매출 집계 불일치 - 일자: {}", target);
+            }
+        }
+        return drifted;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        verifyExecutor.shutdown();
+        if (!verifyExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            verifyExecutor.shutdownNow();
+        }
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_REBUILD_DAYS) {
+            throw new IllegalArgumentException("기간은 최대 " + MAX_REBUILD_DAYS + "일입니다.");
+        }
+    }
+
+    // 프록시를 초기화하지 않고 ID 만 읽음
+    private long planId(Payment payment) {
+        if (payment.getSubscription() == null || payment.getSubscription().getPlan() == null) {
+            return 0;
+        }
+        return payment.getSubscription().getPlan().getId();
+    }
+
+    private RevenueDailyDto toDto(RollupRow row) {
+        return RevenueDailyDto.builder()
+                .day(row.key().day())
+                .planId(row.key().planId() != 0 ? row.key().planId() : null)
+                .pgProvider(row.key().pgProvider())
+                .currency(row.key().currency())
+                .paymentsCount(row.paymentsCount())
+                .grossAmount(row.grossAmount())
+                .refundsCount(row.refundsCount())
+                .refundAmount(row.refundAmount())
+                .netAmount(row.netAmount())
+                .build();
+    }
+}
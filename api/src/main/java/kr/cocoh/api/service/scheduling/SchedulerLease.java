@@ -0,0 +1,45 @@
+package kr.cocoh.api.service.scheduling;
+
+import org.springframework.stereotype.Component;
+
+import kr.cocoh.api.repository.SchedulerLeaseRepository;
+import kr.cocoh.api.service.outbox.OutboxNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 노드에서 도는 스케줄 작업을 한 노드만 실행하게 하는 DB 리스
+ * 작업은 청크 사이마다 renew 를 호출해 리스를 연장하고, 연장에 실패하면 멈춰야 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchedulerLease {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final OutboxNode outboxNode;
+
+    public boolean acquire(String name, long ttlSeconds) {
+        try {
+            return leaseRepository.tryAcquire(name, outboxNode.getId(), ttlSeconds);
+        } catch (Exception e) {
+            log.warn("리스 획득 실패 - 이름: {}, 오류: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 리스 연장 (다른 노드가 가져갔으면 false)
+     */
+    public boolean renew(String name, long ttlSeconds) {
+        return acquire(name, ttlSeconds);
+    }
+
+    public void release(String name) {
+        try {
+            leaseRepository.release(name, outboxNode.getId());
+        } catch (Exception e) {
+            log.warn("리스 반납 실패 - 이름: {}, 오류: {}", name, e.getMessage());
+        }
+    }
+}
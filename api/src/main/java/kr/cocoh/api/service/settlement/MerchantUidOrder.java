@@ -0,0 +1,26 @@
+package kr.cocoh.api.service.settlement;
+
+/**
+ * 주문 번호 정렬 순서 (코드 포인트 순, MySQL utf8mb4_bin 과 같음)
+ * String.compareTo 는 UTF-16 단위로 비교하므로 보조 평면 문자에서 DB 와 순서가 달라진다.
+ */
+final class MerchantUidOrder {
+
+    private MerchantUidOrder() {
+    }
+
+    static int compare(String left, String right) {
+        int length = Math.min(left.length(), right.length());
+        for (int i = 0; i < length; i++) {
+            char a = left.charAt(i);
+            char b = right.charAt(i);
+            if (a != b) {
+                if (Character.isSurrogate(a) || Character.isSurrogate(b)) {
+                    return Integer.compare(left.codePointAt(i), right.codePointAt(i));
+                }
+                return a - b;
+            }
+        }
+        return left.length() - right.length();
+    }
+}
@@ -0,0 +1,21 @@
+package kr.cocoh.api.service.settlement;
+
+/**
+ * 대사 불일치 한 건
+ */
+public record SettlementDiscrepancy(String merchantUid, Type type, Integer fileAmount, Integer dbAmount,
+                                    String fileStatus, String dbStatus, String detail) {
+
+    public enum Type {
+        // 정산 파일에만 있음
+        missing_payment,
+        // 완료된 결제인데 정산 파일에 없음
+        missing_settlement,
+        amount_mismatch,
+        status_mismatch,
+        // 정산 파일에 같은 주문이 두 번 이상 있음
+        duplicate_settlement,
+        // 해석할 수 없는 줄
+        invalid_row
+    }
+}
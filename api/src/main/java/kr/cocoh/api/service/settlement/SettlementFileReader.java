@@ -0,0 +1,174 @@
+package kr.cocoh.api.service.settlement;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * PG 정산 파일(CSV)을 한 줄씩 읽는 리더
+ * 첫 줄은 헤더이며 PG 마다 다른 컬럼 이름을 받는다 (merchant_uid/paymentId/orderId, amount/totalAmount, status).
+ * 상태 값은 paid/DONE/PAID → paid, cancelled/CANCELED/CANCELLED → cancelled 로 읽는다.
+ */
+public class SettlementFileReader implements Closeable {
+
+    private static final Map<String, String> COLUMN_ALIASES = Map.ofEntries(
+            Map.entry("merchant_uid", "merchant_uid"), Map.entry("merchantuid", "merchant_uid"),
+            Map.entry("paymentid", "merchant_uid"), Map.entry("payment_id", "merchant_uid"),
+            Map.entry("orderid", "merchant_uid"), Map.entry("order_id", "merchant_uid"),
+            Map.entry("amount", "amount"), Map.entry("totalamount", "amount"), Map.entry("total_amount", "amount"),
+            Map.entry("status", "status"));
+
+    private final BufferedReader reader;
+    private int merchantUidColumn = -1;
+    private int amountColumn = -1;
+    private int statusColumn = -1;
+    private long line;
+
+    public SettlementFileReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        readHeader();
+    }
+
+    public static SettlementFileReader open(Path file) throws IOException {
+        return new SettlementFileReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 다음 줄 (파일이 끝나면 null, 빈 줄은 건너뜀)
+     */
+    public SettlementRecord next() throws IOException {
+        while (true) {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            if (!text.isBlank()) {
+                return parse(text);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        line++;
+        if (header == null) {
+            throw new IllegalArgumentException("정산 파일이 비어 있습니다.");
+        }
+        if (!header.isEmpty() && header.charAt(0) == '\uFEFF') {
+            header = header.substring(1);
+        }
+        List<String> columns = split(header);
+        for (int i = 0; columns != null && i < columns.size(); i++) {
+            String column = COLUMN_ALIASES.get(columns.get(i).trim().toLowerCase(Locale.ROOT));
+            if ("merchant_uid".equals(column)) {
+                merchantUidColumn = i;
+            } else if ("amount".equals(column)) {
+                amountColumn = i;
+            } else if ("status".equals(column)) {
+                statusColumn = i;
+            }
+        }
+        if (merchantUidColumn < 0 || amountColumn < 0 || statusColumn < 0) {
+            throw new IllegalArgumentException("정산 파일 헤더에 주문 번호, 금액, 상태 컬럼이 필요합니다.");
+        }
+    }
+
+    private SettlementRecord parse(String text) {
+        List<String> fields = split(text);
+        if (fields == null) {
+            return SettlementRecord.invalid(line, null, "따옴표가 닫히지 않았습니다.");
+        }
+        String merchantUid = field(fields, merchantUidColumn);
+        if (merchantUid == null) {
+            return SettlementRecord.invalid(line, null, "주문 번호가 없습니다.");
+        }
+
+        int amount;
+        try {
+            amount = Integer.parseInt(field(fields, amountColumn));
+        } catch (NumberFormatException e) {
+            return SettlementRecord.invalid(line, merchantUid, "금액이 올바르지 않습니다.");
+        }
+
+        SettlementRecord.Status status = status(field(fields, statusColumn));
+        if (status == null) {
+            return SettlementRecord.invalid(line, merchantUid, "상태가 올바르지 않습니다.");
+        }
+        return new SettlementRecord(line, merchantUid, amount, status, null);
+    }
+
+    private static SettlementRecord.Status status(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "paid", "done", "approved" -> SettlementRecord.Status.paid;
+            case "cancelled", "canceled" -> SettlementRecord.Status.cancelled;
+            default -> null;
+        };
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // 따옴표가 없는 줄은 쉼표로만 나눔, 있으면 RFC 4180 (한 줄 안의 필드만)
+    static List<String> split(String text) {
+        List<String> fields = new ArrayList<>(8);
+        if (text.indexOf('"') < 0) {
+            int start = 0;
+            int comma;
+            while ((comma = text.indexOf(',', start)) >= 0) {
+                fields.add(text.substring(start, comma));
+                start = comma + 1;
+            }
+            fields.add(text.substring(start));
+            return fields;
+        }
+
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,139 @@
+package kr.cocoh.api.service.settlement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * 주문 번호 순으로 정렬되지 않은 정산 파일의 외부 정렬
+ * chunkRows 줄씩 메모리에서 정렬해 임시 파일로 쓰고, 임시 파일들을 k-way 병합한다.
+ * 메모리는 한 청크와 임시 파일마다 한 줄만 쓴다.
+ */
+public final class SettlementFileSorter {
+
+    private static final Comparator<SettlementRecord> ORDER =
+            (left, right) -> MerchantUidOrder.compare(left.merchantUid(), right.merchantUid());
+
+    private SettlementFileSorter() {
+    }
+
+    /**
+     * 이미 주문 번호 순인지 확인 (한 번 훑음, 잘못된 줄은 무시)
+     */
+    public static boolean isSorted(Path file) throws IOException {
+        try (SettlementFileReader reader = SettlementFileReader.open(file)) {
+            String last = null;
+            SettlementRecord record;
+            while ((record = reader.next()) != null) {
+                if (!record.valid()) {
+                    continue;
+                }
+                if (last != null && MerchantUidOrder.compare(last, record.merchantUid()) > 0) {
+                    return false;
+                }
+                last = record.merchantUid();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 정렬한 파일을 workDir 에 만들어 경로 반환 (잘못된 줄은 invalid 로 넘기고 결과에서 뺌)
+     */
+    public static Path sort(Path file, Path workDir, int chunkRows, Consumer<SettlementRecord> invalid) throws IOException {
+        List<Path> chunks = new ArrayList<>();
+        try (SettlementFileReader reader = SettlementFileReader.open(file)) {
+            List<SettlementRecord> buffer = new ArrayList<>(chunkRows);
+            SettlementRecord record;
+            while ((record = reader.next()) != null) {
+                if (!record.valid()) {
+                    invalid.accept(record);
+                    continue;
+                }
+                buffer.add(record);
+                if (buffer.size() >= chunkRows) {
+                    chunks.add(writeChunk(buffer, workDir));
+                    buffer.clear();
+                }
+            }
+            if (!buffer.isEmpty() || chunks.isEmpty()) {
+                chunks.add(writeChunk(buffer, workDir));
+            }
+        }
+
+        Path sorted = Files.createTempFile(workDir, "settlement-sorted-", ".csv");
+        List<SettlementFileReader> readers = new ArrayList<>();
+        try (BufferedWriter writer = Files.newBufferedWriter(sorted, StandardCharsets.UTF_8)) {
+            writeHeader(writer);
+            PriorityQueue<Cursor> queue = new PriorityQueue<>((left, right) -> {
+                int order = ORDER.compare(left.record, right.record);
+                // 같은 주문은 앞 청크(원래 파일에서 앞선 줄)부터
+                return order != 0 ? order : Integer.compare(left.chunk, right.chunk);
+            });
+            for (int i = 0; i < chunks.size(); i++) {
+                SettlementFileReader reader = SettlementFileReader.open(chunks.get(i));
+                readers.add(reader);
+                SettlementRecord first = reader.next();
+                if (first != null) {
+                    queue.add(new Cursor(i, reader, first));
+                }
+            }
+            while (!queue.isEmpty()) {
+                Cursor cursor = queue.poll();
+                writeRecord(writer, cursor.record);
+                SettlementRecord next = cursor.reader.next();
+                if (next != null) {
+                    queue.add(new Cursor(cursor.chunk, cursor.reader, next));
+                }
+            }
+        } finally {
+            for (SettlementFileReader reader : readers) {
+                reader.close();
+            }
+            for (Path chunk : chunks) {
+                Files.deleteIfExists(chunk);
+            }
+        }
+        return sorted;
+    }
+
+    private static Path writeChunk(List<SettlementRecord> records, Path workDir) throws IOException {
+        records.sort(ORDER);
+        Path chunk = Files.createTempFile(workDir, "settlement-chunk-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(chunk, StandardCharsets.UTF_8)) {
+            writeHeader(writer);
+            for (SettlementRecord record : records) {
+                writeRecord(writer, record);
+            }
+        }
+        return chunk;
+    }
+
+    private static void writeHeader(BufferedWriter writer) throws IOException {
+        writer.write("merchant_uid,amount,status");
+        writer.newLine();
+    }
+
+    private static void writeRecord(BufferedWriter writer, SettlementRecord record) throws IOException {
+        String merchantUid = record.merchantUid();
+        if (merchantUid.indexOf(',') >= 0 || merchantUid.indexOf('"') >= 0) {
+            merchantUid = "\"" + merchantUid.replace("\"", "\"\"") + "\"";
+        }
+        writer.write(merchantUid);
+        writer.write(',');
+        writer.write(Integer.toString(record.amount()));
+        writer.write(',');
+        writer.write(record.status().name());
+        writer.newLine();
+    }
+
+    private record Cursor(int chunk, SettlementFileReader reader, SettlementRecord record) {
+    }
+}
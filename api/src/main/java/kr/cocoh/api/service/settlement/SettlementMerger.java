@@ -0,0 +1,164 @@
+package kr.cocoh.api.service.settlement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+
+/**
+ * 정산 파일과 결제 행을 주문 번호 순으로 나란히 읽는 정렬-병합 조인
+ * 결제 행은 onPayment 로 하나씩 밀어 넣고(JDBC 커서 콜백), 정산 파일은 필요한 만큼만 앞으로 읽는다.
+ * 양쪽 모두 주문 번호 오름차순(MerchantUidOrder)이어야 하며, 메모리는 양쪽의 현재 줄과 파일 쪽 한 줄 미리 읽기만 쓴다.
+ */
+public class SettlementMerger {
+
+    public record Stats(long fileRows, long dbRows, long matched, long discrepancies) {
+    }
+
+    private final SettlementFileReader file;
+    private final Consumer<SettlementDiscrepancy> sink;
+
+    private SettlementRecord current;
+    private SettlementRecord lookahead;
+    private String lastFileUid;
+    private String lastDbUid;
+    private boolean fileEnded;
+    private long fileRows;
+    private long dbRows;
+    private long matched;
+    private long discrepancies;
+
+    public SettlementMerger(SettlementFileReader file, Consumer<SettlementDiscrepancy> sink) {
+        this.file = file;
+        this.sink = sink;
+    }
+
+    /**
+     * 결제 행 한 건 (주문 번호 오름차순으로 호출)
+     */
+    public void onPayment(String merchantUid, int amount, PaymentStatus status) {
+        if (lastDbUid != null && MerchantUidOrder.compare(lastDbUid, merchantUid) >= 0) {
+            throw new IllegalStateException("결제 행이 주문 번호 순서가 아닙니다: " + merchantUid);
+        }
+        lastDbUid = merchantUid;
+        dbRows++;
+
+        // 이 결제보다 앞선 정산 줄은 파일에만 있는 것
+        SettlementRecord record = peek();
+        while (record != null && MerchantUidOrder.compare(record.merchantUid(), merchantUid) < 0) {
+            emit(new SettlementDiscrepancy(record.merchantUid(), SettlementDiscrepancy.Type.missing_payment,
+                    record.amount(), null, record.status().name(), null, "line " + record.line()));
+            advance();
+            record = peek();
+        }
+
+        if (record == null || !record.merchantUid().equals(merchantUid)) {
+            if (status == PaymentStatus.completed) {
+                emit(new SettlementDiscrepancy(merchantUid, SettlementDiscrepancy.Type.missing_settlement,
+                        null, amount, null, status.name(), null));
+            }
+            return;
+        }
+
+        compare(record, amount, status);
+        advance();
+    }
+
+    /**
+     * 남은 정산 줄을 처리하고 집계 반환
+     */
+    public Stats finish() {
+        SettlementRecord record = peek();
+        while (record != null) {
+            emit(new SettlementDiscrepancy(record.merchantUid(), SettlementDiscrepancy.Type.missing_payment,
+                    record.amount(), null, record.status().name(), null, "line " + record.line()));
+            advance();
+            record = peek();
+        }
+        return new Stats(fileRows, dbRows, matched, discrepancies);
+    }
+
+    private void compare(SettlementRecord record, int amount, PaymentStatus status) {
+        boolean statusMatches = record.status() == SettlementRecord.Status.paid
+                ? status == PaymentStatus.completed || status == PaymentStatus.refunded
+                : status == PaymentStatus.refunded;
+        if (!statusMatches) {
+            emit(new SettlementDiscrepancy(record.merchantUid(), SettlementDiscrepancy.Type.status_mismatch,
+                    record.amount(), amount, record.status().name(), status.name(), "line " + record.line()));
+        } else if (record.amount() != amount) {
+            emit(new SettlementDiscrepancy(record.merchantUid(), SettlementDiscrepancy.Type.amount_mismatch,
+                    record.amount(), amount, record.status().name(), status.name(), "line " + record.line()));
+        } else {
+            matched++;
+        }
+    }
+
+    // 현재 정산 줄 (같은 주문의 줄은 하나로 합침, 한 줄 앞까지만 미리 읽음)
+    private SettlementRecord peek() {
+        if (current != null || fileEnded) {
+            return current;
+        }
+        SettlementRecord first = lookahead != null ? lookahead : readValid();
+        lookahead = null;
+        if (first == null) {
+            fileEnded = true;
+            return null;
+        }
+        if (lastFileUid != null && MerchantUidOrder.compare(lastFileUid, first.merchantUid()) >= 0) {
+            throw new IllegalStateException("정산 파일이 주문 번호 순서가 아닙니다: line " + first.line());
+        }
+
+        SettlementRecord next;
+        while ((next = readValid()) != null && next.merchantUid().equals(first.merchantUid())) {
+            first = combine(first, next);
+        }
+        lookahead = next;
+        lastFileUid = first.merchantUid();
+        current = first;
+        return current;
+    }
+
+    // 같은 날 결제 후 취소된 주문은 결제/취소 두 줄로 오므로 취소 한 건으로 봄, 같은 상태가 반복되면 중복
+    private SettlementRecord combine(SettlementRecord first, SettlementRecord second) {
+        if (first.status() != second.status()) {
+            SettlementRecord paid = first.status() == SettlementRecord.Status.paid ? first : second;
+            return new SettlementRecord(first.line(), first.merchantUid(), paid.amount(),
+                    SettlementRecord.Status.cancelled, null);
+        }
+        emit(new SettlementDiscrepancy(second.merchantUid(), SettlementDiscrepancy.Type.duplicate_settlement,
+                second.amount(), null, second.status().name(), null, "line " + second.line()));
+        return first;
+    }
+
+    // 다음 정상 줄 (잘못된 줄은 불일치로 남기고 건너뜀)
+    private SettlementRecord readValid() {
+        while (true) {
+            SettlementRecord record;
+            try {
+                record = file.next();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (record == null) {
+                return null;
+            }
+            fileRows++;
+            if (record.valid()) {
+                return record;
+            }
+            emit(new SettlementDiscrepancy(record.merchantUid() != null ? record.merchantUid() : "",
+                    SettlementDiscrepancy.Type.invalid_row, null, null, null, null,
+                    "line " + record.line() + ": " + record.error()));
+        }
+    }
+
+    private void advance() {
+        current = null;
+    }
+
+    private void emit(SettlementDiscrepancy discrepancy) {
+        discrepancies++;
+        sink.accept(discrepancy);
+    }
+}
@@ -0,0 +1,326 @@
+package kr.cocoh.api.service.settlement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import kr.cocoh.api.dto.SettlementDto;
+import kr.cocoh.api.repository.SettlementRepository;
+import kr.cocoh.api.service.scheduling.SchedulerLease;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PG 정산 파일 대사
+ * 정산 파일(주문 번호 순으로 정렬, 아니면 외부 정렬)과 해당 일자 결제를 주문 번호 순 JDBC 커서로 나란히 읽어 비교한다.
+ * 파일 크기와 관계없이 메모리는 병합 상태와 불일치 쓰기 버퍼만 쓰며, 불일치는 settlement_discrepancies 에 모아 둔다.
+ * 매일 inbox 디렉터리의 {pg}_{yyyyMMdd}.csv 를 처리하고, 관리자가 파일을 올려 바로 돌릴 수도 있다.
+ * 어느 쪽이든 대사는 전용 작업 스레드에서 돌며, 스케줄러 스레드는 파일을 넘기고 바로 돌아온다.
+ */
+@Slf4j
+@Service
+public class SettlementReconciliationService {
+
+    private static final String LEASE_NAME = "settlement-reconcile";
+    private static final long LEASE_SECONDS = 3600;
+    private static final Pattern INBOX_FILE = Pattern.compile("([a-z0-9_-]+)_(\\d{8})\\.csv");
+    private static final DateTimeFormatter INBOX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final SettlementRepository settlementRepository;
+    private final SchedulerLease schedulerLease;
+    private final ThreadPoolExecutor executor;
+    private final Counter discrepancyCounter;
+    private final Timer runTimer;
+
+    @Value("${settlement.inbox-dir:settlements/inbox}")
+    private String inboxDir;
+
+    @Value("${settlement.work-dir:${java.io.tmpdir}/settlements}")
+    private String workDir;
+
+    @Value("${settlement.sort-chunk-rows:500000}")
+    private int sortChunkRows;
+
+    @Value("${settlement.write-batch-size:1000}")
+    private int writeBatchSize;
+
+    @Value("${settlement.lease-renew-seconds:300}")
+    private long leaseRenewSeconds;
+
+    public SettlementReconciliationService(SettlementRepository settlementRepository,
+                                           SchedulerLease schedulerLease,
+                                           MeterRegistry meterRegistry) {
+        this.settlementRepository = settlementRepository;
+        this.schedulerLease = schedulerLease;
+        // 대사는 한 번에 하나씩 (DB 커서 하나를 오래 잡으므로), 대기는 몇 건만
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "settlement-reconcile");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.discrepancyCounter = Counter.builder("settlement.discrepancies")
+                .description("정산 대사에서 찾은 불일치 수")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("settlement.run.duration")
+                .description("정산 대사 한 건 소요 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 관리자가 올린 정산 파일을 작업 디렉터리에 저장하고 백그라운드에서 대사
+     * @return 대사 실행 ID (진행 상황은 조회 API 로 확인)
+     */
+    public long submit(String pgProvider, LocalDate settlementDate, MultipartFile file) throws IOException {
+        if (pgProvider == null || pgProvider.isBlank() || settlementDate == null) {
+            throw new IllegalArgumentException("PG사와 정산일은 필수입니다.");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("정산 파일이 비어 있습니다.");
+        }
+
+        Path uploadDir = Paths.get(workDir, "uploads");
+        Files.createDirectories(uploadDir);
+        Path stored = Files.createTempFile(uploadDir, pgProvider + "_", ".csv");
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, stored, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        long runId = settlementRepository.createRun(pgProvider, settlementDate, file.getOriginalFilename());
+        try {
+            executor.execute(() -> {
+                try {
+                    execute(runId, pgProvider, settlementDate, stored, () -> { });
+                } finally {
+                    deleteQuietly(stored);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            settlementRepository.finishRun(runId, "failed", 0, 0, 0, 0, "대기 중인 대사 작업이 너무 많습니다.");
+            deleteQuietly(stored);
+            throw new IllegalStateException("대기 중인 대사 작업이 너무 많습니다. 잠시 후 다시 시도하세요.");
+        }
+        return runId;
+    }
+
+    /**
+     * 정산 파일 한 개를 지금 스레드에서 대사
+     */
+    public SettlementDto.Run reconcile(String pgProvider, LocalDate settlementDate, Path file) {
+        long runId = settlementRepository.createRun(pgProvider, settlementDate, file.getFileName().toString());
+        execute(runId, pgProvider, settlementDate, file, () -> { });
+        return getRun(runId);
+    }
+
+    public SettlementDto.Run getRun(long runId) {
+        return settlementRepository.findRun(runId)
+                .orElseThrow(() -> new IllegalArgumentException("대사 실행을 찾을 수 없습니다."));
+    }
+
+    public List<SettlementDto.Discrepancy> getDiscrepancies(long runId, long afterId, int limit) {
+        getRun(runId);
+        return settlementRepository.findDiscrepancies(runId, Math.max(afterId, 0), Math.min(Math.max(limit, 1), 1000));
+    }
+
+    @Scheduled(cron = "${settlement.inbox-cron:0 30 6 * * *}")
+    public void processInbox() {
+        Path inbox = Paths.get(inboxDir);
+        if (!Files.isDirectory(inbox)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(inbox, "*.csv")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            log.error("정산 파일 수신함을 읽지 못했습니다: {}", e.getMessage());
+            return;
+        }
+        files.sort(null);
+        for (Path file : files) {
+            try {
+                executor.execute(() -> processInboxFile(inbox, file));
+            } catch (RejectedExecutionException e) {
+                log.warn("대기 중인 대사 작업이 너무 많아 다음 실행에서 처리합니다: {}", file.getFileName());
+            }
+        }
+    }
+
+    // 파일마다 리스를 잡고 대사 (다른 노드가 먼저 처리해 옮긴 파일은 건너뜀)
+    private void processInboxFile(Path inbox, Path file) {
+        if (!schedulerLease.acquire(LEASE_NAME, LEASE_SECONDS)) {
+            return;
+        }
+        try {
+            if (!Files.exists(file)) {
+                return;
+            }
+            Matcher matcher = INBOX_FILE.matcher(file.getFileName().toString());
+            LocalDate settlementDate = null;
+            if (matcher.matches()) {
+                try {
+                    settlementDate = LocalDate.parse(matcher.group(2), INBOX_DATE);
+                } catch (DateTimeParseException ignored) {
+                    // 아래에서 처리
+                }
+            }
+            if (settlementDate == null) {
+                log.warn("정산 파일 이름이 형식({pg}_{yyyyMMdd}.csv)과 다릅니다: {}", file.getFileName());
+                move(file, inbox.resolve("failed"));
+                return;
+            }
+
+            LeaseHeartbeat heartbeat = new LeaseHeartbeat();
+            long runId = settlementRepository.createRun(matcher.group(1), settlementDate, file.getFileName().toString());
+            execute(runId, matcher.group(1), settlementDate, file, heartbeat);
+            if (heartbeat.lost) {
+                // 리스를 가져간 노드가 다시 처리하도록 수신함에 남겨 둠
+                log.warn("정산 대사 중 리스를 잃어 파일을 수신함에 남겨 둡니다: {}", file.getFileName());
+                return;
+            }
+            move(file, inbox.resolve("completed".equals(getRun(runId).getStatus()) ? "processed" : "failed"));
+        } catch (Exception e) {
+            log.error("정산 파일 수신함 처리 중 오류 발생 - 파일: {}, 오류: {}", file.getFileName(), e.getMessage());
+        } finally {
+            schedulerLease.release(LEASE_NAME);
+        }
+    }
+
+    // 대사 본체, 실행 행의 상태를 끝까지 책임진다
+    private void execute(long runId, String pgProvider, LocalDate settlementDate, Path file, Runnable heartbeat) {
+        long started = System.nanoTime();
+        List<SettlementDiscrepancy> buffer = new ArrayList<>(writeBatchSize);
+        Path sorted = null;
+        long[] invalidRows = {0};
+        try {
+            Path input = file;
+            if (!SettlementFileSorter.isSorted(file)) {
+                Path runDir = Files.createDirectories(Paths.get(workDir, "run-" + runId));
+                sorted = SettlementFileSorter.sort(file, runDir, sortChunkRows, record -> {
+                    add(runId, buffer, new SettlementDiscrepancy(record.merchantUid() != null ? record.merchantUid() : "",
+                            SettlementDiscrepancy.Type.invalid_row, null, null, null, null,
+                            "line " + record.line() + ": " + record.error()));
+                    invalidRows[0]++;
+                });
+                input = sorted;
+            }
+            heartbeat.run();
+
+            SettlementMerger.Stats stats;
+            try (SettlementFileReader reader = SettlementFileReader.open(input)) {
+                SettlementMerger merger = new SettlementMerger(reader, discrepancy -> add(runId, buffer, discrepancy));
+                settlementRepository.streamPayments(pgProvider, settlementDate, settlementDate.plusDays(1),
+                        (merchantUid, amount, status) -> {
+                            merger.onPayment(merchantUid, amount, status);
+                            heartbeat.run();
+                        });
+                stats = merger.finish();
+            }
+            flush(runId, buffer);
+
+            int resolved = settlementRepository.resolveOutOfWindow(runId);
+            long discrepancies = settlementRepository.countDiscrepancies(runId);
+            settlementRepository.finishRun(runId, "completed", stats.fileRows() + invalidRows[0], stats.dbRows(),
+                    stats.matched() + resolved, discrepancies, null);
+            discrepancyCounter.increment(discrepancies);
+            log.info("정산 대사 완료 - run: {}, PG: {}, 정산일: {}, 파일: {}행, 결제: {}건, 일치: {}건, 불일치: {}건",
+                    runId, pgProvider, settlementDate, stats.fileRows() + invalidRows[0], stats.dbRows(),
+                    stats.matched() + resolved, discrepancies);
+        } catch (Exception e) {
+            log.error("정산 대사 실패 - run: {}, PG: {}, 정산일: {}: {}", runId, pgProvider, settlementDate, e.getMessage());
+            try {
+                flush(runId, buffer);
+            } catch (Exception ignored) {
+                // 실패 기록이 우선
+            }
+            settlementRepository.finishRun(runId, "failed", 0, 0, 0, 0, e.getMessage());
+        } finally {
+            if (sorted != null) {
+                deleteQuietly(sorted);
+                deleteQuietly(sorted.getParent());
+            }
+            runTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void add(long runId, List<SettlementDiscrepancy> buffer, SettlementDiscrepancy discrepancy) {
+        buffer.add(discrepancy);
+        if (buffer.size() >= writeBatchSize) {
+            flush(runId, buffer);
+        }
+    }
+
+    private void flush(long runId, List<SettlementDiscrepancy> buffer) {
+        if (!buffer.isEmpty()) {
+            settlementRepository.insertDiscrepancies(runId, buffer);
+            buffer.clear();
+        }
+    }
+
+    private void move(Path file, Path targetDir) throws IOException {
+        Files.createDirectories(targetDir);
+        Files.move(file, targetDir.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("정산 임시 파일 삭제 실패: {}", path);
+        }
+    }
+
+    /**
+     * 병합 도중 리스 연장 (파일 하나가 리스보다 오래 걸려도 다른 노드가 같은 파일을 잡지 않게)
+     * 연장에 실패하면 예외로 대사를 멈춘다.
+     */
+    private class LeaseHeartbeat implements Runnable {
+
+        private long renewedAt = System.nanoTime();
+        private boolean lost;
+
+        @Override
+        public void run() {
+            if (System.nanoTime() - renewedAt < TimeUnit.SECONDS.toNanos(leaseRenewSeconds)) {
+                return;
+            }
+            if (!schedulerLease.renew(LEASE_NAME, LEASE_SECONDS)) {
+                lost = true;
+                throw new IllegalStateException("정산 대사 리스를 다른 노드가 가져갔습니다.");
+            }
+            renewedAt = System.nanoTime();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package kr.cocoh.api.service.settlement;
+
+/**
+ * 정산 파일 한 줄
+ * @param error 해석할 수 없는 줄이면 사유 (나머지 필드는 읽힌 만큼만 채워짐)
+ */
+public record SettlementRecord(long line, String merchantUid, int amount, Status status, String error) {
+
+    public enum Status {
+        paid, cancelled
+    }
+
+    static SettlementRecord invalid(long line, String merchantUid, String error) {
+        return new SettlementRecord(line, merchantUid, 0, null, error);
+    }
+
+    public boolean valid() {
+        return error == null;
+    }
+}
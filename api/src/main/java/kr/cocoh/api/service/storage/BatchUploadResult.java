@@ -0,0 +1,41 @@
+package kr.cocoh.api.service.storage;
+
+import java.util.List;
+
+/**
+ * 여러 파일 업로드 결과 (요청 순서대로 파일별 결과)
+ * @param rolledBack 전부 아니면 전무 모드에서 실패하여 이미 올라간 파일을 지웠으면 true
+ */
+public record BatchUploadResult(List<Item> items, boolean rolledBack) {
+
+    /**
+     * rolled_back: 올라갔지만 같은 배치의 다른 파일이 실패해 다시 지운 파일
+     */
+    public enum Status {
+        uploaded, skipped, failed, timed_out, rolled_back
+    }
+
+    /**
+     * @param url 업로드된 파일 URL (uploaded 이고 롤백되지 않은 경우에만 값이 있음)
+     */
+    public record Item(int index, String filename, Status status, String url, String message) {
+    }
+
+    /**
+     * 빈 파일을 제외한 모든 파일이 올라갔는지 여부
+     */
+    public boolean isComplete() {
+        return !rolledBack && items.stream()
+                .allMatch(item -> item.status() == Status.uploaded || item.status() == Status.skipped);
+    }
+
+    /**
+     * 업로드된 파일 URL 목록 (요청 순서)
+     */
+    public List<String> urls() {
+        return items.stream()
+                .filter(item -> item.url() != null)
+                .map(Item::url)
+                .toList();
+    }
+}
@@ -0,0 +1,59 @@
+package kr.cocoh.api.service.storage;
+
+/**
+ * HTTP Range 요청의 바이트 범위 하나 (start, end 모두 포함)
+ */
+public record ByteRange(long start, long end) {
+
+    /**
+     * 내려줄 바이트 수
+     */
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Range 헤더 해석 (bytes=a-b, bytes=a-, bytes=-n)
+     * 여러 범위를 요청하면 null 을 돌려 전체 본문을 내려주게 한다 (RFC 9110 에서 허용).
+     * @return 해석할 수 없거나 여러 범위면 null
+     * @throws IllegalArgumentException 범위가 파일 밖이라 만족시킬 수 없는 경우 (416)
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        if (spec.isEmpty() || spec.contains(",")) {
+            return null;
+        }
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // 끝에서 n 바이트
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    throw new IllegalArgumentException("만족시킬 수 없는 범위입니다: " + header);
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (start >= size) {
+                throw new IllegalArgumentException("만족시킬 수 없는 범위입니다: " + header);
+            }
+            if (end < start) {
+                return null;
+            }
+            return new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
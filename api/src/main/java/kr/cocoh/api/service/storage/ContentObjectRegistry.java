@@ -0,0 +1,68 @@
+package kr.cocoh.api.service.storage;
+
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import kr.cocoh.api.model.storage.StorageObject;
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.repository.StorageObjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 내용 주소 기반 저장 객체의 참조 수 관리
+ * 같은 내용의 업로드는 같은 객체를 가리키고, 마지막 참조가 해제될 때만 객체를 삭제한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentObjectRegistry {
+
+    private final StorageObjectRepository storageObjectRepository;
+    private final StorageDeletionRepository storageDeletionRepository;
+
+    public boolean exists(String objectKey) {
+        return storageObjectRepository.findByObjectKey(objectKey).isPresent();
+    }
+
+    /**
+     * 참조 추가
+     * @return 행이 새로 만들어졌으면 true (호출한 쪽에서 객체가 저장소에 있는지 보장해야 함)
+     */
+    @Transactional
+    public boolean acquire(String contentHash, String objectKey, String url, String contentType, long byteSize) {
+        boolean created = storageObjectRepository.upsertReference(contentHash, objectKey, url, contentType, byteSize) == 1;
+        if (created) {
+            // 대기 중인 삭제 예약 취소 (워커가 처리 중이면 삭제가 끝날 때까지 기다림)
+            storageDeletionRepository.cancel(objectKey);
+        }
+        return created;
+    }
+
+    /**
+     * 참조 해제
+     * 마지막 참조면 행 잠금을 잡은 상태에서 객체 삭제를 예약하므로, 동시에 들어온 같은 내용의 업로드는
+     * 예약이 끝난 뒤 새 행을 만들고 삭제 예약을 취소한다.
+     * @param objectDeleter 마지막 참조일 때 저장소 객체 삭제 예약
+     * @return 내용 주소 기반 객체가 아니면 false
+     */
+    @Transactional
+    public boolean release(String objectKey, Consumer<String> objectDeleter) {
+        StorageObject object = storageObjectRepository.findByObjectKeyForUpdate(objectKey).orElse(null);
+        if (object == null) {
+            return false;
+        }
+
+        if (object.getRefCount() > 1) {
+            object.setRefCount(object.getRefCount() - 1);
+            return true;
+        }
+
+        storageObjectRepository.delete(object);
+        objectDeleter.accept(objectKey);
+        log.debug("마지막 참조 해제로 객체 삭제: {}", objectKey);
+        return true;
+    }
+}
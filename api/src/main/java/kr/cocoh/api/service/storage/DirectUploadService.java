@@ -0,0 +1,323 @@
+package kr.cocoh.api.service.storage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.CopyObjectResult;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import kr.cocoh.api.config.StorageConfig.StoragePaths;
+import kr.cocoh.api.dto.DirectUploadDto;
+import kr.cocoh.api.model.storage.StorageUpload;
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.repository.StorageUploadRepository;
+import kr.cocoh.api.service.StorageService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 직접 업로드(presigned PUT / POST) 서비스
+ * 파일 바이트는 API 서버를 거치지 않고 버킷으로 바로 가며, 서버는 슬롯 발급과 finalize 때의 HEAD 확인만 한다.
+ * 클라이언트가 올리는 키는 {StoragePaths 폴더}/direct/{uploadId} 이다. presigned URL 은 만료 전까지 다시 쓸 수 있으므로
+ * finalize 때 확인한 객체를 클라이언트가 쓸 수 없는 {StoragePaths 폴더}/{uploadId} 로 복사해 그 키를 등록한다.
+ * finalize 는 클라이언트가 직접 부르거나, 광고 미디어 등록(AdMediaService#addDirectMedia)처럼 업로드를 쓰는 쪽에서 부른다.
+ */
+@Slf4j
+@Service
+public class DirectUploadService {
+
+    private static final Set<String> FOLDERS = Set.of(StoragePaths.PROFILES, StoragePaths.SALONS, StoragePaths.ADS);
+    private static final String ACL = "public-read";
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final int EXPIRE_CHUNK_SIZE = 500;
+
+    private final ObjectProvider<AmazonS3> amazonS3Client;
+    private final StorageBackend storageBackend;
+    private final StorageService storageService;
+    private final StorageUploadRepository storageUploadRepository;
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<String> allowedContentTypes;
+
+    @Value("${ncloud.bucket-name:}")
+    private String bucketName;
+
+    @Value("${ncloud.region:}")
+    private String region;
+
+    @Value("${ncloud.access-key:}")
+    private String accessKey;
+
+    @Value("${ncloud.secret-key:}")
+    private String secretKey;
+
+    @Value("${storage.direct.max-size-mb:500}")
+    private long maxSizeMb;
+
+    @Value("${storage.direct.url-expiry-minutes:15}")
+    private int urlExpiryMinutes;
+
+    @Value("${storage.direct.finalize-grace-minutes:60}")
+    private int finalizeGraceMinutes;
+
+    public DirectUploadService(ObjectProvider<AmazonS3> amazonS3Client,
+                               StorageBackend storageBackend,
+                               StorageService storageService,
+                               StorageUploadRepository storageUploadRepository,
+                               StorageDeletionRepository storageDeletionRepository,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${storage.direct.allowed-content-types:image/jpeg,image/png,image/webp,image/gif,video/mp4,video/quicktime,video/webm}")
+                               String allowedContentTypes) {
+        this.amazonS3Client = amazonS3Client;
+        this.storageBackend = storageBackend;
+        this.storageService = storageService;
+        this.storageUploadRepository = storageUploadRepository;
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.allowedContentTypes = Arrays.stream(allowedContentTypes.split(","))
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 업로드 슬롯 발급
+     * @throws IllegalArgumentException 폴더, 콘텐츠 타입, 크기가 허용 범위를 벗어난 경우
+     * @throws IllegalStateException S3 저장소가 아닌 경우
+     */
+    @Transactional
+    public DirectUploadDto.Slot createSlot(Long userId, DirectUploadDto.Request request) {
+        AmazonS3 s3 = requireS3();
+        if (request.getFolder() == null || !FOLDERS.contains(request.getFolder())) {
+            throw new IllegalArgumentException("업로드할 수 없는 폴더입니다: " + request.getFolder());
+        }
+        if (request.getContentType() == null || !allowedContentTypes.contains(request.getContentType())) {
+            throw new IllegalArgumentException("허용되지 않는 파일 형식입니다: " + request.getContentType());
+        }
+        long maxSize = maxSizeMb * 1024 * 1024;
+        if (request.getSize() == null || request.getSize() <= 0 || request.getSize() > maxSize) {
+            throw new IllegalArgumentException("파일 크기는 1 byte 이상 " + maxSizeMb + "MB 이하여야 합니다.");
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        String key = storageService.resolveFolderPath(request.getFolder()) + "direct/" + uploadId;
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(urlExpiryMinutes * 60L);
+
+        storageUploadRepository.save(StorageUpload.builder()
+                .id(uploadId)
+                .userId(userId)
+                .folder(request.getFolder())
+                .objectKey(key)
+                .contentType(request.getContentType())
+                .declaredSize(request.getSize())
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .build());
+
+        DirectUploadDto.Method method = request.getMethod() != null ? request.getMethod() : DirectUploadDto.Method.put;
+        DirectUploadDto.Slot.SlotBuilder slot = DirectUploadDto.Slot.builder()
+                .uploadId(uploadId)
+                .method(method)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+
+        if (method == DirectUploadDto.Method.post) {
+            return slot.url(bucketOrigin(s3, key))
+                    .fields(signPost(key, request.getContentType(), request.getSize(), now, expiresAt))
+                    .build();
+        }
+
+        // 서명에 포함된 헤더는 클라이언트가 그대로 보내야 함
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", request.getContentType());
+        headers.put("Cache-Control", CACHE_CONTROL);
+        headers.put("x-amz-acl", ACL);
+
+        GeneratePresignedUrlRequest presign = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(Date.from(expiresAt))
+                .withContentType(request.getContentType());
+        presign.putCustomRequestHeader("Cache-Control", CACHE_CONTROL);
+        presign.putCustomRequestHeader("x-amz-acl", ACL);
+
+        return slot.url(s3.generatePresignedUrl(presign).toString())
+                .headers(headers)
+                .build();
+    }
+
+    /**
+     * 업로드 완료 처리
+     * HEAD 로 크기와 콘텐츠 타입을 확인하고, 맞지 않으면 객체 삭제를 예약한 뒤 슬롯을 없앤다.
+     * 맞으면 확인한 객체(ETag 고정)를 서버만 쓰는 키로 복사하고, 직접 업로드 키는 URL 이 만료된 뒤 지운다.
+     * 이미 finalize 된(또는 사용된) 슬롯은 같은 결과를 돌려준다.
+     * @throws IllegalArgumentException 슬롯이 없거나, 다른 사용자 슬롯이거나, 업로드된 객체가 슬롯과 맞지 않는 경우
+     * @throws IllegalStateException S3 저장소가 아닌 경우
+     */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public DirectUploadDto.Result finalizeUpload(Long userId, String uploadId) {
+        AmazonS3 s3 = requireS3();
+        StorageUpload upload = storageUploadRepository.findByIdForUpdate(uploadId)
+                .filter(found -> found.getUserId().equals(userId))
+                .orElseThrow(() -> new IllegalArgumentException("업로드 슬롯을 찾을 수 없습니다."));
+
+        if (upload.getStatus() != StorageUpload.Status.pending) {
+            return toResult(upload);
+        }
+        if (upload.getExpiresAt().plusMinutes(finalizeGraceMinutes).isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("업로드 슬롯이 만료되었습니다.");
+        }
+
+        ObjectMetadata metadata;
+        try {
+            metadata = s3.getObjectMetadata(bucketName, upload.getObjectKey());
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                throw new IllegalArgumentException("업로드된 파일이 없습니다.");
+            }
+            throw e;
+        }
+
+        String contentType = metadata.getContentType();
+        if (metadata.getContentLength() != upload.getDeclaredSize() || !upload.getContentType().equals(contentType)) {
+            log.warn("직접 업로드 검증 실패 - uploadId: {}, 크기: {}/{}, 형식: {}/{}", uploadId,
+                    metadata.getContentLength(), upload.getDeclaredSize(), contentType, upload.getContentType());
+            storageDeletionRepository.enqueue(upload.getObjectKey(), 0);
+            storageUploadRepository.delete(upload);
+            throw new IllegalArgumentException("업로드된 파일이 요청한 크기 또는 형식과 다릅니다.");
+        }
+
+        // HEAD 뒤에 같은 URL 로 다시 올린 객체는 복사하지 않음 (조건이 맞지 않으면 null)
+        String finalKey = storageService.resolveFolderPath(upload.getFolder()) + upload.getId();
+        CopyObjectResult copied = s3.copyObject(new CopyObjectRequest(bucketName, upload.getObjectKey(), bucketName, finalKey)
+                .withMatchingETagConstraint(metadata.getETag())
+                .withNewObjectMetadata(finalMetadata(upload))
+                .withCannedAccessControlList(CannedAccessControlList.PublicRead));
+        if (copied == null) {
+            throw new IllegalArgumentException("확인 중에 업로드된 파일이 바뀌었습니다. 다시 완료 처리해 주세요.");
+        }
+        // 만료 전에 다시 올린 객체도 함께 지워지도록 미완료 슬롯 정리와 같은 시점까지 미룸
+        long deleteAfterSeconds = Math.max(0, Duration.between(LocalDateTime.now(),
+                upload.getExpiresAt().plusMinutes(finalizeGraceMinutes)).getSeconds());
+        storageDeletionRepository.enqueue(upload.getObjectKey(), deleteAfterSeconds);
+
+        upload.setObjectKey(finalKey);
+        upload.setStatus(StorageUpload.Status.finalized);
+        upload.setByteSize(metadata.getContentLength());
+        upload.setFinalizedAt(LocalDateTime.now());
+        return toResult(upload);
+    }
+
+    /**
+     * finalize 된 업로드를 사용 처리 (업로드를 쓰는 쪽의 행 저장과 같은 트랜잭션에서 호출)
+     * 같은 객체 키를 여러 행이 참조하면 한 행을 지울 때 객체가 지워져 나머지가 깨진 링크가 되므로 한 번만 쓸 수 있다.
+     * @throws IllegalArgumentException 이미 사용되었거나 finalize 되지 않은 업로드인 경우
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void consume(String uploadId) {
+        if (storageUploadRepository.transitionStatus(uploadId,
+                StorageUpload.Status.finalized, StorageUpload.Status.consumed) == 0) {
+            throw new IllegalArgumentException("이미 사용되었거나 완료 처리되지 않은 업로드입니다.");
+        }
+    }
+
+    /**
+     * 기한 안에 finalize 되지 않은 슬롯 정리 (올라간 객체가 있으면 삭제 예약)
+     */
+    @Scheduled(fixedDelayString = "${storage.direct.expire-interval-ms:300000}")
+    public void expireAbandoned() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minusMinutes(finalizeGraceMinutes);
+            int expired;
+            int total = 0;
+            do {
+                Integer count = transactionTemplate.execute(status -> {
+                    List<StorageUpload> uploads = storageUploadRepository.findExpired(
+                            StorageUpload.Status.pending, before, PageRequest.of(0, EXPIRE_CHUNK_SIZE));
+                    uploads.forEach(upload -> storageDeletionRepository.enqueue(upload.getObjectKey(), 0));
+                    storageUploadRepository.deleteAllInBatch(uploads);
+                    return uploads.size();
+                });
+                expired = count != null ? count : 0;
+                total += expired;
+            } while (expired == EXPIRE_CHUNK_SIZE);
+            if (total > 0) {
+                log.info("만료된 직접 업로드 슬롯 정리: {}건", total);
+            }
+        } catch (Exception e) {
+            log.error("직접 업로드 슬롯 정리 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, String> signPost(String key, String contentType, long size, Instant now, Instant expiresAt) {
+        if (accessKey.isEmpty() || secretKey.isEmpty()) {
+            throw new IllegalStateException("POST 업로드에는 스토리지 자격 증명이 필요합니다.");
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("key", key);
+        fields.put("acl", ACL);
+        fields.put("Content-Type", contentType);
+        fields.put("Cache-Control", CACHE_CONTROL);
+        // 선언한 크기와 정확히 같은 파일만 받도록 스토리지에서 강제
+        return PresignedPostPolicy.sign(objectMapper, accessKey, secretKey, region, bucketName, fields,
+                size, size, now, expiresAt);
+    }
+
+    private static ObjectMetadata finalMetadata(StorageUpload upload) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(upload.getContentType());
+        metadata.setCacheControl(CACHE_CONTROL);
+        return metadata;
+    }
+
+    // POST 업로드 대상 (객체 URL 에서 키를 뺀 버킷 주소, 가상 호스트/경로 방식 모두 대응)
+    private String bucketOrigin(AmazonS3 s3, String key) {
+        String url = s3.getUrl(bucketName, key).toString();
+        return url.endsWith(key) ? url.substring(0, url.length() - key.length()) : url;
+    }
+
+    // presigned URL 은 S3 저장소에서만 발급 가능
+    private AmazonS3 requireS3() {
+        AmazonS3 s3 = amazonS3Client.getIfAvailable();
+        if (s3 == null) {
+            throw new IllegalStateException("직접 업로드는 S3 저장소에서만 사용할 수 있습니다.");
+        }
+        return s3;
+    }
+
+    private DirectUploadDto.Result toResult(StorageUpload upload) {
+        return DirectUploadDto.Result.builder()
+                .uploadId(upload.getId())
+                .folder(upload.getFolder())
+                .url(storageBackend.url(upload.getObjectKey()))
+                .contentType(upload.getContentType())
+                .size(upload.getByteSize())
+                .build();
+    }
+}
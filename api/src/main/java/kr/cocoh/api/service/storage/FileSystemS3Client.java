@@ -0,0 +1,437 @@
+package kr.cocoh.api.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+
+/**
+ * 로컬 파일 시스템을 쓰는 S3 대역 (S3 경로를 오프라인으로 테스트할 때 사용)
+ * StorageService 가 쓰는 기능(단일/멀티파트 업로드, 조회, 메타데이터, 삭제, 목록, URL)만 구현한다.
+ * 객체는 {root}/{bucket}/{key}, 메타데이터는 {root}/.meta/{bucket}/{key}.properties 에 저장한다.
+ */
+public class FileSystemS3Client extends AbstractAmazonS3 {
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String ETAG = "ETag";
+
+    private final Path root;
+    private final String baseUrl;
+
+    /**
+     * @param baseUrl 객체 URL 의 앞부분 (경로 없이 호스트까지, URL 경로가 곧 객체 키가 됨)
+     */
+    public FileSystemS3Client(Path root, String baseUrl) {
+        this.root = root.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public PutObjectResult putObject(PutObjectRequest request) {
+        ObjectMetadata metadata = request.getMetadata() != null ? request.getMetadata() : new ObjectMetadata();
+        try (InputStream in = request.getInputStream() != null
+                ? request.getInputStream()
+                : Files.newInputStream(request.getFile().toPath())) {
+            String etag = write(objectPath(request.getBucketName(), request.getKey()), in);
+            writeMetadata(request.getBucketName(), request.getKey(), metadata, etag);
+
+            PutObjectResult result = new PutObjectResult();
+            result.setETag(etag);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public PutObjectResult putObject(String bucketName, String key, InputStream input, ObjectMetadata metadata) {
+        return putObject(new PutObjectRequest(bucketName, key, input, metadata));
+    }
+
+    @Override
+    public S3Object getObject(GetObjectRequest request) {
+        Path path = objectPath(request.getBucketName(), request.getKey());
+        try {
+            S3Object object = new S3Object();
+            object.setBucketName(request.getBucketName());
+            object.setKey(request.getKey());
+            object.setObjectMetadata(readMetadata(request.getBucketName(), request.getKey(), path));
+            object.setObjectContent(Files.newInputStream(path));
+            return object;
+        } catch (NoSuchFileException e) {
+            throw notFound(request.getKey());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public S3Object getObject(String bucketName, String key) {
+        return getObject(new GetObjectRequest(bucketName, key));
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(GetObjectMetadataRequest request) {
+        Path path = objectPath(request.getBucketName(), request.getKey());
+        if (!Files.exists(path)) {
+            throw notFound(request.getKey());
+        }
+        try {
+            return readMetadata(request.getBucketName(), request.getKey(), path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String bucketName, String key) {
+        return getObjectMetadata(new GetObjectMetadataRequest(bucketName, key));
+    }
+
+    @Override
+    public boolean doesObjectExist(String bucketName, String key) {
+        return Files.exists(objectPath(bucketName, key));
+    }
+
+    @Override
+    public void deleteObject(DeleteObjectRequest request) {
+        try {
+            Files.deleteIfExists(objectPath(request.getBucketName(), request.getKey()));
+            Files.deleteIfExists(metadataPath(request.getBucketName(), request.getKey()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void deleteObject(String bucketName, String key) {
+        deleteObject(new DeleteObjectRequest(bucketName, key));
+    }
+
+    @Override
+    public DeleteObjectsResult deleteObjects(DeleteObjectsRequest request) {
+        List<DeleteObjectsResult.DeletedObject> deleted = new ArrayList<>();
+        for (DeleteObjectsRequest.KeyVersion keyVersion : request.getKeys()) {
+            deleteObject(request.getBucketName(), keyVersion.getKey());
+            DeleteObjectsResult.DeletedObject object = new DeleteObjectsResult.DeletedObject();
+            object.setKey(keyVersion.getKey());
+            deleted.add(object);
+        }
+        return new DeleteObjectsResult(deleted);
+    }
+
+    @Override
+    public ListObjectsV2Result listObjectsV2(ListObjectsV2Request request) {
+        Path bucket = root.resolve(request.getBucketName());
+        String prefix = request.getPrefix() != null ? request.getPrefix() : "";
+        String after = request.getContinuationToken() != null ? request.getContinuationToken() : request.getStartAfter();
+        int maxKeys = request.getMaxKeys() != null ? request.getMaxKeys() : 1000;
+
+        List<String> keys = new ArrayList<>();
+        if (Files.isDirectory(bucket)) {
+            try (Stream<Path> paths = Files.walk(bucket)) {
+                paths.filter(Files::isRegularFile)
+                        .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                        .map(path -> bucket.relativize(path).toString().replace('\\', '/'))
+                        .filter(key -> key.startsWith(prefix))
+                        .filter(key -> after == null || key.compareTo(after) > 0)
+                        .sorted()
+                        .forEach(keys::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        ListObjectsV2Result result = new ListObjectsV2Result();
+        result.setBucketName(request.getBucketName());
+        result.setPrefix(request.getPrefix());
+        List<String> page = keys.subList(0, Math.min(maxKeys, keys.size()));
+        for (String key : page) {
+            Path path = objectPath(request.getBucketName(), key);
+            S3ObjectSummary summary = new S3ObjectSummary();
+            summary.setBucketName(request.getBucketName());
+            summary.setKey(key);
+            try {
+                summary.setSize(Files.size(path));
+                summary.setLastModified(new Date(Files.getLastModifiedTime(path).toMillis()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            result.getObjectSummaries().add(summary);
+        }
+        result.setKeyCount(page.size());
+        result.setTruncated(keys.size() > page.size());
+        if (result.isTruncated()) {
+            result.setNextContinuationToken(page.get(page.size() - 1));
+        }
+        return result;
+    }
+
+    @Override
+    public URL getUrl(String bucketName, String key) {
+        try {
+            return new URL(baseUrl + "/" + key);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Path dir = uploadPath(uploadId);
+            Files.createDirectories(dir);
+            ObjectMetadata metadata = request.getObjectMetadata() != null ? request.getObjectMetadata() : new ObjectMetadata();
+            Properties properties = toProperties(metadata, null);
+            properties.setProperty("bucket", request.getBucketName());
+            properties.setProperty("key", request.getKey());
+            try (OutputStream out = Files.newOutputStream(dir.resolve("upload.properties"))) {
+                properties.store(out, null);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setBucketName(request.getBucketName());
+        result.setKey(request.getKey());
+        result.setUploadId(uploadId);
+        return result;
+    }
+
+    @Override
+    public UploadPartResult uploadPart(UploadPartRequest request) {
+        Path dir = uploadPath(request.getUploadId());
+        if (!Files.isDirectory(dir)) {
+            throw noSuchUpload(request.getUploadId());
+        }
+        try (InputStream in = request.getInputStream()) {
+            String etag = write(dir.resolve(String.format("%05d.part", request.getPartNumber())), in);
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag(etag);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        Path dir = uploadPath(request.getUploadId());
+        if (!Files.isDirectory(dir)) {
+            throw noSuchUpload(request.getUploadId());
+        }
+        List<PartETag> parts = new ArrayList<>(request.getPartETags());
+        parts.sort(Comparator.comparingInt(PartETag::getPartNumber));
+
+        try {
+            Properties upload = new Properties();
+            try (InputStream in = Files.newInputStream(dir.resolve("upload.properties"))) {
+                upload.load(in);
+            }
+
+            Path assembled = dir.resolve("assembled");
+            MessageDigest digest = md5();
+            try (OutputStream out = Files.newOutputStream(assembled)) {
+                for (PartETag part : parts) {
+                    Path partPath = dir.resolve(String.format("%05d.part", part.getPartNumber()));
+                    if (!Files.exists(partPath) || !md5Hex(partPath).equals(part.getETag())) {
+                        throw new AmazonS3Exception("InvalidPart: " + part.getPartNumber());
+                    }
+                    Files.copy(partPath, out);
+                    digest.update(HexFormat.of().parseHex(part.getETag()));
+                }
+            }
+
+            Path target = objectPath(request.getBucketName(), request.getKey());
+            Files.createDirectories(target.getParent());
+            Files.move(assembled, target, StandardCopyOption.REPLACE_EXISTING);
+
+            String etag = HexFormat.of().formatHex(digest.digest()) + "-" + parts.size();
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentType(upload.getProperty(CONTENT_TYPE));
+            metadata.setCacheControl(upload.getProperty(CACHE_CONTROL));
+            writeMetadata(request.getBucketName(), request.getKey(), metadata, etag);
+            deleteRecursively(dir);
+
+            CompleteMultipartUploadResult result = new CompleteMultipartUploadResult();
+            result.setBucketName(request.getBucketName());
+            result.setKey(request.getKey());
+            result.setETag(etag);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+        try {
+            deleteRecursively(uploadPath(request.getUploadId()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path objectPath(String bucketName, String key) {
+        return resolve(root.resolve(bucketName), key);
+    }
+
+    private Path metadataPath(String bucketName, String key) {
+        return resolve(root.resolve(".meta").resolve(bucketName), key + ".properties");
+    }
+
+    private Path uploadPath(String uploadId) {
+        return resolve(root.resolve(".uploads"), uploadId);
+    }
+
+    // 키에 ../ 등이 들어와도 루트 밖으로 나가지 않게 함
+    private Path resolve(Path base, String relative) {
+        Path path = base.resolve(relative).normalize();
+        if (!path.startsWith(base)) {
+            throw new IllegalArgumentException("잘못된 객체 키입니다: " + relative);
+        }
+        return path;
+    }
+
+    private String write(Path path, InputStream in) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), ".upload", ".tmp");
+        try {
+            DigestInputStream digestIn = new DigestInputStream(in, md5());
+            Files.copy(digestIn, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return HexFormat.of().formatHex(digestIn.getMessageDigest().digest());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeMetadata(String bucketName, String key, ObjectMetadata metadata, String etag) throws IOException {
+        Path path = metadataPath(bucketName, key);
+        Files.createDirectories(path.getParent());
+        try (OutputStream out = Files.newOutputStream(path)) {
+            toProperties(metadata, etag).store(out, null);
+        }
+    }
+
+    private ObjectMetadata readMetadata(String bucketName, String key, Path objectPath) throws IOException {
+        Properties properties = new Properties();
+        Path path = metadataPath(bucketName, key);
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            }
+        }
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(Files.size(objectPath));
+        metadata.setLastModified(new Date(Files.getLastModifiedTime(objectPath).toMillis()));
+        if (properties.containsKey(CONTENT_TYPE)) {
+            metadata.setContentType(properties.getProperty(CONTENT_TYPE));
+        }
+        if (properties.containsKey(CACHE_CONTROL)) {
+            metadata.setCacheControl(properties.getProperty(CACHE_CONTROL));
+        }
+        if (properties.containsKey(ETAG)) {
+            metadata.setHeader(ETAG, properties.getProperty(ETAG));
+        }
+        return metadata;
+    }
+
+    private Properties toProperties(ObjectMetadata metadata, String etag) {
+        Properties properties = new Properties();
+        if (metadata.getContentType() != null) {
+            properties.setProperty(CONTENT_TYPE, metadata.getContentType());
+        }
+        if (metadata.getCacheControl() != null) {
+            properties.setProperty(CACHE_CONTROL, metadata.getCacheControl());
+        }
+        if (etag != null) {
+            properties.setProperty(ETAG, etag);
+        }
+        return properties;
+    }
+
+    private String md5Hex(Path path) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(path), md5())) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        }
+    }
+
+    private MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private AmazonS3Exception notFound(String key) {
+        AmazonS3Exception exception = new AmazonS3Exception("The specified key does not exist: " + key);
+        exception.setStatusCode(404);
+        exception.setErrorCode("NoSuchKey");
+        return exception;
+    }
+
+    private AmazonS3Exception noSuchUpload(String uploadId) {
+        AmazonS3Exception exception = new AmazonS3Exception("The specified upload does not exist: " + uploadId);
+        exception.setStatusCode(404);
+        exception.setErrorCode("NoSuchUpload");
+        return exception;
+    }
+}
@@ -0,0 +1,226 @@
+package kr.cocoh.api.service.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 디스크 저장소 백엔드 (온프레미스/엣지 배포용)
+ * 객체는 {root}/{key}, 콘텐츠 타입은 {root}/.meta/{key}.properties 에 저장하고,
+ * 공개 URL({base-url}/{key})은 LocalStorageController 가 sendfile 로 내려준다.
+ */
+@Slf4j
+public class FileSystemStorageBackend implements StorageBackend {
+
+    private static final String META_DIR = ".meta";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    private final Path root;
+    private final String baseUrl;
+    private final String basePath;
+
+    /**
+     * @param baseUrl 공개 URL 앞부분 (예: https://edge.example.com/uploads)
+     */
+    public FileSystemStorageBackend(Path root, String baseUrl) {
+        this.root = root.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        try {
+            this.basePath = new URL(this.baseUrl).getPath() + "/";
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("잘못된 storage.filesystem.base-url 입니다: " + baseUrl, e);
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream in, long size, String contentType) throws IOException {
+        Path target = objectPath(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload", TEMP_SUFFIX);
+        try {
+            // 같은 디렉터리의 임시 파일에 쓴 뒤 원자적으로 옮겨, 읽는 쪽이 반쯤 쓴 파일을 보지 않게 함
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = channel.transferFrom(source, position, 1024 * 1024)) > 0) {
+                    position += transferred;
+                }
+                channel.force(false);
+            }
+            writeContentType(key, contentType);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("파일 저장 중 오류 발생: {}", e.getMessage());
+            throw new IOException("파일 업로드 실패: " + e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public ObjectContent get(String key) throws IOException {
+        Path path = objectPath(key);
+        try {
+            long size = Files.size(path);
+            String contentType = readContentType(key, path);
+            return new ObjectContent(Files.newInputStream(path), size, contentType);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("파일이 없습니다: " + key);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(objectPath(key));
+    }
+
+    @Override
+    public Map<String, String> deleteAll(List<String> keys) {
+        Map<String, String> failures = new HashMap<>();
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(objectPath(key));
+                Files.deleteIfExists(metadataPath(key));
+            } catch (IOException | IllegalArgumentException e) {
+                failures.put(key, e.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public Page list(String prefix, String continuationToken, int limit) {
+        List<String> keys = new ArrayList<>();
+        Path metaDir = root.resolve(META_DIR);
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.filter(Files::isRegularFile)
+                        .filter(path -> !path.startsWith(metaDir))
+                        .filter(path -> !path.getFileName().toString().endsWith(TEMP_SUFFIX))
+                        .map(path -> root.relativize(path).toString().replace('\\', '/'))
+                        .filter(key -> prefix == null || key.startsWith(prefix))
+                        .filter(key -> continuationToken == null || key.compareTo(continuationToken) > 0)
+                        .sorted()
+                        .limit(limit + 1L)
+                        .forEach(keys::add);
+            } catch (IOException e) {
+                throw new IllegalStateException("파일 목록 조회 실패: " + e.getMessage(), e);
+            }
+        }
+
+        boolean truncated = keys.size() > limit;
+        List<StoredObject> objects = new ArrayList<>();
+        for (String key : truncated ? keys.subList(0, limit) : keys) {
+            try {
+                Path path = objectPath(key);
+                objects.add(new StoredObject(key, Files.size(path), Files.getLastModifiedTime(path).toInstant()));
+            } catch (IOException e) {
+                // 목록을 만드는 사이 지워진 파일은 건너뜀
+                log.debug("목록 조회 중 사라진 파일: {}", key);
+            }
+        }
+        return new Page(objects, truncated ? keys.get(limit - 1) : null);
+    }
+
+    @Override
+    public String url(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    @Override
+    public String keyFromUrl(String fileUrl) {
+        try {
+            String path = new URL(fileUrl).getPath();
+            if (!path.startsWith(basePath) || path.length() == basePath.length()) {
+                throw new IllegalArgumentException("Invalid file URL: Unable to extract key");
+            }
+            return URLDecoder.decode(path.substring(basePath.length()), StandardCharsets.UTF_8);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid file URL: " + fileUrl, e);
+        }
+    }
+
+    /**
+     * 내려줄 파일 조회
+     * @return 키가 잘못되었거나 파일이 없으면 빈 값
+     */
+    public Optional<LocalFile> resolve(String key) {
+        try {
+            Path path = objectPath(key);
+            if (!Files.isRegularFile(path)) {
+                return Optional.empty();
+            }
+            long size = Files.size(path);
+            Instant lastModified = Files.getLastModifiedTime(path).toInstant();
+            return Optional.of(new LocalFile(path, size, lastModified, readContentType(key, path),
+                    LocalFile.etagOf(size, lastModified)));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path objectPath(String key) {
+        Path path = root.resolve(key).normalize();
+        // 키에 ../ 등이 들어와도 루트 밖이나 메타데이터 디렉터리로 나가지 않게 함
+        if (!path.startsWith(root) || path.equals(root) || path.startsWith(root.resolve(META_DIR))) {
+            throw new IllegalArgumentException("잘못된 객체 키입니다: " + key);
+        }
+        return path;
+    }
+
+    private Path metadataPath(String key) {
+        return root.resolve(META_DIR).resolve(root.relativize(objectPath(key)) + ".properties");
+    }
+
+    private void writeContentType(String key, String contentType) throws IOException {
+        Path path = metadataPath(key);
+        Files.createDirectories(path.getParent());
+        Properties properties = new Properties();
+        if (contentType != null) {
+            properties.setProperty(CONTENT_TYPE, contentType);
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            properties.store(out, null);
+        }
+    }
+
+    private String readContentType(String key, Path path) throws IOException {
+        Path metadata = metadataPath(key);
+        if (Files.exists(metadata)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(metadata)) {
+                properties.load(in);
+            }
+            if (properties.containsKey(CONTENT_TYPE)) {
+                return properties.getProperty(CONTENT_TYPE);
+            }
+        }
+        String probed = Files.probeContentType(path);
+        return probed != null ? probed : "application/octet-stream";
+    }
+}
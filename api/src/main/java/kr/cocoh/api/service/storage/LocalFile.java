@@ -0,0 +1,15 @@
+package kr.cocoh.api.service.storage;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * 로컬 디스크에서 내려줄 파일 정보
+ * @param etag 크기와 수정 시각으로 만든 강한 ETag (파일을 덮어쓰면 바뀜)
+ */
+public record LocalFile(Path path, long size, Instant lastModified, String contentType, String etag) {
+
+    public static String etagOf(long size, Instant lastModified) {
+        return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified.toEpochMilli()) + "\"";
+    }
+}
@@ -0,0 +1,144 @@
+package kr.cocoh.api.service.storage;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 파일 HTTP 응답 (로컬 디스크 저장소, 미디어 엣지 캐시 공용)
+ * Range(영상 탐색/이어받기), ETag/Last-Modified 조건부 요청을 지원하고,
+ * 본문은 Tomcat sendfile 로 커널에서 바로 보낸다 (지원하지 않으면 FileChannel.transferTo).
+ */
+@Slf4j
+public final class LocalFileResponder {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private LocalFileResponder() {
+    }
+
+    public static void write(HttpServletRequest request, HttpServletResponse response, LocalFile file,
+                             String cacheControl) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, file.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, file.lastModified().toEpochMilli());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        if (notModified(request, file)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        ByteRange range = null;
+        if (rangeApplies(request, file)) {
+            try {
+                range = ByteRange.parse(request.getHeader(HttpHeaders.RANGE), file.size());
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size());
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long start = range != null ? range.start() : 0;
+        long length = range != null ? range.length() : file.size();
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + range.end() + "/" + file.size());
+        }
+        response.setContentType(file.contentType());
+        response.setContentLengthLong(length);
+
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        // 커넥터가 sendfile 을 지원하면 요청이 끝난 뒤 Tomcat 이 파일을 직접 보냄 (사용자 공간 복사 없음)
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        } catch (IOException e) {
+            // 영상 탐색 중 클라이언트가 연결을 끊는 경우가 많아 디버그로만 남김
+            log.debug("파일 전송 중단 - 파일: {}, 원인: {}", file.path(), e.getMessage());
+        }
+    }
+
+    private static boolean notModified(HttpServletRequest request, LocalFile file) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(file.etag())) {
+                    return true;
+                }
+            }
+            // If-None-Match 가 있으면 If-Modified-Since 는 무시 (RFC 9110)
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && !truncated(file.lastModified()).isAfter(Instant.ofEpochMilli(ifModifiedSince));
+    }
+
+    // If-Range 가 현재 파일과 맞지 않으면 범위를 무시하고 전체를 내려줌
+    private static boolean rangeApplies(HttpServletRequest request, LocalFile file) {
+        if (request.getHeader(HttpHeaders.RANGE) == null) {
+            return false;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(file.etag());
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && truncated(file.lastModified()).toEpochMilli() == date;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    // HTTP 날짜는 초 단위
+    private static Instant truncated(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.SECONDS);
+    }
+}
@@ -0,0 +1,277 @@
+package kr.cocoh.api.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 큰 파일(광고 영상 등)을 파트로 나눠 병렬 업로드하는 컴포넌트
+ * 파트 버퍼는 고정 개수 풀에서 빌려 쓰므로, 업로드가 밀리면 입력 읽기가 멈춰 메모리가 part-size × buffer-count 를 넘지 않는다.
+ * 실패한 파트는 그 파트만 재시도하고, 끝내 실패하면 멀티파트 업로드를 취소한다.
+ */
+@Slf4j
+public class MultipartUploader {
+
+    // S3 호환 스토리지의 최소 파트 크기 (마지막 파트 제외)
+    static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final AmazonS3 amazonS3Client;
+    private final ThreadPoolExecutor partExecutor;
+    private final int partSize;
+    private final long threshold;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    // 파트 버퍼 풀 (허가 수 = 버퍼 수, 반납된 배열은 재사용)
+    private final Semaphore bufferPermits;
+    private final ConcurrentLinkedQueue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffersInUse = new AtomicInteger();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter partRetries;
+    private final Timer partTimer;
+    private final DistributionSummary throughput;
+
+    public MultipartUploader(AmazonS3 amazonS3Client, MeterRegistry meterRegistry, int thresholdMb, int partSizeMb,
+                             int concurrency, int bufferCount, int maxAttempts, long retryBackoffMs) {
+        this(amazonS3Client, meterRegistry, thresholdMb * 1024L * 1024L, partSizeMb * 1024 * 1024,
+                concurrency, bufferCount, maxAttempts, retryBackoffMs);
+    }
+
+    MultipartUploader(AmazonS3 amazonS3Client, MeterRegistry meterRegistry, long threshold, int partSize,
+                      int concurrency, int bufferCount, int maxAttempts, long retryBackoffMs) {
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("파트 크기는 5MB 이상이어야 합니다.");
+        }
+        this.amazonS3Client = amazonS3Client;
+        this.meterRegistry = meterRegistry;
+        this.threshold = Math.max(threshold, partSize);
+        this.partSize = partSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+        // 동시 업로드 수보다 버퍼가 적으면 워커가 놀게 되므로 최소한 그만큼은 둠
+        this.bufferPermits = new Semaphore(Math.max(bufferCount, concurrency));
+
+        // 대기 파트 수는 버퍼 수로 이미 제한되므로 큐는 무제한으로 둠
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.partExecutor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "storage-part-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.partRetries = Counter.builder("storage.upload.part.retries")
+                .description("재시도한 파트 업로드 수")
+                .register(meterRegistry);
+        this.partTimer = Timer.builder("storage.upload.part.duration")
+                .description("파트 한 개 업로드 시간")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("storage.upload.throughput")
+                .description("업로드 처리량")
+                .baseUnit("bytes/s")
+                .register(meterRegistry);
+        Gauge.builder("storage.upload.buffers.in-use", buffersInUse, AtomicInteger::get)
+                .description("사용 중인 파트 버퍼 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 멀티파트 업로드 대상인지 여부
+     */
+    public boolean shouldUse(long size) {
+        return size >= threshold;
+    }
+
+    /**
+     * 스트림을 파트로 나눠 업로드
+     * @param in 업로드할 내용 (호출한 쪽에서 닫아야 함)
+     * @param metadata 객체 메타데이터 (Content-Length 는 무시됨)
+     * @throws IOException 읽기 실패 또는 재시도 후에도 파트 업로드가 실패한 경우 (업로드는 취소됨)
+     */
+    public void upload(String bucketName, String key, InputStream in, ObjectMetadata metadata,
+                       CannedAccessControlList acl) throws IOException {
+        long startedAt = System.nanoTime();
+        String uploadId;
+        try {
+            uploadId = amazonS3Client.initiateMultipartUpload(
+                    new InitiateMultipartUploadRequest(bucketName, key, metadata).withCannedACL(acl)).getUploadId();
+        } catch (Exception e) {
+            throw new IOException("멀티파트 업로드 시작 실패: " + e.getMessage(), e);
+        }
+
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<PartETag>> parts = new ArrayList<>();
+        long totalBytes = 0;
+        try {
+            int partNumber = 1;
+            while (!failed.get()) {
+                byte[] buffer = acquireBuffer();
+                int length;
+                try {
+                    length = readFully(in, buffer);
+                } catch (IOException | RuntimeException e) {
+                    releaseBuffer(buffer);
+                    throw e;
+                }
+                if (length == 0 && partNumber > 1) {
+                    releaseBuffer(buffer);
+                    break;
+                }
+
+                int number = partNumber++;
+                totalBytes += length;
+                parts.add(partExecutor.submit(() -> uploadPart(bucketName, key, uploadId, number, buffer, length, failed)));
+                if (length < buffer.length) {
+                    break;
+                }
+            }
+
+            List<PartETag> etags = new ArrayList<>(parts.size());
+            for (Future<PartETag> part : parts) {
+                etags.add(part.get());
+            }
+            etags.sort(Comparator.comparingInt(PartETag::getPartNumber));
+            amazonS3Client.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, key, uploadId, etags));
+        } catch (Exception e) {
+            // 아직 대기 중인 파트는 failed 플래그를 보고 바로 버퍼를 반납함
+            failed.set(true);
+            abortQuietly(bucketName, key, uploadId);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("멀티파트 업로드 실패 - 키: {}, 원인: {}", key, cause.getMessage());
+            throw new IOException("멀티파트 업로드 실패: " + cause.getMessage(), cause);
+        }
+
+        record(totalBytes, System.nanoTime() - startedAt, "multipart");
+        log.debug("멀티파트 업로드 완료 - 키: {}, 파트 수: {}, 크기: {} bytes", key, parts.size(), totalBytes);
+    }
+
+    /**
+     * 업로드 처리량 기록 (단일 업로드도 같은 지표로 모음)
+     */
+    public void record(long bytes, long elapsedNanos, String mode) {
+        Timer.builder("storage.upload.duration")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("storage.upload.bytes")
+                .tag("mode", mode)
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .increment(bytes);
+        if (elapsedNanos > 0) {
+            throughput.record(bytes * 1_000_000_000d / elapsedNanos);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        partExecutor.shutdown();
+        if (!partExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            partExecutor.shutdownNow();
+        }
+    }
+
+    private PartETag uploadPart(String bucketName, String key, String uploadId, int partNumber,
+                                byte[] buffer, int length, AtomicBoolean failed) throws Exception {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                if (failed.get()) {
+                    throw new IOException("다른 파트 실패로 업로드가 취소되었습니다.");
+                }
+                long startedAt = System.nanoTime();
+                try {
+                    // 재시도마다 새 스트림을 만들어 버퍼 처음부터 다시 보냄
+                    UploadPartRequest request = new UploadPartRequest()
+                            .withBucketName(bucketName)
+                            .withKey(key)
+                            .withUploadId(uploadId)
+                            .withPartNumber(partNumber)
+                            .withPartSize(length)
+                            .withInputStream(new ByteArrayInputStream(buffer, 0, length));
+                    PartETag etag = amazonS3Client.uploadPart(request).getPartETag();
+                    partTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    return etag;
+                } catch (Exception e) {
+                    if (attempt >= maxAttempts) {
+                        failed.set(true);
+                        throw e;
+                    }
+                    partRetries.increment();
+                    log.warn("파트 업로드 재시도 - 키: {}, 파트: {}, 시도: {}, 원인: {}",
+                            key, partNumber, attempt, e.getMessage());
+                    Thread.sleep(retryBackoffMs * (1L << (attempt - 1)));
+                }
+            }
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    private byte[] acquireBuffer() throws InterruptedException {
+        bufferPermits.acquire();
+        buffersInUse.incrementAndGet();
+        byte[] buffer = freeBuffers.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        freeBuffers.offer(buffer);
+        buffersInUse.decrementAndGet();
+        bufferPermits.release();
+    }
+
+    private int readFully(InputStream in, byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = in.read(buffer, offset, buffer.length - offset);
+            if (read == -1) {
+                break;
+            }
+            offset += read;
+        }
+        return offset;
+    }
+
+    private void abortQuietly(String bucketName, String key, String uploadId) {
+        try {
+            amazonS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (Exception e) {
+            log.warn("멀티파트 업로드 취소 실패 - 키: {}, uploadId: {}, 원인: {}", key, uploadId, e.getMessage());
+        }
+    }
+}
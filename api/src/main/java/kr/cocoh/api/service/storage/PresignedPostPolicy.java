@@ -0,0 +1,90 @@
+package kr.cocoh.api.service.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * S3 브라우저 업로드(POST Object)용 정책 서명 (Signature Version 4)
+ * SDK v1 에는 POST 정책 생성기가 없어 직접 만든다. 폼 필드는 정책 조건과 정확히 같아야 한다.
+ */
+final class PresignedPostPolicy {
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter SHORT_DATE = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter EXPIRATION = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private PresignedPostPolicy() {
+    }
+
+    /**
+     * @param fields 정책에 정확히 일치 조건으로 넣을 폼 필드 (key, Content-Type 등)
+     * @return 업로드 폼에 담을 필드 (파일 필드 제외)
+     */
+    static Map<String, String> sign(ObjectMapper objectMapper, String accessKey, String secretKey, String region,
+                                    String bucketName, Map<String, String> fields, long minSize, long maxSize,
+                                    Instant now, Instant expiresAt) {
+        String amzDate = AMZ_DATE.format(now);
+        String shortDate = SHORT_DATE.format(now);
+        String credential = accessKey + "/" + shortDate + "/" + region + "/s3/aws4_request";
+
+        Map<String, String> form = new LinkedHashMap<>(fields);
+        form.put("x-amz-algorithm", ALGORITHM);
+        form.put("x-amz-credential", credential);
+        form.put("x-amz-date", amzDate);
+
+        List<Object> conditions = new ArrayList<>();
+        conditions.add(Map.of("bucket", bucketName));
+        form.forEach((name, value) -> conditions.add(Map.of(name, value)));
+        conditions.add(List.of("content-length-range", minSize, maxSize));
+
+        Map<String, Object> policy = new LinkedHashMap<>();
+        policy.put("expiration", EXPIRATION.format(expiresAt));
+        policy.put("conditions", conditions);
+
+        try {
+            String encodedPolicy = Base64.getEncoder()
+                    .encodeToString(objectMapper.writeValueAsString(policy).getBytes(StandardCharsets.UTF_8));
+            form.put("policy", encodedPolicy);
+            form.put("x-amz-signature", signature(secretKey, shortDate, region, encodedPolicy));
+            return form;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("업로드 정책 생성 실패", e);
+        }
+    }
+
+    /**
+     * base64 로 인코딩한 정책 문서 자체가 서명 대상 문자열이다.
+     * @param shortDate yyyyMMdd (UTC)
+     */
+    static String signature(String secretKey, String shortDate, String region, String encodedPolicy) {
+        byte[] signingKey = hmac(hmac(hmac(hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8),
+                shortDate), region), "s3"), "aws4_request");
+        return HexFormat.of().formatHex(hmac(signingKey, encodedPolicy));
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package kr.cocoh.api.service.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * S3 호환 객체 저장소 백엔드 (Naver Cloud Object Storage)
+ * 큰 파일은 MultipartUploader 로 나눠 올리고, 삭제는 DeleteObjects 로 최대 1000개씩 묶는다.
+ */
+@Slf4j
+public class S3StorageBackend implements StorageBackend {
+
+    // S3 DeleteObjects 한 번에 보낼 수 있는 최대 키 수
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+
+    private final AmazonS3 amazonS3Client;
+    private final MultipartUploader multipartUploader;
+    private final String bucketName;
+
+    public S3StorageBackend(AmazonS3 amazonS3Client, MultipartUploader multipartUploader, String bucketName) {
+        this.amazonS3Client = amazonS3Client;
+        this.multipartUploader = multipartUploader;
+        this.bucketName = bucketName;
+    }
+
+    @Override
+    public void put(String key, InputStream in, long size, String contentType) throws IOException {
+        // 메타데이터 설정 (내용이 바뀌지 않는 키이므로 영구 캐시 허용)
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setContentLength(size);
+        metadata.setCacheControl("public, max-age=31536000, immutable");
+
+        // 큰 파일은 파트로 나눠 병렬 업로드 (실패한 파트만 재시도)
+        if (multipartUploader.shouldUse(size)) {
+            multipartUploader.upload(bucketName, key, in, metadata, CannedAccessControlList.PublicRead);
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            amazonS3Client.putObject(new PutObjectRequest(bucketName, key, in, metadata)
+                    .withCannedAcl(CannedAccessControlList.PublicRead));
+            multipartUploader.record(size, System.nanoTime() - startedAt, "single");
+        } catch (Exception e) {
+            log.error("파일 업로드 중 오류 발생: {}", e.getMessage());
+            throw new IOException("파일 업로드 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public ObjectContent get(String key) throws IOException {
+        try {
+            S3Object object = amazonS3Client.getObject(bucketName, key);
+            ObjectMetadata metadata = object.getObjectMetadata();
+            return new ObjectContent(object.getObjectContent(), metadata.getContentLength(), metadata.getContentType());
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                throw new FileNotFoundException("파일이 없습니다: " + key);
+            }
+            throw new IOException("파일 다운로드 실패: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new IOException("파일 다운로드 실패: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return amazonS3Client.doesObjectExist(bucketName, key);
+    }
+
+    @Override
+    public Map<String, String> deleteAll(List<String> keys) {
+        Map<String, String> failures = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_DELETE) {
+            List<String> chunk = keys.subList(from, Math.min(from + MAX_KEYS_PER_DELETE, keys.size()));
+            List<DeleteObjectsRequest.KeyVersion> versions = chunk.stream()
+                    .map(DeleteObjectsRequest.KeyVersion::new)
+                    .toList();
+            try {
+                // quiet 모드: 실패한 키만 응답에 담김 (없는 키는 성공으로 취급됨)
+                amazonS3Client.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(versions).withQuiet(true));
+            } catch (MultiObjectDeleteException e) {
+                e.getErrors().forEach(error -> failures.put(error.getKey(), error.getCode() + ": " + error.getMessage()));
+            } catch (Exception e) {
+                chunk.forEach(key -> failures.put(key, e.getMessage()));
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public Page list(String prefix, String continuationToken, int limit) {
+        ListObjectsV2Result result = amazonS3Client.listObjectsV2(new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withPrefix(prefix)
+                .withContinuationToken(continuationToken)
+                .withMaxKeys(limit));
+        List<StoredObject> objects = result.getObjectSummaries().stream()
+                .map(summary -> new StoredObject(summary.getKey(), summary.getSize(),
+                        summary.getLastModified() != null ? summary.getLastModified().toInstant() : null))
+                .toList();
+        return new Page(objects, result.isTruncated() ? result.getNextContinuationToken() : null);
+    }
+
+    @Override
+    public String url(String key) {
+        return amazonS3Client.getUrl(bucketName, key).toString();
+    }
+
+    @Override
+    public String keyFromUrl(String fileUrl) {
+        try {
+            String key = new URL(fileUrl).getPath().substring(1); // 첫 번째 '/' 제거
+            if (key.isEmpty()) {
+                throw new IllegalArgumentException("Invalid file URL: Unable to extract key");
+            }
+            return key;
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid file URL: " + fileUrl, e);
+        }
+    }
+}
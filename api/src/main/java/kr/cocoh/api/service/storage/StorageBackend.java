@@ -0,0 +1,78 @@
+package kr.cocoh.api.service.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 객체 저장소 백엔드 (storage.backend=s3 | filesystem)
+ * 객체는 키로 다루며, 공개 URL 과 키 사이의 변환도 백엔드가 맡는다.
+ */
+public interface StorageBackend {
+
+    /**
+     * 객체 저장 (같은 키가 있으면 덮어씀)
+     * @throws IOException 저장 실패 시
+     */
+    void put(String key, InputStream in, long size, String contentType) throws IOException;
+
+    /**
+     * 객체 내용과 메타데이터 (호출한 쪽에서 닫아야 함)
+     * @throws java.io.FileNotFoundException 객체가 없을 때
+     * @throws IOException 읽기 실패 시
+     */
+    ObjectContent get(String key) throws IOException;
+
+    /**
+     * 객체 내용 (호출한 쪽에서 닫아야 함)
+     * @throws IOException 객체가 없거나 읽기 실패 시
+     */
+    default InputStream open(String key) throws IOException {
+        return get(key).content();
+    }
+
+    boolean exists(String key);
+
+    /**
+     * 여러 객체 삭제 (없는 키는 성공으로 취급)
+     * @return 삭제에 실패한 키별 원인
+     */
+    Map<String, String> deleteAll(List<String> keys);
+
+    /**
+     * 접두사로 객체 목록 조회 (키 순)
+     * @param continuationToken 이전 페이지의 nextToken (첫 페이지는 null)
+     */
+    Page list(String prefix, String continuationToken, int limit);
+
+    /**
+     * 객체 공개 URL
+     */
+    String url(String key);
+
+    /**
+     * 공개 URL 에서 객체 키 추출
+     * @throws IllegalArgumentException 이 백엔드의 URL 이 아닌 경우
+     */
+    String keyFromUrl(String url);
+
+    record StoredObject(String key, long size, Instant lastModified) {
+    }
+
+    record ObjectContent(InputStream content, long size, String contentType) implements Closeable {
+
+        @Override
+        public void close() throws IOException {
+            content.close();
+        }
+    }
+
+    /**
+     * @param nextToken 다음 페이지가 없으면 null
+     */
+    record Page(List<StoredObject> objects, String nextToken) {
+    }
+}
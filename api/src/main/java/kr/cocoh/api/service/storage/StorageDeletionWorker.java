@@ -0,0 +1,117 @@
+package kr.cocoh.api.service.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.repository.StorageDeletionRepository.PendingDeletion;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 저장소 객체 삭제 대기열 처리 워커
+ * 차례가 된 예약을 잠근 채로 백엔드 일괄 삭제(S3 는 DeleteObjects, 최대 1000개)를 호출하고,
+ * 실패한 키만 지수 백오프로 다시 예약한다.
+ * 삭제 중에는 행 잠금을 유지하므로, 같은 키를 다시 참조하는 업로드는 삭제가 끝난 뒤 객체를 확인한다.
+ */
+@Slf4j
+@Service
+public class StorageDeletionWorker {
+
+    // S3 DeleteObjects 한 번에 보낼 수 있는 최대 키 수
+    private static final int MAX_KEYS_PER_REQUEST = 1000;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final StorageBackend storageBackend;
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${storage.deletion.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${storage.deletion.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    @Value("${storage.deletion.retry-max-seconds:21600}")
+    private long retryMaxSeconds;
+
+    @Value("${storage.deletion.alert-attempts:10}")
+    private int alertAttempts;
+
+    public StorageDeletionWorker(StorageBackend storageBackend,
+                                 StorageDeletionRepository storageDeletionRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.storageBackend = storageBackend;
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${storage.deletion.poll-interval-ms:5000}")
+    public void drain() {
+        int limit = Math.min(Math.max(batchSize, 1), MAX_KEYS_PER_REQUEST);
+        try {
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                Integer processed = transactionTemplate.execute(status -> processBatch(limit));
+                if (processed == null || processed < limit) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("저장소 삭제 대기열 처리 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private int processBatch(int limit) {
+        List<PendingDeletion> due = storageDeletionRepository.lockDue(limit);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        // 그 사이 다시 참조된 키는 지우지 않고 예약만 정리
+        List<Long> done = new ArrayList<>();
+        Map<String, PendingDeletion> byKey = new HashMap<>();
+        for (PendingDeletion deletion : due) {
+            if (deletion.referenced()) {
+                done.add(deletion.id());
+            } else {
+                byKey.put(deletion.objectKey(), deletion);
+            }
+        }
+
+        Map<String, String> failures = byKey.isEmpty()
+                ? Map.of()
+                : storageBackend.deleteAll(List.copyOf(byKey.keySet()));
+
+        for (PendingDeletion deletion : byKey.values()) {
+            if (!failures.containsKey(deletion.objectKey())) {
+                done.add(deletion.id());
+                continue;
+            }
+            int attempts = deletion.attempts() + 1;
+            storageDeletionRepository.markFailed(deletion.id(), failures.get(deletion.objectKey()), backoffSeconds(attempts));
+            if (attempts >= alertAttempts) {
+                log.error("저장소 객체 삭제 반복 실패 - 키: {}, 시도: {}, 원인: {}",
+                        deletion.objectKey(), attempts, failures.get(deletion.objectKey()));
+            }
+        }
+        storageDeletionRepository.deleteByIds(done);
+
+        if (!failures.isEmpty()) {
+            log.warn("저장소 객체 삭제 일부 실패: {}/{}건", failures.size(), due.size());
+        }
+        log.debug("저장소 객체 삭제 처리: {}건", due.size());
+        return due.size();
+    }
+
+    private long backoffSeconds(int attempts) {
+        long backoff = retryBaseSeconds << Math.min(attempts - 1, 20);
+        return Math.min(backoff, retryMaxSeconds);
+    }
+}
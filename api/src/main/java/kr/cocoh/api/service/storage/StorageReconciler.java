@@ -0,0 +1,105 @@
+package kr.cocoh.api.service.storage;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import kr.cocoh.api.config.StorageConfig.StoragePaths;
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.service.StorageService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 저장소 대사 작업
+ * 이 환경이 쓰는 폴더의 객체를 훑어, 어디에서도 참조하지 않는 객체를 삭제 대기열에 넣는다.
+ * 업로드 직후 참조가 기록되기 전의 객체를 지우지 않도록 grace-hours 보다 오래된 객체만 본다.
+ * 기본은 dry-run 이라 로그만 남기고, storage.reconcile.dry-run=false 일 때만 삭제 대기열에 넣는다.
+ */
+@Slf4j
+@Service
+public class StorageReconciler {
+
+    private static final List<String> FOLDERS = List.of(StoragePaths.PROFILES, StoragePaths.SALONS, StoragePaths.ADS);
+    private static final int PAGE_SIZE = 1000;
+
+    private final StorageBackend storageBackend;
+    private final StorageService storageService;
+    private final StorageDeletionRepository storageDeletionRepository;
+
+    @Value("${storage.reconcile.grace-hours:24}")
+    private int graceHours;
+
+    @Value("${storage.reconcile.dry-run:true}")
+    private boolean dryRun;
+
+    public StorageReconciler(StorageBackend storageBackend,
+                             StorageService storageService,
+                             StorageDeletionRepository storageDeletionRepository) {
+        this.storageBackend = storageBackend;
+        this.storageService = storageService;
+        this.storageDeletionRepository = storageDeletionRepository;
+    }
+
+    @Scheduled(cron = "${storage.reconcile.cron:0 0 5 * * SUN}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("저장소 대사 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return 참조되지 않는 객체 수 (dry-run 이면 대기열에 넣지 않고 세기만 함)
+     */
+    public int reconcile() {
+        Instant cutoff = Instant.now().minus(graceHours, ChronoUnit.HOURS);
+        int orphans = 0;
+        int scanned = 0;
+
+        for (String folder : FOLDERS) {
+            String prefix = storageService.resolveFolderPath(folder);
+            String token = null;
+            do {
+                StorageBackend.Page page = storageBackend.list(prefix, token, PAGE_SIZE);
+                scanned += page.objects().size();
+                orphans += reconcilePage(page.objects(), cutoff);
+                token = page.nextToken();
+            } while (token != null);
+        }
+
+        log.info("저장소 대사 완료 - 확인: {}건, 참조 없음: {}건{}", scanned, orphans, dryRun ? " (dry-run)" : "");
+        return orphans;
+    }
+
+    private int reconcilePage(List<StorageBackend.StoredObject> objects, Instant cutoff) {
+        Map<String, String> urlByKey = new LinkedHashMap<>();
+        for (StorageBackend.StoredObject object : objects) {
+            if (object.lastModified() != null && object.lastModified().isBefore(cutoff)) {
+                urlByKey.put(object.key(), storageBackend.url(object.key()));
+            }
+        }
+
+        Set<String> known = storageDeletionRepository.findKnownKeys(urlByKey);
+        List<String> orphans = urlByKey.keySet().stream()
+                .filter(key -> !known.contains(key))
+                .toList();
+        if (orphans.isEmpty()) {
+            return 0;
+        }
+
+        if (dryRun) {
+            orphans.forEach(key -> log.info("참조 없는 저장소 객체: {}", key));
+        } else {
+            storageDeletionRepository.enqueueAll(orphans, 0);
+        }
+        return orphans.size();
+    }
+}
@@ -0,0 +1,191 @@
+package kr.cocoh.api.service.subscription;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import kr.cocoh.api.event.ChangeFeedEvent;
+import kr.cocoh.api.event.SubscriptionExpiredEvent;
+import kr.cocoh.api.model.pay.Subscription;
+import kr.cocoh.api.repository.SubscriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 사용자별 요금제 권한 스냅샷 캐시
+ * 유효한 구독들의 요금제를 Entitlements 로 한 번 해석해 사용자 ID 로 캐시한다.
+ * 구독이 여러 개면 가장 비싼 구독이 끝난 뒤 이어지는 구독까지 스냅샷에 이어 붙인다.
+ * 구독 변경은 변경 피드(subscription, payload 의 userId)로 해당 사용자만, 요금제 변경(subscription_plan)은 전체를 비운다.
+ * 무효화와 로드가 겹치면 그 로드 결과는 캐시하지 않는다. 로드마다 사용자 키에 표식을 걸어 두고,
+ * 무효화가 그 사용자의 표식을 지웠으면 버린다 (다른 사용자의 무효화는 영향 없음).
+ */
+@Slf4j
+@Service
+public class EntitlementService {
+
+    public static final String PLAN_AGGREGATE_TYPE = "subscription_plan";
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Entitlements> cache = new ConcurrentHashMap<>();
+    // 진행 중인 로드의 표식 (사용자 ID → 표식)
+    private final ConcurrentHashMap<Long, Object> loading = new ConcurrentHashMap<>();
+    private final Counter misses;
+
+    @Value("${entitlement.cache-ttl-ms:300000}")
+    private long cacheTtlMs;
+
+    @Value("${entitlement.cache-max-entries:50000}")
+    private int cacheMaxEntries;
+
+    @Value("${entitlement.free.max-ads:1}")
+    private int freeMaxAds;
+
+    @Value("${entitlement.free.max-displays:1}")
+    private int freeMaxDisplays;
+
+    public EntitlementService(SubscriptionRepository subscriptionRepository,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.objectMapper = objectMapper;
+        this.misses = Counter.builder("entitlement.cache.misses").register(meterRegistry);
+        Gauge.builder("entitlement.cache.size", cache, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * 사용자의 권한 스냅샷 (캐시 적중 시 할당 없음, 키 박싱을 피하려고 Long 으로 받음)
+     */
+    public Entitlements get(Long userId) {
+        long now = System.currentTimeMillis();
+        Entitlements cached = cache.get(userId);
+        if (cached != null && now - cached.loadedAtMillis() < cacheTtlMs) {
+            return cached;
+        }
+
+        misses.increment();
+        Object token = new Object();
+        loading.put(userId, token);
+        Entitlements loaded;
+        try {
+            loaded = load(userId, now);
+        } catch (RuntimeException e) {
+            loading.remove(userId, token);
+            throw e;
+        }
+        // 표식 확인과 저장을 같은 키의 compute 안에서 해 evict 와 겹치지 않게 함
+        loading.computeIfPresent(userId, (key, current) -> {
+            if (current != token) {
+                return current;
+            }
+            if (cache.size() >= cacheMaxEntries && !cache.containsKey(userId)) {
+                evictOne();
+            }
+            cache.put(userId, loaded);
+            return null;
+        });
+        return loaded;
+    }
+
+    public void evict(Long userId) {
+        loading.remove(userId);
+        cache.remove(userId);
+    }
+
+    // 가득 찼을 때 한 항목만 내보냄 (전체를 비우면 모든 사용자가 한꺼번에 DB 로 감)
+    private void evictOne() {
+        Iterator<Long> keys = cache.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    public void evictAll() {
+        loading.clear();
+        cache.clear();
+    }
+
+    /**
+     * 이 노드에서 만료 처리한 구독은 커밋 직후 바로 제거 (변경 피드보다 빠름)
+     */
+    @TransactionalEventListener
+    public void onSubscriptionExpired(SubscriptionExpiredEvent event) {
+        for (SubscriptionExpiredEvent.Expired expired : event.subscriptions()) {
+            evict(expired.userId());
+        }
+    }
+
+    /**
+     * 구독 변경 (모든 노드, payload 에 userId 가 없으면 전체 제거)
+     */
+    @EventListener(condition = "#event.aggregateType == 'subscription'")
+    public void onSubscriptionChanged(ChangeFeedEvent event) {
+        Long userId = userIdOf(event.payload());
+        if (userId != null) {
+            evict(userId);
+        } else {
+            evictAll();
+        }
+    }
+
+    /**
+     * 요금제 변경 (모든 노드)
+     */
+    @EventListener(condition = "#event.aggregateType == '" + PLAN_AGGREGATE_TYPE + "'")
+    public void onPlanChanged(ChangeFeedEvent event) {
+        evictAll();
+    }
+
+    private Entitlements load(Long userId, long now) {
+        List<Subscription> effective = subscriptionRepository.findEffective(userId, LocalDateTime.now(), Pageable.unpaged());
+        if (effective.isEmpty()) {
+            return Entitlements.free(userId, now, freeMaxAds, freeMaxDisplays);
+        }
+
+        // 비싼 순으로 보면서, 앞 구독보다 늦게 끝나는 구독만 그 뒤를 잇는다
+        List<Subscription> periods = new ArrayList<>();
+        for (Subscription subscription : effective) {
+            if (periods.isEmpty() || subscription.getEndDate().isAfter(periods.get(periods.size() - 1).getEndDate())) {
+                periods.add(subscription);
+            }
+        }
+        Entitlements entitlements = null;
+        for (int i = periods.size() - 1; i >= 0; i--) {
+            Subscription subscription = periods.get(i);
+            long validUntil = subscription.getEndDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            entitlements = Entitlements.compile(userId, subscription.getPlan(), validUntil, now,
+                    freeMaxAds, freeMaxDisplays, entitlements);
+        }
+        return entitlements;
+    }
+
+    private Long userIdOf(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            JsonNode userId = objectMapper.readTree(payload).get("userId");
+            return userId != null && userId.canConvertToLong() ? userId.asLong() : null;
+        } catch (IOException e) {
+            log.warn("구독 변경 이벤트 해석 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+}
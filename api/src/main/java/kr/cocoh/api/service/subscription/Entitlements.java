@@ -0,0 +1,165 @@
+package kr.cocoh.api.service.subscription;
+
+import java.util.Map;
+
+import kr.cocoh.api.model.pay.SubscriptionPlan;
+
+/**
+ * 한 사용자의 요금제 권한 스냅샷 (불변, 기본형 필드만 가짐)
+ * SubscriptionPlan.features 를 한 번 해석해 두므로 권한 확인은 할당 없이 필드 비교만 한다.
+ * 구독 종료 시각을 함께 들고 있어, 캐시에 남아 있어도 종료 시각이 지나면 다음 구독(after), 없으면 무료 권한으로 판단한다.
+ */
+public final class Entitlements {
+
+    // features JSON 키
+    public static final String MAX_ADS = "max_ads";
+    public static final String MAX_DISPLAYS = "max_displays";
+    public static final String PREMIUM_PLACEMENT = "premium_placement";
+
+    // 제한 없음 (features 값이 -1 또는 "unlimited")
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final long userId;
+    private final long planId;
+    private final boolean premiumPlan;
+    private final long validUntilMillis;
+    private final long loadedAtMillis;
+    private final int maxAds;
+    private final int maxDisplays;
+    private final boolean premiumPlacement;
+    private final int freeMaxAds;
+    private final int freeMaxDisplays;
+    // 이 구독이 끝난 뒤 이어지는 구독 (없으면 null)
+    private final Entitlements after;
+
+    private Entitlements(long userId, long planId, boolean premiumPlan, long validUntilMillis, long loadedAtMillis,
+                         int maxAds, int maxDisplays, boolean premiumPlacement, int freeMaxAds, int freeMaxDisplays,
+                         Entitlements after) {
+        this.userId = userId;
+        this.planId = planId;
+        this.premiumPlan = premiumPlan;
+        this.validUntilMillis = validUntilMillis;
+        this.loadedAtMillis = loadedAtMillis;
+        this.maxAds = maxAds;
+        this.maxDisplays = maxDisplays;
+        this.premiumPlacement = premiumPlacement;
+        this.freeMaxAds = freeMaxAds;
+        this.freeMaxDisplays = freeMaxDisplays;
+        this.after = after;
+    }
+
+    /**
+     * 구독이 없는 사용자 (무료 권한)
+     */
+    static Entitlements free(long userId, long loadedAtMillis, int freeMaxAds, int freeMaxDisplays) {
+        return new Entitlements(userId, 0, false, 0, loadedAtMillis,
+                freeMaxAds, freeMaxDisplays, false, freeMaxAds, freeMaxDisplays, null);
+    }
+
+    /**
+     * 요금제 features 를 해석해 스냅샷 생성 (없는 키는 무료 권한 값)
+     * @param after validUntilMillis 이후에 이어지는 구독의 스냅샷 (없으면 null)
+     */
+    static Entitlements compile(long userId, SubscriptionPlan plan, long validUntilMillis, long loadedAtMillis,
+                                int freeMaxAds, int freeMaxDisplays, Entitlements after) {
+        Map<String, Object> features = plan.getFeatures() != null ? plan.getFeatures() : Map.of();
+        return new Entitlements(userId, plan.getId(), plan.getType() == SubscriptionPlan.PlanType.premium_sponsor,
+                validUntilMillis, loadedAtMillis,
+                limit(features.get(MAX_ADS), freeMaxAds),
+                limit(features.get(MAX_DISPLAYS), freeMaxDisplays),
+                flag(features.get(PREMIUM_PLACEMENT)),
+                freeMaxAds, freeMaxDisplays, after);
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    /**
+     * 유효한 구독의 요금제 ID (없으면 0)
+     */
+    public long planId(long nowMillis) {
+        Entitlements current = at(nowMillis);
+        return current.subscribedAt(nowMillis) ? current.planId : 0;
+    }
+
+    public boolean subscribed(long nowMillis) {
+        return at(nowMillis).subscribedAt(nowMillis);
+    }
+
+    public boolean premiumPlan(long nowMillis) {
+        Entitlements current = at(nowMillis);
+        return current.premiumPlan && current.subscribedAt(nowMillis);
+    }
+
+    public int maxAds(long nowMillis) {
+        Entitlements current = at(nowMillis);
+        return current.subscribedAt(nowMillis) ? current.maxAds : freeMaxAds;
+    }
+
+    public int maxDisplays(long nowMillis) {
+        Entitlements current = at(nowMillis);
+        return current.subscribedAt(nowMillis) ? current.maxDisplays : freeMaxDisplays;
+    }
+
+    /**
+     * 광고를 하나 더 등록할 수 있는지
+     */
+    public boolean canCreateAd(int currentAds, long nowMillis) {
+        return currentAds < maxAds(nowMillis);
+    }
+
+    /**
+     * 디스플레이를 하나 더 연결할 수 있는지
+     */
+    public boolean canAddDisplay(int currentDisplays, long nowMillis) {
+        return currentDisplays < maxDisplays(nowMillis);
+    }
+
+    public boolean premiumPlacement(long nowMillis) {
+        Entitlements current = at(nowMillis);
+        return current.premiumPlacement && current.subscribedAt(nowMillis);
+    }
+
+    // 지금 유효한 구독의 스냅샷 (끝난 구독은 건너뜀)
+    private Entitlements at(long nowMillis) {
+        Entitlements current = this;
+        while (current.after != null && nowMillis >= current.validUntilMillis) {
+            current = current.after;
+        }
+        return current;
+    }
+
+    private boolean subscribedAt(long nowMillis) {
+        return planId != 0 && nowMillis < validUntilMillis;
+    }
+
+    long loadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    private static int limit(Object value, int fallback) {
+        if (value instanceof Number number) {
+            long limit = number.longValue();
+            return limit < 0 || limit >= UNLIMITED ? UNLIMITED : (int) limit;
+        }
+        if (value instanceof String text) {
+            if ("unlimited".equalsIgnoreCase(text.trim())) {
+                return UNLIMITED;
+            }
+            try {
+                return limit(Long.parseLong(text.trim()), fallback);
+            } catch (NumberFormatException ignored) {
+                return fallback;
+            }
+        }
+        return fallback;
+    }
+
+    private static boolean flag(Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        return value instanceof String text && Boolean.parseBoolean(text.trim());
+    }
+}
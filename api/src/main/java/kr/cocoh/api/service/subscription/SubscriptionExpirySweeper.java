@@ -0,0 +1,138 @@
+package kr.cocoh.api.service.subscription;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import kr.cocoh.api.event.SubscriptionExpiredEvent;
+import kr.cocoh.api.repository.SubscriptionSweepRepository;
+import kr.cocoh.api.repository.SubscriptionSweepRepository.DueSubscription;
+import kr.cocoh.api.service.outbox.OutboxPublisher;
+import kr.cocoh.api.service.scheduling.SchedulerLease;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 구독 만료 스윕
+ * 종료일이 지난 활성 구독을 (end_date, id) 키셋 순서로 청크 단위로 잠가 expired 로 전환한다.
+ * 청크마다 별도 트랜잭션이며, 전환과 같은 트랜잭션에서 아웃박스 이벤트와 SubscriptionExpiredEvent 를 남긴다.
+ * DB 리스를 잡은 한 노드만 실행하고, 청크 사이마다 리스를 연장한다.
+ */
+@Slf4j
+@Service
+public class SubscriptionExpirySweeper {
+
+    public static final String AGGREGATE_TYPE = "subscription";
+    public static final String EXPIRED = "expired";
+    private static final String LEASE_NAME = "subscription-expiry";
+
+    private final SubscriptionSweepRepository sweepRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLease schedulerLease;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expiredCounter;
+
+    @Value("${subscription.expiry.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${subscription.expiry.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Value("${subscription.expiry.renewal-grace-hours:72}")
+    private long renewalGraceHours;
+
+    @Value("${subscription.expiry.lease-seconds:120}")
+    private long leaseSeconds;
+
+    public SubscriptionExpirySweeper(SubscriptionSweepRepository sweepRepository,
+                                     OutboxPublisher outboxPublisher,
+                                     ApplicationEventPublisher eventPublisher,
+                                     SchedulerLease schedulerLease,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry) {
+        this.sweepRepository = sweepRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.eventPublisher = eventPublisher;
+        this.schedulerLease = schedulerLease;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiredCounter = Counter.builder("subscription.expiry.transitions")
+                .description("active 에서 expired 로 전환된 구독 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${subscription.expiry.interval-ms:60000}")
+    public void sweep() {
+        if (!schedulerLease.acquire(LEASE_NAME, leaseSeconds)) {
+            return;
+        }
+        try {
+            int expired = sweepOnce(LocalDateTime.now());
+            if (expired > 0) {
+                log.info("구독 만료 처리 완료 - {}건", expired);
+            }
+        } catch (Exception e) {
+            log.error("구독 만료 처리 중 오류 발생: {}", e.getMessage());
+        } finally {
+            schedulerLease.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * 기준 시각까지 끝난 구독을 만료 처리 (한 번 실행에 max-chunks-per-run 청크까지)
+     * @return 전환한 구독 수
+     */
+    public int sweepOnce(LocalDateTime now) {
+        LocalDateTime renewalCutoff = now.minusHours(renewalGraceHours);
+        LocalDateTime cursorEndDate = LocalDateTime.of(1970, 1, 1, 0, 0);
+        long cursorId = 0;
+        int total = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            if (chunk > 0 && !schedulerLease.renew(LEASE_NAME, leaseSeconds)) {
+                log.warn("구독 만료 리스를 잃어 중단합니다 - 처리: {}건", total);
+                break;
+            }
+
+            LocalDateTime afterEndDate = cursorEndDate;
+            long afterId = cursorId;
+            List<DueSubscription> due = transactionTemplate.execute(status -> {
+                List<DueSubscription> locked = sweepRepository.lockDue(now, renewalCutoff, afterEndDate, afterId, chunkSize);
+                if (locked.isEmpty()) {
+                    return locked;
+                }
+                sweepRepository.expire(locked.stream().map(DueSubscription::id).toList());
+                for (DueSubscription subscription : locked) {
+                    outboxPublisher.publish(AGGREGATE_TYPE, subscription.id(), EXPIRED,
+                            "{\"userId\":" + subscription.userId() + ",\"planId\":" + subscription.planId() + "}");
+                }
+                eventPublisher.publishEvent(new SubscriptionExpiredEvent(locked.stream()
+                        .map(subscription -> new SubscriptionExpiredEvent.Expired(
+                                subscription.id(), subscription.userId(), subscription.planId()))
+                        .toList()));
+                return locked;
+            });
+
+            if (due == null || due.isEmpty()) {
+                break;
+            }
+            total += due.size();
+            expiredCounter.increment(due.size());
+
+            DueSubscription last = due.get(due.size() - 1);
+            cursorEndDate = last.endDate();
+            cursorId = last.id();
+            if (due.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
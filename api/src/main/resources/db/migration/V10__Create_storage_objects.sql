@@ -0,0 +1,14 @@
+-- 내용 주소 기반(SHA-256) 저장 객체와 참조 수
+CREATE TABLE storage_objects (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    content_hash CHAR(64) NOT NULL,
+    object_key VARCHAR(255) NOT NULL,
+    url VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100),
+    byte_size BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 1,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_object_key (object_key),
+    INDEX idx_content_hash (content_hash)
+);
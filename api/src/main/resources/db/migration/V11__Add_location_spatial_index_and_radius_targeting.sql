@@ -0,0 +1,14 @@
+-- 살롱 위치 좌표 (위경도에서 자동 계산되는 POINT, SRID 4326)
+ALTER TABLE locations
+    ADD COLUMN coordinates POINT SRID 4326
+        GENERATED ALWAYS AS (ST_SRID(POINT(longitude, latitude), 4326)) STORED NOT NULL;
+
+ALTER TABLE locations
+    ADD SPATIAL INDEX idx_locations_coordinates (coordinates);
+
+-- 광고 반경 타게팅 (중심 좌표 + 반경)
+ALTER TABLE ad_locations
+    MODIFY COLUMN target_type ENUM('nationwide', 'administrative', 'radius') NOT NULL,
+    ADD COLUMN latitude DECIMAL(10, 8) NULL,
+    ADD COLUMN longitude DECIMAL(11, 8) NULL,
+    ADD COLUMN radius_meters INTEGER NULL;
@@ -0,0 +1,16 @@
+-- 디바이스 플레이리스트 읽기 모델
+-- 광고 쓰기와 같은 트랜잭션에서 갱신되며, (시/도, 구/군, 시간대) 로 한 번에 조회한다.
+-- city/district 가 '' 이면 전국 / 시 단위 타게팅
+CREATE TABLE ad_playlist_entries (
+    city VARCHAR(100) NOT NULL DEFAULT '',
+    district VARCHAR(100) NOT NULL DEFAULT '',
+    slot_hour TINYINT NOT NULL,
+    ad_id BIGINT NOT NULL,
+    starts_at TIMESTAMP NULL,
+    ends_at TIMESTAMP NULL,
+    payload JSON NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (city, district, slot_hour, ad_id),
+    INDEX idx_ad_playlist_entries_ad (ad_id),
+    FOREIGN KEY (ad_id) REFERENCES ads (id) ON DELETE CASCADE
+);
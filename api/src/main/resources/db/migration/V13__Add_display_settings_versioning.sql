@@ -0,0 +1,14 @@
+-- 디스플레이 설정 버전 (설정이 바뀔 때마다 1 증가)
+ALTER TABLE displays
+    ADD COLUMN settings_version BIGINT NOT NULL DEFAULT 0 AFTER settings;
+
+-- 버전별 변경 키 기록 (디바이스에 바뀐 키만 내려주기 위함)
+CREATE TABLE display_settings_changes (
+    display_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    changed_keys JSON NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (display_id, version),
+    INDEX idx_display_settings_changes_created (created_at),
+    FOREIGN KEY (display_id) REFERENCES displays (id) ON DELETE CASCADE
+);
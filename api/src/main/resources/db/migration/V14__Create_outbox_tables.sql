@@ -0,0 +1,18 @@
+-- 트랜잭션 아웃박스 (엔티티 변경과 같은 트랜잭션에서 기록, 각 노드가 ID 순서로 폴링)
+CREATE TABLE outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload JSON NULL,
+    origin_node VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    INDEX idx_outbox_events_created (created_at)
+);
+
+-- 노드별 소비 위치 (압축 시 모든 살아 있는 노드가 읽은 행만 삭제)
+CREATE TABLE outbox_consumers (
+    node_id VARCHAR(100) PRIMARY KEY,
+    last_event_id BIGINT NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,11 @@
+-- 저장소 객체 삭제 대기열 (백그라운드 워커가 DeleteObjects 로 일괄 삭제)
+CREATE TABLE storage_deletions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    object_key VARCHAR(255) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(3) NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_object_key (object_key),
+    INDEX idx_next_attempt_at (next_attempt_at)
+);
@@ -0,0 +1,17 @@
+-- 클라이언트가 버킷에 직접 올리는 업로드 슬롯 (presigned PUT / POST)
+CREATE TABLE storage_uploads (
+    id CHAR(36) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    folder VARCHAR(50) NOT NULL,
+    object_key VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    declared_size BIGINT NOT NULL,
+    byte_size BIGINT,
+    status ENUM('pending', 'finalized') NOT NULL DEFAULT 'pending',
+    expires_at DATETIME NOT NULL,
+    finalized_at DATETIME,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_object_key (object_key),
+    INDEX idx_status_expires_at (status, expires_at),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
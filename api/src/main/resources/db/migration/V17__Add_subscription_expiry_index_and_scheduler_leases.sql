@@ -0,0 +1,10 @@
+-- 만료 대상 구독 키셋 스캔용 인덱스 (status = 'active' AND end_date <= ? ORDER BY end_date, id)
+CREATE INDEX idx_subscriptions_status_end_date ON subscriptions (status, end_date);
+
+-- 스케줄 작업 리스 (여러 노드 중 한 노드만 실행, 만료 시각은 DB 시계 기준)
+CREATE TABLE scheduler_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100) NOT NULL,
+    expires_at DATETIME(3) NOT NULL,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)
+);
@@ -0,0 +1,20 @@
+-- PG 웹훅 수신함 (서명 확인 후 바로 저장하고 응답, 워커가 결제/구독 상태에 반영)
+-- 같은 결제의 같은 이벤트는 (provider, merchant_uid, event_type) 고유 인덱스로 한 번만 저장
+CREATE TABLE payment_webhook_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    provider VARCHAR(20) NOT NULL,
+    merchant_uid VARCHAR(100) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    target_status ENUM('pending', 'completed', 'failed', 'refunded') NULL,
+    amount INTEGER NULL,
+    receipt_url VARCHAR(255) NULL,
+    payload MEDIUMTEXT NOT NULL,
+    status ENUM('pending', 'processing', 'processed', 'failed') NOT NULL DEFAULT 'pending',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    last_error VARCHAR(500) NULL,
+    received_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    processed_at DATETIME(3) NULL,
+    UNIQUE KEY uk_payment_webhook_events_event (provider, merchant_uid, event_type),
+    INDEX idx_payment_webhook_events_due (status, next_attempt_at)
+);
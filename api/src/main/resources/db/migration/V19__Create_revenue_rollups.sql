@@ -0,0 +1,30 @@
+-- 일별 매출/환불 집계 (일자, 요금제, PG, 통화별 한 행, 구독이 없는 결제는 plan_id = 0)
+CREATE TABLE revenue_daily_rollups (
+    day DATE NOT NULL,
+    plan_id BIGINT NOT NULL,
+    pg_provider VARCHAR(50) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    payments_count INT NOT NULL DEFAULT 0,
+    gross_amount BIGINT NOT NULL DEFAULT 0,
+    refunds_count INT NOT NULL DEFAULT 0,
+    refund_amount BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (day, plan_id, pg_provider, currency)
+);
+
+-- 집계에 반영한 결제/환불 기록 (같은 건이 두 번 더해지지 않게, 재검증 시 일자 단위로 다시 만듦)
+CREATE TABLE revenue_rollup_entries (
+    source ENUM('payment', 'refund') NOT NULL,
+    source_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    plan_id BIGINT NOT NULL,
+    pg_provider VARCHAR(50) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    amount INT NOT NULL,
+    PRIMARY KEY (source, source_id),
+    INDEX idx_revenue_rollup_entries_day (day)
+);
+
+-- 백필/재검증 시 일자 범위 조회용
+CREATE INDEX idx_payments_status_payment_date ON payments (payment_status, payment_date);
+CREATE INDEX idx_payment_refunds_status_refund_date ON payment_refunds (status, refund_date);
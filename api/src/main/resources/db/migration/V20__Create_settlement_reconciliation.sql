@@ -0,0 +1,34 @@
+-- PG 정산 파일 대사 실행 기록
+CREATE TABLE settlement_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    pg_provider VARCHAR(50) NOT NULL,
+    settlement_date DATE NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    status ENUM('running', 'completed', 'failed') NOT NULL DEFAULT 'running',
+    file_rows BIGINT NOT NULL DEFAULT 0,
+    db_rows BIGINT NOT NULL DEFAULT 0,
+    matched BIGINT NOT NULL DEFAULT 0,
+    discrepancies BIGINT NOT NULL DEFAULT 0,
+    error VARCHAR(500) NULL,
+    started_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    finished_at DATETIME(3) NULL,
+    INDEX idx_settlement_runs_provider_date (pg_provider, settlement_date)
+);
+
+-- 대사 불일치 (실행마다 쌓고 실행 ID 로 조회)
+CREATE TABLE settlement_discrepancies (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    run_id BIGINT NOT NULL,
+    merchant_uid VARCHAR(100) NOT NULL,
+    type ENUM('missing_payment', 'missing_settlement', 'amount_mismatch', 'status_mismatch',
+              'duplicate_settlement', 'invalid_row') NOT NULL,
+    file_amount INT NULL,
+    db_amount INT NULL,
+    file_status VARCHAR(20) NULL,
+    db_status VARCHAR(20) NULL,
+    detail VARCHAR(255) NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_settlement_discrepancies_run (run_id, id),
+    INDEX idx_settlement_discrepancies_run_type (run_id, type),
+    FOREIGN KEY (run_id) REFERENCES settlement_runs (id) ON DELETE CASCADE
+);
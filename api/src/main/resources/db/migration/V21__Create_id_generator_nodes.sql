@@ -0,0 +1,18 @@
+-- 시간순 ID 생성기의 노드 번호 리스 (0 ~ 1023, 만료 시각은 DB 시계 기준)
+-- last_timestamp 는 그 노드 번호로 마지막에 보고한 ID 시각(epoch ms)이며, 다음 노드는 이 시각 이후부터 발급한다.
+CREATE TABLE id_generator_nodes (
+    node_id SMALLINT PRIMARY KEY,
+    owner VARCHAR(100) NOT NULL DEFAULT '',
+    expires_at DATETIME(3) NOT NULL,
+    last_timestamp BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    INDEX idx_id_generator_nodes_expires_at (expires_at)
+);
+
+INSERT INTO id_generator_nodes (node_id, expires_at)
+WITH RECURSIVE seq (n) AS (
+    SELECT 0
+    UNION ALL
+    SELECT n + 1 FROM seq WHERE n < 1023
+)
+SELECT n, '1970-01-02 00:00:00' FROM seq;
@@ -0,0 +1,18 @@
+-- 환불 예약 합계 (대기 + 완료 환불, 조건부 UPDATE 로만 바뀌며 결제 금액을 넘을 수 없음)
+ALTER TABLE payments
+    ADD COLUMN refunded_amount INT NOT NULL DEFAULT 0 AFTER amount,
+    ADD CONSTRAINT chk_payments_refunded_amount CHECK (refunded_amount >= 0 AND refunded_amount <= amount);
+
+UPDATE payments p
+JOIN (
+    SELECT payment_id, SUM(amount) AS total
+    FROM payment_refunds
+    WHERE status IN ('pending', 'completed')
+    GROUP BY payment_id
+) r ON r.payment_id = p.id
+SET p.refunded_amount = LEAST(r.total, p.amount);
+
+-- 같은 결제에 같은 요청 키로 다시 들어온 환불은 처음 것을 돌려줌
+ALTER TABLE payment_refunds
+    ADD COLUMN idempotency_key VARCHAR(100) NULL AFTER payment_id,
+    ADD UNIQUE KEY uk_payment_refunds_idempotency (payment_id, idempotency_key);
@@ -0,0 +1,33 @@
+-- 자동 갱신 결제용 빌링키와 갱신 시도 횟수
+ALTER TABLE subscriptions
+    ADD COLUMN billing_key VARCHAR(200) NULL AFTER auto_renewal,
+    ADD COLUMN billing_pg_provider VARCHAR(50) NULL AFTER billing_key,
+    ADD COLUMN renewal_attempts INT NOT NULL DEFAULT 0 AFTER billing_pg_provider;
+
+-- 자동 갱신 결제 실행 (cutoff 이전에 끝나는 구독을 대상으로 하며, 끝나지 않은 실행은 다음 실행이 이어서 처리)
+CREATE TABLE renewal_billing_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cutoff DATETIME NOT NULL,
+    status ENUM('running', 'completed') NOT NULL DEFAULT 'running',
+    partitions INT NOT NULL,
+    charged INT NOT NULL DEFAULT 0,
+    failed INT NOT NULL DEFAULT 0,
+    started_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    finished_at DATETIME(3) NULL,
+    INDEX idx_renewal_billing_runs_status (status)
+);
+
+-- 실행의 구독 ID 구간 [start_id, end_id) 과 체크포인트 (cursor_id 까지 결제/기록을 마침)
+CREATE TABLE renewal_billing_partitions (
+    run_id BIGINT NOT NULL,
+    partition_no INT NOT NULL,
+    start_id BIGINT NOT NULL,
+    end_id BIGINT NOT NULL,
+    cursor_id BIGINT NOT NULL,
+    status ENUM('pending', 'completed') NOT NULL DEFAULT 'pending',
+    charged INT NOT NULL DEFAULT 0,
+    failed INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (run_id, partition_no),
+    FOREIGN KEY (run_id) REFERENCES renewal_billing_runs (id) ON DELETE CASCADE
+);
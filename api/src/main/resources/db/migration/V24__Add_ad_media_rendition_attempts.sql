@@ -0,0 +1,3 @@
+-- 광고 미디어 변환 시도 횟수 (처리 중 노드를 죽이는 항목이 멈춘 작업 복구로 끝없이 다시 잡히지 않게 함)
+ALTER TABLE ad_medias
+    ADD COLUMN rendition_attempts INT NOT NULL DEFAULT 0 AFTER rendition_status;
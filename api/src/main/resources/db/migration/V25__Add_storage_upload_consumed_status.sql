@@ -0,0 +1,9 @@
+-- 직접 업로드는 한 번만 사용 (같은 객체 키를 여러 광고 미디어가 참조하면 하나를 지울 때 나머지가 깨진 링크가 됨)
+ALTER TABLE storage_uploads
+    MODIFY status ENUM('pending', 'finalized', 'consumed') NOT NULL DEFAULT 'pending';
+
+-- 이미 광고 미디어로 등록된 업로드
+UPDATE storage_uploads u
+SET u.status = 'consumed'
+WHERE u.status = 'finalized'
+  AND EXISTS (SELECT 1 FROM ad_medias m WHERE m.url LIKE CONCAT('%/', u.object_key));
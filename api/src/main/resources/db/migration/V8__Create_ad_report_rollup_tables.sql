@@ -0,0 +1,55 @@
+-- 광고 재생 시간별 집계 테이블 (디스플레이 재생 보고가 직접 누적되는 hot tier)
+CREATE TABLE ad_play_rollups_hourly (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bucket_start TIMESTAMP NOT NULL,
+    ad_id BIGINT NOT NULL,
+    campaign_id BIGINT NOT NULL DEFAULT 0,
+    city VARCHAR(100) NOT NULL DEFAULT '',
+    district VARCHAR(100) NOT NULL DEFAULT '',
+    impressions BIGINT NOT NULL DEFAULT 0,
+    play_seconds BIGINT NOT NULL DEFAULT 0,
+    spend DECIMAL(14,2) NOT NULL DEFAULT 0,
+    UNIQUE KEY unique_hourly_rollup (ad_id, bucket_start, city, district),
+    INDEX idx_hourly_campaign_bucket (campaign_id, bucket_start),
+    INDEX idx_hourly_bucket (bucket_start)
+);
+
+-- 광고 재생 일별 집계 테이블 (시간별 집계를 압축해서 생성)
+CREATE TABLE ad_play_rollups_daily (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bucket_start TIMESTAMP NOT NULL,
+    ad_id BIGINT NOT NULL,
+    campaign_id BIGINT NOT NULL DEFAULT 0,
+    city VARCHAR(100) NOT NULL DEFAULT '',
+    district VARCHAR(100) NOT NULL DEFAULT '',
+    impressions BIGINT NOT NULL DEFAULT 0,
+    play_seconds BIGINT NOT NULL DEFAULT 0,
+    spend DECIMAL(14,2) NOT NULL DEFAULT 0,
+    UNIQUE KEY unique_daily_rollup (ad_id, bucket_start, city, district),
+    INDEX idx_daily_campaign_bucket (campaign_id, bucket_start),
+    INDEX idx_daily_bucket (bucket_start)
+);
+
+-- 광고 재생 월별 집계 테이블 (일별 집계를 압축해서 생성)
+CREATE TABLE ad_play_rollups_monthly (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bucket_start TIMESTAMP NOT NULL,
+    ad_id BIGINT NOT NULL,
+    campaign_id BIGINT NOT NULL DEFAULT 0,
+    city VARCHAR(100) NOT NULL DEFAULT '',
+    district VARCHAR(100) NOT NULL DEFAULT '',
+    impressions BIGINT NOT NULL DEFAULT 0,
+    play_seconds BIGINT NOT NULL DEFAULT 0,
+    spend DECIMAL(14,2) NOT NULL DEFAULT 0,
+    UNIQUE KEY unique_monthly_rollup (ad_id, bucket_start, city, district),
+    INDEX idx_monthly_campaign_bucket (campaign_id, bucket_start)
+);
+
+-- 집계 압축 진행 상태 (compacted_until 이전 구간은 상위 단위 테이블에 반영 완료)
+CREATE TABLE report_rollup_state (
+    granularity VARCHAR(10) PRIMARY KEY,
+    compacted_until TIMESTAMP NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+INSERT INTO report_rollup_state (granularity, compacted_until) VALUES ('DAY', NULL), ('MONTH', NULL);
@@ -0,0 +1,19 @@
+-- 광고 미디어 변환 상태 (기존 행은 pending 으로 두어 백그라운드 작업이 변환본을 생성하도록 함)
+ALTER TABLE ad_medias
+    ADD COLUMN rendition_status VARCHAR(20) NOT NULL DEFAULT 'pending',
+    ADD INDEX idx_ad_medias_rendition_status (rendition_status, updated_at);
+
+-- 광고 미디어 변환본 (크기별 리사이즈 이미지, 동영상 포스터)
+CREATE TABLE ad_media_renditions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    ad_media_id BIGINT NOT NULL,
+    variant VARCHAR(20) NOT NULL,
+    url VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    width INTEGER NOT NULL,
+    height INTEGER NOT NULL,
+    byte_size BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_ad_media_variant (ad_media_id, variant),
+    FOREIGN KEY (ad_media_id) REFERENCES ad_medias (id) ON DELETE CASCADE
+);
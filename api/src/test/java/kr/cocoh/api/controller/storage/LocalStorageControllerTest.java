@@ -0,0 +1,102 @@
+package kr.cocoh.api.controller.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import kr.cocoh.api.service.storage.FileSystemStorageBackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LocalStorageControllerTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir
+    Path root;
+
+    private MockMvc mockMvc;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileSystemStorageBackend backend = new FileSystemStorageBackend(root, "http://localhost/uploads");
+        byte[] data = CONTENT.getBytes(StandardCharsets.US_ASCII);
+        backend.put("ads/ab/video", new ByteArrayInputStream(data), data.length, "video/mp4");
+        url = backend.url("ads/ab/video");
+        mockMvc = MockMvcBuilders.standaloneSetup(new LocalStorageController(backend)).build();
+    }
+
+    @Test
+    void servesWholeFileWithValidators() throws Exception {
+        assertEquals("http://localhost/uploads/ads/ab/video", url);
+        mockMvc.perform(get("/uploads/ads/ab/video"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "video/mp4"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(content().string(CONTENT));
+
+        mockMvc.perform(head("/uploads/ads/ab/video"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/uploads/ads/ab/missing"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/../secret"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void servesRequestedRange() throws Exception {
+        mockMvc.perform(get("/uploads/ads/ab/video").header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(content().string("56789"));
+
+        mockMvc.perform(get("/uploads/ads/ab/video").header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("hij"));
+
+        mockMvc.perform(get("/uploads/ads/ab/video").header(HttpHeaders.RANGE, "bytes=50-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    void honorsConditionalHeaders() throws Exception {
+        MvcResult first = mockMvc.perform(get("/uploads/ads/ab/video")).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/uploads/ads/ab/video").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // If-Range 가 다르면 범위를 무시하고 전체를 내려줌
+        mockMvc.perform(get("/uploads/ads/ab/video")
+                        .header(HttpHeaders.RANGE, "bytes=0-1")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+
+        mockMvc.perform(get("/uploads/ads/ab/video")
+                        .header(HttpHeaders.RANGE, "bytes=0-1")
+                        .header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("01"));
+    }
+}
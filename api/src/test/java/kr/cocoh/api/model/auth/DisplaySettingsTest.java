@@ -0,0 +1,70 @@
+package kr.cocoh.api.model.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class DisplaySettingsTest {
+
+    @Test
+    void normalizesValuesThatFitTheSchema() {
+        // JSON 에서 읽은 숫자는 Long/Double 로 올 수 있음
+        assertEquals(70, DisplaySettingKey.VOLUME.normalize(70L));
+        assertEquals(70, DisplaySettingKey.VOLUME.normalize(70.0));
+        assertEquals(0, DisplaySettingKey.BRIGHTNESS.normalize(0));
+        assertEquals("portrait", DisplaySettingKey.ORIENTATION.normalize("portrait"));
+        assertEquals("07:30", DisplaySettingKey.SCREEN_ON_TIME.normalize("07:30"));
+        assertEquals(true, DisplaySettingKey.SHOW_CLOCK.normalize(true));
+        assertEquals(DisplaySettingKey.PING_INTERVAL_SECONDS, DisplaySettingKey.fromKey("pingIntervalSeconds"));
+    }
+
+    @Test
+    void rejectsValuesOutsideTheSchema() {
+        for (Object value : List.of(101, -1, 50.5, "50", true)) {
+            assertThrows(IllegalArgumentException.class, () -> DisplaySettingKey.VOLUME.normalize(value), "" + value);
+        }
+        assertThrows(IllegalArgumentException.class, () -> DisplaySettingKey.PLAYLIST_REFRESH_SECONDS.normalize(29));
+        assertThrows(IllegalArgumentException.class, () -> DisplaySettingKey.ORIENTATION.normalize("upside-down"));
+        assertThrows(IllegalArgumentException.class, () -> DisplaySettingKey.SCREEN_OFF_TIME.normalize("24:00"));
+        assertThrows(IllegalArgumentException.class, () -> DisplaySettingKey.SCREEN_OFF_TIME.normalize("7:30"));
+        assertThrows(IllegalArgumentException.class, () -> DisplaySettingKey.MUTE_VIDEO.normalize("true"));
+        assertThrows(IllegalArgumentException.class, () -> DisplaySettingKey.MUTE_VIDEO.normalize(null));
+        assertThrows(IllegalArgumentException.class, () -> DisplaySettingKey.fromKey("volumeLevel"));
+    }
+
+    @Test
+    void snapshotFallsBackToDefaultsForMissingOrInvalidValues() {
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("volume", 30);
+        stored.put("brightness", 150);
+        stored.put("orientation", null);
+        stored.put("unknownKey", "x");
+
+        DisplaySettings settings = DisplaySettings.of(7, stored);
+
+        assertEquals(7, settings.getVersion());
+        assertEquals(30, settings.getInt(DisplaySettingKey.VOLUME));
+        assertEquals(80, settings.getInt(DisplaySettingKey.BRIGHTNESS));
+        assertEquals("landscape", settings.getString(DisplaySettingKey.ORIENTATION));
+        assertEquals(DisplaySettingKey.values().length, settings.toMap().size());
+        assertFalse(settings.toMap().containsKey("unknownKey"));
+        assertEquals(DisplaySettings.defaults().toMap(), DisplaySettings.of(0, null).toMap());
+    }
+
+    @Test
+    void subsetKeepsSchemaOrder() {
+        DisplaySettings settings = DisplaySettings.defaults();
+
+        Map<String, Object> subset = settings.subset(EnumSet.of(DisplaySettingKey.MUTE_VIDEO, DisplaySettingKey.VOLUME));
+
+        assertEquals(List.of("volume", "muteVideo"), List.copyOf(subset.keySet()));
+        assertEquals(List.of(50, false), List.copyOf(subset.values()));
+    }
+}
@@ -0,0 +1,154 @@
+package kr.cocoh.api.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.model.ad.AdCampaign;
+import kr.cocoh.api.model.ad.AdLocation;
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.model.ad.AdSchedule;
+import kr.cocoh.api.model.auth.Location;
+import kr.cocoh.api.model.auth.Salon;
+import kr.cocoh.api.model.auth.User;
+import kr.cocoh.api.model.auth.enums.Provider;
+import kr.cocoh.api.model.auth.enums.Role;
+import kr.cocoh.api.support.SqlStatementCounter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 광고 조회 용도별 SQL 문 개수 회귀 테스트
+ * 광고 수를 늘려도 쿼리 수가 늘지 않아야 한다.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=kr.cocoh.api.support.SqlStatementCounter"
+})
+class AdRepositoryFetchPlanTest {
+
+    private static final int AD_COUNT = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AdRepository adRepository;
+
+    private final List<Long> adIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int s = 0; s < 3; s++) {
+            User owner = entityManager.persist(User.builder()
+                    .email("owner" + s + "@example.com")
+                    .name("owner" + s)
+                    .provider(Provider.LOCAL)
+                    .role(Role.USER)
+                    .build());
+            Salon salon = entityManager.persist(Salon.builder()
+                    .name("salon" + s)
+                    .businessHours("10:00-20:00")
+                    .businessNumber("000000000" + s)
+                    .phone("010-0000-000" + s)
+                    .status(Salon.Status.approved)
+                    .owner(owner)
+                    .build());
+            entityManager.persist(Location.builder()
+                    .salon(salon)
+                    .addressLine1("address" + s)
+                    .city("서울")
+                    .district("강남구")
+                    .latitude(new BigDecimal("37.5"))
+                    .longitude(new BigDecimal("127.0"))
+                    .build());
+
+            for (int i = 0; i < AD_COUNT / 3; i++) {
+                Ad ad = entityManager.persist(Ad.builder()
+                        .title("ad" + s + "-" + i)
+                        .type(Ad.Type.salon)
+                        .salon(salon)
+                        .build());
+                entityManager.persist(AdCampaign.builder()
+                        .ad(ad)
+                        .budget(new BigDecimal("1000"))
+                        .startDate(LocalDateTime.now())
+                        .endDate(LocalDateTime.now().plusDays(30))
+                        .build());
+                for (int m = 0; m < 2; m++) {
+                    entityManager.persist(AdMedia.builder()
+                            .ad(ad)
+                            .url("https://example.com/" + ad.getTitle() + "/" + m)
+                            .type(AdMedia.MediaType.image)
+                            .size(AdMedia.Size.max)
+                            .order(m)
+                            .build());
+                }
+                for (int h = 0; h < 24; h++) {
+                    entityManager.persist(AdSchedule.builder().ad(ad).time(LocalTime.of(h, 0)).build());
+                }
+                entityManager.persist(AdLocation.builder()
+                        .ad(ad)
+                        .targetType(AdLocation.TargetType.administrative)
+                        .city("서울")
+                        .build());
+                adIds.add(ad.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void listPageLoadsSalonAndCampaignWithoutPerAdQueries() {
+        Page<Ad> page = adRepository.findPage(PageRequest.of(0, AD_COUNT));
+        page.forEach(ad -> {
+            ad.getSalon().getLocation().getCity();
+            ad.getCampaign().getBudget();
+        });
+
+        assertEquals(AD_COUNT, page.getNumberOfElements());
+        // 본문 1 + (마지막 페이지면 count 생략)
+        SqlStatementCounter.assertSelectCountAtMost(2);
+    }
+
+    @Test
+    void detailLoadsCollectionsWithBoundedQueries() {
+        Ad ad = adRepository.findDetailById(adIds.get(0)).orElseThrow();
+        assertEquals(2, ad.getMedia().size());
+        assertEquals(24, ad.getSchedules().size());
+        assertEquals(1, ad.getLocations().size());
+
+        // 본문(살롱, 위치, 캠페인, 미디어 조인) 1 + 스케줄 1 + 지역 1
+        SqlStatementCounter.assertSelectCountAtMost(3);
+    }
+
+    @Test
+    void playlistLoadBatchesCollectionsAcrossAds() {
+        List<Ad> ads = adRepository.findForPlaylistByIdIn(adIds);
+        ads.forEach(ad -> {
+            ad.getMedia().size();
+            ad.getSchedules().size();
+            ad.getLocations().size();
+        });
+
+        assertEquals(AD_COUNT, ads.size());
+        // 본문(캠페인, 미디어 조인) 1 + 스케줄 배치 1 + 지역 배치 1
+        SqlStatementCounter.assertSelectCountAtMost(3);
+    }
+}
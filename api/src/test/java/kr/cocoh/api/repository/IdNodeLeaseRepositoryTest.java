@@ -0,0 +1,117 @@
+package kr.cocoh.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import kr.cocoh.api.repository.IdNodeLeaseRepository.Claim;
+
+class IdNodeLeaseRepositoryTest {
+
+    private static final long TTL_SECONDS = 60;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private IdNodeLeaseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:id-nodes;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // V21 과 같은 구조, 노드 번호는 두 개만
+        jdbcTemplate.execute("CREATE TABLE id_generator_nodes (" +
+                "node_id SMALLINT PRIMARY KEY, owner VARCHAR(100) NOT NULL DEFAULT '', " +
+                "expires_at DATETIME(3) NOT NULL, last_timestamp BIGINT NOT NULL DEFAULT 0)");
+        jdbcTemplate.update("INSERT INTO id_generator_nodes (node_id, expires_at) VALUES " +
+                "(0, '1970-01-02 00:00:00'), (1, '1970-01-03 00:00:00')");
+        repository = new IdNodeLeaseRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Test
+    void claimsOldestFreeNodeAndKeepsItOnReclaim() {
+        assertEquals(0, repository.claim("a", TTL_SECONDS).orElseThrow().nodeId());
+        assertEquals(1, repository.claim("b", TTL_SECONDS).orElseThrow().nodeId());
+        assertEquals(0, repository.claim("a", TTL_SECONDS).orElseThrow().nodeId());
+        assertEquals(Optional.empty(), repository.claim("c", TTL_SECONDS));
+    }
+
+    @Test
+    void releasedNodeHandsOverItsLastTimestamp() {
+        Claim claim = repository.claim("a", TTL_SECONDS).orElseThrow();
+        assertTrue(repository.renew(claim.nodeId(), "a", TTL_SECONDS, 5_000));
+        assertTrue(repository.renew(claim.nodeId(), "a", TTL_SECONDS, 4_000)); // 하한은 줄지 않음
+        repository.claim("b", TTL_SECONDS);
+        repository.release(claim.nodeId(), "a", 6_000);
+
+        assertEquals(new Claim(0, 6_000), repository.claim("c", TTL_SECONDS).orElseThrow());
+    }
+
+    @Test
+    void expiredNodePushesTheFloorByTtl() {
+        Claim claim = repository.claim("a", TTL_SECONDS).orElseThrow();
+        repository.renew(claim.nodeId(), "a", TTL_SECONDS, 5_000);
+        repository.claim("b", TTL_SECONDS);
+        // a 가 반납 없이 죽음
+        jdbcTemplate.update("UPDATE id_generator_nodes SET expires_at = TIMESTAMPADD(SECOND, -1, CURRENT_TIMESTAMP(3)) " +
+                "WHERE owner = 'a'");
+
+        assertEquals(new Claim(0, 5_000 + TTL_SECONDS * 1000), repository.claim("c", TTL_SECONDS).orElseThrow());
+        assertFalse(repository.renew(claim.nodeId(), "a", TTL_SECONDS, 7_000));
+        repository.release(claim.nodeId(), "a", 9_000);
+        assertEquals(5_000 + TTL_SECONDS * 1000, (long) jdbcTemplate.queryForObject(
+                "SELECT last_timestamp FROM id_generator_nodes WHERE node_id = 0", Long.class));
+    }
+
+    @Test
+    void concurrentClaimsNeverShareANode() throws Exception {
+        for (int node = 2; node < 8; node++) {
+            jdbcTemplate.update("INSERT INTO id_generator_nodes (node_id, expires_at) VALUES (?, '1970-01-02 00:00:00')",
+                    node);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<Claim>>> claims = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String owner = "node-" + i;
+            claims.add(executor.submit(() -> {
+                start.await();
+                return repository.claim(owner, TTL_SECONDS);
+            }));
+        }
+        start.countDown();
+        List<Integer> nodeIds = new ArrayList<>();
+        for (Future<Optional<Claim>> claim : claims) {
+            claim.get().ifPresent(held -> nodeIds.add(held.nodeId()));
+        }
+        executor.shutdown();
+
+        // 후보가 겹쳐 재시도 횟수를 다 쓴 호출은 빈 값이지만, 같은 번호를 두 곳이 잡지는 않음
+        assertEquals(nodeIds.size(), new HashSet<>(nodeIds).size());
+        assertEquals(nodeIds.size(), (int) jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM id_generator_nodes WHERE owner <> ''", Integer.class));
+    }
+}
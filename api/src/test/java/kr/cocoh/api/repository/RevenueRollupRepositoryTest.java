@@ -0,0 +1,140 @@
+package kr.cocoh.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import kr.cocoh.api.repository.RevenueRollupRepository.RollupKey;
+import kr.cocoh.api.repository.RevenueRollupRepository.RollupRow;
+import kr.cocoh.api.repository.RevenueRollupRepository.Source;
+
+class RevenueRollupRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private RevenueRollupRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:revenue-rollups;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=DAY");
+        dataSource.setUsername("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // V2 의 원본 테이블 중 집계가 읽는 컬럼만, 그 위에 V19 를 그대로 실행 (H2 에서 day 는 예약어라 NON_KEYWORDS)
+        jdbcTemplate.execute("CREATE TABLE subscriptions (id BIGINT PRIMARY KEY, plan_id BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE payments (id BIGINT PRIMARY KEY, subscription_id BIGINT NOT NULL, " +
+                "amount INTEGER NOT NULL, currency VARCHAR(3) NOT NULL DEFAULT 'KRW', " +
+                "payment_status ENUM('pending', 'completed', 'failed', 'refunded') NOT NULL DEFAULT 'pending', " +
+                "payment_date TIMESTAMP NULL, pg_provider VARCHAR(50) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE payment_refunds (id BIGINT PRIMARY KEY, payment_id BIGINT NOT NULL, " +
+                "amount INTEGER NOT NULL, status ENUM('pending', 'completed', 'rejected') NOT NULL DEFAULT 'pending', " +
+                "refund_date TIMESTAMP NULL)");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V19__Create_revenue_rollups.sql"))
+                .execute(dataSource);
+        repository = new RevenueRollupRepository(jdbcTemplate);
+
+        jdbcTemplate.update("INSERT INTO subscriptions (id, plan_id) VALUES (1, 7), (2, 8)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Test
+    void recordAddsEachSourceOnce() {
+        assertTrue(repository.record(Source.payment, 1, DAY, 7, "toss", "KRW", 9900));
+        assertFalse(repository.record(Source.payment, 1, DAY, 7, "toss", "KRW", 9900));
+        assertTrue(repository.record(Source.payment, 2, DAY, 7, "toss", "KRW", 19900));
+        // 같은 번호라도 환불은 다른 기록
+        assertTrue(repository.record(Source.refund, 1, DAY, 7, "toss", "KRW", 5000));
+
+        RollupRow row = repository.findDay(DAY).get(new RollupKey(DAY, 7, "toss", "KRW"));
+        assertEquals(new RollupRow(new RollupKey(DAY, 7, "toss", "KRW"), 2, 29800, 1, 5000), row);
+        assertEquals(24800, row.netAmount());
+    }
+
+    @Test
+    void aggregateSourceCountsCompletedPaymentsAndRefundsOfTheDay() {
+        seedSource();
+
+        Map<RollupKey, RollupRow> source = repository.aggregateSource(DAY);
+
+        assertEquals(Map.of(
+                new RollupKey(DAY, 7, "toss", "KRW"),
+                new RollupRow(new RollupKey(DAY, 7, "toss", "KRW"), 2, 30000, 1, 4000),
+                new RollupKey(DAY, 0, "toss", "KRW"),
+                new RollupRow(new RollupKey(DAY, 0, "toss", "KRW"), 1, 5000, 0, 0),
+                new RollupKey(DAY, 8, "inicis", "KRW"),
+                new RollupRow(new RollupKey(DAY, 8, "inicis", "KRW"), 0, 0, 1, 3000)), source);
+    }
+
+    @Test
+    void rebuildDayReplacesDriftedRollupsWithTheSource() {
+        seedSource();
+        // 원본에 없는 기록과 잘못 더해진 값
+        repository.record(Source.payment, 99, DAY, 7, "toss", "KRW", 123);
+        repository.record(Source.payment, 2, LocalDate.of(2025, 3, 11), 7, "toss", "KRW", 20000);
+
+        repository.rebuildDay(DAY);
+
+        assertEquals(repository.aggregateSource(DAY), repository.findDay(DAY));
+        assertEquals(List.of(1L, 2L, 4L), jdbcTemplate.queryForList(
+                "SELECT source_id FROM revenue_rollup_entries WHERE source = 'payment' AND day = ? ORDER BY source_id",
+                Long.class, DAY));
+        // 다른 날로 기록되어 있던 결제 2 는 이 날로 옮겨지고, 그 날 집계는 그 날을 다시 만들 때 고쳐짐
+        assertEquals(1, repository.findDay(LocalDate.of(2025, 3, 11)).size());
+        repository.rebuildDay(LocalDate.of(2025, 3, 11));
+        assertEquals(repository.aggregateSource(LocalDate.of(2025, 3, 11)),
+                repository.findDay(LocalDate.of(2025, 3, 11)));
+
+        // 다시 만들어도 같은 결과
+        repository.rebuildDay(DAY);
+        assertEquals(repository.aggregateSource(DAY), repository.findDay(DAY));
+    }
+
+    // 3/10: 결제 1(완료), 2(환불됨), 4(구독 없음) / 제외: 3(대기), 5(다음 날)
+    //       환불 1(완료, 3/9 결제), 2(완료, 다른 PG) / 제외: 3(거절)
+    private void seedSource() {
+        payment(1, 1, 10000, "completed", DAY.atTime(9, 0), "toss");
+        payment(2, 1, 20000, "refunded", DAY.atTime(23, 59), "toss");
+        payment(3, 1, 30000, "pending", DAY.atTime(10, 0), "toss");
+        payment(4, 404, 5000, "completed", DAY.atTime(11, 0), "toss");
+        payment(5, 1, 40000, "completed", DAY.plusDays(1).atStartOfDay(), "toss");
+        payment(6, 1, 8000, "completed", DAY.minusDays(1).atTime(12, 0), "toss");
+        payment(7, 2, 9000, "completed", DAY.minusDays(1).atTime(12, 0), "inicis");
+        refund(1, 6, 4000, "completed", DAY.atTime(15, 0));
+        refund(2, 7, 3000, "completed", DAY.atTime(16, 0));
+        refund(3, 1, 1000, "rejected", DAY.atTime(17, 0));
+    }
+
+    private void payment(long id, long subscriptionId, int amount, String status, LocalDateTime paidAt,
+                         String pgProvider) {
+        jdbcTemplate.update("INSERT INTO payments (id, subscription_id, amount, payment_status, payment_date, " +
+                "pg_provider) VALUES (?, ?, ?, ?, ?, ?)", id, subscriptionId, amount, status,
+                Timestamp.valueOf(paidAt), pgProvider);
+    }
+
+    private void refund(long id, long paymentId, int amount, String status, LocalDateTime refundedAt) {
+        jdbcTemplate.update("INSERT INTO payment_refunds (id, payment_id, amount, status, refund_date) " +
+                "VALUES (?, ?, ?, ?, ?)", id, paymentId, amount, status, Timestamp.valueOf(refundedAt));
+    }
+}
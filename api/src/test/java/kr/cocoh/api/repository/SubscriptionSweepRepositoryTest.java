@@ -0,0 +1,137 @@
+package kr.cocoh.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import kr.cocoh.api.repository.SubscriptionSweepRepository.DueSubscription;
+
+class SubscriptionSweepRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+    private static final LocalDateTime RENEWAL_CUTOFF = NOW.minusHours(72);
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private SubscriptionSweepRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:subscription-sweep;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // V2 의 subscriptions 와 V17 인덱스 (외래 키 제외)
+        jdbcTemplate.execute("CREATE TABLE subscriptions (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, plan_id BIGINT NOT NULL, " +
+                "status ENUM('active', 'expired', 'cancelled') NOT NULL DEFAULT 'active', " +
+                "end_date TIMESTAMP NOT NULL, auto_renewal BOOLEAN NOT NULL DEFAULT TRUE, " +
+                "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        jdbcTemplate.execute("CREATE INDEX idx_subscriptions_status_end_date ON subscriptions (status, end_date)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new SubscriptionSweepRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Test
+    void pagesDueSubscriptionsByEndDateThenId() {
+        LocalDateTime tie = NOW.minusDays(5);
+        insert(1, "active", tie, false);
+        insert(2, "active", NOW.minusDays(6), false);
+        insert(3, "active", tie, false);
+        insert(4, "active", tie, true);
+        insert(5, "expired", NOW.minusDays(7), false);
+        insert(6, "active", NOW.plusDays(1), false);
+        // 자동 갱신 구독은 갱신 유예가 지나야 대상
+        insert(7, "active", NOW.minusHours(1), true);
+        insert(8, "active", NOW.minusHours(1), false);
+
+        List<DueSubscription> first = lock(START, 0, 2);
+        assertEquals(List.of(2L, 1L), ids(first));
+        DueSubscription last = first.get(1);
+        List<DueSubscription> second = lock(last.endDate(), last.id(), 2);
+        assertEquals(List.of(3L, 4L), ids(second));
+        last = second.get(1);
+        assertEquals(List.of(8L), ids(lock(last.endDate(), last.id(), 2)));
+    }
+
+    @Test
+    void concurrentSweepsSkipRowsLockedByEachOther() throws Exception {
+        insert(1, "active", NOW.minusDays(3), false);
+        insert(2, "active", NOW.minusDays(3), false);
+        insert(3, "active", NOW.minusDays(1), false);
+        insert(4, "active", NOW.minusDays(1), false);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<DueSubscription>> holder = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    // 정렬 후 LIMIT 을 적용하는 H2 는 조건에 맞는 행을 모두 잠그므로 기준 시각으로 1, 2 만 잡음
+                    List<DueSubscription> due = repository.lockDue(NOW.minusDays(2), RENEWAL_CUTOFF, START, 0, 10);
+                    locked.countDown();
+                    await(release);
+                    return due;
+                }));
+        assertEquals(true, locked.await(5, TimeUnit.SECONDS));
+
+        List<DueSubscription> other = transactionTemplate.execute(status ->
+                repository.lockDue(NOW, RENEWAL_CUTOFF, START, 0, 10));
+        release.countDown();
+
+        assertEquals(List.of(1L, 2L), ids(holder.get(5, TimeUnit.SECONDS)));
+        assertEquals(List.of(3L, 4L), ids(other));
+    }
+
+    @Test
+    void expireOnlyTouchesActiveRows() {
+        insert(1, "active", NOW.minusDays(1), false);
+        insert(2, "cancelled", NOW.minusDays(1), false);
+
+        assertEquals(1, repository.expire(List.of(1L, 2L)));
+        assertEquals(0, repository.expire(List.of()));
+        assertEquals(List.of("expired", "cancelled"), jdbcTemplate.queryForList(
+                "SELECT status FROM subscriptions ORDER BY id", String.class));
+    }
+
+    private List<DueSubscription> lock(LocalDateTime afterEndDate, long afterId, int limit) {
+        return transactionTemplate.execute(status ->
+                repository.lockDue(NOW, RENEWAL_CUTOFF, afterEndDate, afterId, limit));
+    }
+
+    private void insert(long id, String status, LocalDateTime endDate, boolean autoRenewal) {
+        jdbcTemplate.update("INSERT INTO subscriptions (id, user_id, plan_id, status, end_date, auto_renewal) " +
+                "VALUES (?, ?, 1, ?, ?, ?)", id, id * 10, status, Timestamp.valueOf(endDate), autoRenewal);
+    }
+
+    private static List<Long> ids(List<DueSubscription> due) {
+        return due.stream().map(DueSubscription::id).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package kr.cocoh.api.service.ad;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import kr.cocoh.api.dto.AdBulkResultDto;
+import kr.cocoh.api.repository.AdBulkRepository;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.StorageService;
+import kr.cocoh.api.service.subscription.EntitlementService;
+import kr.cocoh.api.service.subscription.Entitlements;
+
+class AdBulkServiceTest {
+
+    private static final String AD = "{\"ref\":\"%s\",\"title\":\"광고 %s\",\"type\":\"sponsor\"," +
+            "\"media\":[{\"part\":\"a.png\",\"size\":\"max\"}]}";
+
+    private static final String SALON_AD = "{\"ref\":\"%s\",\"title\":\"광고 %s\",\"type\":\"salon\",\"salonId\":5," +
+            "\"media\":[{\"part\":\"a.png\",\"size\":\"max\"}]}";
+
+    private AdBulkRepository adBulkRepository;
+    private StorageService storageService;
+    private EntitlementService entitlementService;
+    private AdBulkService adBulkService;
+    private final CustomUserDetails admin = new CustomUserDetails(1L, "admin", "",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    private final CustomUserDetails owner = new CustomUserDetails(2L, "owner", "",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    private final Map<String, MultipartFile> parts = Map.of("a.png",
+            new MockMultipartFile("a.png", "a.png", "image/png", new byte[] {1, 2, 3}));
+
+    @BeforeEach
+    void setUp() throws IOException {
+        adBulkRepository = mock(AdBulkRepository.class);
+        storageService = mock(StorageService.class);
+        entitlementService = mock(EntitlementService.class);
+        when(storageService.uploadFile(any(), anyString())).thenReturn("https://cdn/ads/a.png");
+        adBulkService = new AdBulkService(adBulkRepository, storageService, JsonMapper.builder().findAndAddModules().build(),
+                mock(ApplicationEventPublisher.class), entitlementService, mock(PlatformTransactionManager.class), 2, 8);
+        ReflectionTestUtils.setField(adBulkService, "chunkSize", 50);
+        ReflectionTestUtils.setField(adBulkService, "maxAds", 500);
+        ReflectionTestUtils.setField(adBulkService, "maxMediaPerAd", 20);
+        ReflectionTestUtils.setField(adBulkService, "uploadTimeoutSeconds", 5L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        adBulkService.shutdown();
+    }
+
+    @Test
+    void savesValidAdsAndReportsInvalidOnes() throws IOException {
+        when(adBulkRepository.insertAll(anyList())).thenReturn(List.of(new AdBulkRepository.InsertedAd(10L, List.of(20L))));
+        String manifest = "{\"ads\":[" + AD.formatted("a", "a") + ",{\"ref\":\"b\",\"type\":\"sponsor\"}]}";
+
+        AdBulkResultDto result = adBulkService.createAll(stream(manifest), parts, admin);
+
+        assertEquals(2, result.getTotal());
+        assertEquals(1, result.getCreated());
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertEquals(10L, result.getItems().get(0).getAdId());
+        assertFalse(result.getItems().get(1).isSuccess());
+        verify(storageService, never()).deleteFile(anyString());
+    }
+
+    @Test
+    void failedStreamSavesNothingAndReleasesPendingUploads() {
+        InputStream broken = new SequenceInputStream(stream("{\"ads\":[" + AD.formatted("a", "a") + ","),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("연결 끊김");
+                    }
+                });
+
+        assertThrows(IOException.class, () -> adBulkService.createAll(broken, parts, admin));
+
+        verify(adBulkRepository, never()).insertAll(anyList());
+        verify(storageService, timeout(5000)).deleteFile("https://cdn/ads/a.png");
+    }
+
+    @Test
+    void rejectsAdsBeyondThePlanLimit() throws IOException {
+        Entitlements entitlements = mock(Entitlements.class);
+        when(entitlements.maxAds(anyLong())).thenReturn(3);
+        when(entitlementService.get(2L)).thenReturn(entitlements);
+        when(adBulkRepository.countOwnedAds(2L)).thenReturn(2);
+        when(adBulkRepository.findSalonOwners(any())).thenReturn(Map.of(5L, 2L));
+        when(adBulkRepository.insertAll(anyList())).thenReturn(List.of(new AdBulkRepository.InsertedAd(10L, List.of(20L))));
+        String manifest = "{\"ads\":[" + SALON_AD.formatted("a", "a") + "," + SALON_AD.formatted("b", "b") + "]}";
+
+        AdBulkResultDto result = adBulkService.createAll(stream(manifest), parts, owner);
+
+        assertEquals(1, result.getCreated());
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertFalse(result.getItems().get(1).isSuccess());
+        assertTrue(result.getItems().get(1).getMessage().contains("한도"));
+        verify(storageService).deleteFile("https://cdn/ads/a.png");
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,196 @@
+package kr.cocoh.api.service.ad;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import kr.cocoh.api.config.StorageConfig.StoragePaths;
+import kr.cocoh.api.dto.AdMediaDto;
+import kr.cocoh.api.dto.DirectUploadDto;
+import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.model.auth.Salon;
+import kr.cocoh.api.model.auth.User;
+import kr.cocoh.api.repository.AdMediaRenditionRepository;
+import kr.cocoh.api.repository.AdMediaRepository;
+import kr.cocoh.api.repository.AdRepository;
+import kr.cocoh.api.security.CustomUserDetails;
+import kr.cocoh.api.service.StorageService;
+import kr.cocoh.api.service.storage.DirectUploadService;
+
+class AdMediaServiceTest {
+
+    private static final String URL = "https://cdn/ads/ab/abcdef";
+
+    private AdRepository adRepository;
+    private AdMediaRepository adMediaRepository;
+    private StorageService storageService;
+    private DirectUploadService directUploadService;
+    private PlatformTransactionManager transactionManager;
+    private AdMediaService adMediaService;
+
+    private final Ad ad = Ad.builder()
+            .id(10L)
+            .salon(Salon.builder().id(5L).owner(User.builder().id(2L).build()).build())
+            .build();
+    private final CustomUserDetails owner = new CustomUserDetails(2L, "owner", "",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    private final CustomUserDetails stranger = new CustomUserDetails(3L, "stranger", "",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    private final MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", new byte[] {1, 2, 3});
+
+    @BeforeEach
+    void setUp() throws IOException {
+        adRepository = mock(AdRepository.class);
+        adMediaRepository = mock(AdMediaRepository.class);
+        storageService = mock(StorageService.class);
+        directUploadService = mock(DirectUploadService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(adRepository.findById(10L)).thenReturn(Optional.of(ad));
+        when(adRepository.getReferenceById(10L)).thenReturn(ad);
+        when(storageService.uploadFile(any(), anyString())).thenReturn(URL);
+        adMediaService = new AdMediaService(adRepository, adMediaRepository, mock(AdMediaRenditionRepository.class),
+                storageService, directUploadService, new AdAccessChecker(), mock(ApplicationEventPublisher.class), transactionManager);
+    }
+
+    @Test
+    void uploadsBeforeOpeningTheInsertTransaction() throws IOException {
+        when(adMediaRepository.save(any())).thenAnswer(invocation -> {
+            AdMedia media = invocation.getArgument(0);
+            media.setId(100L);
+            media.setRenditionStatus(AdMedia.RenditionStatus.pending);
+            return media;
+        });
+
+        AdMediaDto media = adMediaService.addMedia(10L, file, AdMedia.Size.max, null, null, null, owner);
+
+        assertEquals(100L, media.getId());
+        assertEquals(URL, media.getUrl());
+        // 권한 확인 트랜잭션이 끝난 뒤 업로드하고, 그 다음에 저장 트랜잭션을 연다
+        InOrder order = inOrder(transactionManager, storageService, adMediaRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(transactionManager).commit(any());
+        order.verify(storageService).uploadFile(any(), anyString());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(adMediaRepository).save(any());
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void deletesUploadAfterInsertRollsBack() throws IOException {
+        when(adMediaRepository.save(any())).thenThrow(new DataIntegrityViolationException("ad_id"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> adMediaService.addMedia(10L, file, AdMedia.Size.max, null, null, null, owner));
+
+        InOrder order = inOrder(transactionManager, storageService);
+        order.verify(transactionManager).rollback(any());
+        order.verify(storageService).deleteFile(URL);
+    }
+
+    @Test
+    void rejectsOtherUsersBeforeUploading() throws IOException {
+        assertThrows(AccessDeniedException.class,
+                () -> adMediaService.addMedia(10L, file, AdMedia.Size.max, null, null, null, stranger));
+
+        verify(storageService, never()).uploadFile(any(), anyString());
+    }
+
+    @Test
+    void directUploadIsFinalizedBeforeTheMediaRowIsSaved() {
+        when(directUploadService.finalizeUpload(2L, "u-1")).thenReturn(DirectUploadDto.Result.builder()
+                .uploadId("u-1").folder(StoragePaths.ADS).url(URL).contentType("video/mp4").size(10L).build());
+        when(adMediaRepository.save(any())).thenAnswer(invocation -> {
+            AdMedia media = invocation.getArgument(0);
+            media.setId(101L);
+            media.setRenditionStatus(AdMedia.RenditionStatus.pending);
+            return media;
+        });
+
+        AdMediaDto media = adMediaService.addDirectMedia(10L, "u-1", AdMedia.Size.max, null, null, null, owner);
+
+        assertEquals(URL, media.getUrl());
+        assertEquals("video", media.getType());
+        // 사용 처리는 행 저장과 같은 트랜잭션
+        InOrder order = inOrder(directUploadService, transactionManager, adMediaRepository);
+        order.verify(directUploadService).finalizeUpload(2L, "u-1");
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(directUploadService).consume("u-1");
+        order.verify(adMediaRepository).save(any());
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void directUploadCanBeAttachedOnlyOnce() {
+        when(directUploadService.finalizeUpload(2L, "u-3")).thenReturn(DirectUploadDto.Result.builder()
+                .uploadId("u-3").folder(StoragePaths.ADS).url(URL).contentType("image/png").size(10L).build());
+        when(adMediaRepository.save(any())).thenAnswer(invocation -> {
+            AdMedia media = invocation.getArgument(0);
+            media.setRenditionStatus(AdMedia.RenditionStatus.pending);
+            return media;
+        });
+        doNothing().doThrow(new IllegalArgumentException("이미 사용되었거나 완료 처리되지 않은 업로드입니다."))
+                .when(directUploadService).consume("u-3");
+
+        adMediaService.addDirectMedia(10L, "u-3", AdMedia.Size.max, null, null, null, owner);
+        assertThrows(IllegalArgumentException.class,
+                () -> adMediaService.addDirectMedia(10L, "u-3", AdMedia.Size.max, null, null, null, owner));
+
+        verify(adMediaRepository, times(1)).save(any());
+        verify(transactionManager).rollback(any());
+        // 객체는 첫 번째 미디어가 쓰고 있으므로 지우지 않음
+        verify(storageService, never()).deleteFile(anyString());
+    }
+
+    @Test
+    void directUploadFromAnotherFolderIsRejected() {
+        when(directUploadService.finalizeUpload(2L, "u-2")).thenReturn(DirectUploadDto.Result.builder()
+                .uploadId("u-2").folder(StoragePaths.PROFILES).url(URL).contentType("image/png").size(10L).build());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> adMediaService.addDirectMedia(10L, "u-2", AdMedia.Size.max, null, null, null, owner));
+        assertThrows(AccessDeniedException.class,
+                () -> adMediaService.addDirectMedia(10L, "u-2", AdMedia.Size.max, null, null, null, stranger));
+
+        verify(adMediaRepository, never()).save(any());
+        verify(directUploadService).finalizeUpload(2L, "u-2");
+    }
+
+    @Test
+    void getMediaChecksOwnership() {
+        AdMedia media = AdMedia.builder()
+                .id(100L)
+                .ad(ad)
+                .url(URL)
+                .type(AdMedia.MediaType.image)
+                .size(AdMedia.Size.max)
+                .renditionStatus(AdMedia.RenditionStatus.ready)
+                .build();
+        when(adMediaRepository.findById(100L)).thenReturn(Optional.of(media));
+
+        assertEquals(URL, adMediaService.getMedia(10L, 100L, owner).getUrl());
+        assertThrows(AccessDeniedException.class, () -> adMediaService.getMedia(10L, 100L, stranger));
+    }
+}
@@ -0,0 +1,59 @@
+package kr.cocoh.api.service.billing;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import kr.cocoh.api.service.billing.BillingGateway.ChargeRequest;
+import kr.cocoh.api.service.billing.BillingGateway.ChargeResult;
+
+class ChargeDispatcherTest {
+
+    @Test
+    void capsConcurrencyPerProviderAndReplaysSameMerchantUid() {
+        StubBillingGateway portone = new StubBillingGateway("portone", 20, 0);
+        StubBillingGateway toss = new StubBillingGateway("toss", 20, 0);
+        try (ChargeDispatcher dispatcher = new ChargeDispatcher(List.of(portone, toss), 3)) {
+            List<CompletableFuture<ChargeResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                futures.add(dispatcher.charge("portone", request("rnw_" + i)));
+                futures.add(dispatcher.charge("toss", request("rnw_toss_" + i)));
+            }
+            futures.forEach(future -> assertTrue(future.join().success()));
+
+            assertEquals(3, portone.maxInFlight());
+            assertEquals(3, toss.maxInFlight());
+
+            // 중단 뒤 같은 주문 번호로 다시 보내면 새로 결제하지 않음
+            assertTrue(dispatcher.charge("portone", request("rnw_0")).join().success());
+            assertEquals(30, portone.charges());
+
+            ChargeResult unknown = dispatcher.charge("kakao", request("rnw_x")).join();
+            assertFalse(unknown.success());
+        }
+    }
+
+    @Test
+    void splitsIdRangeIntoEqualWidthPartitions() {
+        assertArrayEquals(new long[] {1, 26, 51, 76, 101}, SubscriptionRenewalRunner.partitionBounds(1, 100, 4));
+        // 구간이 파티션 수보다 좁으면 ID 하나씩
+        assertArrayEquals(new long[] {10, 11, 12}, SubscriptionRenewalRunner.partitionBounds(10, 11, 16));
+        long[] bounds = SubscriptionRenewalRunner.partitionBounds(5, 1_000_003, 7);
+        assertEquals(5, bounds[0]);
+        assertEquals(1_000_004, bounds[bounds.length - 1]);
+        for (int i = 1; i < bounds.length; i++) {
+            assertTrue(bounds[i] > bounds[i - 1]);
+        }
+    }
+
+    private static ChargeRequest request(String merchantUid) {
+        return new ChargeRequest(merchantUid, "bk_" + merchantUid, 9900, "KRW", "베이직 정기 결제");
+    }
+}
@@ -0,0 +1,60 @@
+package kr.cocoh.api.service.billing;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 자동 갱신 결제 테스트용 H2(MySQL 모드) 스키마 (V2, V23 의 갱신 결제에 필요한 컬럼만)
+ */
+final class RenewalBillingSchema {
+
+    private RenewalBillingSchema() {
+    }
+
+    static HikariDataSource create(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(10);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE subscription_plans (" +
+                "id BIGINT PRIMARY KEY, name VARCHAR(100) NOT NULL, price INT NOT NULL, duration_months INT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE subscriptions (" +
+                "id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, plan_id BIGINT NOT NULL, " +
+                "status VARCHAR(20) NOT NULL, auto_renewal BOOLEAN NOT NULL, end_date TIMESTAMP NOT NULL, " +
+                "billing_key VARCHAR(200), billing_pg_provider VARCHAR(50), renewal_attempts INT NOT NULL DEFAULT 0, " +
+                "updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE payments (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, subscription_id BIGINT, " +
+                "amount INT NOT NULL, currency VARCHAR(3) NOT NULL, payment_method VARCHAR(20) NOT NULL, " +
+                "payment_status VARCHAR(20) NOT NULL, payment_date TIMESTAMP NULL, merchant_uid VARCHAR(100) NOT NULL, " +
+                "pg_provider VARCHAR(50) NOT NULL, receipt_url VARCHAR(255), " +
+                "CONSTRAINT uk_payments_merchant_uid UNIQUE (merchant_uid), CONSTRAINT chk_payments_amount CHECK (amount >= 0))");
+        jdbcTemplate.execute("CREATE TABLE renewal_billing_runs (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, cutoff TIMESTAMP NOT NULL, status VARCHAR(20) NOT NULL DEFAULT 'running', " +
+                "partitions INT NOT NULL, charged INT NOT NULL DEFAULT 0, failed INT NOT NULL DEFAULT 0, " +
+                "started_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3), finished_at TIMESTAMP(3) NULL)");
+        jdbcTemplate.execute("CREATE TABLE renewal_billing_partitions (" +
+                "run_id BIGINT NOT NULL, partition_no INT NOT NULL, start_id BIGINT NOT NULL, end_id BIGINT NOT NULL, " +
+                "cursor_id BIGINT NOT NULL, status VARCHAR(20) NOT NULL DEFAULT 'pending', " +
+                "charged INT NOT NULL DEFAULT 0, failed INT NOT NULL DEFAULT 0, updated_at TIMESTAMP, " +
+                "PRIMARY KEY (run_id, partition_no))");
+        return dataSource;
+    }
+
+    static void insertPlan(JdbcTemplate jdbcTemplate, long id, int price) {
+        jdbcTemplate.update("INSERT INTO subscription_plans (id, name, price, duration_months) VALUES (?, ?, ?, 1)",
+                id, "요금제 " + id, price);
+    }
+
+    static void insertSubscription(JdbcTemplate jdbcTemplate, long id, long planId, LocalDateTime endDate,
+                                   String pgProvider) {
+        jdbcTemplate.update("INSERT INTO subscriptions (id, user_id, plan_id, status, auto_renewal, end_date, " +
+                        "billing_key, billing_pg_provider) VALUES (?, ?, ?, 'active', TRUE, ?, ?, ?)",
+                id, 1000 + id, planId, Timestamp.valueOf(endDate), "bk_" + id, pgProvider);
+    }
+}
@@ -0,0 +1,137 @@
+package kr.cocoh.api.service.billing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.repository.RenewalBillingRepository;
+import kr.cocoh.api.repository.RenewalBillingRepository.Run;
+import kr.cocoh.api.service.outbox.OutboxPublisher;
+import kr.cocoh.api.service.revenue.RevenueRollupService;
+import kr.cocoh.api.service.scheduling.SchedulerLease;
+
+class SubscriptionRenewalRunnerTest {
+
+    private static final LocalDateTime END_DATE = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private StubBillingGateway gateway;
+    private SchedulerLease schedulerLease;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = RenewalBillingSchema.create("renewal-" + System.nanoTime());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        gateway = new StubBillingGateway("portone", 0, 0);
+        schedulerLease = mock(SchedulerLease.class);
+        when(schedulerLease.acquire(anyString(), anyLong())).thenReturn(true);
+        when(schedulerLease.renew(anyString(), anyLong())).thenReturn(true);
+        RenewalBillingSchema.insertPlan(jdbcTemplate, 1L, 9900);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void resumesFromCheckpointWithoutChargingTwice() {
+        for (long id = 1; id <= 20; id++) {
+            // 7번은 지원하지 않는 PG 라 결제 실패
+            RenewalBillingSchema.insertSubscription(jdbcTemplate, id, 1L, END_DATE, id == 7 ? "kakao" : "portone");
+        }
+
+        // 파티션 0 의 두 번째 청크(6~10) 를 결제한 뒤 기록하다 죽음
+        RevenueRollupService crashing = mock(RevenueRollupService.class);
+        AtomicInteger recorded = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (recorded.incrementAndGet() == 7) {
+                throw new IllegalStateException("노드 종료");
+            }
+            return null;
+        }).when(crashing).recordPayment(anyLong(), any(LocalDateTime.class), anyLong(), anyString(), anyString(), anyInt());
+        Run interrupted = runner(crashing).run().orElseThrow();
+        assertEquals("running", interrupted.status());
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT cursor_id FROM renewal_billing_partitions " +
+                "WHERE run_id = ? AND partition_no = 0", Long.class, interrupted.id()));
+        assertEquals(15, count("SELECT COUNT(*) FROM payments"));
+
+        Run resumed = runner(mock(RevenueRollupService.class)).run().orElseThrow();
+        assertEquals(interrupted.id(), resumed.id());
+        assertEquals("completed", resumed.status());
+        assertEquals(19, resumed.charged());
+        assertEquals(1, resumed.failed());
+
+        // 롤백된 청크는 같은 주문 번호로 다시 보내 PG 가 처음 결과를 돌려줌
+        assertEquals(19, gateway.charges());
+        assertEquals(20, count("SELECT COUNT(DISTINCT subscription_id) FROM payments"));
+        assertEquals(20, count("SELECT COUNT(*) FROM payments"));
+        assertEquals(19, count("SELECT COUNT(*) FROM subscriptions WHERE end_date = ? AND renewal_attempts = 0",
+                END_DATE.plusMonths(1)));
+        assertEquals(1, count("SELECT renewal_attempts FROM subscriptions WHERE id = 7 AND end_date = ?", END_DATE));
+        assertTrue(new RenewalBillingRepository(jdbcTemplate).findRunning().isEmpty());
+    }
+
+    @Test
+    void blocksRowsThatKeepFailingInsteadOfStallingThePartition() {
+        RenewalBillingSchema.insertPlan(jdbcTemplate, 2L, -1);   // payments 의 CHECK 에 걸려 기록할 수 없는 요금제
+        for (long id = 1; id <= 6; id++) {
+            RenewalBillingSchema.insertSubscription(jdbcTemplate, id, id == 3 ? 2L : 1L, END_DATE, "portone");
+        }
+        // PG 이름이 없는 구독은 대상이 아님
+        RenewalBillingSchema.insertSubscription(jdbcTemplate, 7L, 1L, END_DATE, null);
+
+        Run run = runner(mock(RevenueRollupService.class)).run().orElseThrow();
+        assertEquals("completed", run.status());
+        assertEquals(5, run.charged());
+        assertEquals(1, run.failed());
+        assertEquals(5, count("SELECT COUNT(*) FROM payments"));
+        assertEquals(3, count("SELECT renewal_attempts FROM subscriptions WHERE id = 3"));
+        assertEquals(0, count("SELECT COUNT(*) FROM subscriptions WHERE id = 7 AND end_date <> ?", END_DATE));
+
+        // 걸러 낸 구독은 다음 실행 대상이 아님
+        assertTrue(runner(mock(RevenueRollupService.class)).run().isEmpty());
+    }
+
+    private SubscriptionRenewalRunner runner(RevenueRollupService revenueRollupService) {
+        StaticListableBeanFactory gateways = new StaticListableBeanFactory(Map.of("portone", gateway));
+        SubscriptionRenewalRunner runner = new SubscriptionRenewalRunner(new RenewalBillingRepository(jdbcTemplate),
+                revenueRollupService, mock(OutboxPublisher.class), schedulerLease,
+                new DataSourceTransactionManager(dataSource), gateways.getBeanProvider(BillingGateway.class),
+                new SimpleMeterRegistry(), 1, 4);
+        ReflectionTestUtils.setField(runner, "leadHours", 24);
+        ReflectionTestUtils.setField(runner, "partitions", 2);
+        ReflectionTestUtils.setField(runner, "chunkSize", 5);
+        ReflectionTestUtils.setField(runner, "maxAttempts", 3);
+        ReflectionTestUtils.setField(runner, "leaseSeconds", 300L);
+        return runner;
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
@@ -0,0 +1,97 @@
+package kr.cocoh.api.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import kr.cocoh.api.config.SecondLevelCacheConfig;
+import kr.cocoh.api.event.ChangeFeedEvent;
+import kr.cocoh.api.model.pay.SubscriptionPlan;
+import kr.cocoh.api.service.outbox.OutboxPublisher;
+import kr.cocoh.api.service.subscription.EntitlementService;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({SecondLevelCacheConfig.class, SecondLevelCacheEvictor.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCacheEvictor evictor;
+
+    @MockitoBean
+    private OutboxPublisher outboxPublisher;
+
+    @Test
+    void servesPlansFromCacheUntilAnotherNodeChangesThem() {
+        Long planId = inTransaction(em -> {
+            SubscriptionPlan plan = SubscriptionPlan.builder()
+                    .name("베이직")
+                    .type(SubscriptionPlan.PlanType.basic_sponsor)
+                    .price(9900)
+                    .durationMonths(1)
+                    .features(Map.of("max_ads", 3))
+                    .build();
+            em.persist(plan);
+            return plan.getId();
+        });
+        verify(outboxPublisher).publish(EntitlementService.PLAN_AGGREGATE_TYPE, planId, "created");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        inTransaction(em -> em.find(SubscriptionPlan.class, planId));
+        inTransaction(em -> em.find(SubscriptionPlan.class, planId));
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.PLAN_REGION);
+        assertEquals(1, region.getMissCount());     // 처음 읽을 때 캐시에 넣음
+        assertEquals(1, region.getHitCount());
+
+        // 다른 노드에서 바꾼 요금제는 캐시에서 제거
+        evictor.onChanged(new ChangeFeedEvent(1, EntitlementService.PLAN_AGGREGATE_TYPE, String.valueOf(planId),
+                "updated", null, false));
+        inTransaction(em -> em.find(SubscriptionPlan.class, planId));
+        assertEquals(2, region.getMissCount());
+
+        // 이 노드에서 바꾸면 커밋 때 캐시를 갱신하고 다른 노드에 알림
+        inTransaction(em -> {
+            em.find(SubscriptionPlan.class, planId).setPrice(12900);
+            return null;
+        });
+        verify(outboxPublisher).publish(EntitlementService.PLAN_AGGREGATE_TYPE, planId, "updated");
+        assertEquals(12900, inTransaction(em -> em.find(SubscriptionPlan.class, planId)).getPrice());
+        assertEquals(2, region.getMissCount());
+    }
+
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            T result = work.apply(em);
+            em.getTransaction().commit();
+            return result;
+        } finally {
+            em.close();
+        }
+    }
+}
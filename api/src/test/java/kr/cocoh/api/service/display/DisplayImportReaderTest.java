@@ -0,0 +1,64 @@
+package kr.cocoh.api.service.display;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DisplayImportReaderTest {
+
+    @Test
+    void readsCsvWithQuotedFieldsAndHeaderOrder() throws IOException {
+        DisplayImportReader reader = DisplayImportReader.csv(reader(
+                "name,salonId,deviceId\n" +
+                "\"강남점, 1번 \"\"거울\"\"\",12,\n" +
+                "\n" +
+                "홍대점,abc,\n"));
+
+        DisplayImportRow first = reader.next();
+        assertEquals(2, first.line());
+        assertEquals(12L, first.salonId());
+        assertEquals("강남점, 1번 \"거울\"", first.name());
+        assertNull(first.deviceId());
+        assertNull(first.error());
+
+        DisplayImportRow second = reader.next();
+        assertEquals(4, second.line());
+        assertNotNull(second.error());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    void rejectsCsvWithoutRequiredColumns() {
+        DisplayImportReader reader = DisplayImportReader.csv(reader("name,deviceId\n"));
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    @Test
+    void readsNdjsonLines() throws IOException {
+        DisplayImportReader reader = DisplayImportReader.ndjson(reader(
+                "{\"salonId\": 3, \"name\": \"1층\", \"status\": \"inactive\"}\n" +
+                "not json\n"), new ObjectMapper());
+
+        DisplayImportRow first = reader.next();
+        assertEquals(3L, first.salonId());
+        assertEquals("inactive", first.status());
+
+        DisplayImportRow second = reader.next();
+        assertEquals(2, second.line());
+        assertNotNull(second.error());
+    }
+
+    private static BufferedReader reader(String text) {
+        return new BufferedReader(new StringReader(text));
+    }
+}
@@ -0,0 +1,57 @@
+package kr.cocoh.api.service.display;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import kr.cocoh.api.model.auth.DisplaySettingKey;
+import kr.cocoh.api.repository.DisplayRepository;
+import kr.cocoh.api.repository.DisplaySettingsRepository;
+import kr.cocoh.api.repository.DisplaySettingsRepository.StoredSettings;
+import kr.cocoh.api.service.outbox.OutboxPublisher;
+
+class DisplaySettingsServiceTest {
+
+    private DisplaySettingsRepository settingsRepository;
+    private DisplaySettingsService service;
+
+    @BeforeEach
+    void setUp() {
+        settingsRepository = mock(DisplaySettingsRepository.class);
+        when(settingsRepository.findSettings(anyLong()))
+                .thenAnswer(invocation -> Optional.of(new StoredSettings(1, "{\"volume\": 20}")));
+        service = new DisplaySettingsService(mock(DisplayRepository.class), settingsRepository, new ObjectMapper(),
+                mock(OutboxPublisher.class));
+        ReflectionTestUtils.setField(service, "cacheTtlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "cacheMaxEntries", 3);
+    }
+
+    @Test
+    void fullCacheEvictsOneEntryInsteadOfClearing() {
+        for (long displayId = 1; displayId <= 4; displayId++) {
+            assertEquals(20, service.getSnapshot(displayId).getInt(DisplaySettingKey.VOLUME));
+        }
+
+        // 전부 비우지 않고 한 항목만 내보냄
+        Map<?, ?> cache = (Map<?, ?>) ReflectionTestUtils.getField(service, "cache");
+        assertEquals(3, cache.size());
+        assertTrue(cache.containsKey(4L));
+        clearInvocations(settingsRepository);
+        service.getSnapshot(4L);
+        verify(settingsRepository, never()).findSettings(anyLong());
+    }
+}
@@ -0,0 +1,88 @@
+package kr.cocoh.api.service.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SalonGeoIndexTest {
+
+    private static final double SEOUL_LAT = 37.5665;
+    private static final double SEOUL_LON = 126.9780;
+
+    private final List<SalonGeoIndex.Entry> entries = randomEntries(20_000, 42);
+    private final SalonGeoIndex index = SalonGeoIndex.build(entries, 0.01);
+
+    @Test
+    void withinRadiusMatchesBruteForce() {
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            double lat = SEOUL_LAT + (random.nextDouble() - 0.5) * 0.6;
+            double lon = SEOUL_LON + (random.nextDouble() - 0.5) * 0.6;
+            double radius = 500 + random.nextDouble() * 5_000;
+
+            List<Long> expected = bruteForce(lat, lon).stream()
+                    .filter(match -> match.distanceMeters() <= radius)
+                    .map(match -> match.entry().salonId())
+                    .toList();
+            List<Long> actual = index.withinRadius(lat, lon, radius).stream()
+                    .map(match -> match.entry().salonId())
+                    .toList();
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(11);
+        for (int i = 0; i < 50; i++) {
+            double lat = SEOUL_LAT + (random.nextDouble() - 0.5) * 0.6;
+            double lon = SEOUL_LON + (random.nextDouble() - 0.5) * 0.6;
+            int k = 1 + random.nextInt(20);
+
+            List<Long> expected = bruteForce(lat, lon).stream()
+                    .limit(k)
+                    .map(match -> match.entry().salonId())
+                    .toList();
+            List<Long> actual = index.nearest(lat, lon, k, 50_000).stream()
+                    .map(match -> match.entry().salonId())
+                    .toList();
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void nearestRespectsMaxRadius() {
+        SalonGeoIndex sparse = SalonGeoIndex.build(List.of(
+                new SalonGeoIndex.Entry(1, "a", "서울", "중구", SEOUL_LAT, SEOUL_LON),
+                new SalonGeoIndex.Entry(2, "b", "부산", "중구", 35.1796, 129.0756)), 0.01);
+
+        assertEquals(1, sparse.nearest(SEOUL_LAT, SEOUL_LON, 5, 10_000).size());
+        assertEquals(2, sparse.nearest(SEOUL_LAT, SEOUL_LON, 5, 500_000).size());
+    }
+
+    private List<SalonGeoIndex.Match> bruteForce(double lat, double lon) {
+        List<SalonGeoIndex.Match> matches = new ArrayList<>();
+        for (SalonGeoIndex.Entry entry : entries) {
+            matches.add(new SalonGeoIndex.Match(entry,
+                    GeoMath.distanceMeters(lat, lon, entry.latitude(), entry.longitude())));
+        }
+        matches.sort(Comparator.comparingDouble(SalonGeoIndex.Match::distanceMeters));
+        return matches;
+    }
+
+    private static List<SalonGeoIndex.Entry> randomEntries(int count, long seed) {
+        Random random = new Random(seed);
+        List<SalonGeoIndex.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new SalonGeoIndex.Entry(i, "salon-" + i, "서울", "district-" + (i % 25),
+                    SEOUL_LAT + (random.nextDouble() - 0.5) * 0.8,
+                    SEOUL_LON + (random.nextDouble() - 0.5) * 0.8));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,93 @@
+package kr.cocoh.api.service.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import kr.cocoh.api.dto.NearbySalonDto;
+import kr.cocoh.api.event.SalonLocationsChangedEvent;
+import kr.cocoh.api.model.auth.Salon;
+import kr.cocoh.api.repository.LocationRepository;
+
+class SalonGeoServiceTest {
+
+    private LocationRepository locationRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private SalonGeoService service;
+
+    @BeforeEach
+    void setUp() {
+        locationRepository = mock(LocationRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new SalonGeoService(locationRepository, eventPublisher);
+        ReflectionTestUtils.setField(service, "cellDegrees", 0.01);
+        ReflectionTestUtils.setField(service, "maxRadiusMeters", 50_000.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshAnnouncesNewAndMovedSalonsOnly() {
+        when(locationRepository.findGeoEntriesBySalonStatus(Salon.Status.approved)).thenReturn(
+                List.<Object[]>of(row(1, "강남구", "37.5")),
+                List.<Object[]>of(row(1, "강남구", "37.5"), row(2, "서초구", "37.49")),
+                List.<Object[]>of(row(1, "강남구", "37.51"), row(2, "서초구", "37.49")),
+                List.<Object[]>of(row(1, "강남구", "37.51"), row(2, "서초구", "37.49")));
+
+        // 첫 적재는 비교 대상이 없으므로 알리지 않음
+        service.refresh();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        service.refresh();
+        service.refresh();
+        service.refresh();
+
+        ArgumentCaptor<SalonLocationsChangedEvent> events = ArgumentCaptor.forClass(SalonLocationsChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(2L), events.getAllValues().get(0).salons().stream()
+                .map(SalonLocationsChangedEvent.Located::salonId).toList());
+        assertEquals(List.of(1L), events.getAllValues().get(1).salons().stream()
+                .map(SalonLocationsChangedEvent.Located::salonId).toList());
+        assertEquals(37.51, events.getAllValues().get(1).salons().get(0).latitude());
+        assertEquals(2, service.findWithinRadius(37.5, 127.0, 5_000).size());
+    }
+
+    @Test
+    void nearestFallsBackToTheDatabaseUntilTheIndexIsLoaded() {
+        when(locationRepository.findApprovedNearest(eq(37.5), eq(127.0), anyString(), eq(50_000.0), eq(2)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, "살롱 1", "서울", "강남구",
+                        new BigDecimal("37.5"), new BigDecimal("127.0"), 0.0}));
+
+        assertEquals(List.of(1L), service.findNearest(37.5, 127.0, 2).stream()
+                .map(NearbySalonDto::getSalonId).toList());
+
+        when(locationRepository.findGeoEntriesBySalonStatus(Salon.Status.approved))
+                .thenReturn(List.<Object[]>of(row(1, "강남구", "37.5"), row(2, "서초구", "37.49")));
+        service.refresh();
+
+        assertEquals(List.of(1L, 2L), service.findNearest(37.5, 127.0, 2).stream()
+                .map(NearbySalonDto::getSalonId).toList());
+        verify(locationRepository, times(1)).findApprovedNearest(anyDouble(), anyDouble(), anyString(), anyDouble(),
+                anyInt());
+    }
+
+    private Object[] row(long salonId, String district, String latitude) {
+        return new Object[]{salonId, "살롱 " + salonId, "서울", district, new BigDecimal(latitude), new BigDecimal("127.0")};
+    }
+}
@@ -0,0 +1,87 @@
+package kr.cocoh.api.service.id;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ID 생성 처리량 벤치마크 (./gradlew benchmark)
+ * 시간순 ID(CAS)를 스레드 수별로 재고, 같은 방식에 synchronized 를 쓴 경우와 UUID 문자열 생성을 비교한다.
+ * 노드당 상한은 밀리초당 4096개(초당 약 410만)이므로, 시각을 얼마든지 당겨 쓰게 한 인스턴스로 CAS 경로 자체도 잰다.
+ * 각 측정 전에 같은 시간만큼 워밍업한다.
+ */
+@Tag("benchmark")
+class IdGeneratorBenchmarkTest {
+
+    private static final long MEASURE_MILLIS = 2_000;
+    private static final int[] THREADS = {1, 4, 16};
+
+    @Test
+    void throughput() throws Exception {
+        TimeOrderedIds ids = new TimeOrderedIds(1, 0, System::currentTimeMillis, 1000, 5000);
+        Object lock = new Object();
+
+        for (int threads : THREADS) {
+            report("time-ordered id (CAS)", threads, ids::nextId);
+            report("time-ordered merchant_uid", threads, () -> ids.nextString().length());
+            TimeOrderedIds unbounded = unbounded();
+            report("unbounded id (CAS)", threads, unbounded::nextId);
+            TimeOrderedIds locked = unbounded();
+            report("unbounded id (synchronized)", threads, () -> {
+                synchronized (lock) {
+                    return locked.nextId();
+                }
+            });
+            report("UUID.randomUUID().toString()", threads, () -> UUID.randomUUID().toString().length());
+        }
+    }
+
+    private static TimeOrderedIds unbounded() {
+        return new TimeOrderedIds(2, 0, System::currentTimeMillis, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    private void report(String name, int threads, LongSupplier op) throws Exception {
+        run(threads, op);
+        long ops = run(threads, op);
+        System.out.printf("%-32s threads=%2d %,14.0f ops/s%n", name, threads, ops * 1000.0 / MEASURE_MILLIS);
+    }
+
+    private long run(int threads, LongSupplier op) throws Exception {
+        AtomicLong total = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        long deadline = System.nanoTime() + MEASURE_MILLIS * 1_000_000L + 50_000_000L;
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long count = 0;
+                long blackhole = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long end = System.nanoTime() + MEASURE_MILLIS * 1_000_000L;
+                while (System.nanoTime() - end < 0) {
+                    for (int i = 0; i < 256; i++) {
+                        blackhole += op.getAsLong();
+                    }
+                    count += 256;
+                }
+                total.addAndGet(count + (blackhole == 42 ? 1 : 0));
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, (deadline - System.nanoTime()) / 1_000_000L) + 5_000);
+        }
+        return total.get();
+    }
+}
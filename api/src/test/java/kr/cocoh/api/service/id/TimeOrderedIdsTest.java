@@ -0,0 +1,72 @@
+package kr.cocoh.api.service.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdsTest {
+
+    private static final long NOW = TimeOrderedIds.EPOCH + 1_000_000L;
+
+    @Test
+    void staysMonotonicWhenClockGoesBackOrSequenceOverflows() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIds ids = new TimeOrderedIds(7, 0, clock::get, 1000, 5000);
+
+        long previous = 0;
+        for (int i = 0; i < 5000; i++) {   // 한 밀리초 순번(4096)을 넘김
+            long id = ids.nextId();
+            assertTrue(id > previous);
+            assertTrue(TimeOrderedIds.encode(id).compareTo(TimeOrderedIds.encode(previous)) > 0);
+            previous = id;
+        }
+        assertEquals(NOW + 1, TimeOrderedIds.timestampOf(previous));
+        assertEquals(7, TimeOrderedIds.nodeIdOf(previous));
+
+        clock.set(NOW - 500);              // 시계가 뒤로 가도 마지막 시각부터 이어감
+        assertTrue(ids.nextId() > previous);
+
+        clock.set(NOW - 10_000);           // 허용 범위를 넘게 뒤로 가면 거부
+        assertThrows(IllegalStateException.class, ids::nextId);
+    }
+
+    @Test
+    void startsAfterFloorAndIsUniqueAcrossThreads() throws Exception {
+        TimeOrderedIds ids = new TimeOrderedIds(3, NOW, () -> NOW, 1000, 5000);
+        assertEquals(NOW + 1, TimeOrderedIds.timestampOf(ids.nextId()));
+
+        TimeOrderedIds concurrent = new TimeOrderedIds(3, 0, System::currentTimeMillis, 1000, 5000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] issued = new long[50_000];
+                    for (int i = 0; i < issued.length; i++) {
+                        issued[i] = concurrent.nextId();
+                    }
+                    return issued;
+                }));
+            }
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                for (long id : future.get()) {
+                    assertTrue(seen.add(id));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
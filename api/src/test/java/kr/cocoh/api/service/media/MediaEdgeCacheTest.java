@@ -0,0 +1,151 @@
+package kr.cocoh.api.service.media;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.service.StorageService;
+import kr.cocoh.api.service.storage.FileSystemStorageBackend;
+import kr.cocoh.api.service.storage.LocalFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MediaEdgeCacheTest {
+
+    private static final int MB = 1024 * 1024;
+
+    @TempDir
+    Path root;
+
+    private StorageService storageService;
+    private AtomicInteger reads;
+    private FileSystemStorageBackend origin;
+
+    @BeforeEach
+    void setUp() {
+        storageService = mock(StorageService.class);
+        when(storageService.resolveFolderPath(anyString())).thenReturn("test/ads/");
+        reads = new AtomicInteger();
+        // 원본 읽기 횟수를 세고, 동시 미스가 겹치도록 조금 느리게 읽음
+        origin = new FileSystemStorageBackend(root.resolve("origin"), "http://origin/uploads") {
+            @Override
+            public ObjectContent get(String key) throws IOException {
+                reads.incrementAndGet();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.get(key);
+            }
+        };
+    }
+
+    @Test
+    void concurrentMissesFillOnce() throws Exception {
+        byte[] content = put("test/ads/a.mp4", 1024);
+        MediaEdgeCache cache = cache(10, 10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<LocalFile>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get("test/ads/a.mp4");
+            }));
+        }
+        start.countDown();
+        for (Future<Optional<LocalFile>> result : results) {
+            assertArrayEquals(content, Files.readAllBytes(result.get().orElseThrow().path()));
+        }
+        executor.shutdown();
+
+        assertEquals(1, reads.get());
+        cache.get("test/ads/a.mp4");
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOverBudget() throws Exception {
+        put("test/ads/a.mp4", MB / 2);
+        put("test/ads/b.mp4", MB / 2);
+        put("test/ads/c.mp4", MB / 2);
+        MediaEdgeCache cache = cache(1, 100);
+
+        Path a = cache.get("test/ads/a.mp4").orElseThrow().path();
+        cache.get("test/ads/b.mp4");
+        cache.get("test/ads/a.mp4");
+        cache.get("test/ads/c.mp4"); // b 가 가장 오래 안 쓰였으므로 b 를 내쫓음
+
+        assertEquals(2, cache.entryCount());
+        assertTrue(cache.sizeBytes() <= MB);
+        cache.sweepEvicted();
+        cache.get("test/ads/a.mp4");
+        assertEquals(3, reads.get());
+        assertTrue(Files.exists(a));
+
+        cache.get("test/ads/b.mp4");
+        assertEquals(4, reads.get());
+    }
+
+    @Test
+    void skipsKeysOutsideAdFolderAndOversizedObjects() throws Exception {
+        put("test/profiles/p.jpg", 16);
+        put("test/ads/big.mp4", MB);
+        MediaEdgeCache cache = cache(2, 10);
+
+        assertTrue(cache.get("test/profiles/p.jpg").isEmpty());
+        assertTrue(cache.get("test/ads/big.mp4").isEmpty());
+        assertTrue(cache.get("test/ads/big.mp4").isEmpty());
+        assertEquals(0, cache.entryCount());
+        assertEquals(1, reads.get());   // 너무 큰 객체는 한 번만 열어 보고 기억
+    }
+
+    @Test
+    void rebuildsIndexFromDiskOnRestart() throws Exception {
+        put("test/ads/a.mp4", 1024);
+        cache(10, 10).get("test/ads/a.mp4");
+
+        MediaEdgeCache restarted = cache(10, 10);
+        assertEquals(1, restarted.entryCount());
+        restarted.get("test/ads/a.mp4");
+        assertEquals(1, reads.get());
+    }
+
+    private MediaEdgeCache cache(long maxSizeMb, int maxObjectPercent) throws IOException {
+        return new MediaEdgeCache(origin, storageService, new SimpleMeterRegistry(),
+                root.resolve("cache").toString(), maxSizeMb, maxObjectPercent, 30, 0, "http://edge");
+    }
+
+    private byte[] put(String key, int size) throws IOException {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (key.hashCode() + i);
+        }
+        try (InputStream in = new ByteArrayInputStream(content)) {
+            origin.put(key, in, size, "video/mp4");
+        }
+        return content;
+    }
+}
@@ -0,0 +1,128 @@
+package kr.cocoh.api.service.media;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.model.ad.AdMedia.RenditionStatus;
+import kr.cocoh.api.repository.AdMediaRenditionRepository;
+import kr.cocoh.api.repository.AdMediaRepository;
+import kr.cocoh.api.service.StorageService;
+
+class MediaRenditionServiceTest {
+
+    private static final String SOURCE = "https://cdn/ads/aa/source";
+    private static final String MAX = "https://cdn/ads/bb/max";
+
+    private AdMediaRepository adMediaRepository;
+    private StorageService storageService;
+    private MediaRenditionService renditionService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        adMediaRepository = mock(AdMediaRepository.class);
+        storageService = mock(StorageService.class);
+        renditionService = new MediaRenditionService(adMediaRepository, mock(AdMediaRenditionRepository.class),
+                storageService, mock(ApplicationEventPublisher.class), mock(PlatformTransactionManager.class),
+                1, 4, 0.85f, "", 1);
+        ReflectionTestUtils.setField(renditionService, "minEdge", 8);
+        ReflectionTestUtils.setField(renditionService, "maxEdge", 16);
+        ReflectionTestUtils.setField(renditionService, "staleMinutes", 30);
+        ReflectionTestUtils.setField(renditionService, "maxAttempts", 3);
+
+        when(adMediaRepository.claimRendition(eq(1L), eq(RenditionStatus.pending), eq(RenditionStatus.processing), any()))
+                .thenReturn(1);
+        when(adMediaRepository.findById(1L)).thenReturn(Optional.of(AdMedia.builder()
+                .id(1L)
+                .ad(Ad.builder().id(10L).build())
+                .url(SOURCE)
+                .type(AdMedia.MediaType.image)
+                .build()));
+        when(storageService.download(SOURCE)).thenAnswer(invocation -> new ByteArrayInputStream(png(32, 24)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        renditionService.shutdown();
+    }
+
+    @Test
+    void failedRenditionUploadReleasesStoredRenditionsAndMarksFailed() throws IOException {
+        when(storageService.uploadBytes(any(), anyString(), anyString()))
+                .thenReturn(MAX)
+                .thenThrow(new IOException("S3 오류"));
+
+        renditionService.process(1L);
+
+        verify(storageService).deleteFile(MAX);
+        verify(adMediaRepository).transitionRenditionStatus(eq(1L), eq(RenditionStatus.processing),
+                eq(RenditionStatus.failed), any());
+    }
+
+    @Test
+    void errorsOutsideExceptionsStillMarkFailed() throws IOException {
+        when(storageService.uploadBytes(any(), anyString(), anyString()))
+                .thenReturn(MAX)
+                .thenThrow(new OutOfMemoryError("Java heap space"));
+
+        try {
+            renditionService.process(1L);
+        } catch (OutOfMemoryError expected) {
+            // 작업 스레드에서는 풀이 삼킴
+        }
+
+        verify(storageService).deleteFile(MAX);
+        verify(adMediaRepository).transitionRenditionStatus(eq(1L), eq(RenditionStatus.processing),
+                eq(RenditionStatus.failed), any());
+    }
+
+    @Test
+    void skipsRowsClaimedElsewhere() throws IOException {
+        when(adMediaRepository.claimRendition(eq(1L), any(), any(), any())).thenReturn(0);
+
+        renditionService.process(1L);
+
+        verify(storageService, never()).download(anyString());
+        verify(adMediaRepository, never()).transitionRenditionStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void sweepFailsStaleRowsThatUsedUpTheirAttempts() {
+        when(adMediaRepository.findIdsByRenditionStatusBefore(any(), any(), any())).thenReturn(List.of());
+
+        renditionService.sweep();
+
+        verify(adMediaRepository).transitionStaleRenditionStatus(eq(RenditionStatus.processing),
+                eq(RenditionStatus.failed), any(), eq(3), eq(Integer.MAX_VALUE), any());
+        verify(adMediaRepository).transitionStaleRenditionStatus(eq(RenditionStatus.processing),
+                eq(RenditionStatus.pending), any(), eq(0), eq(3), any());
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
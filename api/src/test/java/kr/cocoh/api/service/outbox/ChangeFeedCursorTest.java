@@ -0,0 +1,59 @@
+package kr.cocoh.api.service.outbox;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import kr.cocoh.api.event.ChangeFeedEvent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedCursorTest {
+
+    @Test
+    void deliversLateCommitWithinGrace() {
+        ChangeFeedCursor cursor = new ChangeFeedCursor(10, 1000, 100);
+
+        // 12 가 먼저 커밋되고 11 은 아직 안 보임
+        List<ChangeFeedEvent> first = cursor.accept(List.of(event(12)), List.of(), 0);
+        assertEquals(List.of(12L), ids(first));
+        assertEquals(Set.of(11L), cursor.pendingGaps());
+        assertEquals(10, cursor.consumedPosition());
+
+        List<ChangeFeedEvent> second = cursor.accept(List.of(event(13)), List.of(event(11)), 500);
+        assertEquals(List.of(11L, 13L), ids(second));
+        assertTrue(cursor.pendingGaps().isEmpty());
+        assertEquals(13, cursor.consumedPosition());
+    }
+
+    @Test
+    void dropsGapAfterGrace() {
+        ChangeFeedCursor cursor = new ChangeFeedCursor(0, 1000, 100);
+        cursor.accept(List.of(event(3)), List.of(), 0);
+        assertEquals(Set.of(1L, 2L), cursor.pendingGaps());
+
+        cursor.accept(List.of(), List.of(), 1000);
+        assertTrue(cursor.pendingGaps().isEmpty());
+        assertEquals(3, cursor.consumedPosition());
+    }
+
+    @Test
+    void ignoresAlreadySeenAndCapsLargeGaps() {
+        ChangeFeedCursor cursor = new ChangeFeedCursor(0, 1000, 5);
+        cursor.accept(List.of(event(100)), List.of(), 0);
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), cursor.pendingGaps());
+
+        List<ChangeFeedEvent> again = cursor.accept(List.of(event(100)), List.of(event(50)), 10);
+        assertTrue(again.isEmpty());
+    }
+
+    private static ChangeFeedEvent event(long id) {
+        return new ChangeFeedEvent(id, "display", "1", "settings-updated", null, false);
+    }
+
+    private static List<Long> ids(List<ChangeFeedEvent> events) {
+        return events.stream().map(ChangeFeedEvent::id).toList();
+    }
+}
@@ -0,0 +1,153 @@
+package kr.cocoh.api.service.payment;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PaymentWebhookHandlerTest {
+
+    private static final String API_BASE_URL = "http://localhost";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void portOneSignatureRoundTrip() {
+        String secret = "whsec_" + Base64.getEncoder().encodeToString("portone-secret".getBytes());
+        PortOneWebhookHandler handler = new PortOneWebhookHandler(objectMapper, secret, "", API_BASE_URL, 300);
+        String body = "{\"type\":\"Transaction.Paid\",\"data\":{\"paymentId\":\"order-1\"}}";
+
+        Map<String, String> headers = handler.sign(body);
+        handler.verify(headers, body);
+        assertThrows(WebhookSignatureException.class, () -> handler.verify(headers, body.replace("order-1", "order-2")));
+
+        Map<String, String> stale = new HashMap<>(headers);
+        stale.put("webhook-timestamp", "1000");
+        assertThrows(WebhookSignatureException.class, () -> handler.verify(stale, body));
+
+        PaymentWebhook webhook = handler.parse(body);
+        assertEquals("order-1", webhook.merchantUid());
+        assertEquals(PaymentStatus.completed, webhook.targetStatus());
+    }
+
+    @Test
+    void tossPaymentEventsAreAcceptedUnsigned() {
+        // 토스페이먼츠는 결제 상태 변경 웹훅에 서명하지 않음 (워커가 결제 조회로 확인)
+        TossWebhookHandler handler = new TossWebhookHandler(objectMapper, "", "", API_BASE_URL, 300);
+        String body = "{\"eventType\":\"PAYMENT_STATUS_CHANGED\",\"data\":{\"orderId\":\"order-1\",\"status\":\"CANCELED\","
+                + "\"totalAmount\":9900,\"receipt\":{\"url\":\"https://receipt\"}}}";
+
+        handler.verify(Map.of(), body);
+
+        PaymentWebhook webhook = handler.parse(body);
+        assertEquals("PAYMENT_STATUS_CHANGED:CANCELED", webhook.eventType());
+        assertEquals(PaymentStatus.refunded, webhook.targetStatus());
+        assertEquals(9900, webhook.amount());
+        assertNull(handler.parse(body.replace("CANCELED", "READY")).targetStatus());
+    }
+
+    @Test
+    void tossPayoutSignatureRoundTrip() {
+        TossWebhookHandler handler = new TossWebhookHandler(objectMapper, "toss-secret", "", API_BASE_URL, 300);
+        String body = "{\"eventType\":\"payout.changed\",\"data\":{\"payoutId\":\"payout-1\",\"status\":\"COMPLETED\"}}";
+
+        Map<String, String> headers = handler.sign(body);
+        handler.verify(headers, body);
+        assertThrows(WebhookSignatureException.class, () -> handler.verify(Map.of(), body));
+        assertThrows(WebhookSignatureException.class,
+                () -> new TossWebhookHandler(objectMapper, "other-secret", "", API_BASE_URL, 300).verify(headers, body));
+        assertThrows(WebhookSignatureException.class,
+                () -> new TossWebhookHandler(objectMapper, "", "", API_BASE_URL, 300).verify(headers, body));
+
+        // 서명이 맞아도 전송 시각이 허용 범위 밖이면 재전송으로 보고 거부
+        String sentAt = ZonedDateTime.now().minusMinutes(10).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        String signature = "v1:" + Base64.getEncoder().encodeToString(
+                PaymentWebhookHandler.hmacSha256("toss-secret".getBytes(), body + ":" + sentAt));
+        Map<String, String> replayed = Map.of("tosspayments-webhook-transmission-time", sentAt,
+                "tosspayments-webhook-signature", signature);
+        assertThrows(WebhookSignatureException.class, () -> handler.verify(replayed, body));
+        new TossWebhookHandler(objectMapper, "toss-secret", "", API_BASE_URL, 3600).verify(replayed, body);
+
+        Map<String, String> malformed = new HashMap<>(headers);
+        malformed.put("tosspayments-webhook-transmission-time", "yesterday");
+        assertThrows(WebhookSignatureException.class, () -> handler.verify(malformed, body));
+    }
+
+    @Test
+    void lookupReadsThePaymentFromThePgApi() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        Map<String, String> responses = Map.of(
+                "/v1/payments/pk-1", "{\"orderId\":\"order-1\",\"status\":\"DONE\",\"totalAmount\":9900,"
+                        + "\"receipt\":{\"url\":\"https://receipt\"}}",
+                "/payments/order-1", "{\"id\":\"order-1\",\"status\":\"PAID\",\"amount\":{\"total\":100}}");
+        Map<String, String> authorizations = new HashMap<>();
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            authorizations.put(path, exchange.getRequestHeaders().getFirst("Authorization"));
+            byte[] response = responses.getOrDefault(path, "{}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(responses.containsKey(path) ? 200 : 404, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String baseUrl = "http://localhost:" + server.getAddress().getPort();
+            TossWebhookHandler toss = new TossWebhookHandler(objectMapper, "", "test_sk", baseUrl, 300);
+            String body = "{\"eventType\":\"PAYMENT_STATUS_CHANGED\",\"data\":{\"paymentKey\":\"pk-1\","
+                    + "\"orderId\":\"order-1\",\"status\":\"DONE\"}}";
+
+            assertEquals(new PgPayment("order-1", PaymentStatus.completed, 9900, "https://receipt"),
+                    toss.lookup("order-1", body));
+            assertEquals("Basic " + Base64.getEncoder().encodeToString("test_sk:".getBytes()),
+                    authorizations.get("/v1/payments/pk-1"));
+            // 다른 주문의 paymentKey 를 끼워 넣은 본문
+            assertThrows(IllegalArgumentException.class, () -> toss.lookup("order-2", body));
+            assertThrows(IllegalArgumentException.class, () -> toss.lookup("order-3", "{\"orderId\":\"order-3\"}"));
+
+            PortOneWebhookHandler portOne = new PortOneWebhookHandler(objectMapper, "", "portone-api", baseUrl, 300);
+            assertEquals(new PgPayment("order-1", PaymentStatus.completed, 100, null), portOne.lookup("order-1", "{}"));
+            assertEquals("PortOne portone-api", authorizations.get("/payments/order-1"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void hmacMatchesRfc4231TestCase2() {
+        // RFC 4231 4.3 (토스페이먼츠 서명이 쓰는 HMAC-SHA256)
+        assertArrayEquals(HexFormat.of().parseHex("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843"),
+                PaymentWebhookHandler.hmacSha256("Jefe".getBytes(), "what do ya want for nothing?"));
+    }
+
+    @Test
+    void portOneVerifiesStandardWebhooksExample() {
+        // Standard Webhooks 명세의 서명 예시 (2021년 시각이므로 허용 범위를 끔)
+        PortOneWebhookHandler handler = new PortOneWebhookHandler(objectMapper,
+                "whsec_MfKQ9r8GKYqrTwjUPD8ILPZIo2LaLaSw", "", API_BASE_URL, Long.MAX_VALUE);
+        String body = "{\"test\": 2432232314}";
+        Map<String, String> headers = Map.of(
+                "webhook-id", "msg_p5jXN8AQM9LWM0D4loKWxJek",
+                "webhook-timestamp", "1614265330",
+                "webhook-signature", "v1,g0hM9SsE+OTPJTGt/tmIKtSyZlE3uFJELVlNIOLJ1OE=");
+
+        handler.verify(headers, body);
+        assertThrows(WebhookSignatureException.class, () -> handler.verify(headers, "{\"test\": 2432232315}"));
+    }
+}
@@ -0,0 +1,207 @@
+package kr.cocoh.api.service.payment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.model.auth.User;
+import kr.cocoh.api.model.pay.Payment;
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+import kr.cocoh.api.model.pay.Subscription;
+import kr.cocoh.api.repository.PaymentRepository;
+import kr.cocoh.api.repository.PaymentWebhookRepository;
+import kr.cocoh.api.repository.PaymentWebhookRepository.InboxEvent;
+import kr.cocoh.api.service.outbox.OutboxPublisher;
+import kr.cocoh.api.service.revenue.RevenueRollupService;
+
+class PaymentWebhookWorkerTest {
+
+    private PaymentWebhookRepository webhookRepository;
+    private PaymentRepository paymentRepository;
+    private PaymentWebhookHandler handler;
+    private RefundService refundService;
+    private OutboxPublisher outboxPublisher;
+    private RevenueRollupService revenueRollupService;
+    private PaymentWebhookWorker worker;
+    private Payment payment;
+    private Subscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        webhookRepository = mock(PaymentWebhookRepository.class);
+        paymentRepository = mock(PaymentRepository.class);
+        handler = mock(PaymentWebhookHandler.class);
+        PaymentWebhookService webhookService = mock(PaymentWebhookService.class);
+        when(webhookService.handler("toss")).thenReturn(handler);
+        refundService = mock(RefundService.class);
+        outboxPublisher = mock(OutboxPublisher.class);
+        revenueRollupService = mock(RevenueRollupService.class);
+        worker = new PaymentWebhookWorker(webhookRepository, paymentRepository, webhookService, refundService, outboxPublisher,
+                revenueRollupService, new SimpleMeterRegistry(), mock(PlatformTransactionManager.class), 1, 10);
+        ReflectionTestUtils.setField(worker, "maxAttempts", 3);
+        ReflectionTestUtils.setField(worker, "retryBaseSeconds", 5L);
+        ReflectionTestUtils.setField(worker, "retryMaxSeconds", 3600L);
+
+        subscription = Subscription.builder()
+                .id(7L)
+                .status(Subscription.Status.expired)
+                .endDate(LocalDateTime.now().plusDays(10))
+                .autoRenewal(true)
+                .build();
+        payment = Payment.builder()
+                .id(1L)
+                .user(User.builder().id(2L).build())
+                .subscription(subscription)
+                .amount(9900)
+                .merchantUid("order-1")
+                .paymentStatus(PaymentStatus.pending)
+                .build();
+        when(paymentRepository.findByMerchantUidForUpdate("order-1")).thenReturn(Optional.of(payment));
+        pgReports(PaymentStatus.completed, 9900);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+    }
+
+    @Test
+    void completedReactivatesPaidSubscription() {
+        worker.process(event(1, PaymentStatus.completed, 9900, 0));
+
+        assertEquals(PaymentStatus.completed, payment.getPaymentStatus());
+        assertNotNull(payment.getPaymentDate());
+        assertEquals("https://receipt", payment.getReceiptUrl());
+        assertEquals(Subscription.Status.active, subscription.getStatus());
+        verify(revenueRollupService).recordPayment(payment);
+        verify(outboxPublisher).publish(eq(PaymentWebhookWorker.PAYMENT_AGGREGATE_TYPE), eq(1L),
+                eq(PaymentWebhookWorker.STATUS_CHANGED), eq("{\"status\":\"completed\"}"));
+        verify(webhookRepository).markProcessed(1);
+    }
+
+    @Test
+    void lowerRankedEventsArriveLateAndAreIgnored() {
+        worker.process(event(1, PaymentStatus.completed, 9900, 0));
+        worker.process(event(2, PaymentStatus.failed, null, 0));
+        worker.process(event(3, PaymentStatus.pending, null, 0));
+
+        assertEquals(PaymentStatus.completed, payment.getPaymentStatus());
+        verify(outboxPublisher).publish(eq(PaymentWebhookWorker.PAYMENT_AGGREGATE_TYPE), any(), anyString(), anyString());
+        verify(webhookRepository).markProcessed(2);
+        verify(webhookRepository).markProcessed(3);
+    }
+
+    @Test
+    void cancelBeforeCompletionStillRecordsRevenueAndCancelsSubscription() {
+        subscription.setStatus(Subscription.Status.active);
+        pgReports(PaymentStatus.refunded, 9900);
+
+        worker.process(event(1, PaymentStatus.refunded, null, 0));
+        worker.process(event(2, PaymentStatus.completed, 9900, 0));
+
+        assertEquals(PaymentStatus.refunded, payment.getPaymentStatus());
+        assertNotNull(payment.getPaymentDate());
+        assertEquals(Subscription.Status.cancelled, subscription.getStatus());
+        assertFalse(subscription.getAutoRenewal());
+        verify(revenueRollupService).recordPayment(payment);
+        verify(refundService).settleFullCancel(eq(payment), any());
+        verify(webhookRepository).markProcessed(2);
+    }
+
+    @Test
+    void failedPaymentCanStillComplete() {
+        pgReports(PaymentStatus.failed, 9900);
+        worker.process(event(1, PaymentStatus.failed, null, 0));
+        assertEquals(PaymentStatus.failed, payment.getPaymentStatus());
+        assertNull(payment.getPaymentDate());
+
+        pgReports(PaymentStatus.completed, 9900);
+        worker.process(event(2, PaymentStatus.completed, 9900, 0));
+        assertEquals(PaymentStatus.completed, payment.getPaymentStatus());
+    }
+
+    @Test
+    void amountMismatchIsRejectedWithoutRetry() {
+        worker.process(event(1, PaymentStatus.completed, 100, 0));
+
+        assertEquals(PaymentStatus.pending, payment.getPaymentStatus());
+        verify(webhookRepository).markFailed(eq(1L), anyString());
+        verify(webhookRepository, never()).markRetry(any(Long.class), anyString(), any(Long.class));
+    }
+
+    @Test
+    void pgAmountMismatchIsRejectedWithoutRetry() {
+        // PortOne 처럼 본문에 금액이 없어도 PG 조회 금액이 주문 금액과 다르면 거부
+        pgReports(PaymentStatus.completed, 100);
+
+        worker.process(event(1, PaymentStatus.completed, null, 0));
+
+        assertEquals(PaymentStatus.pending, payment.getPaymentStatus());
+        assertNull(payment.getPaymentDate());
+        verify(revenueRollupService, never()).recordPayment(any());
+        verify(webhookRepository).markFailed(eq(1L), anyString());
+        verify(webhookRepository, never()).markRetry(any(Long.class), anyString(), any(Long.class));
+    }
+
+    @Test
+    void statusThePgDoesNotReportIsRejected() {
+        // 서명 없는 본문으로 결제 취소를 꾸며 보내도 PG 에서는 결제 완료 상태
+        subscription.setStatus(Subscription.Status.active);
+
+        worker.process(event(1, PaymentStatus.refunded, null, 0));
+
+        assertEquals(PaymentStatus.pending, payment.getPaymentStatus());
+        assertEquals(Subscription.Status.active, subscription.getStatus());
+        verify(refundService, never()).settleFullCancel(any(), any());
+        verify(webhookRepository).markFailed(eq(1L), anyString());
+    }
+
+    @Test
+    void pgLookupFailureIsRetried() {
+        when(handler.lookup(eq("order-1"), anyString())).thenThrow(new IllegalStateException("PG 결제 조회 실패"));
+
+        worker.process(event(1, PaymentStatus.completed, 9900, 0));
+
+        assertEquals(PaymentStatus.pending, payment.getPaymentStatus());
+        verify(webhookRepository).markRetry(eq(1L), anyString(), eq(5L));
+    }
+
+    @Test
+    void missingPaymentBacksOffThenGivesUp() {
+        when(paymentRepository.findByMerchantUidForUpdate("order-1")).thenReturn(Optional.empty());
+
+        worker.process(event(1, PaymentStatus.completed, 9900, 1));
+        verify(webhookRepository).markRetry(eq(1L), anyString(), eq(10L));
+
+        worker.process(event(1, PaymentStatus.completed, 9900, 2));
+        verify(webhookRepository).markFailed(eq(1L), anyString());
+    }
+
+    private void pgReports(PaymentStatus status, int amount) {
+        when(handler.lookup(eq("order-1"), anyString()))
+                .thenReturn(new PgPayment("order-1", status, amount, "https://receipt"));
+    }
+
+    private static InboxEvent event(long id, PaymentStatus target, Integer amount, int attempts) {
+        return new InboxEvent(id, "toss", "order-1", "PAYMENT_STATUS_CHANGED:" + target, target, amount,
+                "https://forged-receipt", "{}", attempts);
+    }
+}
@@ -0,0 +1,159 @@
+package kr.cocoh.api.service.payment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.repository.PaymentRefundRepository;
+import kr.cocoh.api.repository.RefundLedgerRepository;
+import kr.cocoh.api.service.revenue.RevenueRollupService;
+
+/**
+ * 환불 경합 벤치마크 (./gradlew benchmark)
+ * 결제 한 건(핫 결제)과 64건에 동시에 환불을 넣으며 같은 일(예약 + 환불 INSERT)을 조건부 UPDATE 로 하는 경우와
+ * SELECT ... FOR UPDATE 후 합계를 확인하는 경우를 비교하고, 멱등 키 확인과 결과 조회까지 하는 RefundService 도 함께 잰다.
+ * 결제 금액의 절반만 환불 가능하게 두어
+ * 끝까지 초과 환불이 없는지(예약 합계 = 환불 행 합계 <= 결제 금액)도 확인한다.
+ * 실제 InnoDB 가 아닌 H2(MySQL 모드) 위의 상대 비교다.
+ */
+@Tag("benchmark")
+class RefundContentionBenchmarkTest {
+
+    private static final int[] THREADS = {1, 8, 32};
+    private static final int REQUESTS = 20_000;
+    private static final int AMOUNT = 1_000;
+
+    @Test
+    void conditionalUpdateVersusSelectForUpdate() throws Exception {
+        for (int payments : new int[] {1, 64}) {
+            for (int threads : THREADS) {
+                run(Mode.conditional, payments, threads);
+                run(Mode.select_for_update, payments, threads);
+                run(Mode.refund_service, payments, threads);
+            }
+        }
+    }
+
+    private enum Mode {
+        conditional, select_for_update, refund_service
+    }
+
+    private void run(Mode mode, int payments, int threads) throws Exception {
+        try (HikariDataSource dataSource = RefundLedgerSchema.create("bench-" + System.nanoTime())) {
+            run(mode, payments, threads, dataSource);
+        }
+    }
+
+    private void run(Mode mode, int payments, int threads, HikariDataSource dataSource) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        // 결제마다 요청의 절반만 환불되도록 금액을 잡음
+        int paymentAmount = REQUESTS / payments / 2 * AMOUNT;
+        for (long id = 1; id <= payments; id++) {
+            RefundLedgerSchema.insertPayment(jdbcTemplate, id, paymentAmount);
+        }
+        RefundLedgerRepository ledgerRepository = new RefundLedgerRepository(jdbcTemplate);
+        RefundService refundService = new RefundService(ledgerRepository,
+                mock(PaymentRefundRepository.class), mock(RevenueRollupService.class), new SimpleMeterRegistry(),
+                transactionManager);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicLong next = new AtomicLong();
+        AtomicLong accepted = new AtomicLong();
+        long[] latencies = new long[REQUESTS];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    long i;
+                    while ((i = next.getAndIncrement()) < REQUESTS) {
+                        long paymentId = i % payments + 1;
+                        String key = "req-" + i;
+                        long begin = System.nanoTime();
+                        boolean ok = switch (mode) {
+                            case conditional -> conditionalRefund(transactionTemplate, ledgerRepository, paymentId, key);
+                            case select_for_update -> lockAndRefund(transactionTemplate, jdbcTemplate, paymentId, key);
+                            case refund_service -> serviceRefund(refundService, paymentId, key);
+                        };
+                        latencies[(int) i] = System.nanoTime() - begin;
+                        if (ok) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long reserved = jdbcTemplate.queryForObject("SELECT SUM(refunded_amount) FROM payments", Long.class);
+        long refunded = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount), 0) FROM payment_refunds", Long.class);
+        assertEquals((long) paymentAmount * payments, reserved);
+        assertEquals(reserved, refunded);
+        assertEquals(reserved / AMOUNT, accepted.get());
+
+        Arrays.sort(latencies);
+        System.out.printf("%-18s payments=%2d threads=%2d %,9.0f req/s  p50 %6.2fms  p99 %6.2fms%n",
+                mode, payments, threads, REQUESTS / seconds,
+                latencies[REQUESTS / 2] / 1e6, latencies[REQUESTS * 99 / 100] / 1e6);
+    }
+
+    private static boolean conditionalRefund(TransactionTemplate transactionTemplate, RefundLedgerRepository ledgerRepository,
+                                             long paymentId, String key) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!ledgerRepository.reserve(paymentId, AMOUNT)) {
+                return false;
+            }
+            ledgerRepository.insertPending(paymentId, key, AMOUNT, "벤치마크");
+            return true;
+        }));
+    }
+
+    private static boolean serviceRefund(RefundService refundService, long paymentId, String key) {
+        try {
+            refundService.request(paymentId, AMOUNT, "벤치마크", key);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // 비교 대상: 결제 행을 잠그고 합계를 읽은 뒤 판단
+    private static boolean lockAndRefund(TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate,
+                                         long paymentId, String key) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Integer remaining = jdbcTemplate.queryForObject(
+                    "SELECT amount - refunded_amount FROM payments WHERE id = ? FOR UPDATE", Integer.class, paymentId);
+            if (remaining == null || remaining < AMOUNT) {
+                return false;
+            }
+            jdbcTemplate.update("UPDATE payments SET refunded_amount = refunded_amount + ? WHERE id = ?", AMOUNT, paymentId);
+            jdbcTemplate.update("INSERT INTO payment_refunds (payment_id, idempotency_key, amount, reason, status, " +
+                    "created_at, updated_at) VALUES (?, ?, ?, '벤치마크', 'pending', NOW(), NOW())", paymentId, key, AMOUNT);
+            return true;
+        }));
+    }
+}
@@ -0,0 +1,37 @@
+package kr.cocoh.api.service.payment;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 환불 엔진 테스트/벤치마크용 H2(MySQL 모드) 스키마 (V2, V22 의 환불에 필요한 컬럼만)
+ */
+final class RefundLedgerSchema {
+
+    private RefundLedgerSchema() {
+    }
+
+    static HikariDataSource create(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(40);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE payments (" +
+                "id BIGINT PRIMARY KEY, amount INT NOT NULL, refunded_amount INT NOT NULL DEFAULT 0, " +
+                "payment_status VARCHAR(20) NOT NULL, " +
+                "CONSTRAINT chk_payments_refunded_amount CHECK (refunded_amount >= 0 AND refunded_amount <= amount))");
+        jdbcTemplate.execute("CREATE TABLE payment_refunds (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, payment_id BIGINT NOT NULL, idempotency_key VARCHAR(100), " +
+                "amount INT NOT NULL, reason VARCHAR(255) NOT NULL, status VARCHAR(20) NOT NULL DEFAULT 'pending', " +
+                "refund_date TIMESTAMP NULL, admin_memo TEXT, created_at TIMESTAMP, updated_at TIMESTAMP, " +
+                "CONSTRAINT uk_payment_refunds_idempotency UNIQUE (payment_id, idempotency_key), " +
+                "FOREIGN KEY (payment_id) REFERENCES payments (id))");
+        return dataSource;
+    }
+
+    static void insertPayment(JdbcTemplate jdbcTemplate, long id, int amount) {
+        jdbcTemplate.update("INSERT INTO payments (id, amount, payment_status) VALUES (?, ?, 'completed')", id, amount);
+    }
+}
@@ -0,0 +1,141 @@
+package kr.cocoh.api.service.payment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.dto.RefundDto;
+import kr.cocoh.api.model.pay.Payment;
+import kr.cocoh.api.model.pay.PaymentRefund;
+import kr.cocoh.api.model.pay.PaymentRefund.RefundStatus;
+import kr.cocoh.api.repository.PaymentRefundRepository;
+import kr.cocoh.api.repository.RefundLedgerRepository;
+import kr.cocoh.api.service.revenue.RevenueRollupService;
+
+class RefundServiceTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private PaymentRefundRepository paymentRefundRepository;
+    private RevenueRollupService revenueRollupService;
+    private RefundService refundService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = RefundLedgerSchema.create("refund-" + System.nanoTime());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        paymentRefundRepository = mock(PaymentRefundRepository.class);
+        revenueRollupService = mock(RevenueRollupService.class);
+        refundService = new RefundService(new RefundLedgerRepository(jdbcTemplate), paymentRefundRepository,
+                revenueRollupService, new SimpleMeterRegistry(), new DataSourceTransactionManager(dataSource));
+        RefundLedgerSchema.insertPayment(jdbcTemplate, 1L, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void concurrentRefundsNeverExceedPaidAmount() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                String key = "key-" + i;
+                futures.add(executor.submit(() -> {
+                    try {
+                        refundService.request(1L, 1_000, "부분 환불", key);
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                }));
+            }
+            int reserved = 0;
+            for (Future<Boolean> future : futures) {
+                reserved += future.get() ? 1 : 0;
+            }
+            assertEquals(10, reserved);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(10_000, refundedAmount());
+        assertEquals(10, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payment_refunds", Integer.class));
+    }
+
+    @Test
+    void retriedRequestIsReplayedAndRejectReleasesOnce() {
+        RefundDto.Refund first = refundService.request(1L, 3_000, "부분 환불", "same-key");
+        RefundDto.Refund retried = refundService.request(1L, 3_000, "부분 환불", "same-key");
+        assertEquals(first.getId(), retried.getId());
+        assertEquals(3_000, refundedAmount());
+        assertThrows(IllegalArgumentException.class, () -> refundService.request(1L, 5_000, "부분 환불", "same-key"));
+
+        refundService.reject(first.getId(), "중복 요청");
+        refundService.reject(first.getId(), "중복 요청");
+        assertEquals(0, refundedAmount());
+        assertThrows(IllegalArgumentException.class, () -> refundService.complete(first.getId(), null));
+    }
+
+    @Test
+    void fullCancelCompletesPendingRefundsAndBooksTheRestOnce() {
+        RefundDto.Refund pending = refundService.request(1L, 3_000, "부분 환불", "pending-key");
+        when(paymentRefundRepository.findById(pending.getId())).thenReturn(Optional.of(PaymentRefund.builder()
+                .id(pending.getId()).amount(3_000).status(RefundStatus.completed).build()));
+        when(paymentRefundRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Payment payment = Payment.builder().id(1L).build();
+
+        refundService.settleFullCancel(payment, LocalDateTime.now());
+        // 같은 취소 웹훅이 다시 와도 남은 금액이 없으므로 추가로 기록하지 않음
+        refundService.settleFullCancel(payment, LocalDateTime.now());
+
+        assertEquals(10_000, refundedAmount());
+        assertEquals("completed", jdbcTemplate.queryForObject(
+                "SELECT status FROM payment_refunds WHERE id = ?", String.class, pending.getId()));
+        ArgumentCaptor<PaymentRefund> saved = ArgumentCaptor.forClass(PaymentRefund.class);
+        verify(paymentRefundRepository).save(saved.capture());
+        assertEquals(7_000, saved.getValue().getAmount());
+        assertEquals(RefundStatus.completed, saved.getValue().getStatus());
+        verify(revenueRollupService, times(2)).recordRefund(any());
+    }
+
+    @Test
+    void reserveRemainingReportsNothingWhenTheUpdateLosesTheRace() {
+        JdbcTemplate racing = mock(JdbcTemplate.class);
+        when(racing.queryForObject(anyString(), eq(Integer.class), anyLong())).thenReturn(4_000);
+        // 읽은 뒤 다른 예약이 들어와 조건에 맞지 않게 됨
+        when(racing.update(anyString(), any(), any(), any())).thenReturn(0);
+
+        assertEquals(0, new RefundLedgerRepository(racing).reserveRemaining(1L));
+    }
+
+    private int refundedAmount() {
+        return jdbcTemplate.queryForObject("SELECT refunded_amount FROM payments WHERE id = 1", Integer.class);
+    }
+}
@@ -0,0 +1,144 @@
+package kr.cocoh.api.service.playlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import kr.cocoh.api.dto.NearbySalonDto;
+import kr.cocoh.api.event.AdChangedEvent;
+import kr.cocoh.api.event.SalonLocationsChangedEvent;
+import kr.cocoh.api.model.ad.Ad;
+import kr.cocoh.api.model.ad.AdLocation;
+import kr.cocoh.api.model.ad.AdMedia;
+import kr.cocoh.api.model.ad.AdSchedule;
+import kr.cocoh.api.repository.AdPlaylistRepository;
+import kr.cocoh.api.repository.AdPlaylistRepository.EntryRow;
+import kr.cocoh.api.repository.AdPlaylistRepository.RadiusTarget;
+import kr.cocoh.api.repository.AdRepository;
+import kr.cocoh.api.service.geo.SalonGeoService;
+
+class AdPlaylistProjectorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private AdRepository adRepository;
+    private AdPlaylistRepository playlistRepository;
+    private SalonGeoService salonGeoService;
+    private AdPlaylistProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        adRepository = mock(AdRepository.class);
+        playlistRepository = mock(AdPlaylistRepository.class);
+        salonGeoService = mock(SalonGeoService.class);
+        projector = new AdPlaylistProjector(adRepository, playlistRepository, salonGeoService, objectMapper,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(projector, "rebuildChunkSize", 1);
+    }
+
+    @Test
+    void radiusTargetsAreFiledUnderTheDistrictsOfSalonsInside() throws Exception {
+        Ad ad = ad(1L, List.of(
+                AdLocation.builder().targetType(AdLocation.TargetType.administrative).city("서울").district("강남구").build(),
+                AdLocation.builder().targetType(AdLocation.TargetType.radius)
+                        .latitude(new BigDecimal("37.5")).longitude(new BigDecimal("127.0")).radiusMeters(1000).build()));
+        when(adRepository.findForPlaylistByIdIn(Set.of(1L))).thenReturn(List.of(ad));
+        when(salonGeoService.findWithinRadius(37.5, 127.0, 1000)).thenReturn(List.of(
+                NearbySalonDto.builder().salonId(10L).city("서울").district("서초구").build(),
+                NearbySalonDto.builder().salonId(11L).city("서울").district("서초구").build()));
+
+        projector.onAdChanged(AdChangedEvent.of(1L));
+
+        List<EntryRow> rows = insertedRows();
+        // 행정 구역 1곳 + 반경 안 구/군 1곳, 스케줄 9시/18시
+        assertEquals(4, rows.size());
+        EntryRow district = rows.stream().filter(row -> row.district().equals("강남구")).findFirst().orElseThrow();
+        EntryRow radius = rows.stream().filter(row -> row.district().equals("서초구")).findFirst().orElseThrow();
+        assertNull(objectMapper.readValue(district.payload(), PlaylistAd.class).radii());
+        assertEquals(List.of(new PlaylistAd.Radius(37.5, 127.0, 1000)),
+                objectMapper.readValue(radius.payload(), PlaylistAd.class).radii());
+        assertEquals(Set.of(9, 18), new TreeSet<>(rows.stream().map(EntryRow::slotHour).toList()));
+        verify(playlistRepository).deleteByAdIds(Set.of(1L));
+    }
+
+    @Test
+    void inactiveAdLeavesNoRows() {
+        Ad ad = ad(1L, List.of());
+        ad.setIsActive(false);
+        when(adRepository.findForPlaylistByIdIn(Set.of(1L))).thenReturn(List.of(ad));
+
+        projector.onAdChanged(AdChangedEvent.of(1L));
+
+        verify(playlistRepository).deleteByAdIds(Set.of(1L));
+        assertEquals(List.of(), insertedRows());
+    }
+
+    @Test
+    void newSalonReprojectsOnlyTheRadiusAdsCoveringIt() {
+        when(playlistRepository.findRadiusTargets()).thenReturn(List.of(
+                new RadiusTarget(1L, 37.5, 127.0, 1000),
+                new RadiusTarget(2L, 35.1, 129.0, 1000),
+                new RadiusTarget(3L, 37.505, 127.0, 1000)));
+
+        // (37.5, 127.003) 은 1번 중심에서 약 265m, 3번 중심에서 약 615m
+        projector.onSalonLocationsChanged(new SalonLocationsChangedEvent(List.of(
+                new SalonLocationsChangedEvent.Located(20L, "서울", "서초구", 37.5, 127.003))));
+
+        verify(playlistRepository).lockAds(Set.of(1L));
+        verify(playlistRepository).lockAds(Set.of(3L));
+        verify(playlistRepository, never()).lockAds(Set.of(2L));
+        verify(adRepository).findForPlaylistByIdIn(Set.of(1L));
+        verify(adRepository).findForPlaylistByIdIn(Set.of(3L));
+    }
+
+    @Test
+    void salonOutsideEveryRadiusReprojectsNothing() {
+        when(playlistRepository.findRadiusTargets()).thenReturn(List.of(new RadiusTarget(1L, 37.5, 127.0, 1000)));
+
+        projector.onSalonLocationsChanged(new SalonLocationsChangedEvent(List.of(
+                new SalonLocationsChangedEvent.Located(20L, "부산", "해운대구", 35.16, 129.16))));
+
+        verify(playlistRepository, never()).lockAds(any());
+        verify(salonGeoService, never()).findWithinRadius(anyDouble(), anyDouble(), anyDouble());
+    }
+
+    private List<EntryRow> insertedRows() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EntryRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(playlistRepository).insertAll(rows.capture());
+        return rows.getValue();
+    }
+
+    private Ad ad(Long id, List<AdLocation> locations) {
+        return Ad.builder()
+                .id(id)
+                .title("광고 " + id)
+                .type(Ad.Type.sponsor)
+                .isActive(true)
+                .media(List.of(AdMedia.builder().id(100L).url("https://cdn/ads/a").type(AdMedia.MediaType.image)
+                        .size(AdMedia.Size.max).order(0).renditions(List.of()).build()))
+                .schedules(List.of(AdSchedule.builder().time(LocalTime.of(9, 0)).build(),
+                        AdSchedule.builder().time(LocalTime.of(18, 30)).build()))
+                .locations(locations)
+                .build();
+    }
+}
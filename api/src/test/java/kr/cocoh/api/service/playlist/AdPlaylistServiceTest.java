@@ -0,0 +1,80 @@
+package kr.cocoh.api.service.playlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import kr.cocoh.api.dto.PlaylistDto;
+import kr.cocoh.api.model.auth.Display;
+import kr.cocoh.api.model.auth.Location;
+import kr.cocoh.api.model.auth.Salon;
+import kr.cocoh.api.repository.AdPlaylistRepository;
+import kr.cocoh.api.repository.DisplayRepository;
+import kr.cocoh.api.service.media.MediaEdgeCache;
+
+class AdPlaylistServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private DisplayRepository displayRepository;
+    private AdPlaylistRepository playlistRepository;
+    private AdPlaylistService service;
+
+    @BeforeEach
+    void setUp() {
+        displayRepository = mock(DisplayRepository.class);
+        playlistRepository = mock(AdPlaylistRepository.class);
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MediaEdgeCache> edgeCache = mock(ObjectProvider.class);
+        service = new AdPlaylistService(displayRepository, playlistRepository, objectMapper, edgeCache);
+
+        Location location = Location.builder().city("서울").district("서초구")
+                .latitude(new BigDecimal("37.5")).longitude(new BigDecimal("127.003")).build();
+        Display display = Display.builder().id(7L).accessToken("token")
+                .salon(Salon.builder().id(10L).location(location).build()).build();
+        when(displayRepository.findWithLocationByAccessToken("token")).thenReturn(Optional.of(display));
+    }
+
+    @Test
+    void keepsEachAdOnceAndDropsRadiusTargetsTheDisplayIsOutside() throws Exception {
+        PlaylistAd nationwide = ad(1L, null);
+        PlaylistAd near = ad(2L, List.of(new PlaylistAd.Radius(37.5, 127.0, 1000)));
+        PlaylistAd far = ad(3L, List.of(new PlaylistAd.Radius(37.5, 127.0, 100)));
+        when(playlistRepository.findPayloads(eq("서울"), eq("서초구"), anyInt(), any())).thenReturn(List.of(
+                json(nationwide), json(near), json(near), json(far), "{broken"));
+
+        PlaylistDto playlist = service.getPlaylist("token");
+
+        assertEquals(7L, playlist.getDisplayId());
+        assertEquals(List.of(1L, 2L), playlist.getAds().stream().map(PlaylistAd::adId).toList());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        when(displayRepository.findWithLocationByAccessToken("other")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> service.getPlaylist("other"));
+    }
+
+    private PlaylistAd ad(Long id, List<PlaylistAd.Radius> radii) {
+        return new PlaylistAd(id, "광고 " + id, "sponsor", null, null, null, radii, List.of());
+    }
+
+    private String json(PlaylistAd ad) throws Exception {
+        return objectMapper.writeValueAsString(ad);
+    }
+}
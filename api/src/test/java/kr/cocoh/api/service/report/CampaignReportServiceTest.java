@@ -0,0 +1,206 @@
+package kr.cocoh.api.service.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import kr.cocoh.api.dto.CampaignReportDto;
+import kr.cocoh.api.model.auth.Display;
+import kr.cocoh.api.model.auth.Location;
+import kr.cocoh.api.model.auth.Salon;
+import kr.cocoh.api.repository.AdCampaignRepository;
+import kr.cocoh.api.repository.AdPlayRollupRepository;
+import kr.cocoh.api.repository.AdPlayRollupRepository.Segment;
+import kr.cocoh.api.repository.AdRepository;
+import kr.cocoh.api.repository.DisplayRepository;
+
+class CampaignReportServiceTest {
+
+    private static final long CAMPAIGN_ID = 42L;
+    private static final long AD_ID = 7L;
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DisplayRepository displayRepository;
+    private PlayReportService playReportService;
+    private ReportCompactionService compactionService;
+    private CampaignReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:play-rollups;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V8__Create_ad_report_rollup_tables.sql"))
+                .execute(dataSource);
+
+        AdPlayRollupRepository rollupRepository = new AdPlayRollupRepository(jdbcTemplate);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        AdCampaignRepository adCampaignRepository = mock(AdCampaignRepository.class);
+        when(adCampaignRepository.existsById(CAMPAIGN_ID)).thenReturn(true);
+        List<Object[]> campaignIds = new ArrayList<>();
+        campaignIds.add(new Object[] {AD_ID, CAMPAIGN_ID});
+        when(adCampaignRepository.findCampaignIdsByAdIds(any())).thenReturn(campaignIds);
+        AdRepository adRepository = mock(AdRepository.class);
+        when(adRepository.findExistingIds(any())).thenReturn(List.of(AD_ID));
+        displayRepository = mock(DisplayRepository.class);
+
+        // H2 는 LOCK IN SHARE MODE 를 지원하지 않으므로 반영 시의 공유 잠금만 잠금 없는 조회로 바꿈
+        AdPlayRollupRepository flushRepository = spy(rollupRepository);
+        doAnswer(invocation -> rollupRepository.findWatermarks(null))
+                .when(flushRepository).findWatermarks("LOCK IN SHARE MODE");
+
+        playReportService = new PlayReportService(displayRepository, adRepository, adCampaignRepository,
+                flushRepository, transactionManager);
+        ReflectionTestUtils.setField(playReportService, "costPerMille", BigDecimal.valueOf(1000));
+        compactionService = new ReportCompactionService(rollupRepository, transactionManager);
+        reportService = new CampaignReportService(adCampaignRepository, rollupRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Test
+    void compactedReportsMatchTheHourlyPlays() {
+        play("gangnam", LocalDateTime.of(2025, 1, 30, 23, 10), 3);
+        play("gangnam", LocalDateTime.of(2025, 1, 31, 10, 0), 2);
+        play("mapo", LocalDateTime.of(2025, 1, 31, 10, 30), 1);
+        play("gangnam", LocalDateTime.of(2025, 2, 1, 5, 0), 4);
+        playReportService.flush();
+
+        compactionService.compactDays();
+        compactionService.compactMonths();
+
+        assertEquals(List.of(
+                row(LocalDateTime.of(2025, 1, 30, 23, 0), "gangnam", 3),
+                row(LocalDateTime.of(2025, 1, 31, 10, 0), "gangnam", 2),
+                row(LocalDateTime.of(2025, 1, 31, 10, 0), "mapo", 1),
+                row(LocalDateTime.of(2025, 2, 1, 5, 0), "gangnam", 4)), report(ReportGranularity.HOUR));
+        assertEquals(List.of(
+                row(LocalDateTime.of(2025, 1, 30, 0, 0), "gangnam", 3),
+                row(LocalDateTime.of(2025, 1, 31, 0, 0), "gangnam", 2),
+                row(LocalDateTime.of(2025, 1, 31, 0, 0), "mapo", 1),
+                row(LocalDateTime.of(2025, 2, 1, 0, 0), "gangnam", 4)), report(ReportGranularity.DAY));
+        assertEquals(List.of(
+                row(LocalDateTime.of(2025, 1, 1, 0, 0), "gangnam", 5),
+                row(LocalDateTime.of(2025, 1, 1, 0, 0), "mapo", 1),
+                row(LocalDateTime.of(2025, 2, 1, 0, 0), "gangnam", 4)), report(ReportGranularity.MONTH));
+
+        // 두 번 압축해도 압축 시점 이후만 읽으므로 값이 늘지 않음
+        compactionService.compactDays();
+        compactionService.compactMonths();
+        assertEquals(10, total(ReportGranularity.MONTH));
+    }
+
+    @Test
+    void latePlaysAfterCompactionShowUpInEveryGranularity() {
+        play("gangnam", LocalDateTime.of(2025, 1, 31, 10, 0), 2);
+        playReportService.flush();
+        compactionService.compactDays();
+        compactionService.compactMonths();
+
+        play("gangnam", LocalDateTime.of(2025, 1, 31, 10, 45), 1);
+        playReportService.flush();
+
+        assertEquals(List.of(row(LocalDateTime.of(2025, 1, 31, 10, 0), "gangnam", 3)),
+                report(ReportGranularity.HOUR));
+        assertEquals(List.of(row(LocalDateTime.of(2025, 1, 31, 0, 0), "gangnam", 3)),
+                report(ReportGranularity.DAY));
+        assertEquals(List.of(row(LocalDateTime.of(2025, 1, 1, 0, 0), "gangnam", 3)),
+                report(ReportGranularity.MONTH));
+
+        // 시간별 테이블에 더한 늦은 보고는 다음 압축에서 다시 일별로 옮겨지지 않음
+        compactionService.compactDays();
+        compactionService.compactMonths();
+        assertEquals(3, total(ReportGranularity.DAY));
+        assertEquals(3, total(ReportGranularity.MONTH));
+    }
+
+    @Test
+    void planSegmentsSplitsAtTheWatermarks() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 4, 1, 0, 0);
+        LocalDateTime dayWatermark = LocalDateTime.of(2025, 3, 15, 0, 0);
+        LocalDateTime monthWatermark = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+        assertEquals(List.of(new Segment(ReportGranularity.HOUR, from, to)),
+                CampaignReportService.planSegments(ReportGranularity.HOUR, from, to, dayWatermark, monthWatermark));
+        assertEquals(List.of(
+                        new Segment(ReportGranularity.DAY, from, dayWatermark),
+                        new Segment(ReportGranularity.HOUR, dayWatermark, to)),
+                CampaignReportService.planSegments(ReportGranularity.DAY, from, to, dayWatermark, monthWatermark));
+        assertEquals(List.of(
+                        new Segment(ReportGranularity.MONTH, from, monthWatermark),
+                        new Segment(ReportGranularity.DAY, monthWatermark, dayWatermark),
+                        new Segment(ReportGranularity.HOUR, dayWatermark, to)),
+                CampaignReportService.planSegments(ReportGranularity.MONTH, from, to, dayWatermark, monthWatermark));
+    }
+
+    @Test
+    void planSegmentsReadsOnlyHourlyBeforeAnyCompaction() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+        assertEquals(List.of(new Segment(ReportGranularity.HOUR, from, to)),
+                CampaignReportService.planSegments(ReportGranularity.MONTH, from, to, null, null));
+        // 조회 구간 전체가 압축 시점 이전이면 시간별 구간은 없음
+        assertEquals(List.of(new Segment(ReportGranularity.DAY, from, to)),
+                CampaignReportService.planSegments(ReportGranularity.DAY, from, to,
+                        LocalDateTime.of(2025, 3, 1, 0, 0), null));
+    }
+
+    private void play(String district, LocalDateTime playedAt, int count) {
+        Display display = Display.builder()
+                .salon(Salon.builder()
+                        .location(Location.builder().city("seoul").district(district).build())
+                        .build())
+                .build();
+        when(displayRepository.findWithLocationByAccessToken("token")).thenReturn(Optional.of(display));
+        List<PlayEvent> plays = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            plays.add(new PlayEvent(AD_ID, playedAt, 15));
+        }
+        playReportService.recordPlays("token", plays);
+    }
+
+    private List<String> report(ReportGranularity granularity) {
+        return reportService.getCampaignReport(CAMPAIGN_ID, granularity, FROM, TO).stream()
+                .map(row -> row(row.getBucket(), row.getDistrict(), row.getImpressions()))
+                .toList();
+    }
+
+    private long total(ReportGranularity granularity) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(impressions), 0) FROM " + granularity.getTableName(),
+                Long.class);
+    }
+
+    private static String row(LocalDateTime bucket, String district, long impressions) {
+        return bucket + " " + district + " " + impressions;
+    }
+}
@@ -0,0 +1,178 @@
+package kr.cocoh.api.service.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import kr.cocoh.api.dto.CampaignReportDto;
+import kr.cocoh.api.repository.AdCampaignRepository;
+import kr.cocoh.api.repository.AdPlayRollupRepository;
+
+/**
+ * 재생 집계 벤치마크 (./gradlew benchmark)
+ * 1억 건의 합성 재생을 버퍼에 누적/drain 해서 H2(MySQL 모드)의 시간별 집계 테이블에 upsert 하고,
+ * ReportCompactionService 의 시간별 -> 일별 -> 월별 압축과 CampaignReportService 의 리포트 조회 시간을 측정한다.
+ * H2 는 메모리 DB 라 절대 시간은 MySQL 과 다르지만, 단계별 비율과 행 수를 비교하는 용도로 쓴다.
+ */
+@Tag("benchmark")
+class PlayRollupBenchmarkTest {
+
+    private static final long TOTAL_PLAYS = 100_000_000L;
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int ADS = 100;
+    private static final int CITIES = 17;
+    private static final int DISTRICTS_PER_CITY = 10;
+    private static final int HOURS = 24 * 7;
+    private static final long REPORT_CAMPAIGN_ID = 42;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 27, 0, 0);
+    private static final long START_EPOCH_HOUR = START.toEpochSecond(ZoneOffset.UTC) / 3600;
+    private static final BigDecimal COST_PER_MILLE = BigDecimal.valueOf(1000);
+
+    @Test
+    void ingestAndReportOverHundredMillionPlays() throws Exception {
+        String[] cities = new String[CITIES];
+        String[][] districts = new String[CITIES][DISTRICTS_PER_CITY];
+        for (int c = 0; c < CITIES; c++) {
+            cities[c] = "city-" + c;
+            for (int d = 0; d < DISTRICTS_PER_CITY; d++) {
+                districts[c][d] = "district-" + c + "-" + d;
+            }
+        }
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:play-rollup-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        try {
+            new ResourceDatabasePopulator(new ClassPathResource("db/migration/V8__Create_ad_report_rollup_tables.sql"))
+                    .execute(dataSource);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            AdPlayRollupRepository rollupRepository = new AdPlayRollupRepository(jdbcTemplate);
+            AdCampaignRepository adCampaignRepository = mock(AdCampaignRepository.class);
+            when(adCampaignRepository.existsById(REPORT_CAMPAIGN_ID)).thenReturn(true);
+            ReportCompactionService compactionService = new ReportCompactionService(rollupRepository, transactionManager);
+            CampaignReportService reportService = new CampaignReportService(adCampaignRepository, rollupRepository);
+
+            PlayRollupBuffer buffer = new PlayRollupBuffer();
+            AtomicBoolean producing = new AtomicBoolean(true);
+            // 운영의 주기적 flush 처럼 drain 한 행을 한 트랜잭션으로 upsert
+            Runnable flush = () -> {
+                List<RollupRow> rows = buffer.drain();
+                transactionTemplate.executeWithoutResult(status ->
+                        rollupRepository.upsert(ReportGranularity.HOUR, rows, COST_PER_MILLE));
+            };
+            Thread flusher = new Thread(() -> {
+                while (producing.get()) {
+                    flush.run();
+                    sleepQuietly(100);
+                }
+            });
+
+            long ingestStart = System.nanoTime();
+            flusher.start();
+            ExecutorService producers = Executors.newFixedThreadPool(THREADS);
+            List<Future<?>> futures = new ArrayList<>();
+            long perThread = TOTAL_PLAYS / THREADS;
+            for (int t = 0; t < THREADS; t++) {
+                long plays = t == THREADS - 1 ? TOTAL_PLAYS - perThread * (THREADS - 1) : perThread;
+                long seed = t;
+                futures.add(producers.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    for (long i = 0; i < plays; i++) {
+                        int ad = random.nextInt(ADS);
+                        int city = random.nextInt(CITIES);
+                        int district = random.nextInt(DISTRICTS_PER_CITY);
+                        // 재생 보고는 대체로 시간 순서로 들어온다
+                        long epochHour = START_EPOCH_HOUR + i * HOURS / plays;
+                        buffer.record(new RollupKey(ad + 1, ad + 1, cities[city], districts[city][district], epochHour), 30);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            producers.shutdown();
+            producers.awaitTermination(1, TimeUnit.MINUTES);
+            producing.set(false);
+            flusher.join();
+            flush.run();
+            long ingestNanos = System.nanoTime() - ingestStart;
+
+            long compactStart = System.nanoTime();
+            compactionService.compactDays();
+            compactionService.compactMonths();
+            long compactNanos = System.nanoTime() - compactStart;
+
+            // 캠페인 1개의 일별/월별 리포트는 압축된 테이블만 읽는다
+            LocalDateTime end = START.plusHours(HOURS);
+            long reportStart = System.nanoTime();
+            List<CampaignReportDto> daily = reportService.getCampaignReport(REPORT_CAMPAIGN_ID, ReportGranularity.DAY,
+                    START, end);
+            long reportNanos = System.nanoTime() - reportStart;
+            List<CampaignReportDto> monthly = reportService.getCampaignReport(REPORT_CAMPAIGN_ID,
+                    ReportGranularity.MONTH, START, end);
+
+            long campaignImpressions = jdbcTemplate.queryForObject(
+                    "SELECT SUM(impressions) FROM ad_play_rollups_hourly WHERE campaign_id = ?", Long.class,
+                    REPORT_CAMPAIGN_ID);
+            assertEquals(TOTAL_PLAYS, sum(jdbcTemplate, ReportGranularity.HOUR));
+            assertEquals(TOTAL_PLAYS, sum(jdbcTemplate, ReportGranularity.DAY));
+            assertEquals(TOTAL_PLAYS, sum(jdbcTemplate, ReportGranularity.MONTH));
+            assertTrue(campaignImpressions > 0);
+            assertEquals(campaignImpressions, daily.stream().mapToLong(CampaignReportDto::getImpressions).sum());
+            assertEquals(campaignImpressions, monthly.stream().mapToLong(CampaignReportDto::getImpressions).sum());
+
+            System.out.printf("plays=%,d threads=%d%n", TOTAL_PLAYS, THREADS);
+            System.out.printf("ingest: %,d ms (%,.0f plays/s), hourly rows=%,d%n",
+                    ingestNanos / 1_000_000, TOTAL_PLAYS / (ingestNanos / 1e9), rows(jdbcTemplate, ReportGranularity.HOUR));
+            System.out.printf("compaction: %,d ms, daily rows=%,d, monthly rows=%,d%n",
+                    compactNanos / 1_000_000, rows(jdbcTemplate, ReportGranularity.DAY),
+                    rows(jdbcTemplate, ReportGranularity.MONTH));
+            System.out.printf("campaign report: %,d ms, rows=%,d, impressions=%,d%n",
+                    reportNanos / 1_000_000, daily.size(), campaignImpressions);
+        } finally {
+            new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+            dataSource.close();
+        }
+    }
+
+    private static long sum(JdbcTemplate jdbcTemplate, ReportGranularity granularity) {
+        return jdbcTemplate.queryForObject("SELECT SUM(impressions) FROM " + granularity.getTableName(), Long.class);
+    }
+
+    private static long rows(JdbcTemplate jdbcTemplate, ReportGranularity granularity) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + granularity.getTableName(), Long.class);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
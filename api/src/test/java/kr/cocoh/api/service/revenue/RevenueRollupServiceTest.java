@@ -0,0 +1,82 @@
+package kr.cocoh.api.service.revenue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.repository.RevenueRollupRepository;
+import kr.cocoh.api.repository.RevenueRollupRepository.RollupKey;
+import kr.cocoh.api.repository.RevenueRollupRepository.RollupRow;
+import kr.cocoh.api.service.scheduling.SchedulerLease;
+
+class RevenueRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private RevenueRollupRepository rollupRepository;
+    private SchedulerLease schedulerLease;
+    private RevenueRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository = mock(RevenueRollupRepository.class);
+        schedulerLease = mock(SchedulerLease.class);
+        service = new RevenueRollupService(rollupRepository, schedulerLease, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "verifyDays", 1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.shutdown();
+    }
+
+    @Test
+    void verifyRecentRunsOffTheSchedulerThread() {
+        AtomicReference<String> leaseThread = new AtomicReference<>();
+        when(schedulerLease.acquire(anyString(), anyLong())).thenAnswer(invocation -> {
+            leaseThread.set(Thread.currentThread().getName());
+            return true;
+        });
+        when(rollupRepository.aggregateSource(any())).thenReturn(Map.of());
+        when(rollupRepository.findDay(any())).thenReturn(Map.of());
+
+        service.verifyRecent();
+
+        verify(schedulerLease, timeout(5000)).release("revenue-rollup-verify");
+        assertEquals("revenue-rollup-verify", leaseThread.get());
+        verify(rollupRepository, never()).rebuildDay(any());
+    }
+
+    @Test
+    void verifyRebuildsOnlyDriftedDays() {
+        RollupKey key = new RollupKey(DAY, 7, "toss", "KRW");
+        RollupRow row = new RollupRow(key, 1, 9900, 0, 0);
+        when(rollupRepository.aggregateSource(any())).thenReturn(Map.of());
+        when(rollupRepository.findDay(any())).thenReturn(Map.of());
+        when(rollupRepository.aggregateSource(DAY)).thenReturn(Map.of(key, row));
+
+        assertEquals(1, service.verify(DAY.minusDays(1), DAY.plusDays(2)));
+
+        verify(rollupRepository).rebuildDay(DAY);
+        verify(rollupRepository, never()).rebuildDay(DAY.minusDays(1));
+        verify(rollupRepository, never()).rebuildDay(DAY.plusDays(1));
+    }
+}
@@ -0,0 +1,89 @@
+package kr.cocoh.api.service.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import kr.cocoh.api.repository.SchedulerLeaseRepository;
+import kr.cocoh.api.service.outbox.OutboxNode;
+
+class SchedulerLeaseTest {
+
+    private static final String NAME = "subscription-expiry";
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SchedulerLease nodeA;
+    private SchedulerLease nodeB;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:scheduler-leases;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // V17 과 같은 구조
+        jdbcTemplate.execute("CREATE TABLE scheduler_leases (" +
+                "name VARCHAR(100) PRIMARY KEY, owner VARCHAR(100) NOT NULL, expires_at DATETIME(3) NOT NULL, " +
+                "updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3))");
+        SchedulerLeaseRepository repository = new SchedulerLeaseRepository(jdbcTemplate);
+        nodeA = new SchedulerLease(repository, new OutboxNode("node-a"));
+        nodeB = new SchedulerLease(repository, new OutboxNode("node-b"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Test
+    void onlyOneNodeHoldsTheLeaseUntilRelease() {
+        assertTrue(nodeA.acquire(NAME, 60));
+        assertFalse(nodeB.acquire(NAME, 60));
+        assertTrue(nodeA.renew(NAME, 60));
+        assertFalse(nodeB.renew(NAME, 60));
+
+        nodeA.release(NAME);
+
+        assertTrue(nodeB.acquire(NAME, 60));
+        assertFalse(nodeA.renew(NAME, 60));
+    }
+
+    @Test
+    void expiredLeaseCanBeTakenOver() {
+        assertTrue(nodeA.acquire(NAME, 60));
+        // A 가 반납 없이 죽음
+        jdbcTemplate.update("UPDATE scheduler_leases SET expires_at = TIMESTAMPADD(SECOND, -1, NOW(3))");
+
+        assertTrue(nodeB.acquire(NAME, 60));
+        assertFalse(nodeA.renew(NAME, 60));
+    }
+
+    @Test
+    void releaseByANonOwnerKeepsTheLease() {
+        assertTrue(nodeA.acquire(NAME, 60));
+
+        nodeB.release(NAME);
+
+        assertFalse(nodeB.acquire(NAME, 60));
+    }
+
+    @Test
+    void databaseErrorsCountAsNotAcquired() {
+        HikariDataSource closed = new HikariDataSource();
+        closed.setJdbcUrl("jdbc:h2:mem:scheduler-leases-closed;MODE=MySQL");
+        closed.close();
+        SchedulerLease lease = new SchedulerLease(new SchedulerLeaseRepository(new JdbcTemplate(closed)),
+                new OutboxNode("node-a"));
+
+        assertFalse(lease.acquire(NAME, 60));
+        lease.release(NAME);
+    }
+}
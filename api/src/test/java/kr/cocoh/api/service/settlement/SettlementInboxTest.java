@@ -0,0 +1,119 @@
+package kr.cocoh.api.service.settlement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.dto.SettlementDto;
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+import kr.cocoh.api.repository.SettlementRepository;
+import kr.cocoh.api.repository.SettlementRepository.PaymentRowHandler;
+import kr.cocoh.api.service.scheduling.SchedulerLease;
+
+class SettlementInboxTest {
+
+    private static final String CSV = "paymentId,totalAmount,status\nA-1,1000,DONE\nA-2,2000,DONE\nA-3,3000,DONE\n";
+
+    @TempDir
+    Path root;
+
+    private Path inbox;
+    private SettlementRepository settlementRepository;
+    private SchedulerLease schedulerLease;
+    private SettlementReconciliationService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        inbox = Files.createDirectories(root.resolve("inbox"));
+        Files.writeString(inbox.resolve("toss_20260101.csv"), CSV);
+
+        settlementRepository = mock(SettlementRepository.class);
+        schedulerLease = mock(SchedulerLease.class);
+        when(schedulerLease.acquire(anyString(), anyLong())).thenReturn(true);
+        when(settlementRepository.createRun(eq("toss"), eq(LocalDate.of(2026, 1, 1)), anyString())).thenReturn(1L);
+        when(settlementRepository.findRun(1L)).thenReturn(Optional.of(SettlementDto.Run.builder()
+                .id(1L).status("completed").build()));
+
+        service = new SettlementReconciliationService(settlementRepository, schedulerLease, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "inboxDir", inbox.toString());
+        ReflectionTestUtils.setField(service, "workDir", root.resolve("work").toString());
+        ReflectionTestUtils.setField(service, "sortChunkRows", 100);
+        ReflectionTestUtils.setField(service, "writeBatchSize", 10);
+        ReflectionTestUtils.setField(service, "leaseRenewSeconds", 0L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.shutdown();
+    }
+
+    @Test
+    void reconcilesOffTheSchedulerThreadAndRenewsDuringMerge() throws Exception {
+        when(schedulerLease.renew(anyString(), anyLong())).thenReturn(true);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> mergeThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            mergeThread.set(Thread.currentThread().getName());
+            release.await(5, TimeUnit.SECONDS);
+            PaymentRowHandler handler = invocation.getArgument(3);
+            handler.handle("A-1", 1000, PaymentStatus.completed);
+            handler.handle("A-2", 2000, PaymentStatus.completed);
+            handler.handle("A-3", 3000, PaymentStatus.completed);
+            return null;
+        }).when(settlementRepository).streamPayments(eq("toss"), any(), any(), any());
+
+        // 병합이 막혀 있어도 스케줄 메서드는 바로 돌아옴
+        service.processInbox();
+        release.countDown();
+
+        verify(settlementRepository, timeout(5000)).finishRun(eq(1L), eq("completed"), eq(3L), eq(3L), eq(3L),
+                eq(0L), any());
+        verify(schedulerLease, timeout(5000)).release("settlement-reconcile");
+        assertEquals("settlement-reconcile", mergeThread.get());
+        // 정렬 후 한 번, 결제 행마다 한 번
+        verify(schedulerLease, atLeast(4)).renew("settlement-reconcile", 3600);
+        assertTrue(Files.exists(inbox.resolve("processed").resolve("toss_20260101.csv")));
+    }
+
+    @Test
+    void lostLeaseStopsTheMergeAndLeavesTheFile() {
+        when(schedulerLease.renew(anyString(), anyLong())).thenReturn(true, false);
+        doAnswer(invocation -> {
+            PaymentRowHandler handler = invocation.getArgument(3);
+            handler.handle("A-1", 1000, PaymentStatus.completed);
+            handler.handle("A-2", 2000, PaymentStatus.completed);
+            return null;
+        }).when(settlementRepository).streamPayments(eq("toss"), any(), any(), any());
+
+        service.processInbox();
+
+        verify(settlementRepository, timeout(5000)).finishRun(eq(1L), eq("failed"), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyString());
+        verify(schedulerLease, timeout(5000)).release("settlement-reconcile");
+        assertTrue(Files.exists(inbox.resolve("toss_20260101.csv")));
+    }
+}
@@ -0,0 +1,86 @@
+package kr.cocoh.api.service.settlement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+
+class SettlementMergerTest {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void reportsEachKindOfDiscrepancy() throws Exception {
+        String csv = "\uFEFFpaymentId,totalAmount,status\n" +
+                "A-1,1000,DONE\n" +          // 일치
+                "A-2,2000,DONE\n" +          // 금액 불일치
+                "A-3,3000,DONE\n" +          // 결제/취소 두 줄 -> 취소, 일치
+                "A-3,3000,CANCELED\n" +
+                "A-4,4000,DONE\n" +          // 결제 없음
+                "A-5,abc,DONE\n" +           // 잘못된 줄
+                "A-6,6000,DONE\n" +          // 중복
+                "A-6,6000,DONE\n" +
+                "A-7,7000,CANCELED\n";       // 상태 불일치
+        List<SettlementDiscrepancy> found = new ArrayList<>();
+        SettlementMerger merger = new SettlementMerger(
+                new SettlementFileReader(new BufferedReader(new StringReader(csv))), found::add);
+
+        merger.onPayment("A-1", 1000, PaymentStatus.completed);
+        merger.onPayment("A-2", 2500, PaymentStatus.completed);
+        merger.onPayment("A-3", 3000, PaymentStatus.refunded);
+        merger.onPayment("A-6", 6000, PaymentStatus.completed);
+        merger.onPayment("A-7", 7000, PaymentStatus.completed);
+        merger.onPayment("A-8", 8000, PaymentStatus.completed);  // 정산 없음
+        merger.onPayment("A-9", 9000, PaymentStatus.pending);    // 미완료라 정산 없어도 정상
+        SettlementMerger.Stats stats = merger.finish();
+
+        assertEquals(List.of(
+                SettlementDiscrepancy.Type.amount_mismatch,
+                SettlementDiscrepancy.Type.invalid_row,      // 한 줄 미리 읽기에서 먼저 나옴
+                SettlementDiscrepancy.Type.missing_payment,
+                SettlementDiscrepancy.Type.duplicate_settlement,
+                SettlementDiscrepancy.Type.status_mismatch,
+                SettlementDiscrepancy.Type.missing_settlement),
+                found.stream().map(SettlementDiscrepancy::type).toList());
+        assertEquals(9, stats.fileRows());
+        assertEquals(7, stats.dbRows());
+        assertEquals(3, stats.matched());
+    }
+
+    @Test
+    void sortsUnorderedFileBeforeMerging() throws Exception {
+        Path file = workDir.resolve("toss_20250301.csv");
+        Files.writeString(file, "orderId,amount,status\nB,2,DONE\nb,3,DONE\nA,1,DONE\n,0,DONE\nC,4,DONE\n");
+        assertFalse(SettlementFileSorter.isSorted(file));
+
+        List<SettlementRecord> invalid = new ArrayList<>();
+        Path sorted = SettlementFileSorter.sort(file, workDir, 2, invalid::add);
+        List<String> uids = new ArrayList<>();
+        try (SettlementFileReader reader = SettlementFileReader.open(sorted)) {
+            SettlementRecord record;
+            while ((record = reader.next()) != null) {
+                uids.add(record.merchantUid());
+            }
+        }
+
+        // utf8mb4_bin 과 같은 코드 포인트 순 (대문자가 소문자보다 앞)
+        assertEquals(List.of("A", "B", "C", "b"), uids);
+        assertEquals(1, invalid.size());
+
+        SettlementMerger merger = new SettlementMerger(SettlementFileReader.open(sorted), d -> { });
+        merger.onPayment("B", 2, PaymentStatus.completed);
+        assertThrows(IllegalStateException.class, () -> merger.onPayment("A", 1, PaymentStatus.completed));
+    }
+}
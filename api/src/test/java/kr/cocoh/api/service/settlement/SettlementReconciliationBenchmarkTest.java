@@ -0,0 +1,126 @@
+package kr.cocoh.api.service.settlement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import kr.cocoh.api.model.pay.Payment.PaymentStatus;
+
+/**
+ * 정산 대사 벤치마크 (./gradlew benchmark)
+ * 1천만 줄의 정산 파일과 같은 수의 합성 결제 행(주문 번호 순 커서 대신)을 병합하고,
+ * 순서가 섞인 같은 파일의 외부 정렬 시간을 잰다. 힙 최고 사용량이 행 수와 무관한지 함께 본다.
+ */
+@Tag("benchmark")
+class SettlementReconciliationBenchmarkTest {
+
+    private static final int ROWS = 10_000_000;
+    private static final int AMOUNT_MISMATCH_EVERY = 1_000;
+    private static final int FILE_ONLY_EVERY = 5_000;
+    private static final int DB_ONLY_EVERY = 7_000;
+    private static final long SHUFFLE_PRIME = 9_999_991L;
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void mergeTenMillionRows() throws Exception {
+        Path sortedFile = workDir.resolve("sorted.csv");
+        writeFile(sortedFile, false);
+
+        resetPeakHeap();
+        AtomicLong discrepancies = new AtomicLong();
+        long started = System.nanoTime();
+        SettlementMerger.Stats stats;
+        try (SettlementFileReader reader = SettlementFileReader.open(sortedFile)) {
+            SettlementMerger merger = new SettlementMerger(reader, d -> discrepancies.incrementAndGet());
+            for (int i = 0; i < ROWS; i++) {
+                if (i % FILE_ONLY_EVERY == 1) {
+                    continue;
+                }
+                int amount = i % AMOUNT_MISMATCH_EVERY == 3 ? amount(i) + 1 : amount(i);
+                merger.onPayment(uid(i), amount, PaymentStatus.completed);
+            }
+            stats = merger.finish();
+        }
+        double mergeSeconds = (System.nanoTime() - started) / 1e9;
+        long mergePeak = peakHeap();
+
+        long expected = 0;
+        for (int i = 0; i < ROWS; i++) {
+            boolean fileOnly = i % FILE_ONLY_EVERY == 1;
+            boolean dbOnly = i % DB_ONLY_EVERY == 2;
+            if (fileOnly || dbOnly || i % AMOUNT_MISMATCH_EVERY == 3) {
+                expected++;
+            }
+        }
+        assertEquals(expected, stats.discrepancies());
+        assertEquals(expected, discrepancies.get());
+        System.out.printf("merge: file %,d rows, db %,d rows, matched %,d, discrepancies %,d in %.2fs (%,.0f rows/s), peak heap %d MB%n",
+                stats.fileRows(), stats.dbRows(), stats.matched(), stats.discrepancies(), mergeSeconds,
+                (stats.fileRows() + stats.dbRows()) / mergeSeconds, mergePeak / (1024 * 1024));
+
+        Path shuffledFile = workDir.resolve("shuffled.csv");
+        writeFile(shuffledFile, true);
+        resetPeakHeap();
+        started = System.nanoTime();
+        Path resorted = SettlementFileSorter.sort(shuffledFile, workDir, 500_000, r -> { });
+        double sortSeconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("external sort: %,d rows in %.2fs (%,.0f rows/s), peak heap %d MB, sorted=%s%n",
+                ROWS, sortSeconds, ROWS / sortSeconds, peakHeap() / (1024 * 1024),
+                SettlementFileSorter.isSorted(resorted));
+    }
+
+    // 파일에는 DB 에만 있을 주문(DB_ONLY_EVERY)을 빼고 쓴다, shuffled 면 곱셈 순열로 순서를 섞음
+    private void writeFile(Path file, boolean shuffled) throws Exception {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("merchant_uid,amount,status\n");
+            for (long n = 0; n < ROWS; n++) {
+                int i = shuffled ? (int) (n * SHUFFLE_PRIME % ROWS) : (int) n;
+                if (i % DB_ONLY_EVERY == 2) {
+                    continue;
+                }
+                writer.write(uid(i));
+                writer.write(',');
+                writer.write(Integer.toString(amount(i)));
+                writer.write(",paid\n");
+            }
+        }
+    }
+
+    private static String uid(int i) {
+        return String.format("ord-%010d", i);
+    }
+
+    private static int amount(int i) {
+        return 1_000 + (i % 97) * 100;
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
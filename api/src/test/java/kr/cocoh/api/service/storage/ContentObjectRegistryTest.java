@@ -0,0 +1,73 @@
+package kr.cocoh.api.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kr.cocoh.api.model.storage.StorageObject;
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.repository.StorageObjectRepository;
+
+class ContentObjectRegistryTest {
+
+    private static final String KEY = "test/ads/ab/abcdef";
+
+    private StorageObjectRepository storageObjectRepository;
+    private StorageDeletionRepository storageDeletionRepository;
+    private ContentObjectRegistry registry;
+    private final List<String> deleted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        storageObjectRepository = mock(StorageObjectRepository.class);
+        storageDeletionRepository = mock(StorageDeletionRepository.class);
+        registry = new ContentObjectRegistry(storageObjectRepository, storageDeletionRepository);
+    }
+
+    @Test
+    void firstReferenceCancelsAPendingDeletion() {
+        when(storageObjectRepository.upsertReference("abcdef", KEY, "url", "image/png", 3)).thenReturn(1, 2);
+
+        assertTrue(registry.acquire("abcdef", KEY, "url", "image/png", 3));
+        verify(storageDeletionRepository).cancel(KEY);
+
+        // 기존 객체는 참조만 늘고 삭제 예약은 건드리지 않음
+        assertFalse(registry.acquire("abcdef", KEY, "url", "image/png", 3));
+        verify(storageDeletionRepository).cancel(KEY);
+    }
+
+    @Test
+    void releaseDecrementsUntilTheLastReference() {
+        StorageObject object = StorageObject.builder().objectKey(KEY).refCount(2).build();
+        when(storageObjectRepository.findByObjectKeyForUpdate(KEY)).thenReturn(Optional.of(object));
+
+        assertTrue(registry.release(KEY, deleted::add));
+        assertEquals(1, object.getRefCount());
+        assertTrue(deleted.isEmpty());
+        verify(storageObjectRepository, never()).delete(any());
+
+        assertTrue(registry.release(KEY, deleted::add));
+        verify(storageObjectRepository).delete(object);
+        assertEquals(List.of(KEY), deleted);
+    }
+
+    @Test
+    void unknownKeyIsLeftToTheCaller() {
+        when(storageObjectRepository.findByObjectKeyForUpdate(KEY)).thenReturn(Optional.empty());
+
+        assertFalse(registry.release(KEY, deleted::add));
+        assertTrue(deleted.isEmpty());
+    }
+}
@@ -0,0 +1,118 @@
+package kr.cocoh.api.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.CopyObjectResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import kr.cocoh.api.config.StorageConfig.StoragePaths;
+import kr.cocoh.api.dto.DirectUploadDto;
+import kr.cocoh.api.model.storage.StorageUpload;
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.repository.StorageUploadRepository;
+import kr.cocoh.api.service.StorageService;
+
+class DirectUploadServiceTest {
+
+    private static final String DIRECT_KEY = "ads/direct/upload-1";
+
+    private AmazonS3 s3;
+    private StorageDeletionRepository deletions;
+    private DirectUploadService service;
+    private StorageUpload upload;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        s3 = mock(AmazonS3.class);
+        ObjectProvider<AmazonS3> s3Provider = mock(ObjectProvider.class);
+        when(s3Provider.getIfAvailable()).thenReturn(s3);
+        StorageBackend backend = mock(StorageBackend.class);
+        when(backend.url(anyString())).thenAnswer(invocation -> "https://cdn/" + invocation.getArgument(0));
+        StorageService storageService = mock(StorageService.class);
+        when(storageService.resolveFolderPath(StoragePaths.ADS)).thenReturn("ads/");
+        StorageUploadRepository uploads = mock(StorageUploadRepository.class);
+        deletions = mock(StorageDeletionRepository.class);
+
+        service = new DirectUploadService(s3Provider, backend, storageService, uploads, deletions,
+                new ObjectMapper(), mock(PlatformTransactionManager.class), "video/mp4");
+        ReflectionTestUtils.setField(service, "bucketName", "bucket");
+        ReflectionTestUtils.setField(service, "finalizeGraceMinutes", 60);
+
+        upload = StorageUpload.builder()
+                .id("upload-1")
+                .userId(1L)
+                .folder(StoragePaths.ADS)
+                .objectKey(DIRECT_KEY)
+                .contentType("video/mp4")
+                .declaredSize(1024L)
+                .status(StorageUpload.Status.pending)
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .build();
+        when(uploads.findByIdForUpdate("upload-1")).thenReturn(Optional.of(upload));
+
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(1024);
+        metadata.setContentType("video/mp4");
+        metadata.setHeader("ETag", "etag-1");
+        when(s3.getObjectMetadata("bucket", DIRECT_KEY)).thenReturn(metadata);
+    }
+
+    @Test
+    void finalizeRegistersACopyTheClientCannotOverwrite() {
+        when(s3.copyObject(any(CopyObjectRequest.class))).thenReturn(new CopyObjectResult());
+
+        DirectUploadDto.Result result = service.finalizeUpload(1L, "upload-1");
+
+        ArgumentCaptor<CopyObjectRequest> copy = ArgumentCaptor.forClass(CopyObjectRequest.class);
+        verify(s3).copyObject(copy.capture());
+        assertEquals(DIRECT_KEY, copy.getValue().getSourceKey());
+        assertEquals("ads/upload-1", copy.getValue().getDestinationKey());
+        assertEquals("etag-1", copy.getValue().getMatchingETagConstraints().get(0));
+        assertEquals(CannedAccessControlList.PublicRead, copy.getValue().getCannedAccessControlList());
+
+        assertEquals(StorageUpload.Status.finalized, upload.getStatus());
+        assertEquals("ads/upload-1", upload.getObjectKey());
+        assertEquals("https://cdn/ads/upload-1", result.getUrl());
+        // presigned URL 로 다시 올릴 수 있는 동안은 지우지 않고, 만료 뒤에 지움
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(deletions).enqueue(eq(DIRECT_KEY), delay.capture());
+        assertTrue(delay.getValue() > 15 * 60);
+    }
+
+    @Test
+    void objectReplacedAfterTheCheckIsNotRegistered() {
+        // ETag 조건이 맞지 않으면 SDK 는 null 을 돌려줌
+        when(s3.copyObject(any(CopyObjectRequest.class))).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class, () -> service.finalizeUpload(1L, "upload-1"));
+
+        assertEquals(StorageUpload.Status.pending, upload.getStatus());
+        assertEquals(DIRECT_KEY, upload.getObjectKey());
+        verify(deletions, never()).enqueue(anyString(), anyLong());
+    }
+}
@@ -0,0 +1,108 @@
+package kr.cocoh.api.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MultipartUploaderTest {
+
+    private static final int PART_SIZE = MultipartUploader.MIN_PART_SIZE;
+
+    @TempDir
+    Path root;
+
+    private MultipartUploader uploader;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (uploader != null) {
+            uploader.shutdown();
+        }
+    }
+
+    @Test
+    void retriesFailedPartsAndReassemblesContent() throws IOException {
+        // 파트마다 첫 시도는 실패시킴
+        AtomicInteger calls = new AtomicInteger();
+        FileSystemS3Client client = new FileSystemS3Client(root, "http://localhost") {
+            @Override
+            public UploadPartResult uploadPart(UploadPartRequest request) {
+                if (calls.incrementAndGet() % 2 == 1) {
+                    throw new AmazonS3Exception("일시적 오류");
+                }
+                return super.uploadPart(request);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        uploader = new MultipartUploader(client, registry, (long) PART_SIZE, PART_SIZE, 1, 2, 2, 0);
+
+        byte[] data = randomBytes(PART_SIZE * 2 + 1234);
+        uploader.upload("bucket", "ads/video.mp4", new ByteArrayInputStream(data), metadata(),
+                CannedAccessControlList.PublicRead);
+
+        try (InputStream in = client.getObject("bucket", "ads/video.mp4").getObjectContent()) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        assertEquals("video/mp4", client.getObjectMetadata("bucket", "ads/video.mp4").getContentType());
+        assertEquals(3.0, registry.get("storage.upload.part.retries").counter().count());
+        assertEquals(data.length, registry.get("storage.upload.bytes").tag("mode", "multipart").counter().count());
+        assertEquals(0.0, registry.get("storage.upload.buffers.in-use").gauge().value());
+    }
+
+    @Test
+    void abortsUploadWhenPartKeepsFailing() throws IOException {
+        FileSystemS3Client client = new FileSystemS3Client(root, "http://localhost") {
+            @Override
+            public UploadPartResult uploadPart(UploadPartRequest request) {
+                if (request.getPartNumber() == 2) {
+                    throw new AmazonS3Exception("영구 오류");
+                }
+                return super.uploadPart(request);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        uploader = new MultipartUploader(client, registry, (long) PART_SIZE, PART_SIZE, 2, 2, 3, 0);
+
+        byte[] data = randomBytes(PART_SIZE * 3);
+        assertThrows(IOException.class, () -> uploader.upload("bucket", "ads/broken.mp4",
+                new ByteArrayInputStream(data), metadata(), CannedAccessControlList.PublicRead));
+
+        assertFalse(client.doesObjectExist("bucket", "ads/broken.mp4"));
+        try (var uploads = Files.list(root.resolve(".uploads"))) {
+            assertEquals(0, uploads.count());
+        }
+    }
+
+    private ObjectMetadata metadata() {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType("video/mp4");
+        return metadata;
+    }
+
+    private byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        return data;
+    }
+}
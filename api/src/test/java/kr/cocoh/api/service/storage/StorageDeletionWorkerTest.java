@@ -0,0 +1,89 @@
+package kr.cocoh.api.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.repository.StorageDeletionRepository.PendingDeletion;
+
+class StorageDeletionWorkerTest {
+
+    private StorageBackend storageBackend;
+    private StorageDeletionRepository deletionRepository;
+    private StorageDeletionWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        storageBackend = mock(StorageBackend.class);
+        deletionRepository = mock(StorageDeletionRepository.class);
+        worker = new StorageDeletionWorker(storageBackend, deletionRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(worker, "batchSize", 3);
+        ReflectionTestUtils.setField(worker, "retryBaseSeconds", 30L);
+        ReflectionTestUtils.setField(worker, "retryMaxSeconds", 600L);
+        ReflectionTestUtils.setField(worker, "alertAttempts", 10);
+    }
+
+    @Test
+    void deletesUnreferencedKeysAndBacksOffFailures() {
+        when(deletionRepository.lockDue(3)).thenReturn(List.of(
+                new PendingDeletion(1, "a", 0, false),
+                new PendingDeletion(2, "b", 0, true),
+                new PendingDeletion(3, "c", 3, false)))
+                .thenReturn(List.of());
+        when(storageBackend.deleteAll(anyList())).thenReturn(Map.of("c", "AccessDenied"));
+
+        worker.drain();
+
+        // 다시 참조된 b 는 지우지 않음
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(storageBackend).deleteAll(keys.capture());
+        assertEquals(Set.of("a", "c"), new HashSet<>(keys.getValue()));
+        // 네 번째 실패: 30초 << 3
+        verify(deletionRepository).markFailed(3, "AccessDenied", 240);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> done = ArgumentCaptor.forClass(List.class);
+        verify(deletionRepository).deleteByIds(done.capture());
+        assertEquals(Set.of(1L, 2L), new HashSet<>(done.getValue()));
+        // 가득 찬 배치였으므로 한 번 더 조회
+        verify(deletionRepository, times(2)).lockDue(3);
+    }
+
+    @Test
+    void backoffIsCappedAndReferencedOnlyBatchSkipsTheBackend() {
+        when(deletionRepository.lockDue(3))
+                .thenReturn(List.of(new PendingDeletion(1, "a", 12, false)))
+                .thenReturn(List.of());
+        when(storageBackend.deleteAll(anyList())).thenReturn(Map.of("a", "SlowDown"));
+
+        worker.drain();
+
+        verify(deletionRepository).markFailed(1, "SlowDown", 600);
+        verify(deletionRepository, times(1)).lockDue(anyInt());
+
+        when(deletionRepository.lockDue(3)).thenReturn(List.of(new PendingDeletion(2, "b", 0, true)));
+        worker.drain();
+        verify(storageBackend, times(1)).deleteAll(anyList());
+        verify(deletionRepository, never()).markFailed(eq(2L), anyString(), anyLong());
+    }
+}
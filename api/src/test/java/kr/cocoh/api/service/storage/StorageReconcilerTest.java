@@ -0,0 +1,83 @@
+package kr.cocoh.api.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import kr.cocoh.api.config.StorageConfig.StoragePaths;
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.service.StorageService;
+import kr.cocoh.api.service.storage.StorageBackend.Page;
+import kr.cocoh.api.service.storage.StorageBackend.StoredObject;
+
+class StorageReconcilerTest {
+
+    private static final Instant OLD = Instant.now().minus(3, ChronoUnit.DAYS);
+
+    private StorageBackend storageBackend;
+    private StorageDeletionRepository deletionRepository;
+    private StorageReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        storageBackend = mock(StorageBackend.class);
+        deletionRepository = mock(StorageDeletionRepository.class);
+        StorageService storageService = mock(StorageService.class);
+        when(storageService.resolveFolderPath(anyString()))
+                .thenAnswer(invocation -> "test/" + invocation.getArgument(0) + "/");
+        when(storageBackend.url(anyString())).thenAnswer(invocation -> "https://cdn/" + invocation.getArgument(0));
+        when(storageBackend.list(anyString(), any(), anyInt())).thenReturn(new Page(List.of(), null));
+        // salons 폴더: 두 페이지, 참조 중인 객체 하나와 grace 안의 새 객체 하나
+        when(storageBackend.list(eq("test/" + StoragePaths.SALONS + "/"), isNull(), anyInt())).thenReturn(new Page(List.of(
+                new StoredObject("test/salons/aa/orphan", 10, OLD),
+                new StoredObject("test/salons/bb/used", 10, OLD)), "next"));
+        when(storageBackend.list(eq("test/" + StoragePaths.SALONS + "/"), eq("next"), anyInt())).thenReturn(new Page(List.of(
+                new StoredObject("test/salons/cc/fresh", 10, Instant.now()),
+                new StoredObject("test/salons/dd/orphan", 10, OLD)), null));
+        when(deletionRepository.findKnownKeys(any())).thenAnswer(invocation -> {
+            Map<String, String> urlByKey = invocation.getArgument(0);
+            return urlByKey.containsKey("test/salons/bb/used") ? Set.of("test/salons/bb/used") : Set.of();
+        });
+
+        reconciler = new StorageReconciler(storageBackend, storageService, deletionRepository);
+        ReflectionTestUtils.setField(reconciler, "graceHours", 24);
+    }
+
+    @Test
+    void dryRunOnlyCountsOrphans() {
+        ReflectionTestUtils.setField(reconciler, "dryRun", true);
+
+        assertEquals(2, reconciler.reconcile());
+
+        verify(deletionRepository, never()).enqueueAll(anyList(), anyLong());
+    }
+
+    @Test
+    void enqueuesOldUnreferencedObjects() {
+        ReflectionTestUtils.setField(reconciler, "dryRun", false);
+
+        assertEquals(2, reconciler.reconcile());
+
+        verify(deletionRepository).enqueueAll(List.of("test/salons/aa/orphan"), 0);
+        verify(deletionRepository).enqueueAll(List.of("test/salons/dd/orphan"), 0);
+    }
+}
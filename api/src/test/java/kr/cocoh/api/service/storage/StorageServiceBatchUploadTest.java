@@ -0,0 +1,156 @@
+package kr.cocoh.api.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.service.StorageService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StorageServiceBatchUploadTest {
+
+    @TempDir
+    Path root;
+
+    private ContentObjectRegistry registry;
+    private StorageDeletionRepository deletions;
+    private MultipartUploader multipartUploader;
+    private StorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        // 참조 수 관리는 항상 새 객체로 취급하고, 해제 시 바로 객체를 지우게 함
+        registry = mock(ContentObjectRegistry.class);
+        when(registry.acquire(anyString(), anyString(), anyString(), any(), anyLong())).thenReturn(true);
+
+        FileSystemS3Client client = new FileSystemS3Client(root, "http://localhost");
+        // 삭제 대기열은 바로 처리된 것으로 취급
+        deletions = mock(StorageDeletionRepository.class);
+        doAnswer(invocation -> {
+            client.deleteObject("bucket", invocation.getArgument(0));
+            return null;
+        }).when(deletions).enqueue(anyString(), anyLong());
+        multipartUploader = new MultipartUploader(client, new SimpleMeterRegistry(), Long.MAX_VALUE,
+                MultipartUploader.MIN_PART_SIZE, 1, 1, 1, 0);
+        storageService = new StorageService(new S3StorageBackend(client, multipartUploader, "bucket"),
+                new MockEnvironment(), registry, deletions, 4, 16);
+        ReflectionTestUtils.setField(storageService, "batchTimeoutSeconds", 30L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        storageService.shutdown();
+        multipartUploader.shutdown();
+    }
+
+    @Test
+    void reportsEachFileWhenNotAtomic() throws IOException {
+        BatchUploadResult result = storageService.uploadFiles(List.of(
+                image("a.jpg", "a"), image("empty.jpg", ""), brokenImage(), image("b.jpg", "b")), false, "salons");
+
+        assertFalse(result.isComplete());
+        assertEquals(BatchUploadResult.Status.uploaded, result.items().get(0).status());
+        assertEquals(BatchUploadResult.Status.skipped, result.items().get(1).status());
+        assertEquals(BatchUploadResult.Status.failed, result.items().get(2).status());
+        assertEquals(BatchUploadResult.Status.uploaded, result.items().get(3).status());
+        assertNotNull(result.items().get(3).url());
+        assertEquals(2, storedObjectCount());
+    }
+
+    @Test
+    void removesStoredFilesWhenAtomicBatchFails() throws IOException {
+        BatchUploadResult result = storageService.uploadFiles(List.of(
+                image("a.jpg", "a"), image("b.jpg", "b"), brokenImage()), true, "salons");
+
+        assertTrue(result.rolledBack());
+        assertTrue(result.urls().isEmpty());
+        assertNull(result.items().get(0).url());
+        assertEquals(BatchUploadResult.Status.rolled_back, result.items().get(0).status());
+        assertEquals(BatchUploadResult.Status.rolled_back, result.items().get(1).status());
+        assertEquals(BatchUploadResult.Status.failed, result.items().get(2).status());
+        assertEquals(0, storedObjectCount());
+    }
+
+    @Test
+    void fullQueueFailsTheFileInsteadOfUploadingOnTheCaller() throws Exception {
+        storageService.shutdown();
+        storageService = new StorageService(new S3StorageBackend(new FileSystemS3Client(root, "http://localhost"),
+                multipartUploader, "bucket"), new MockEnvironment(), registry, deletions, 1, 1);
+        ReflectionTestUtils.setField(storageService, "batchTimeoutSeconds", 30L);
+        List<String> uploadThreads = new CopyOnWriteArrayList<>();
+
+        BatchUploadResult result = storageService.uploadFiles(List.of(
+                slowImage("a.jpg", uploadThreads), slowImage("b.jpg", uploadThreads),
+                image("c.jpg", "c")), false, "salons");
+
+        assertEquals(BatchUploadResult.Status.uploaded, result.items().get(0).status());
+        assertEquals(BatchUploadResult.Status.uploaded, result.items().get(1).status());
+        assertEquals(BatchUploadResult.Status.failed, result.items().get(2).status());
+        assertFalse(uploadThreads.contains(Thread.currentThread().getName()));
+    }
+
+    private long storedObjectCount() throws IOException {
+        Path bucket = root.resolve("bucket");
+        if (!Files.exists(bucket)) {
+            return 0;
+        }
+        try (Stream<Path> paths = Files.walk(bucket)) {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private MultipartFile image(String name, String content) {
+        return new MockMultipartFile("files", name, "image/jpeg", content.getBytes());
+    }
+
+    // 앞 파일을 올리는 동안 다음 파일이 큐에서 기다리게 함
+    private MultipartFile slowImage(String name, List<String> uploadThreads) {
+        return new MockMultipartFile("files", name, "image/jpeg", name.getBytes()) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                uploadThreads.add(Thread.currentThread().getName());
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getInputStream();
+            }
+        };
+    }
+
+    private MultipartFile brokenImage() {
+        return new MockMultipartFile("files", "broken.jpg", "image/jpeg", new byte[] {1}) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                throw new IOException("읽기 실패");
+            }
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package kr.cocoh.api.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockMultipartFile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.repository.StorageDeletionRepository;
+import kr.cocoh.api.service.StorageService;
+
+class StorageServiceContentTest {
+
+    @TempDir
+    Path root;
+
+    private final Map<String, Integer> refCounts = new HashMap<>();
+    private ContentObjectRegistry registry;
+    private StorageDeletionRepository deletions;
+    private MultipartUploader multipartUploader;
+    private StorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        // storage_objects 대신 메모리의 참조 수
+        registry = mock(ContentObjectRegistry.class);
+        when(registry.exists(anyString())).thenAnswer(invocation -> refCounts.containsKey(invocation.getArgument(0)));
+        when(registry.acquire(anyString(), anyString(), anyString(), any(), anyLong())).thenAnswer(invocation ->
+                refCounts.merge(invocation.getArgument(1), 1, Integer::sum) == 1);
+        when(registry.release(anyString(), any())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            Integer count = refCounts.get(key);
+            if (count == null) {
+                return false;
+            }
+            if (count > 1) {
+                refCounts.put(key, count - 1);
+            } else {
+                refCounts.remove(key);
+                Consumer<String> deleter = invocation.getArgument(1);
+                deleter.accept(key);
+            }
+            return true;
+        });
+
+        deletions = mock(StorageDeletionRepository.class);
+        FileSystemS3Client client = new FileSystemS3Client(root, "http://localhost");
+        multipartUploader = new MultipartUploader(client, new SimpleMeterRegistry(), Long.MAX_VALUE,
+                MultipartUploader.MIN_PART_SIZE, 1, 1, 1, 0);
+        storageService = new StorageService(new S3StorageBackend(client, multipartUploader, "bucket"),
+                new MockEnvironment(), registry, deletions, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        storageService.shutdown();
+        multipartUploader.shutdown();
+    }
+
+    @Test
+    void sameContentIsStoredOnceAndCounted() throws IOException {
+        String first = storageService.uploadFile(image("a.jpg", "same"), "ads");
+        String second = storageService.uploadFile(image("b.jpg", "same"), "ads");
+        String other = storageService.uploadFile(image("c.jpg", "other"), "ads");
+
+        assertEquals(first, second);
+        assertTrue(first.matches(".*/test/ads/([0-9a-f]{2})/\\1[0-9a-f]{62}"), first);
+        assertEquals(2, storedObjectCount());
+        assertEquals(Map.of(key(first), 2, key(other), 1), refCounts);
+        verify(registry, times(3)).acquire(anyString(), anyString(), anyString(), any(), anyLong());
+    }
+
+    @Test
+    void deleteQueuesOnlyTheLastReferenceAndNeverTouchesTheBucket() throws IOException {
+        String url = storageService.uploadFile(image("a.jpg", "same"), "ads");
+        storageService.uploadFile(image("b.jpg", "same"), "ads");
+
+        storageService.deleteFile(url);
+        verify(deletions, never()).enqueue(anyString(), anyLong());
+
+        storageService.deleteFile(url);
+        verify(deletions).enqueue(key(url), 0);
+        // 실제 삭제는 대기열 워커가 하므로 객체는 아직 남아 있음
+        assertEquals(1, storedObjectCount());
+        assertTrue(refCounts.isEmpty());
+    }
+
+    private String key(String url) {
+        return url.substring(url.indexOf("test/"));
+    }
+
+    private long storedObjectCount() throws IOException {
+        try (Stream<Path> paths = Files.walk(root.resolve("bucket"))) {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private MockMultipartFile image(String name, String content) {
+        return new MockMultipartFile("file", name, "image/jpeg", content.getBytes());
+    }
+}
@@ -0,0 +1,150 @@
+package kr.cocoh.api.service.subscription;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.event.ChangeFeedEvent;
+import kr.cocoh.api.model.pay.Subscription;
+import kr.cocoh.api.model.pay.SubscriptionPlan;
+import kr.cocoh.api.repository.SubscriptionRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EntitlementServiceTest {
+
+    private SubscriptionRepository subscriptionRepository;
+    private EntitlementService entitlementService;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionRepository = mock(SubscriptionRepository.class);
+        entitlementService = new EntitlementService(subscriptionRepository, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(entitlementService, "cacheTtlMs", 60_000L);
+        ReflectionTestUtils.setField(entitlementService, "cacheMaxEntries", 100);
+        ReflectionTestUtils.setField(entitlementService, "freeMaxAds", 1);
+        ReflectionTestUtils.setField(entitlementService, "freeMaxDisplays", 1);
+    }
+
+    @Test
+    void compilesPlanFeaturesAndCachesByUser() {
+        SubscriptionPlan plan = SubscriptionPlan.builder()
+                .id(7L)
+                .type(SubscriptionPlan.PlanType.premium_sponsor)
+                .features(Map.of(Entitlements.MAX_ADS, 20, Entitlements.MAX_DISPLAYS, "unlimited",
+                        Entitlements.PREMIUM_PLACEMENT, true))
+                .build();
+        LocalDateTime endDate = LocalDateTime.now().plusDays(30);
+        when(subscriptionRepository.findEffective(eq(1L), any(), any()))
+                .thenReturn(List.of(Subscription.builder().plan(plan).endDate(endDate).build()));
+
+        long now = System.currentTimeMillis();
+        Entitlements entitlements = entitlementService.get(1L);
+        assertEquals(7L, entitlements.planId(now));
+        assertTrue(entitlements.canCreateAd(19, now));
+        assertFalse(entitlements.canCreateAd(20, now));
+        assertTrue(entitlements.canAddDisplay(1_000_000, now));
+        assertTrue(entitlements.premiumPlacement(now));
+
+        // 종료 시각이 지나면 캐시에 남아 있어도 무료 권한
+        long afterEnd = now + 31L * 24 * 60 * 60 * 1000;
+        assertFalse(entitlements.subscribed(afterEnd));
+        assertFalse(entitlements.canCreateAd(1, afterEnd));
+        assertFalse(entitlements.premiumPlacement(afterEnd));
+
+        assertSame(entitlements, entitlementService.get(1L));
+        verify(subscriptionRepository, times(1)).findEffective(eq(1L), any(), any());
+    }
+
+    @Test
+    void subscriptionChangeEvictsOnlyThatUser() {
+        when(subscriptionRepository.findEffective(any(), any(), any())).thenReturn(List.of());
+        Entitlements first = entitlementService.get(1L);
+        Entitlements second = entitlementService.get(2L);
+        assertEquals(0, first.planId(System.currentTimeMillis()));
+        assertTrue(first.canCreateAd(0, System.currentTimeMillis()));
+
+        entitlementService.onSubscriptionChanged(new ChangeFeedEvent(1, "subscription", "10", "expired",
+                "{\"userId\":1,\"planId\":7}", false));
+
+        assertSame(second, entitlementService.get(2L));
+        assertNotSame(first, entitlementService.get(1L));
+    }
+
+    @Test
+    void evictionDuringLoadDiscardsOnlyThatUsersLoad() {
+        // 사용자 1 을 읽는 도중 사용자 2 가 무효화되어도 사용자 1 의 로드는 캐시됨
+        when(subscriptionRepository.findEffective(eq(1L), any(), any())).thenAnswer(invocation -> {
+            entitlementService.evict(2L);
+            return List.of();
+        });
+        Entitlements first = entitlementService.get(1L);
+        assertSame(first, entitlementService.get(1L));
+        verify(subscriptionRepository, times(1)).findEffective(eq(1L), any(), any());
+
+        // 읽는 도중 자기 자신이 무효화되면 그 결과는 버림
+        when(subscriptionRepository.findEffective(eq(3L), any(), any())).thenAnswer(invocation -> {
+            entitlementService.evict(3L);
+            return List.of();
+        });
+        entitlementService.get(3L);
+        entitlementService.get(3L);
+        verify(subscriptionRepository, times(2)).findEffective(eq(3L), any(), any());
+    }
+
+    @Test
+    void cheaperSubscriptionTakesOverWhenTheTopOneEnds() {
+        SubscriptionPlan premium = SubscriptionPlan.builder().id(7L).type(SubscriptionPlan.PlanType.premium_sponsor)
+                .features(Map.of(Entitlements.MAX_ADS, 20)).build();
+        SubscriptionPlan basic = SubscriptionPlan.builder().id(3L).type(SubscriptionPlan.PlanType.basic_sponsor)
+                .features(Map.of(Entitlements.MAX_ADS, 5)).build();
+        LocalDateTime now = LocalDateTime.now();
+        when(subscriptionRepository.findEffective(eq(1L), any(), any())).thenReturn(List.of(
+                Subscription.builder().plan(premium).endDate(now.plusDays(10)).build(),
+                // 비싼 구독보다 먼저 끝나면 이어 붙일 필요 없음
+                Subscription.builder().plan(basic).endDate(now.plusDays(5)).build(),
+                Subscription.builder().plan(basic).endDate(now.plusDays(30)).build()));
+
+        long nowMillis = System.currentTimeMillis();
+        long day = 24L * 60 * 60 * 1000;
+        Entitlements entitlements = entitlementService.get(1L);
+        assertEquals(7L, entitlements.planId(nowMillis));
+        assertEquals(20, entitlements.maxAds(nowMillis));
+        assertEquals(3L, entitlements.planId(nowMillis + 11 * day));
+        assertEquals(5, entitlements.maxAds(nowMillis + 11 * day));
+        assertFalse(entitlements.premiumPlan(nowMillis + 11 * day));
+        assertEquals(0, entitlements.planId(nowMillis + 31 * day));
+        assertEquals(1, entitlements.maxAds(nowMillis + 31 * day));
+    }
+
+    @Test
+    void fullCacheEvictsOneEntryInsteadOfClearing() {
+        ReflectionTestUtils.setField(entitlementService, "cacheMaxEntries", 2);
+        when(subscriptionRepository.findEffective(any(), any(), any())).thenReturn(List.of());
+        entitlementService.get(1L);
+        entitlementService.get(2L);
+
+        entitlementService.get(3L);
+
+        Map<?, ?> cache = (Map<?, ?>) ReflectionTestUtils.getField(entitlementService, "cache");
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsKey(3L));
+    }
+}
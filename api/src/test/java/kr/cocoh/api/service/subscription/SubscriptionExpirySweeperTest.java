@@ -0,0 +1,109 @@
+package kr.cocoh.api.service.subscription;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.cocoh.api.event.SubscriptionExpiredEvent;
+import kr.cocoh.api.repository.SubscriptionSweepRepository;
+import kr.cocoh.api.service.outbox.OutboxPublisher;
+import kr.cocoh.api.service.scheduling.SchedulerLease;
+
+class SubscriptionExpirySweeperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private OutboxPublisher outboxPublisher;
+    private ApplicationEventPublisher eventPublisher;
+    private SchedulerLease schedulerLease;
+    private SubscriptionExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:subscription-expiry;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE subscriptions (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, plan_id BIGINT NOT NULL, " +
+                "status ENUM('active', 'expired', 'cancelled') NOT NULL DEFAULT 'active', " +
+                "end_date TIMESTAMP NOT NULL, auto_renewal BOOLEAN NOT NULL DEFAULT TRUE, " +
+                "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+
+        outboxPublisher = mock(OutboxPublisher.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        schedulerLease = mock(SchedulerLease.class);
+        when(schedulerLease.renew(anyString(), anyLong())).thenReturn(true);
+        sweeper = new SubscriptionExpirySweeper(new SubscriptionSweepRepository(jdbcTemplate), outboxPublisher,
+                eventPublisher, schedulerLease, new DataSourceTransactionManager(dataSource), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sweeper, "chunkSize", 2);
+        ReflectionTestUtils.setField(sweeper, "maxChunksPerRun", 10);
+        ReflectionTestUtils.setField(sweeper, "renewalGraceHours", 72L);
+        ReflectionTestUtils.setField(sweeper, "leaseSeconds", 120L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Test
+    void expiresEveryDueSubscriptionAcrossChunks() {
+        // 같은 종료 시각이 청크 경계에 걸쳐도 (end_date, id) 키셋으로 빠짐없이 이어감
+        LocalDateTime tie = NOW.minusDays(1);
+        for (long id = 1; id <= 5; id++) {
+            insert(id, tie);
+        }
+        insert(6, NOW.plusDays(1));
+
+        assertEquals(5, sweeper.sweepOnce(NOW));
+
+        assertEquals(List.of("expired", "expired", "expired", "expired", "expired", "active"),
+                jdbcTemplate.queryForList("SELECT status FROM subscriptions ORDER BY id", String.class));
+        verify(outboxPublisher, times(5)).publish(eq(SubscriptionExpirySweeper.AGGREGATE_TYPE), any(),
+                eq(SubscriptionExpirySweeper.EXPIRED), anyString());
+        verify(eventPublisher, times(3)).publishEvent(any(SubscriptionExpiredEvent.class));
+        verify(schedulerLease, times(2)).renew(anyString(), anyLong());
+    }
+
+    @Test
+    void stopsWhenTheLeaseIsLost() {
+        for (long id = 1; id <= 5; id++) {
+            insert(id, NOW.minusDays(id));
+        }
+        when(schedulerLease.renew(anyString(), anyLong())).thenReturn(false);
+
+        assertEquals(2, sweeper.sweepOnce(NOW));
+        assertEquals(3, (int) jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM subscriptions WHERE status = 'active'", Integer.class));
+    }
+
+    private void insert(long id, LocalDateTime endDate) {
+        jdbcTemplate.update("INSERT INTO subscriptions (id, user_id, plan_id, end_date, auto_renewal) " +
+                "VALUES (?, ?, 1, ?, FALSE)", id, id * 10, Timestamp.valueOf(endDate));
+    }
+}
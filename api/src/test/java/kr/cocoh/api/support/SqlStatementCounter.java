@@ -0,0 +1,60 @@
+package kr.cocoh.api.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 테스트용 SQL 문 개수 측정기
+ * Hibernate 가 실행하는 SQL 을 현재 스레드 기준으로 기록한다. 테스트 설정에
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector=kr.cocoh.api.support.SqlStatementCounter
+ * 를 넣고, 측정할 구간 앞에서 {@link #reset()} 을 호출한 뒤 assert 메서드로 상한을 검사한다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    public static long count(String verb) {
+        String prefix = verb.toLowerCase(Locale.ROOT);
+        return STATEMENTS.get().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(prefix))
+                .count();
+    }
+
+    /**
+     * SELECT 문 개수가 상한을 넘으면 실패 (N+1 회귀 감지용)
+     */
+    public static void assertSelectCountAtMost(int max) {
+        assertCountAtMost("select", max);
+    }
+
+    public static void assertInsertCountAtMost(int max) {
+        assertCountAtMost("insert", max);
+    }
+
+    public static void assertCountAtMost(String verb, int max) {
+        long actual = count(verb);
+        if (actual > max) {
+            fail(String.format("%s 문이 %d개 실행되었습니다 (허용: %d개)%n%s",
+                    verb.toUpperCase(Locale.ROOT), actual, max, String.join(System.lineSeparator(), statements())));
+        }
+    }
+}